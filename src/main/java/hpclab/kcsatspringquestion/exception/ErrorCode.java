@@ -18,7 +18,14 @@ public enum ErrorCode {
     TOPIC_NOT_FOUND(HttpStatus.NOT_FOUND, "E106", "찾을 수 없는 Kafka Topic입니다."),
     FILE_NOT_FOUND(HttpStatus.NOT_FOUND, "E107", "파일을 찾을 수 없습니다."),
     QUESTION_DATA_NOT_FOUND(HttpStatus.NOT_FOUND, "E108", "문제 데이터를 찾을 수 없습니다."),
-    EXPLANATION_DATA_NOT_FOUND(HttpStatus.NOT_FOUND, "E109", "해설 데이터를 찾을 수 없습니다.");
+    EXPLANATION_DATA_NOT_FOUND(HttpStatus.NOT_FOUND, "E109", "해설 데이터를 찾을 수 없습니다."),
+    OFFSET_NOT_FOUND(HttpStatus.NOT_FOUND, "E110", "생성 요청 Offset을 찾을 수 없습니다."),
+    MESSAGE_SEND_TIMEOUT(HttpStatus.SERVICE_UNAVAILABLE, "E111", "생성 요청 전송 시간이 초과되었습니다. 잠시 후 다시 시도해주세요."),
+    INVALID_DATASET(HttpStatus.INTERNAL_SERVER_ERROR, "E112", "데이터셋 형식이 올바르지 않습니다."),
+    ACCESS_DENIED(HttpStatus.FORBIDDEN, "E113", "접근 권한이 없습니다."),
+    INVALID_QUESTION_HANDLE(HttpStatus.BAD_REQUEST, "E114", "문제 식별값이 올바르지 않거나, 새 문제가 생성되어 더 이상 사용할 수 없습니다. 문제 전체를 보내 해설을 요청해주세요."),
+    INVALID_EXAM_REQUEST(HttpStatus.BAD_REQUEST, "E115", "모의고사 문제 수가 올바르지 않습니다."),
+    EXAM_NOT_FOUND(HttpStatus.NOT_FOUND, "E116", "모의고사를 찾을 수 없습니다.");
 
     private final HttpStatus status;
     private final String code;
@@ -10,7 +10,11 @@ import org.springframework.http.HttpStatus;
 @Getter
 @RequiredArgsConstructor
 public enum SuccessCode {
-    MESSAGE_SEND_SUCCESS(HttpStatus.OK, "S101", "생성 요청이 정상적으로 처리되었습니다.");
+    MESSAGE_SEND_SUCCESS(HttpStatus.OK, "S101", "생성 요청이 정상적으로 처리되었습니다."),
+    DATASET_RELOAD_SUCCESS(HttpStatus.OK, "S102", "데이터셋을 다시 불러왔습니다."),
+    QUESTION_RESULT_SHARED(HttpStatus.OK, "S103", "같은 요청의 생성 결과를 함께 받습니다."),
+    QUESTION_FROM_POOL(HttpStatus.OK, "S104", "미리 만들어 둔 문제와 해설을 전달합니다."),
+    EXAM_SEND_SUCCESS(HttpStatus.OK, "S105", "모의고사 생성 요청이 정상적으로 처리되었습니다.");
 
     private final HttpStatus status;
     private final String code;
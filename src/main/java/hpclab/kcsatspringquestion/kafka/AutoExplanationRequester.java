@@ -0,0 +1,121 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.kafka.producer.ExplanationProducer;
+import hpclab.kcsatspringquestion.kafka.producer.PayloadRegistry;
+import hpclab.kcsatspringquestion.kafka.producer.ProducerCallbackExecutor;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionHandle;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionResponseRawForm;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import hpclab.kcsatspringquestion.redis.UserRequestStateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 문제 생성 결과를 받는 즉시 같은 사용자의 해설 생성을 요청하는 클래스입니다. ({@code kafka.explanation.auto-request})
+ *
+ * <p>클라이언트가 문제를 조회하고 해설 생성을 요청할 때까지 기다리지 않으므로, 사용자가 문제를 읽는 동안 해설이 만들어집니다.
+ * 해설과 합칠 문제 데이터는 문제 생성 결과와 함께 이미 저장되어 있으므로, 클라이언트는 해설 생성 요청 없이 바로 해설을 조회할 수 있습니다.</p>
+ *
+ * <p>자동 요청은 사용자가 직접 요청한 경우와 같이 Topic 할당과 중복 요청 lock을 사용합니다.
+ * 이미 해설 생성 요청이 진행 중이라면 자동 요청을 건너뜁니다. 자동 요청 이후 클라이언트가 같은 문제로 해설 생성을 요청하면,
+ * 중복 요청 대신 자동 요청의 Offset을 반환합니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AutoExplanationRequester {
+
+    /**
+     * 해설 생성 Topic 할당 유지 시간입니다. ({@link KafkaService#setUserExplanationTopic}과 같습니다.)
+     */
+    private static final Duration EXPLANATION_TOPIC_TTL = Duration.ofSeconds(70);
+
+    /**
+     * 문제 생성 결과를 받을 때 해설 생성을 자동으로 요청할지 여부
+     */
+    @Value("${kafka.explanation.auto-request:false}")
+    private boolean enabled;
+
+    private final ExplanationProducer explanationProducer;
+    private final PayloadRegistry payloadRegistry;
+    private final UserRequestStateRepository userRequestStateRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 전송 결과의 후처리(요청 Offset 저장, 이벤트 발행)를 실행합니다.
+     */
+    private final ProducerCallbackExecutor producerCallbackExecutor;
+
+    /**
+     * 문제 생성 결과를 받은 사용자들의 해설 생성을 요청합니다.
+     * 요청에 실패해도 클라이언트가 직접 요청할 수 있으므로, 실패는 기록만 합니다.
+     *
+     * <p>한 번의 poll로 받은 모든 사용자의 Topic 할당과 중복 요청 lock 획득은 한 번의 Redis 요청으로 처리합니다.
+     * 전송 결과의 후처리는 Redis 요청을 기다리므로 Consumer 스레드가 아닌 {@link ProducerCallbackExecutor}에서 실행합니다.</p>
+     *
+     * @param questions 회원 email별 문제 생성 결과 원본
+     */
+    public void request(Map<String, byte[]> questions) {
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, QuestionResponseRawForm> forms = new LinkedHashMap<>();
+        questions.forEach((email, question) -> {
+            try {
+                forms.put(email, objectMapper.readValue(question, QuestionResponseRawForm.class));
+            } catch (IOException e) {
+                log.warn("Failed to request explanation automatically for {}", email, e);
+            }
+        });
+        if (forms.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> topics;
+        try {
+            topics = explanationProducer.acquireRequests(forms.keySet(), EXPLANATION_TOPIC_TTL);
+        } catch (ApiException e) {
+            log.warn("Failed to acquire automatic explanation requests for {} users : {}", forms.size(), e.getMessage());
+            return;
+        }
+
+        forms.forEach((email, form) -> {
+            String topic = topics.get(email);
+            if (topic == null) {
+                log.info("Skipping automatic explanation request for {} : request already in progress", email);
+                return;
+            }
+            request(email, form, topic);
+        });
+    }
+
+    private void request(String email, QuestionResponseRawForm form, String topic) {
+        String explanationState = RedisKeyUtil.explanationState(email);
+        String tag = QuestionHandle.digest(form);
+        try {
+            explanationProducer.sendAcquired(objectMapper.writeValueAsString(payloadRegistry.toExplanationPayload(form)), email, topic)
+                    .whenCompleteAsync((produced, e) -> {
+                        if (e == null) {
+                            userRequestStateRepository.saveAutoRequest(explanationState, produced.partition(), produced.offset(), tag);
+                            eventPublisher.publishEvent(new RequestProducedEvent(explanationState, produced));
+                        }
+                    }, producerCallbackExecutor);
+        } catch (ApiException e) {
+            log.info("Skipping automatic explanation request for {} : {}", email, e.getMessage());
+        } catch (IOException e) {
+            log.warn("Failed to request explanation automatically for {}", email, e);
+        }
+    }
+}
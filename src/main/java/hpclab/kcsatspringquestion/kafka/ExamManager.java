@@ -0,0 +1,197 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.kafka.producer.PayloadRegistry;
+import hpclab.kcsatspringquestion.kafka.producer.ProducerCallbackExecutor;
+import hpclab.kcsatspringquestion.kafka.producer.QuestionProducer;
+import hpclab.kcsatspringquestion.questionGenerator.dto.ExamProgressDto;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionResponseRawForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitKafkaForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitRawForm;
+import hpclab.kcsatspringquestion.redis.ExamRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 여러 문제를 한 번에 생성하는 모의고사 요청을 Kafka로 나누어 보내고, 결과를 모의고사별로 모으는 클래스입니다.
+ *
+ * <p>문제마다 Topic 할당, 중복 요청 lock, 전송, 결과 조회를 반복하지 않도록, 한 번의 요청으로 모든 문제를 전송합니다.
+ * 문제별 요청은 {@code exam:<모의고사 식별자>:<문제 번호>}를 메시지 key로 사용하므로 여러 Partition에 나뉘어 동시에 생성되며,
+ * Consumer는 이 key의 결과를 사용자 요청 상태 대신 이 클래스로 전달합니다.
+ * 생성된 결과는 {@link ExamRepository}에 문제 번호별로 저장되고, 클라이언트는 진행 상황을 한 번에 조회합니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExamManager {
+
+    private static final String EXAM_KEY_PREFIX = "exam:";
+
+    /**
+     * 한 모의고사에서 요청할 수 있는 최대 문제 수
+     */
+    @Value("${question.exam.max-size:30}")
+    private int maxSize;
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final QuestionProducer questionProducer;
+    private final PayloadRegistry payloadRegistry;
+    private final ExamRepository examRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 전송 결과의 후처리(실패 표시)를 실행합니다.
+     */
+    private final ProducerCallbackExecutor producerCallbackExecutor;
+
+    /**
+     * 모의고사 요청의 메시지 key인지 확인합니다.
+     *
+     * @param key Kafka 메시지 key
+     * @return 모의고사 요청이라면 true
+     */
+    public static boolean isExamKey(String key) {
+        return key != null && key.startsWith(EXAM_KEY_PREFIX);
+    }
+
+    /**
+     * 새 모의고사 식별자를 발급합니다.
+     *
+     * @return 모의고사 식별자
+     */
+    public static String newExamId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * 모의고사 요청의 문제 수를 확인합니다. 지문을 고르기 전에 호출합니다.
+     *
+     * @param questions 문제 생성 요청 목록
+     * @throws ApiException 문제가 없거나 최대 문제 수를 넘는 경우 발생합니다.
+     */
+    public void validate(List<QuestionSubmitRawForm> questions) {
+        if (questions == null || questions.isEmpty() || questions.size() > maxSize) {
+            throw new ApiException(ErrorCode.INVALID_EXAM_REQUEST);
+        }
+    }
+
+    /**
+     * 모의고사의 문제 생성 요청을 모두 전송합니다. 사용자 요청이 아니므로 Topic 할당과 중복 요청 lock을 사용하지 않으며,
+     * 전송에 실패한 문제는 실패로 표시하여 진행 상황에서 확인할 수 있도록 합니다.
+     * 실패 표시는 Redis 요청을 기다리므로 Kafka Producer I/O 스레드가 아닌 {@link ProducerCallbackExecutor}에서 실행합니다.
+     *
+     * @param examId 모의고사 식별자
+     * @param forms 문제 번호 순서의 문제 생성 요청
+     * @return 모든 전송이 끝나면 완료되는 CompletableFuture. 하나도 전송하지 못했다면 예외로 완료됩니다.
+     */
+    public CompletableFuture<Void> send(String examId, List<QuestionSubmitKafkaForm> forms) {
+        List<CompletableFuture<Boolean>> sends = new ArrayList<>(forms.size());
+        for (int i = 0; i < forms.size(); i++) {
+            sends.add(send(examId, i, forms.get(i)));
+        }
+
+        return CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                .thenRun(() -> {
+                    if (sends.stream().noneMatch(CompletableFuture::join)) {
+                        throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+                    }
+                });
+    }
+
+    /**
+     * 모의고사 문제의 생성 결과를 받아 문제 번호별로 저장합니다.
+     *
+     * @param messages Kafka 메시지 key별 문제 생성 결과 원본
+     */
+    public void onQuestions(Map<String, byte[]> messages) {
+        messages.forEach((key, value) -> {
+            String[] parts = key.substring(EXAM_KEY_PREFIX.length()).split(":");
+            if (!examRepository.saveResult(parts[0], Integer.parseInt(parts[1]), new String(value, StandardCharsets.UTF_8))) {
+                log.info("Exam expired before its question arrived : {}", key);
+            }
+        });
+    }
+
+    /**
+     * 모의고사 결과 Hash로부터 진행 상황을 만듭니다.
+     *
+     * @param examId 모의고사 식별자
+     * @param email 조회한 회원 email
+     * @param exam 모의고사 결과 Hash
+     * @return 모의고사 진행 상황
+     * @throws ApiException 모의고사가 없거나, 다른 회원의 모의고사인 경우 발생합니다.
+     */
+    public ExamProgressDto toProgress(String examId, String email, Map<String, String> exam) {
+        if (exam.get(ExamRepository.EMAIL) == null) {
+            throw new ApiException(ErrorCode.EXAM_NOT_FOUND);
+        }
+        if (!exam.get(ExamRepository.EMAIL).equals(email)) {
+            throw new ApiException(ErrorCode.ACCESS_DENIED);
+        }
+
+        int total = Integer.parseInt(exam.get(ExamRepository.TOTAL));
+        QuestionResponseRawForm[] questions = new QuestionResponseRawForm[total];
+        int completed = 0;
+        int failed = 0;
+        for (int i = 0; i < total; i++) {
+            String result = exam.get(ExamRepository.RESULT_PREFIX + i);
+            if (result != null) {
+                questions[i] = read(result);
+                completed++;
+            } else if (exam.containsKey(ExamRepository.FAILED_PREFIX + i)) {
+                failed++;
+            }
+        }
+
+        return ExamProgressDto.builder()
+                .examId(examId)
+                .total(total)
+                .completed(completed)
+                .failed(failed)
+                .done(completed + failed == total)
+                .questions(Arrays.asList(questions))
+                .build();
+    }
+
+    private CompletableFuture<Boolean> send(String examId, int index, QuestionSubmitKafkaForm form) {
+        String topic = questionProducer.getQuestionTopic();
+        String key = EXAM_KEY_PREFIX + examId + ":" + index;
+        try {
+            return kafkaTemplate.send(topic, key, objectMapper.writeValueAsString(payloadRegistry.toPayload(form)))
+                    .handleAsync((result, e) -> {
+                        if (e == null) {
+                            return true;
+                        }
+                        log.warn("failed to send exam message to topic: {}, keys: {}", topic, key, e);
+                        examRepository.markFailed(examId, index);
+                        return false;
+                    }, producerCallbackExecutor);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("failed to send exam message to topic: {}, keys: {}", topic, key, e);
+            examRepository.markFailed(examId, index);
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    private QuestionResponseRawForm read(String result) {
+        try {
+            return objectMapper.readValue(result, QuestionResponseRawForm.class);
+        } catch (JsonProcessingException e) {
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }
+    }
+}
@@ -1,19 +1,30 @@
 package hpclab.kcsatspringquestion.kafka;
 
+import hpclab.kcsatspringquestion.kafka.producer.ExplanationProducer;
+import hpclab.kcsatspringquestion.kafka.producer.QuestionProducer;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import reactor.kafka.sender.SenderOptions;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -21,10 +32,13 @@ import java.util.Properties;
  * Kafka 설정 클래스입니다.
  * application.yaml로 auto-configuration도 가능하지만, 수동으로 작성해보았습니다. (향후 커스텀 가능)
  */
+@Slf4j
 @EnableKafka
 @Configuration
 public class KafkaConfig {
 
+    private static final String THROUGHPUT_PROFILE = "throughput";
+
     /**
      * Kafka 서버 URL
      */
@@ -38,19 +52,93 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    /**
+     * Producer 설정 프로필입니다.
+     * <ul>
+     *     <li>default: Kafka 기본 설정 (요청마다 바로 전송, 압축 없음)</li>
+     *     <li>throughput: 배치, linger, 압축, 멱등성 전송을 사용하여 처리량과 전송 용량을 최적화</li>
+     * </ul>
+     */
+    @Value("${kafka.producer.profile:default}")
+    private String producerProfile;
+
+    /**
+     * throughput 프로필의 배치 크기(byte)
+     */
+    @Value("${kafka.producer.throughput.batch-size:65536}")
+    private int throughputBatchSize;
+
+    /**
+     * throughput 프로필에서 배치를 채우기 위해 전송을 지연하는 최대 시간(ms)
+     */
+    @Value("${kafka.producer.throughput.linger-ms:5}")
+    private int throughputLingerMillis;
+
+    /**
+     * throughput 프로필의 압축 방식 (lz4, zstd 등)
+     */
+    @Value("${kafka.producer.throughput.compression-type:lz4}")
+    private String throughputCompressionType;
+
+    /**
+     * Producer가 메타데이터 조회, 버퍼 확보를 위해 send() 호출 스레드를 막을 수 있는 최대 시간(ms)
+     */
+    @Value("${kafka.producer.max-block-ms:5000}")
+    private long producerMaxBlockMillis;
+
+    /**
+     * Producer가 전송 성공, 실패를 확정하는 최대 시간(ms)입니다. (재시도 포함)
+     * 전송 결과를 받기 전에는 중복 요청 lock을 해제하지 않으므로, lock 유지 시간(1분)보다 짧아야 하며
+     * {@code linger.ms + request.timeout.ms}(기본 30초) 이상이어야 합니다.
+     */
+    @Value("${kafka.producer.delivery-timeout-ms:40000}")
+    private int producerDeliveryTimeoutMillis;
+
+    /**
+     * 리스너 컨테이너마다 실행할 Consumer 스레드 수입니다.
+     * Topic의 Partition 수까지 늘릴 수 있으며, 남는 스레드는 Partition을 할당받지 못하고 대기합니다.
+     */
+    @Value("${kafka.consumer.concurrency:1}")
+    private int consumerConcurrency;
+
+    /**
+     * 가상 스레드 실행 모드 여부입니다. (Java 21 이상에서만 동작)
+     * 켜져 있으면 Tomcat 요청 처리 스레드와 함께 Kafka 리스너 스레드도 가상 스레드로 실행합니다.
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    /**
+     * Offset 조회 시 AdminClient 응답을 기다리는 최대 시간(ms)
+     */
+    @Value("${kafka.offset-checker.timeout-ms:3000}")
+    private long offsetCheckerTimeoutMillis;
+
+    /**
+     * 처리 속도 EWMA의 평활 계수
+     */
+    @Value("${kafka.offset-checker.rate-smoothing:0.3}")
+    private double rateSmoothing;
+
+    /**
+     * Offset 스냅샷 갱신 주기(ms)
+     */
+    @Value("${kafka.offset-checker.refresh-interval-ms:1000}")
+    private long offsetCheckerRefreshIntervalMillis;
+
     /**
      * Kafka ProducerFactory 설정 Bean입니다.
      * Producer 설정을 명시적으로 커스터마이징하려는 경우 사용됩니다.
      *
+     * <p>{@code kafka.producer.profile}이 throughput인 경우, 여러 요청을 하나의 배치로 묶어 압축하여 전송합니다.
+     * 지문, Definition처럼 반복되는 영어 문장이 많은 메시지는 압축률이 높아 브로커 전송량이 크게 줄어듭니다.</p>
+     *
      * @return ProducerFactory
      */
     @Bean
     public ProducerFactory<String, String> producerFactory() {
-        Map<String, Object> props = new HashMap<>();
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        return new DefaultKafkaProducerFactory<>(props);
+        log.info("Kafka producer profile : {}", producerProfile);
+        return new DefaultKafkaProducerFactory<>(producerProps());
     }
 
     /**
@@ -64,6 +152,39 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    /**
+     * reactive 프로필에서 사용하는 Reactive Kafka Producer 설정 Bean입니다.
+     * {@link #producerFactory()}와 같은 Producer 설정을 사용하며, 전송 결과를 Mono로 반환합니다.
+     *
+     * @return ReactiveKafkaProducerTemplate
+     */
+    @Bean
+    @Profile("reactive")
+    public ReactiveKafkaProducerTemplate<String, String> reactiveKafkaProducerTemplate() {
+        return new ReactiveKafkaProducerTemplate<>(SenderOptions.create(producerProps()));
+    }
+
+    private Map<String, Object> producerProps() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, producerMaxBlockMillis);
+        props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, producerDeliveryTimeoutMillis);
+
+        if (THROUGHPUT_PROFILE.equalsIgnoreCase(producerProfile)) {
+            props.put(ProducerConfig.BATCH_SIZE_CONFIG, throughputBatchSize);
+            props.put(ProducerConfig.LINGER_MS_CONFIG, throughputLingerMillis);
+            props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, throughputCompressionType);
+            // 재전송 시에도 메시지가 중복, 역전되지 않도록 멱등성 전송을 사용합니다.
+            props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+            props.put(ProducerConfig.ACKS_CONFIG, "all");
+            props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        }
+
+        return props;
+    }
+
     /**
      * Kafka consumerFactory 설정 Bean입니다.
      * Consumer 설정을 명시적으로 커스터마이징하려는 경우 사용됩니다.
@@ -88,7 +209,8 @@ public class KafkaConfig {
      * 를 사용할 수 있도록 지원하는 리스너 컨테이너 팩토리를 생성합니다.</p>
      *
      * <p>이 Bean은 Spring Kafka가 자동으로 Kafka 컨슈머를 실행할 수 있게 하며,
-     * 지정된 {@link ConsumerFactory}를 통해 KafkaConsumer 인스턴스를 생성합니다.</p>
+     * 지정된 {@link ConsumerFactory}를 통해 KafkaConsumer 인스턴스를 생성합니다.
+     * {@code kafka.consumer.concurrency} 만큼 Consumer를 실행하여 여러 Partition을 동시에 처리합니다.</p>
      *
      * @return {@link ConcurrentKafkaListenerContainerFactory} 인스턴스
      */
@@ -96,9 +218,87 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(consumerConcurrency);
+        configureListenerTaskExecutor(factory, "kafka-listener-");
+        return factory;
+    }
+
+    /**
+     * 생성 결과 수신용 Kafka consumerFactory 설정 Bean입니다.
+     *
+     * <p>메시지 본문을 String으로 변환하지 않고 byte 배열 그대로 수신합니다.
+     * 생성 결과는 형태만 검사한 후 원본 그대로 Redis에 저장되므로, 문자열 디코딩 / 인코딩이 필요 없습니다.</p>
+     *
+     * @return ConsumerFactory
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> responseConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    /**
+     * 생성 결과 수신용 Kafka 리스너 컨테이너 팩토리 설정 Bean입니다.
+     * {@link #responseConsumerFactory()}를 사용하여 메시지를 byte 배열로 전달합니다.
+     *
+     * @return 생성 결과 리스너용 {@link ConcurrentKafkaListenerContainerFactory} 인스턴스
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> responseKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(responseConsumerFactory());
+        factory.setConcurrency(consumerConcurrency);
+        configureListenerTaskExecutor(factory, "kafka-response-listener-");
+        return factory;
+    }
+
+    /**
+     * Kafka 배치 리스너 컨테이너 팩토리 설정 Bean입니다.
+     *
+     * <p>한 번의 poll로 가져온 메시지 목록을 리스너에 한꺼번에 전달하며,
+     * 목록을 모두 처리한 후 Offset을 한 번만 커밋합니다.
+     * {@code kafka.consumer.batch-mode}가 true인 경우 생성 결과 Consumer가 이 팩토리를 사용합니다.</p>
+     *
+     * @return 배치 리스너용 {@link ConcurrentKafkaListenerContainerFactory} 인스턴스
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(responseConsumerFactory());
+        factory.setConcurrency(consumerConcurrency);
+        configureListenerTaskExecutor(factory, "kafka-batch-listener-");
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
         return factory;
     }
 
+    /**
+     * 가상 스레드 실행 모드인 경우, 리스너 컨테이너의 Consumer 스레드를 가상 스레드로 실행합니다.
+     * Consumer는 poll과 Redis 저장에서 대부분의 시간을 대기하므로, 플랫폼 스레드를 점유하지 않게 됩니다.
+     * Java 21 미만에서는 설정과 관계없이 기존 플랫폼 스레드를 사용합니다.
+     *
+     * @param factory 리스너 컨테이너 팩토리
+     * @param threadNamePrefix 리스너 스레드 이름 접두사
+     */
+    private void configureListenerTaskExecutor(ConcurrentKafkaListenerContainerFactory<?, ?> factory, String threadNamePrefix) {
+        if (!virtualThreadsEnabled) {
+            return;
+        }
+        if (!JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            log.warn("Virtual threads require Java 21+, Kafka listeners keep platform threads");
+            return;
+        }
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        factory.getContainerProperties().setListenerTaskExecutor(executor);
+    }
+
     /**
      * Kafka AdminClient Bean을 생성합니다.
      *
@@ -118,13 +318,15 @@ public class KafkaConfig {
      * KafkaOffsetChecker Bean을 생성합니다.
      *
      * <p>KafkaOffsetChecker는 AdminClient를 통해 Kafka 컨슈머 그룹의 커밋된 오프셋을 조회하는 데
-     * 사용됩니다. Kafka 특정 Topic Group의 오프셋을 확인하는 데에 사용됩니다.</p>
+     * 사용됩니다. 문제, 해설 생성 요청 Topic들의 오프셋을 전용 스레드에서 주기적으로 조회하여 공유합니다.</p>
      *
      * @param adminClient Kafka AdminClient Bean (Spring에서 주입)
      * @return KafkaOffsetChecker 인스턴스
      */
-    @Bean
+    @Bean(initMethod = "start", destroyMethod = "stop")
     public KafkaOffsetChecker kafkaOffsetChecker(AdminClient adminClient) {
-        return new KafkaOffsetChecker(adminClient);
+        return new KafkaOffsetChecker(adminClient, groupId,
+                List.of(QuestionProducer.QUESTION_REQUEST_TOPIC, ExplanationProducer.EXPLANATION_REQUEST_TOPIC),
+                offsetCheckerTimeoutMillis, rateSmoothing, offsetCheckerRefreshIntervalMillis);
     }
 }
@@ -1,22 +1,37 @@
 package hpclab.kcsatspringquestion.kafka;
 
-import hpclab.kcsatspringquestion.exception.ApiException;
-import hpclab.kcsatspringquestion.exception.ErrorCode;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 /**
  * Kafka Offset을 실시간으로 체크할 수 있는 클래스입니다.
  * 이 클래스를 이용하여 실시간 대기열을 구현할 수 있습니다.
+ *
+ * <p>요청마다 Kafka에 Offset을 조회하지 않고, 하나의 스케줄러가 일정 주기로 모든 생성 요청 Topic의
+ * 커밋 Offset과 마지막 Offset을 조회하여 {@link OffsetSnapshot}으로 교체합니다.
+ * 요청 스레드는 최신 스냅샷을 잠금 없이 읽기만 하므로, 동시 사용자 수와 관계없이 Kafka 조회 부하가 일정합니다.</p>
+ *
+ * <p>조회는 공용 스케줄러({@code @Scheduled})가 아닌 전용 스레드에서 실행되므로, 다른 주기 작업(SSE 전송, 데이터셋 확인 등)이
+ * 느려져도 스냅샷 갱신이 밀리지 않고, AdminClient 조회가 오래 걸려도 다른 주기 작업을 막지 않습니다.</p>
  */
 @Slf4j
-@RequiredArgsConstructor
 public class KafkaOffsetChecker {
 
     /**
@@ -33,34 +48,191 @@ public class KafkaOffsetChecker {
      */
     private final AdminClient adminClient;
 
+    /**
+     * Offset을 조회할 Kafka Group ID
+     */
+    private final String groupId;
+
+    /**
+     * Offset을 조회할 생성 요청 Topic의 접두사 목록
+     */
+    private final List<String> topicPrefixes;
+
+    /**
+     * AdminClient 조회 한 번에 허용하는 최대 대기 시간(ms)
+     */
+    private final long timeoutMillis;
+
+    /**
+     * 처리 속도 EWMA의 평활 계수입니다. (0~1, 클수록 최근 값을 크게 반영)
+     */
+    private final double rateSmoothing;
+
+    /**
+     * 스냅샷 갱신 주기(ms)
+     */
+    private final long refreshIntervalMillis;
+
+    private ScheduledExecutorService refreshScheduler;
+
+    /**
+     * 가장 최근에 조회한 Offset 스냅샷입니다. 갱신 시 통째로 교체됩니다.
+     */
+    private volatile OffsetSnapshot snapshot = OffsetSnapshot.EMPTY;
+
+    public KafkaOffsetChecker(AdminClient adminClient, String groupId, List<String> topicPrefixes,
+                              long timeoutMillis, double rateSmoothing, long refreshIntervalMillis) {
+        this.adminClient = adminClient;
+        this.groupId = groupId;
+        this.topicPrefixes = List.copyOf(topicPrefixes);
+        this.timeoutMillis = timeoutMillis;
+        this.rateSmoothing = rateSmoothing;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    /**
+     * 전용 스레드에서 스냅샷 갱신을 시작합니다. 이전 갱신이 끝난 후 {@code refreshIntervalMillis}마다 실행됩니다.
+     */
+    public void start() {
+        refreshScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("kafka-offset-refresh-"));
+        refreshScheduler.scheduleWithFixedDelay(this::refresh, 0, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 스냅샷 갱신을 멈춥니다.
+     */
+    public void stop() {
+        if (refreshScheduler != null) {
+            refreshScheduler.shutdownNow();
+        }
+    }
+
     /**
      * 특정 Topic에 대한 Group의 Offset을 조회하는 메서드입니다.
      *
-     * @param groupId Kafka Group ID
      * @param topic Kafka Topic
      * @param partition Topic Partition
-     * @return 현재 Topic의 Offset을 반환합니다.
+     * @return 현재 Topic의 Offset을 반환합니다. 값이 없을 경우 -1을 반환합니다.
      */
-    public long getCommittedOffset(String groupId, String topic, int partition) {
+    public long getCommittedOffset(String topic, int partition) {
+        return snapshot.getCommittedOffset(new TopicPartition(topic, partition));
+    }
 
-        TopicPartition topicPartition = new TopicPartition(topic, partition);
+    /**
+     * 특정 Topic Partition의 마지막 Offset(다음에 produce될 메시지의 Offset)을 조회하는 메서드입니다.
+     *
+     * @param topic Kafka Topic
+     * @param partition Topic Partition
+     * @return 마지막 Offset을 반환합니다. 값이 없을 경우 -1을 반환합니다.
+     */
+    public long getLogEndOffset(String topic, int partition) {
+        return snapshot.getLogEndOffset(new TopicPartition(topic, partition));
+    }
+
+    /**
+     * 특정 Topic Partition의 초당 처리 메시지 수(EWMA)를 조회하는 메서드입니다.
+     *
+     * @param topic Kafka Topic
+     * @param partition Topic Partition
+     * @return 초당 처리 메시지 수. 아직 측정되지 않았다면 0을 반환합니다.
+     */
+    public double getConsumeRate(String topic, int partition) {
+        return snapshot.getConsumeRate(new TopicPartition(topic, partition));
+    }
+
+    /**
+     * 가장 최근에 조회한 Offset 스냅샷을 반환합니다.
+     *
+     * @return Offset 스냅샷
+     */
+    public OffsetSnapshot getSnapshot() {
+        return snapshot;
+    }
 
+    /**
+     * 생성 요청 Topic들의 커밋 Offset과 마지막 Offset을 조회하여 스냅샷을 교체합니다.
+     * 조회에 실패하면 이전 스냅샷을 유지합니다.
+     */
+    public void refresh() {
         try {
-            Map<TopicPartition, OffsetAndMetadata> offsets =
-                    adminClient.listConsumerGroupOffsets(groupId)
-                            .partitionsToOffsetAndMetadata().get();
-
-            OffsetAndMetadata offsetAndMetadata = offsets.get(topicPartition);
-
-            if (offsetAndMetadata != null) {
-                log.info("Committed offset for {}-{}: {}", topic, partition, offsetAndMetadata.offset());
-                return offsetAndMetadata.offset();
-            } else {
-                log.info("No committed offset found for {}-{}", topic, partition);
-                return -1;
+            Set<String> topics = adminClient.listTopics().names()
+                    .get(timeoutMillis, TimeUnit.MILLISECONDS).stream()
+                    .filter(this::isRequestTopic)
+                    .collect(Collectors.toSet());
+
+            Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+            if (!topics.isEmpty()) {
+                Map<String, TopicDescription> descriptions = adminClient.describeTopics(topics).allTopicNames()
+                        .get(timeoutMillis, TimeUnit.MILLISECONDS);
+                descriptions.values().forEach(description -> description.partitions().forEach(info ->
+                        latest.put(new TopicPartition(description.name(), info.partition()), OffsetSpec.latest())));
             }
-        } catch (ExecutionException | InterruptedException e) {
-            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+
+            Map<TopicPartition, OffsetAndMetadata> offsets = adminClient.listConsumerGroupOffsets(groupId)
+                    .partitionsToOffsetAndMetadata().get(timeoutMillis, TimeUnit.MILLISECONDS);
+
+            Map<TopicPartition, Long> committed = new HashMap<>();
+            offsets.forEach((topicPartition, offsetAndMetadata) -> {
+                if (offsetAndMetadata != null && topics.contains(topicPartition.topic())) {
+                    committed.put(topicPartition, offsetAndMetadata.offset());
+                }
+            });
+
+            Map<TopicPartition, Long> logEnd = new HashMap<>();
+            if (!latest.isEmpty()) {
+                Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> infos = adminClient.listOffsets(latest).all()
+                        .get(timeoutMillis, TimeUnit.MILLISECONDS);
+                infos.forEach((topicPartition, info) -> logEnd.put(topicPartition, info.offset()));
+            }
+
+            long now = System.currentTimeMillis();
+            OffsetSnapshot previous = snapshot;
+            snapshot = new OffsetSnapshot(topics, committed, logEnd, updateRates(previous, committed, now), now);
+            log.debug("Refreshed offsets : committed {}, log-end {}", committed, logEnd);
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Failed to refresh Kafka offsets, keeping previous snapshot : {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // 예외가 전파되면 이후 갱신이 모두 취소되므로, 기록만 하고 다음 주기에 다시 조회합니다.
+            log.warn("Failed to refresh Kafka offsets, keeping previous snapshot", e);
+        }
+    }
+
+    /**
+     * 이전 스냅샷과 비교하여 Partition별 처리 속도의 EWMA를 갱신합니다.
+     *
+     * <p>대기 중인 메시지가 없어서 처리하지 않은 구간은 속도 측정에서 제외합니다.
+     * (한가한 시간에 속도가 0으로 떨어져, 다음 요청의 예상 시간이 무한대가 되는 것을 막기 위함)</p>
+     */
+    private Map<TopicPartition, Double> updateRates(OffsetSnapshot previous, Map<TopicPartition, Long> committed, long now) {
+        Map<TopicPartition, Double> rates = new HashMap<>(previous.consumeRates());
+        double elapsedSeconds = (now - previous.createdAt()) / 1000.0;
+        if (previous.createdAt() == 0L || elapsedSeconds <= 0) {
+            return rates;
         }
+
+        committed.forEach((topicPartition, offset) -> {
+            long before = previous.getCommittedOffset(topicPartition);
+            if (before < 0) {
+                return;
+            }
+
+            long consumed = offset - before;
+            boolean hadBacklog = previous.getLogEndOffset(topicPartition) > before;
+            if (consumed <= 0 && !hadBacklog) {
+                return;
+            }
+
+            double sample = Math.max(consumed, 0) / elapsedSeconds;
+            Double rate = rates.get(topicPartition);
+            rates.put(topicPartition, rate == null ? sample : rateSmoothing * sample + (1 - rateSmoothing) * rate);
+        });
+
+        return rates;
+    }
+
+    private boolean isRequestTopic(String topic) {
+        return topicPrefixes.stream().anyMatch(topic::startsWith);
     }
 }
@@ -0,0 +1,236 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Kafka 생성 결과가 Redis에 저장되었음을 대기 중인 요청에 알려주는 클래스입니다.
+ *
+ * <p>Consumer가 결과를 Redis에 저장하면 저장된 키를 Redis Pub/Sub 채널로 발행합니다.
+ * 모든 서버 인스턴스는 이 채널을 구독하고, 해당 키로 대기 중인 요청이 있으면 즉시 결과를 꺼내 응답합니다.
+ * 따라서 결과를 consume한 서버와 요청을 대기시킨 서버가 달라도 동작합니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KafkaResultNotifier implements MessageListener {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /**
+     * Redis 키별로 대기 중인 콜백 목록입니다.
+     */
+    private final ConcurrentMap<String, Set<Runnable>> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * 결과 확인과 후처리를 실행하는 스레드 수
+     */
+    @Value("${kafka.result.executor-threads:8}")
+    private int executorThreads;
+
+    private ExecutorService resultExecutor;
+    private ScheduledExecutorService timeoutScheduler;
+
+    @PostConstruct
+    private void init() {
+        resultExecutor = Executors.newFixedThreadPool(executorThreads, new CustomizableThreadFactory("kafka-result-"));
+        timeoutScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("kafka-result-timeout-"));
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(RedisKeyUtil.resultChannel()));
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        timeoutScheduler.shutdownNow();
+        resultExecutor.shutdownNow();
+    }
+
+    /**
+     * 결과가 저장되었음을 모든 서버 인스턴스에 알립니다.
+     *
+     * @param key 결과가 저장된 Redis 키
+     */
+    public void publish(String key) {
+        redisTemplate.execute((RedisCallback<Long>) connection -> publish(connection, key));
+    }
+
+    /**
+     * 주어진 Redis 커넥션으로 결과 저장 알림을 발행합니다.
+     * 파이프라인 안에서 여러 알림을 한 번에 보낼 때 사용합니다.
+     *
+     * @param connection Redis 커넥션
+     * @param key 결과가 저장된 Redis 키
+     * @return 알림을 받은 구독자 수 (파이프라인 안에서는 null)
+     */
+    public Long publish(RedisConnection connection, String key) {
+        byte[] channel = RedisKeyUtil.resultChannel().getBytes(StandardCharsets.UTF_8);
+        byte[] message = key.getBytes(StandardCharsets.UTF_8);
+        return connection.publish(channel, message);
+    }
+
+    /**
+     * 결과를 기다리는 요청의 결과 확인과, 받은 결과의 후처리(DB 저장 등)를 실행하는 Executor를 반환합니다.
+     * 스레드 수가 {@code kafka.result.executor-threads}로 제한되어 있어, Redis 리스너 스레드를 막지 않고 블로킹 작업을 실행할 수 있습니다.
+     *
+     * @return 결과 처리 Executor
+     */
+    public Executor executor() {
+        return resultExecutor;
+    }
+
+    /**
+     * 주어진 키에 결과가 저장될 때까지 스레드를 점유하지 않고 대기합니다.
+     *
+     * <p>대기 등록 이후 한 번 즉시 결과를 확인하므로, 등록 직전에 저장된 결과도 놓치지 않습니다.
+     * 대기 시간이 지나면 마지막으로 한 번 더 확인한 후, 결과가 없으면 {@code notReady} 예외로 완료됩니다.
+     * 결과 확인은 Redis 리스너 스레드가 아닌 {@link #executor()}에서 실행되며, 반환된 CompletableFuture의 콜백도 이 스레드에서 실행됩니다.</p>
+     *
+     * <p>대기를 취소할 때는 {@link #cancel}을 사용해야 합니다. 결과를 꺼낸 직후 대기가 취소되어 전달하지 못한 경우,
+     * 꺼낸 결과를 {@code restorer}로 되돌려 다시 조회할 수 있도록 합니다.</p>
+     *
+     * @param key 결과가 저장될 Redis 키
+     * @param wait 최대 대기 시간
+     * @param taker 저장된 결과를 꺼내는 함수. 결과가 없으면 빈 Optional을 반환합니다.
+     * @param restorer 꺼냈지만 전달하지 못한 결과를 되돌리는 함수
+     * @param notReady 대기 시간 내에 결과가 없을 때 반환할 에러 코드
+     * @return 결과가 준비되면 완료되는 CompletableFuture
+     */
+    public <T> CompletableFuture<T> await(String key, Duration wait, Supplier<Optional<T>> taker, Consumer<T> restorer, ErrorCode notReady) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        // 결과를 꺼낸 뒤 완료하지 못하는 경우가 없도록, 하나의 대기 요청에 대한 시도와 취소는 같은 lock으로 처리합니다.
+        Runnable attempt = () -> {
+            synchronized (future) {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    taker.get().ifPresent(value -> {
+                        if (!future.complete(value)) {
+                            restorer.accept(value);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        };
+
+        Runnable unsubscribe = listen(key, () -> execute(attempt));
+
+        ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> execute(() -> {
+            synchronized (future) {
+                attempt.run();
+                future.completeExceptionally(new ApiException(notReady));
+            }
+        }), wait.toMillis(), TimeUnit.MILLISECONDS);
+
+        future.whenComplete((result, e) -> {
+            unsubscribe.run();
+            timeout.cancel(false);
+        });
+
+        execute(attempt);
+        return future;
+    }
+
+    /**
+     * {@link #await}로 시작한 대기를 취소합니다. 결과 확인과 같은 lock을 사용하므로,
+     * 결과를 꺼내는 도중에 취소되어 결과가 사라지는 경우가 없습니다.
+     *
+     * @param future {@link #await}가 반환한 CompletableFuture
+     * @return 취소되었다면 true, 이미 완료되었다면 false
+     */
+    public boolean cancel(CompletableFuture<?> future) {
+        synchronized (future) {
+            return future.cancel(false);
+        }
+    }
+
+    /**
+     * 주어진 키에 결과가 저장될 때마다 호출될 콜백을 등록합니다.
+     * 결과를 꺼내는 방식을 직접 정해야 하는 경우(Reactive 대기 등)에 사용합니다.
+     *
+     * @param key 결과가 저장될 Redis 키
+     * @param listener 결과 저장 알림을 받으면 실행할 콜백. Redis 리스너 스레드에서 실행되므로 블로킹하지 않아야 합니다.
+     * @return 등록한 콜백을 해제하는 함수
+     */
+    public Runnable listen(String key, Runnable listener) {
+        subscribe(key, listener);
+        return () -> unsubscribe(key, listener);
+    }
+
+    /**
+     * Redis 채널로부터 결과 저장 알림을 받으면, 해당 키로 대기 중인 요청을 깨웁니다.
+     *
+     * @param message 결과가 저장된 Redis 키를 담은 메시지
+     * @param pattern 구독 패턴 (사용하지 않음)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String key = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        Set<Runnable> listeners = waiters.get(key);
+        if (listeners != null) {
+            log.info("Result ready for waiting request : {}", key);
+            listeners.forEach(Runnable::run);
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            resultExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Result executor rejected task : {}", e.getMessage());
+        }
+    }
+
+    private void subscribe(String key, Runnable listener) {
+        waiters.compute(key, (k, listeners) -> {
+            if (listeners == null) {
+                listeners = ConcurrentHashMap.newKeySet();
+            }
+            listeners.add(listener);
+            return listeners;
+        });
+    }
+
+    private void unsubscribe(String key, Runnable listener) {
+        waiters.computeIfPresent(key, (k, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+}
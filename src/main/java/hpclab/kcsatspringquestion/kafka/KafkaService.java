@@ -7,20 +7,32 @@ import hpclab.kcsatspringquestion.exception.ErrorCode;
 import hpclab.kcsatspringquestion.kafka.comsumer.ExplanationConsumer;
 import hpclab.kcsatspringquestion.kafka.comsumer.QuestionConsumer;
 import hpclab.kcsatspringquestion.kafka.producer.ExplanationProducer;
+import hpclab.kcsatspringquestion.kafka.producer.PayloadRegistry;
+import hpclab.kcsatspringquestion.kafka.producer.ProducedOffset;
 import hpclab.kcsatspringquestion.kafka.producer.QuestionProducer;
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import hpclab.kcsatspringquestion.questionGenerator.dto.ExamProgressDto;
 import hpclab.kcsatspringquestion.questionGenerator.dto.ExplanationResponseRawForm;
-import hpclab.kcsatspringquestion.questionGenerator.dto.ExplanationSubmitKafkaForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionHandle;
 import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionResponseRawForm;
 import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitKafkaForm;
-import hpclab.kcsatspringquestion.questionGenerator.repository.QuestionMemoryRepository;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QueuePositionDto;
+import hpclab.kcsatspringquestion.redis.ExamRepository;
+import hpclab.kcsatspringquestion.redis.QuestionCacheLookup;
 import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import hpclab.kcsatspringquestion.redis.UserRequestState;
+import hpclab.kcsatspringquestion.redis.UserRequestStateRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Kafka를 이용한 로직 구현을 담당하는 클래스입니다.
@@ -31,17 +43,17 @@ import java.time.Duration;
 public class KafkaService {
 
     /**
-     * Kafka GroupId 정의 변수
+     * 아직 요청을 전송하지 않아 Partition을 알 수 없을 때 조회하는 Partition입니다.
      */
-    @Value("${spring.kafka.consumer.group-id}")
-    private String groupId;
+    static final int DEFAULT_PARTITION = 0;
 
     /**
-     * Kafka Partition 정의 변수
+     * 결과를 기다리는 요청(Long-Polling)이 최대로 대기할 수 있는 시간(ms)입니다.
      */
-    private static final int partition = 0;
+    @Value("${kafka.long-poll.max-wait-ms:25000}")
+    private long maxWaitMillis;
 
-    private final QuestionMemoryRepository questionMemoryRepository;
+    private final PayloadRegistry payloadRegistry;
 
     private final QuestionConsumer questionConsumer;
     private final QuestionProducer questionProducer;
@@ -50,8 +62,14 @@ public class KafkaService {
     private final ExplanationProducer explanationProducer;
 
     private final KafkaOffsetChecker kafkaOffsetChecker;
+    private final KafkaResultNotifier kafkaResultNotifier;
+    private final QuestionResultCache questionResultCache;
+    private final WarmPoolManager warmPoolManager;
+    private final ExamManager examManager;
 
-    private final RedisTemplate<String, String> redisTemplate;
+    private final UserRequestStateRepository userRequestStateRepository;
+    private final ExamRepository examRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Jackson 기반의 JSON 직렬화/역직렬화 객체입니다.
@@ -89,9 +107,7 @@ public class KafkaService {
      * @param topic 현재 문제 생성 중인 Topic
      */
     public void setUserQuestionTopic(String email, String topic) {
-        Boolean locked = redisTemplate.opsForValue().setIfAbsent(RedisKeyUtil.questionTopicWithEmail(email), topic, Duration.ofMinutes(1));
-
-        if (Boolean.FALSE.equals(locked)) {
+        if (!userRequestStateRepository.assignTopic(RedisKeyUtil.questionState(email), topic, Duration.ofMinutes(1))) {
             throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
         }
     }
@@ -103,7 +119,7 @@ public class KafkaService {
      * @return Question Topic 문자열을 발급받습니다.
      */
     public String getUserQuestionTopic(String email) {
-        String topic = redisTemplate.opsForValue().get(RedisKeyUtil.questionTopicWithEmail(email));
+        String topic = userRequestStateRepository.getState(RedisKeyUtil.questionState(email)).topic();
         if (topic == null) {
             throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
         }
@@ -120,9 +136,7 @@ public class KafkaService {
      * @param topic 현재 해설 생성 중인 Topic
      */
     public void setUserExplanationTopic(String email, String topic) {
-        Boolean locked = redisTemplate.opsForValue().setIfAbsent(RedisKeyUtil.explanationTopicWithEmail(email), topic, Duration.ofSeconds(70));
-
-        if (Boolean.FALSE.equals(locked)) {
+        if (!userRequestStateRepository.assignTopic(RedisKeyUtil.explanationState(email), topic, Duration.ofSeconds(70))) {
             throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
         }
     }
@@ -134,7 +148,7 @@ public class KafkaService {
      * @return Explanation Topic 문자열을 발급받습니다.
      */
     public String getUserExplanationTopic(String email) {
-        String topic = redisTemplate.opsForValue().get(RedisKeyUtil.explanationTopicWithEmail(email));
+        String topic = userRequestStateRepository.getState(RedisKeyUtil.explanationState(email)).topic();
         if (topic == null) {
             throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
         }
@@ -151,18 +165,113 @@ public class KafkaService {
      *
      * @param form 문제 생성 요청 정보를 담고 있는 DTO 객체
      * @param email 회원 JWT 안의 UserEmail 정보. email 정보는 메시지 키로 활용됩니다.
-     * @return Kafka에 메시지를 전송한 후 반환된 메시지의 Offset 값
+     * @return Kafka에 메시지를 전송한 후 반환된 메시지의 Offset 값으로 완료되는 CompletableFuture
      */
-    public Long makeQuestionFromKafka(QuestionSubmitKafkaForm form, String email) {
+    public CompletableFuture<Long> makeQuestionFromKafka(QuestionSubmitKafkaForm form, String email) {
+        return makeQuestionFromKafka(form, email, null);
+    }
+
+    /**
+     * 모의고사의 문제 생성 요청을 한 번에 Kafka로 전송하는 메서드입니다. ({@link ExamManager#send})
+     * 회원별로 모의고사 생성 lock을 사용하므로, 연속해서 요청할 수 없습니다.
+     *
+     * @param forms 문제 번호 순서의 문제 생성 요청
+     * @param email 회원 JWT 안의 UserEmail 정보
+     * @return 모든 요청을 전송한 후 모의고사 식별자로 완료되는 CompletableFuture
+     */
+    public CompletableFuture<String> makeExamFromKafka(List<QuestionSubmitKafkaForm> forms, String email) {
+        String examId = ExamManager.newExamId();
+        if (!examRepository.create(examId, email, forms.size())) {
+            throw new ApiException(ErrorCode.DUPLICATE_REQUEST);
+        }
+
+        return examManager.send(examId, forms).thenApply(sent -> examId);
+    }
+
+    /**
+     * 모의고사 생성 진행 상황과 지금까지 만들어진 문제를 반환하는 메서드입니다.
+     *
+     * @param examId 모의고사 식별자
+     * @param email 회원 JWT 안의 UserEmail 정보
+     * @return 모의고사 진행 상황
+     */
+    public ExamProgressDto getExamProgress(String examId, String email) {
+        return examManager.toProgress(examId, email, examRepository.find(examId));
+    }
+
+    /**
+     * 전송한 요청의 Partition, Offset을 저장하고, 진행 상황을 전달하는 연결에 알립니다.
+     */
+    private void saveProducedOffset(String stateKey, ProducedOffset produced) {
+        userRequestStateRepository.saveOffset(stateKey, produced.partition(), produced.offset());
+        eventPublisher.publishEvent(new RequestProducedEvent(stateKey, produced));
+    }
+
+    private CompletableFuture<Long> makeQuestionFromKafka(QuestionSubmitKafkaForm form, String email, String cacheKey) {
         try {
-            String topic = getUserQuestionTopic(email);
-            return questionProducer.sendMessage(objectMapper.writeValueAsString(form), email, topic);
+            return questionProducer.sendMessage(objectMapper.writeValueAsString(payloadRegistry.toPayload(form)), email, cacheKey)
+                    .thenApply(produced -> {
+                        saveProducedOffset(RedisKeyUtil.questionState(email), produced);
+                        return produced.offset();
+                    });
         } catch (JsonProcessingException e) {
             throw new ApiException(ErrorCode.MESSAGE_PARSING_ERROR);
         }
     }
 
 
+    /**
+     * 미리 만들어 둔 기출 지문 문제가 있다면, 문제와 해설을 사용자 요청 상태에 저장합니다.
+     * 결과는 생성을 요청한 경우와 같이 문제, 해설 조회로 받을 수 있으며, 해설 생성 요청은 필요하지 않습니다.
+     *
+     * @param type 문제 유형
+     * @param email 회원 JWT 안의 UserEmail 정보
+     * @return 미리 만든 문제를 전달했다면 true
+     */
+    public boolean serveFromWarmPool(QuestionType type, String email) {
+        return warmPoolManager.serve(type, email);
+    }
+
+
+    /**
+     * 사용자가 입력한 지문의 문제 생성 요청을 결과 캐시를 거쳐 전송하는 메서드입니다.
+     *
+     * <p>같은 요청의 결과가 캐시에 있다면 Kafka 메시지를 보내지 않고 결과를 바로 저장하며,
+     * 같은 요청이 이미 생성 중이라면 그 결과를 함께 받도록 대기합니다. 두 경우 모두 결과는 기존 결과 조회로 받을 수 있습니다.
+     * 생성을 맡은 요청의 전송이 실패하면, 다음 요청이 생성을 맡을 수 있도록 생성 중 표시를 지웁니다.</p>
+     *
+     * @param form 문제 생성 요청 정보를 담고 있는 DTO 객체
+     * @param email 회원 JWT 안의 UserEmail 정보
+     * @return 전송한 메시지의 Offset으로 완료되는 CompletableFuture. 메시지를 보내지 않았다면 빈 Optional로 완료됩니다.
+     */
+    public CompletableFuture<Optional<Long>> makeCachedQuestionFromKafka(QuestionSubmitKafkaForm form, String email) {
+        if (!questionResultCache.isEnabled()) {
+            return makeQuestionFromKafka(form, email, null).thenApply(Optional::of);
+        }
+
+        String cacheKey = questionResultCache.key(form);
+        if (questionResultCache.lookup(cacheKey, email).status() != QuestionCacheLookup.Status.LEAD) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        CompletableFuture<Long> sent;
+        try {
+            sent = makeQuestionFromKafka(form, email, cacheKey);
+        } catch (RuntimeException e) {
+            questionResultCache.abandon(cacheKey);
+            throw e;
+        }
+
+        return sent
+                .whenComplete((offset, e) -> {
+                    if (e != null) {
+                        questionResultCache.abandon(cacheKey);
+                    }
+                })
+                .thenApply(Optional::of);
+    }
+
+
     /**
      * Kafka로부터 수신된 메시지를 대기하고, {@link QuestionResponseRawForm} 객체로 반환합니다.
      *
@@ -176,6 +285,45 @@ public class KafkaService {
     }
 
 
+    /**
+     * 문제가 만들어질 때까지 요청 스레드를 점유하지 않고 대기한 후, {@link QuestionResponseRawForm} 객체로 반환합니다.
+     *
+     * <p>Consumer가 결과를 저장하는 즉시 완료되며, 대기 시간 내에 결과가 없으면
+     * {@link ErrorCode#QUESTION_NOT_READY} 예외로 완료됩니다.</p>
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터 (email로 사용자 식별)
+     * @param waitMillis 클라이언트가 지정한 최대 대기 시간(ms). 서버 최대 대기 시간을 넘을 수 없습니다.
+     * @return 문제가 만들어지면 완료되는 CompletableFuture
+     */
+    public CompletableFuture<QuestionResponseRawForm> awaitQuestionFromKafka(String email, long waitMillis) {
+        return awaitQuestionFromKafka(email, boundedWait(waitMillis));
+    }
+
+
+    /**
+     * 문제가 만들어질 때까지 서버가 지정한 시간 동안 대기합니다.
+     * 클라이언트 입력이 아닌 서버 내부(SSE 등)에서 대기 시간을 정하는 경우에 사용합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터 (email로 사용자 식별)
+     * @param wait 최대 대기 시간
+     * @return 문제가 만들어지면 완료되는 CompletableFuture
+     */
+    public CompletableFuture<QuestionResponseRawForm> awaitQuestionFromKafka(String email, Duration wait) {
+        return kafkaResultNotifier.await(RedisKeyUtil.questionState(email), wait,
+                () -> questionConsumer.findMessage(email), form -> restoreQuestionResult(email, form), ErrorCode.QUESTION_NOT_READY);
+    }
+
+    /**
+     * 꺼냈지만 클라이언트에 전달하지 못한 문제를 되돌려, 다시 조회할 수 있도록 합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터 (email로 사용자 식별)
+     * @param form 전달하지 못한 문제
+     */
+    public void restoreQuestionResult(String email, QuestionResponseRawForm form) {
+        restore(RedisKeyUtil.questionState(email), form);
+    }
+
+
     /**
      * 문제 해설(Explanation) 요청을 위한 Kafka 메시지를 생성하고 전송합니다.
      *
@@ -185,21 +333,30 @@ public class KafkaService {
      *
      * @param form 설명 요청에 필요한 문제 정보가 담긴 DTO 객체
      * @param email 회원 JWT 안의 userEmail 데이터 (email로 사용자 식별)
-     * @return 전송한 Kafka 메시지의 offset 값
+     * @return 전송한 Kafka 메시지의 offset 값으로 완료되는 CompletableFuture
      */
-    public Long makeExplanationFromKafka(QuestionResponseRawForm form, String email) {
-        String explanationDefinition = questionMemoryRepository.getExplanationDefinition(form.getQuestionType());
-
+    public CompletableFuture<Long> makeExplanationFromKafka(QuestionResponseRawForm form, String email) {
         log.info("SEND EX : {}", form);
 
         try {
-            String topic = getUserExplanationTopic(email);
-
             return explanationProducer.sendMessage(
-                    objectMapper.writeValueAsString(
-                            new ExplanationSubmitKafkaForm(form, explanationDefinition)), email, topic);
+                    objectMapper.writeValueAsString(payloadRegistry.toExplanationPayload(form)), email)
+                    .thenApply(produced -> {
+                        saveProducedOffset(RedisKeyUtil.explanationState(email), produced);
+                        return produced.offset();
+                    });
         } catch (JsonProcessingException e) {
             throw new ApiException(ErrorCode.MESSAGE_PARSING_ERROR);
+        } catch (ApiException e) {
+            // 같은 문제의 해설을 서버가 이미 자동으로 요청했다면, 그 요청의 Offset을 반환합니다.
+            if (e.getErrorCode() == ErrorCode.DUPLICATE_REQUEST) {
+                Optional<Long> offset = userRequestStateRepository.findAutoRequestedOffset(
+                        RedisKeyUtil.explanationState(email), QuestionHandle.digest(form));
+                if (offset.isPresent()) {
+                    return CompletableFuture.completedFuture(offset.get());
+                }
+            }
+            throw e;
         }
     }
 
@@ -219,36 +376,229 @@ public class KafkaService {
     }
 
 
+    /**
+     * 해설이 만들어질 때까지 요청 스레드를 점유하지 않고 대기한 후, {@link ExplanationResponseRawForm} 객체로 반환합니다.
+     *
+     * <p>Consumer가 결과를 저장하는 즉시 완료되며, 대기 시간 내에 결과가 없으면
+     * {@link ErrorCode#EXPLANATION_NOT_READY} 예외로 완료됩니다.</p>
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터 (email로 사용자 식별)
+     * @param waitMillis 클라이언트가 지정한 최대 대기 시간(ms). 서버 최대 대기 시간을 넘을 수 없습니다.
+     * @return 해설이 만들어지면 완료되는 CompletableFuture
+     */
+    public CompletableFuture<ExplanationResponseRawForm> awaitExplanationFromKafka(String email, long waitMillis) {
+        return awaitExplanationFromKafka(email, boundedWait(waitMillis));
+    }
+
+
+    /**
+     * 해설이 만들어질 때까지 서버가 지정한 시간 동안 대기합니다.
+     * 클라이언트 입력이 아닌 서버 내부(SSE 등)에서 대기 시간을 정하는 경우에 사용합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터 (email로 사용자 식별)
+     * @param wait 최대 대기 시간
+     * @return 해설이 만들어지면 완료되는 CompletableFuture
+     */
+    public CompletableFuture<ExplanationResponseRawForm> awaitExplanationFromKafka(String email, Duration wait) {
+        return kafkaResultNotifier.await(RedisKeyUtil.explanationState(email), wait,
+                () -> explanationConsumer.findMessage(email), explanation -> restoreExplanationResult(email, explanation), ErrorCode.EXPLANATION_NOT_READY);
+    }
+
+    /**
+     * 꺼냈지만 클라이언트에 전달하지 못한 해설을 되돌려, 다시 조회할 수 있도록 합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터 (email로 사용자 식별)
+     * @param explanation 전달하지 못한 해설
+     */
+    public void restoreExplanationResult(String email, ExplanationResponseRawForm explanation) {
+        restore(RedisKeyUtil.explanationState(email), explanation);
+    }
+
+    /**
+     * 결과 대기를 취소합니다. 결과를 꺼내는 도중에 취소되어 결과가 사라지지 않도록, {@link KafkaResultNotifier#cancel}을 거칩니다.
+     *
+     * @param waiting {@link #awaitQuestionFromKafka} 또는 {@link #awaitExplanationFromKafka}가 반환한 CompletableFuture
+     */
+    public void cancelAwait(CompletableFuture<?> waiting) {
+        kafkaResultNotifier.cancel(waiting);
+    }
+
+    /**
+     * 받은 결과의 후처리(DB 저장 등)를 실행할 Executor를 반환합니다. ({@link KafkaResultNotifier#executor()})
+     *
+     * @return 결과 처리 Executor
+     */
+    public Executor resultExecutor() {
+        return kafkaResultNotifier.executor();
+    }
+
+    private void restore(String stateKey, Object result) {
+        try {
+            userRequestStateRepository.restoreMessage(stateKey, objectMapper.writeValueAsBytes(result));
+            kafkaResultNotifier.publish(stateKey);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to restore undelivered result : {}", stateKey, e);
+        }
+    }
+
+    private Duration boundedWait(long waitMillis) {
+        return Duration.ofMillis(Math.max(0, Math.min(waitMillis, maxWaitMillis)));
+    }
+
+
     /**
      * 현재 JWT userEmail에 저장된 Kafka Consumer의 오프셋을 조회합니다.
      *
-     * <p>세션에서 `questionOffset` 및 `questionTopic` 정보를 가져와 현재 Kafka Consumer가
+     * <p>사용자 요청 상태에서 할당된 `topic`과 요청이 저장된 `partition` 정보를 가져와 현재 Kafka Consumer가
      * 지정된 Topic과 Partition에서 어디까지 메시지를 소비했는지를 확인합니다.</p>
      *
      * @param email 사용자 JWT userEmail 데이터
-     * @return 현재 커밋된 Kafka Consumer 오프셋 값. 값이 없을 경우 0L을 반환합니다.
+     * @return 현재 커밋된 Kafka Consumer 오프셋 값. 값이 없을 경우 -1을 반환합니다.
      */
     public long getRecentConsumedQuestionOffset(String email) {
-
-        String topic = getUserQuestionTopic(email);
-
-        return kafkaOffsetChecker.getCommittedOffset(groupId, topic, partition);
+        return getRecentConsumedOffset(userRequestStateRepository.getState(RedisKeyUtil.questionState(email)));
     }
 
 
     /**
      * 현재 JWT userEmail에 저장된 Kafka Consumer의 Explanation 관련 오프셋을 조회합니다.
      *
-     * <p>세션에서 `explanationOffset` 및 `explanationTopic` 정보를 기반으로,
+     * <p>사용자 요청 상태에서 할당된 `topic`과 요청이 저장된 `partition` 정보를 기반으로,
      * 지정된 Kafka Topic과 Partition에서 현재 커밋된 오프셋 값을 조회합니다.</p>
      *
      * @param email 사용자 JWT userEmail 데이터
-     * @return 현재 커밋된 Kafka Consumer 오프셋 값. 값이 없을 경우 0L을 반환합니다.
+     * @return 현재 커밋된 Kafka Consumer 오프셋 값. 값이 없을 경우 -1을 반환합니다.
      */
     public long getRecentConsumedExplanationOffset(String email) {
+        return getRecentConsumedOffset(userRequestStateRepository.getState(RedisKeyUtil.explanationState(email)));
+    }
+
+
+    /**
+     * 특정 Topic Partition에서 현재 커밋된 Kafka Consumer 오프셋을 조회합니다.
+     *
+     * @param topic Kafka Topic
+     * @param partition Topic Partition
+     * @return 현재 커밋된 Kafka Consumer 오프셋 값. 값이 없을 경우 -1을 반환합니다.
+     */
+    public long getRecentConsumedOffset(String topic, int partition) {
+        return kafkaOffsetChecker.getCommittedOffset(topic, partition);
+    }
+
+
+    /**
+     * 사용자 요청이 저장된 Partition의 커밋 Offset을 조회합니다.
+     * 아직 요청을 전송하지 않았다면 {@code DEFAULT_PARTITION}을 조회합니다.
+     */
+    private long getRecentConsumedOffset(UserRequestState state) {
+        if (state.topic() == null) {
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }
+
+        int partition = state.partition() == null ? DEFAULT_PARTITION : state.partition();
+        return getRecentConsumedOffset(state.topic(), partition);
+    }
+
+
+    /**
+     * 사용자의 문제 생성 요청이 대기열에서 몇 번째인지와 예상 완료 시간을 계산합니다.
+     *
+     * @param email 사용자 JWT userEmail 데이터
+     * @return 대기열 위치 정보
+     */
+    public QueuePositionDto getQuestionPosition(String email) {
+        return estimatePosition(userRequestStateRepository.getState(RedisKeyUtil.questionState(email)));
+    }
+
 
-        String topic = getUserExplanationTopic(email);
+    /**
+     * 사용자의 해설 생성 요청이 대기열에서 몇 번째인지와 예상 완료 시간을 계산합니다.
+     *
+     * @param email 사용자 JWT userEmail 데이터
+     * @return 대기열 위치 정보
+     */
+    public QueuePositionDto getExplanationPosition(String email) {
+        return estimatePosition(userRequestStateRepository.getState(RedisKeyUtil.explanationState(email)));
+    }
+
+
+    /**
+     * 사용자가 전송한 문제 생성 요청의 Partition과 Offset을 조회합니다.
+     *
+     * @param email 사용자 JWT userEmail 데이터
+     * @return 전송한 요청의 Partition과 Offset. 아직 전송하지 않았다면 빈 Optional을 반환합니다.
+     */
+    public Optional<ProducedOffset> findProducedQuestionOffset(String email) {
+        return producedOffset(userRequestStateRepository.getState(RedisKeyUtil.questionState(email)));
+    }
+
+
+    /**
+     * 사용자가 전송한 해설 생성 요청의 Partition과 Offset을 조회합니다.
+     *
+     * @param email 사용자 JWT userEmail 데이터
+     * @return 전송한 요청의 Partition과 Offset. 아직 전송하지 않았다면 빈 Optional을 반환합니다.
+     */
+    public Optional<ProducedOffset> findProducedExplanationOffset(String email) {
+        return producedOffset(userRequestStateRepository.getState(RedisKeyUtil.explanationState(email)));
+    }
+
+
+    /**
+     * 한 번에 조회한 사용자 요청 상태(Topic, 요청 Partition, Offset)로 대기열 위치를 계산합니다.
+     *
+     * @param state 사용자 요청 상태
+     * @return 대기열 위치 정보
+     */
+    private QueuePositionDto estimatePosition(UserRequestState state) {
+        if (state.topic() == null) {
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }
+
+        ProducedOffset produced = producedOffset(state).orElseThrow(() -> new ApiException(ErrorCode.OFFSET_NOT_FOUND));
+        return estimatePosition(state.topic(), produced);
+    }
+
+
+    private Optional<ProducedOffset> producedOffset(UserRequestState state) {
+        if (state.partition() == null || state.offset() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new ProducedOffset(state.partition(), state.offset()));
+    }
+
+
+    /**
+     * 최근 Offset 스냅샷을 기준으로, 주어진 요청의 대기열 위치와 예상 완료 시간을 계산합니다.
+     *
+     * <p>대기 순번은 요청이 저장된 Partition에서의 (내 요청 Offset - 커밋된 Offset)이며, 예상 완료 시간은
+     * 내 요청까지 처리해야 할 메시지 수를 해당 Partition의 처리 속도(EWMA)로 나눈 값입니다.</p>
+     *
+     * @param topic 요청이 전송된 Kafka Topic
+     * @param produced 요청 메시지의 Partition과 Offset
+     * @return 대기열 위치 정보
+     */
+    public QueuePositionDto estimatePosition(String topic, ProducedOffset produced) {
+        int partition = produced.partition();
+        long offset = produced.offset();
+        long committed = kafkaOffsetChecker.getCommittedOffset(topic, partition);
+        long position = Math.max(0, offset - Math.max(committed, 0));
+        double rate = kafkaOffsetChecker.getConsumeRate(topic, partition);
+
+        Long estimatedWaitSeconds = null;
+        if (committed > offset) {
+            estimatedWaitSeconds = 0L;
+        } else if (rate > 0) {
+            estimatedWaitSeconds = (long) Math.ceil((position + 1) / rate);
+        }
 
-        return kafkaOffsetChecker.getCommittedOffset(groupId, topic, partition);
+        return QueuePositionDto.builder()
+                .topic(topic)
+                .partition(partition)
+                .offset(offset)
+                .committedOffset(committed)
+                .position(position)
+                .estimatedWaitSeconds(estimatedWaitSeconds)
+                .build();
     }
 }
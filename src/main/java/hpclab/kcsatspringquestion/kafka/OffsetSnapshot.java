@@ -0,0 +1,59 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 특정 시점에 조회한 Kafka 생성 요청 Topic들의 Offset 정보입니다.
+ * 한 번 만들어지면 변경되지 않으므로, 여러 요청 스레드가 잠금 없이 읽을 수 있습니다.
+ *
+ * @param topics 조회 대상이 된 생성 요청 Topic 목록
+ * @param committedOffsets Consumer Group이 커밋한 Offset (다음에 consume할 메시지의 Offset)
+ * @param logEndOffsets 각 Partition의 마지막 Offset (다음에 produce될 메시지의 Offset)
+ * @param consumeRates 각 Partition의 초당 처리 메시지 수 (EWMA)
+ * @param createdAt 조회 시각 (epoch ms)
+ */
+public record OffsetSnapshot(Set<String> topics,
+                             Map<TopicPartition, Long> committedOffsets,
+                             Map<TopicPartition, Long> logEndOffsets,
+                             Map<TopicPartition, Double> consumeRates,
+                             long createdAt) {
+
+    public static final OffsetSnapshot EMPTY = new OffsetSnapshot(Set.of(), Map.of(), Map.of(), Map.of(), 0L);
+
+    public OffsetSnapshot {
+        topics = Set.copyOf(topics);
+        committedOffsets = Map.copyOf(committedOffsets);
+        logEndOffsets = Map.copyOf(logEndOffsets);
+        consumeRates = Map.copyOf(consumeRates);
+    }
+
+    /**
+     * 커밋된 Offset을 반환합니다.
+     *
+     * @return 커밋된 Offset. 값이 없을 경우 -1을 반환합니다.
+     */
+    public long getCommittedOffset(TopicPartition topicPartition) {
+        return committedOffsets.getOrDefault(topicPartition, -1L);
+    }
+
+    /**
+     * Partition의 마지막 Offset을 반환합니다.
+     *
+     * @return 마지막 Offset. 값이 없을 경우 -1을 반환합니다.
+     */
+    public long getLogEndOffset(TopicPartition topicPartition) {
+        return logEndOffsets.getOrDefault(topicPartition, -1L);
+    }
+
+    /**
+     * Partition의 초당 처리 메시지 수를 반환합니다.
+     *
+     * @return 초당 처리 메시지 수. 아직 측정되지 않았다면 0을 반환합니다.
+     */
+    public double getConsumeRate(TopicPartition topicPartition) {
+        return consumeRates.getOrDefault(topicPartition, 0.0);
+    }
+}
@@ -0,0 +1,10 @@
+package hpclab.kcsatspringquestion.kafka;
+
+/**
+ * 미리 만들어 둔 문제와 해설입니다. 두 값 모두 GPU 서버가 보낸 생성 결과 원본(JSON)입니다.
+ *
+ * @param question 문제 생성 결과
+ * @param explanation 해설 생성 결과
+ */
+public record PooledQuestion(String question, String explanation) {
+}
@@ -0,0 +1,197 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitKafkaForm;
+import hpclab.kcsatspringquestion.questionGenerator.repository.PassageStore;
+import hpclab.kcsatspringquestion.redis.QuestionCacheLookup;
+import hpclab.kcsatspringquestion.redis.QuestionCacheRepository;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import hpclab.kcsatspringquestion.redis.UserRequestStateRepository;
+import hpclab.kcsatspringquestion.util.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자가 입력한 지문으로 만든 문제 생성 결과를 캐시하고, 같은 요청을 하나로 합치는 클래스입니다.
+ *
+ * <p>캐시 키는 (문제 유형, 정규화한 지문, Definition 해시)의 SHA-256 해시입니다.
+ * 지문은 유니코드 정규화(NFC) 후 줄마다 앞뒤 공백을 지우고 연속된 공백을 하나로 합치며, 빈 줄을 제거하므로
+ * 복사 / 붙여넣기 과정에서 생긴 공백 차이는 같은 요청으로 처리됩니다. Definition이 바뀌면 캐시 키도 바뀝니다.</p>
+ *
+ * <p>결과는 서버별 메모리 캐시와 Redis 캐시에 함께 저장하며, 조회는 메모리 캐시를 먼저 확인합니다.
+ * 캐시에 결과가 없고 같은 요청이 이미 생성 중이라면 Kafka 메시지를 보내지 않고 결과를 기다리며,
+ * 생성을 맡은 요청의 결과를 받으면 기다리던 모든 사용자에게 같은 결과를 전달합니다.</p>
+ *
+ * <p>결과는 생성을 직접 요청한 경우와 같이 사용자 요청 상태에 저장되므로,
+ * 기존 결과 조회(Long-Polling, SSE)를 그대로 사용할 수 있습니다.</p>
+ */
+@Slf4j
+@Component
+public class QuestionResultCache {
+
+    private static final Pattern HORIZONTAL_WHITESPACE = Pattern.compile("\\h+");
+
+    /**
+     * 결과 캐시 사용 여부. 결과를 함께 받는 요청은 Offset 없이 {@code S103}을 응답하므로, 기본값은 false입니다.
+     */
+    @Value("${question.cache.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * 생성 결과를 캐시에 보관하는 시간(ms)
+     */
+    @Value("${question.cache.ttl-ms:1800000}")
+    private long cacheTtlMillis;
+
+    private final ExpiringCache<String, byte[]> localCache;
+
+    private final QuestionCacheRepository questionCacheRepository;
+    private final UserRequestStateRepository userRequestStateRepository;
+    private final KafkaResultNotifier kafkaResultNotifier;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public QuestionResultCache(@Value("${question.cache.local-max-size:1000}") int localMaxSize,
+                               QuestionCacheRepository questionCacheRepository,
+                               UserRequestStateRepository userRequestStateRepository,
+                               KafkaResultNotifier kafkaResultNotifier,
+                               RedisTemplate<String, String> redisTemplate) {
+        this.localCache = new ExpiringCache<>(localMaxSize);
+        this.questionCacheRepository = questionCacheRepository;
+        this.userRequestStateRepository = userRequestStateRepository;
+        this.kafkaResultNotifier = kafkaResultNotifier;
+        this.redisTemplate = redisTemplate;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 문제 생성 요청의 캐시 키를 만듭니다.
+     *
+     * @param form 문제 생성 요청 (Definition, 지문 원문 포함)
+     * @return 캐시 키 (64자리 16진수 문자열)
+     */
+    public String key(QuestionSubmitKafkaForm form) {
+        String source = form.getType() + "\n" + PassageStore.digestHex(Objects.toString(form.getDefinition(), "")) + "\n" + normalize(form.getMainText());
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 캐시된 결과가 있다면 사용자 요청 상태에 저장하고 결과 저장을 알립니다.
+     * 없다면 이 요청이 생성을 맡을지({@link QuestionCacheLookup.Status#LEAD}), 기다릴지({@link QuestionCacheLookup.Status#WAIT}) 정합니다.
+     *
+     * @param cacheKey 캐시 키
+     * @param email 회원 email
+     * @return 캐시 조회 결과
+     */
+    public QuestionCacheLookup lookup(String cacheKey, String email) {
+        String stateKey = RedisKeyUtil.questionState(email);
+
+        byte[] cached = findLocal(cacheKey);
+        if (cached != null) {
+            deliver(List.of(stateKey), cached);
+            return new QuestionCacheLookup(QuestionCacheLookup.Status.HIT, null);
+        }
+
+        QuestionCacheLookup lookup = questionCacheRepository.coalesce(cacheKey, email, stateKey);
+        if (lookup.status() == QuestionCacheLookup.Status.HIT) {
+            putLocal(cacheKey, lookup.message().getBytes(StandardCharsets.UTF_8));
+            kafkaResultNotifier.publish(stateKey);
+        }
+        return lookup;
+    }
+
+    /**
+     * 생성을 맡은 요청이 전송에 실패했을 때, 다음 요청이 생성을 맡을 수 있도록 합니다.
+     *
+     * @param cacheKey 캐시 키
+     */
+    public void abandon(String cacheKey) {
+        questionCacheRepository.abandon(cacheKey);
+    }
+
+    /**
+     * Consumer가 저장한 생성 결과 중 생성을 맡았던 요청의 결과를 캐시에 저장하고,
+     * 같은 요청의 결과를 기다리던 사용자에게 전달합니다.
+     *
+     * <p>생성을 요청한 사용자에게는 이미 결과가 저장되었으므로, 이 과정의 실패는 기록만 합니다.</p>
+     *
+     * @param messages 사용자 요청 상태 Hash 키별 생성 결과 원본
+     */
+    public void complete(Map<String, byte[]> messages) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            userRequestStateRepository.takeCacheKeys(messages.keySet()).forEach((stateKey, cacheKey) -> {
+                byte[] message = messages.get(stateKey);
+                putLocal(cacheKey, message);
+
+                List<String> waiters = questionCacheRepository.complete(cacheKey, new String(message, StandardCharsets.UTF_8));
+                if (!waiters.isEmpty()) {
+                    log.info("Sharing cached question with {} waiting users", waiters.size());
+                    deliver(waiters.stream().map(RedisKeyUtil::questionState).toList(), message);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to cache question results", e);
+        }
+    }
+
+    /**
+     * 메모리 캐시에서 만료되지 않은 결과를 조회합니다.
+     */
+    byte[] findLocal(String cacheKey) {
+        return localCache.get(cacheKey);
+    }
+
+    void putLocal(String cacheKey, byte[] message) {
+        localCache.put(cacheKey, message, System.currentTimeMillis() + cacheTtlMillis);
+    }
+
+    /**
+     * 결과를 사용자 요청 상태에 저장하고 결과 저장을 알립니다. 저장과 알림은 하나의 파이프라인으로 전송됩니다.
+     */
+    private void deliver(Collection<String> stateKeys, byte[] message) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            stateKeys.forEach(key -> userRequestStateRepository.saveQuestion(connection, key, message));
+            stateKeys.forEach(key -> kafkaResultNotifier.publish(connection, key));
+            return null;
+        });
+    }
+
+    /**
+     * 지문을 유니코드 정규화(NFC)하고, 줄마다 연속된 공백(NBSP 등 포함)을 하나로 합쳐 앞뒤 공백을 제거한 후 빈 줄을 제거합니다.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        return Normalizer.normalize(text, Normalizer.Form.NFC).lines()
+                .map(line -> HORIZONTAL_WHITESPACE.matcher(line).replaceAll(" ").strip())
+                .filter(line -> !line.isEmpty())
+                .collect(Collectors.joining("\n"));
+    }
+}
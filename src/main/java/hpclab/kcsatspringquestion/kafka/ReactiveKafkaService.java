@@ -0,0 +1,623 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.kafka.producer.ExplanationProducer;
+import hpclab.kcsatspringquestion.kafka.producer.PayloadRegistry;
+import hpclab.kcsatspringquestion.kafka.producer.ProducedOffset;
+import hpclab.kcsatspringquestion.kafka.producer.QuestionProducer;
+import hpclab.kcsatspringquestion.kafka.producer.TopicAllocator;
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import hpclab.kcsatspringquestion.questionGenerator.dto.ExamProgressDto;
+import hpclab.kcsatspringquestion.questionGenerator.dto.ExplanationResponseRawForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionHandle;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionResponseRawForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitKafkaForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QueuePositionDto;
+import hpclab.kcsatspringquestion.redis.ReactiveExamRepository;
+import hpclab.kcsatspringquestion.redis.ReactiveQuestionCacheRepository;
+import hpclab.kcsatspringquestion.redis.ReactiveUserRequestStateRepository;
+import hpclab.kcsatspringquestion.redis.ReactiveWarmPoolRepository;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import hpclab.kcsatspringquestion.redis.UserRequestState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Kafka를 이용한 로직을 Reactive 방식으로 구현한 클래스입니다. (reactive 프로필)
+ *
+ * <p>{@link KafkaService}와 같은 Redis 상태, Kafka Topic을 사용하며, Redis와 Kafka 응답을 기다리는 동안 스레드를 점유하지 않습니다.
+ * 생성 결과는 기존 Consumer가 사용자 요청 상태 Hash에 저장하고 Redis Pub/Sub으로 알리므로,
+ * 결과를 consume한 서버와 요청을 받은 서버가 달라도 동작합니다.</p>
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveKafkaService {
+
+    /**
+     * 중복 요청 lock 유지 시간입니다.
+     */
+    private static final Duration REQUEST_LOCK_TTL = Duration.ofMinutes(1);
+
+    /**
+     * 결과를 기다리는 요청(Long-Polling)이 최대로 대기할 수 있는 시간(ms)입니다.
+     */
+    @Value("${kafka.long-poll.max-wait-ms:25000}")
+    private long maxWaitMillis;
+
+    /**
+     * Kafka 메시지 전송 결과를 기다리는 최대 시간(ms)입니다.
+     */
+    @Value("${kafka.producer.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    /**
+     * Kafka에서 Topic 목록을 아직 조회하지 못했을 때 라운드로빈할 문제 생성 Topic 개수
+     */
+    @Value("${kafka.producer.question-server-size:1}")
+    private int questionServerSize;
+
+    /**
+     * Kafka에서 Topic 목록을 아직 조회하지 못했을 때 라운드로빈할 해설 생성 Topic 개수
+     */
+    @Value("${kafka.producer.explanation-server-size:1}")
+    private int explanationServerSize;
+
+    private final ReactiveKafkaProducerTemplate<String, String> reactiveKafkaProducerTemplate;
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final ReactiveUserRequestStateRepository reactiveUserRequestStateRepository;
+    private final ReactiveQuestionCacheRepository reactiveQuestionCacheRepository;
+    private final ReactiveWarmPoolRepository reactiveWarmPoolRepository;
+    private final ReactiveExamRepository reactiveExamRepository;
+
+    private final PayloadRegistry payloadRegistry;
+    private final TopicAllocator topicAllocator;
+    private final KafkaResultNotifier kafkaResultNotifier;
+    private final QuestionResultCache questionResultCache;
+    private final WarmPoolManager warmPoolManager;
+    private final ExamManager examManager;
+
+    /**
+     * Offset 스냅샷 기반의 계산(대기열 위치 등)은 메모리만 사용하므로 그대로 사용합니다.
+     */
+    private final KafkaService kafkaService;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 문제 생성 Topic을 발급받은 후, 사용자에게 1분간 할당합니다.
+     *
+     * @param email UserEmail
+     * @return 할당된 Question Topic
+     */
+    public Mono<String> assignQuestionTopic(String email) {
+        return nextTopic(RedisKeyUtil.questionTopicCounter(), QuestionProducer.QUESTION_REQUEST_TOPIC, questionServerSize)
+                .flatMap(topic -> assignTopic(RedisKeyUtil.questionState(email), topic, Duration.ofMinutes(1)));
+    }
+
+    /**
+     * 해설 생성 Topic을 발급받은 후, 사용자에게 70초간 할당합니다.
+     *
+     * @param email UserEmail
+     * @return 할당된 Explanation Topic
+     */
+    public Mono<String> assignExplanationTopic(String email) {
+        return nextTopic(RedisKeyUtil.explanationTopicCounter(), ExplanationProducer.EXPLANATION_REQUEST_TOPIC, explanationServerSize)
+                .flatMap(topic -> assignTopic(RedisKeyUtil.explanationState(email), topic, Duration.ofSeconds(70)));
+    }
+
+    /**
+     * 저장된 각 유저별 현재 Question Topic을 가져옵니다.
+     *
+     * @param email UserEmail
+     * @return Question Topic
+     */
+    public Mono<String> getUserQuestionTopic(String email) {
+        return getUserTopic(RedisKeyUtil.questionState(email));
+    }
+
+    /**
+     * 저장된 각 유저별 현재 Explanation Topic을 가져옵니다.
+     *
+     * @param email UserEmail
+     * @return Explanation Topic
+     */
+    public Mono<String> getUserExplanationTopic(String email) {
+        return getUserTopic(RedisKeyUtil.explanationState(email));
+    }
+
+    /**
+     * 주어진 문제 생성 요청을 Kafka를 통해 전송합니다.
+     *
+     * @param form 문제 생성 요청 정보를 담고 있는 DTO 객체
+     * @param email 회원 JWT 안의 UserEmail 정보. email 정보는 메시지 키로 활용됩니다.
+     * @return 전송한 Kafka 메시지의 Offset
+     */
+    public Mono<Long> makeQuestion(QuestionSubmitKafkaForm form, String email) {
+        return send(RedisKeyUtil.questionState(email), payloadRegistry.toPayload(form), email);
+    }
+
+    /**
+     * 모의고사의 문제 생성 요청을 한 번에 Kafka로 전송합니다. ({@link KafkaService#makeExamFromKafka})
+     *
+     * @param forms 문제 번호 순서의 문제 생성 요청
+     * @param email 회원 JWT 안의 UserEmail 정보
+     * @return 모든 요청을 전송한 후 모의고사 식별자. 이미 생성 요청 중인 모의고사가 있다면 {@link ErrorCode#DUPLICATE_REQUEST} 예외로 종료됩니다.
+     */
+    public Mono<String> makeExam(List<QuestionSubmitKafkaForm> forms, String email) {
+        String examId = ExamManager.newExamId();
+        return reactiveExamRepository.create(examId, email, forms.size())
+                .flatMap(created -> created
+                        ? Mono.fromFuture(() -> examManager.send(examId, forms)).thenReturn(examId)
+                        : Mono.error(new ApiException(ErrorCode.DUPLICATE_REQUEST)));
+    }
+
+    /**
+     * 모의고사 생성 진행 상황과 지금까지 만들어진 문제를 반환합니다.
+     *
+     * @param examId 모의고사 식별자
+     * @param email 회원 JWT 안의 UserEmail 정보
+     * @return 모의고사 진행 상황
+     */
+    public Mono<ExamProgressDto> getExamProgress(String examId, String email) {
+        return reactiveExamRepository.find(examId)
+                .map(exam -> examManager.toProgress(examId, email, exam));
+    }
+
+    /**
+     * 미리 만들어 둔 기출 지문 문제가 있다면, 문제와 해설을 사용자 요청 상태에 저장합니다. ({@link WarmPoolManager#serve})
+     *
+     * @param type 문제 유형
+     * @param email 회원 JWT 안의 UserEmail 정보
+     * @return 미리 만든 문제를 전달했다면 true
+     */
+    public Mono<Boolean> serveFromWarmPool(QuestionType type, String email) {
+        if (!warmPoolManager.isEnabled()) {
+            return Mono.just(false);
+        }
+
+        String questionState = RedisKeyUtil.questionState(email);
+        String explanationState = RedisKeyUtil.explanationState(email);
+
+        return reactiveWarmPoolRepository.take(type)
+                .map(warmPoolManager::read)
+                .flatMap(pooled -> Mono.when(
+                                reactiveUserRequestStateRepository.saveQuestion(questionState, pooled.question()),
+                                reactiveUserRequestStateRepository.saveMessage(explanationState, pooled.explanation()))
+                        .then(Mono.when(publish(questionState), publish(explanationState)))
+                        .thenReturn(true))
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * 사용자가 입력한 지문의 문제 생성 요청을 결과 캐시를 거쳐 전송합니다.
+     * 캐시된 결과가 있거나 같은 요청이 생성 중이라면 Kafka 메시지를 보내지 않습니다. ({@link KafkaService#makeCachedQuestionFromKafka})
+     *
+     * @param form 문제 생성 요청 정보를 담고 있는 DTO 객체
+     * @param email 회원 JWT 안의 UserEmail 정보
+     * @return 전송한 Kafka 메시지의 Offset. 메시지를 보내지 않았다면 빈 Optional을 반환합니다.
+     */
+    public Mono<Optional<Long>> makeCachedQuestion(QuestionSubmitKafkaForm form, String email) {
+        if (!questionResultCache.isEnabled()) {
+            return makeQuestion(form, email).map(Optional::of);
+        }
+
+        String stateKey = RedisKeyUtil.questionState(email);
+        String cacheKey = questionResultCache.key(form);
+
+        byte[] cached = questionResultCache.findLocal(cacheKey);
+        if (cached != null) {
+            return reactiveUserRequestStateRepository.saveQuestion(stateKey, new String(cached, StandardCharsets.UTF_8))
+                    .then(publish(stateKey))
+                    .thenReturn(Optional.empty());
+        }
+
+        return reactiveQuestionCacheRepository.coalesce(cacheKey, email, stateKey)
+                .flatMap(lookup -> switch (lookup.status()) {
+                    case HIT -> {
+                        questionResultCache.putLocal(cacheKey, lookup.message().getBytes(StandardCharsets.UTF_8));
+                        yield publish(stateKey).thenReturn(Optional.<Long>empty());
+                    }
+                    case WAIT -> Mono.just(Optional.<Long>empty());
+                    case LEAD -> send(stateKey, payloadRegistry.toPayload(form), email, cacheKey)
+                            .onErrorResume(e -> reactiveQuestionCacheRepository.abandon(cacheKey).then(Mono.error(e)))
+                            .map(Optional::of);
+                });
+    }
+
+    /**
+     * 생성된 문제를 기반으로 해설 생성 요청을 Kafka를 통해 전송합니다.
+     *
+     * @param form 설명 요청에 필요한 문제 정보가 담긴 DTO 객체
+     * @param email 회원 JWT 안의 userEmail 데이터 (email로 사용자 식별)
+     * @return 전송한 Kafka 메시지의 Offset
+     */
+    public Mono<Long> makeExplanation(QuestionResponseRawForm form, String email) {
+        String stateKey = RedisKeyUtil.explanationState(email);
+        // 같은 문제의 해설을 서버가 이미 자동으로 요청했다면, 그 요청의 Offset을 반환합니다.
+        return send(stateKey, payloadRegistry.toExplanationPayload(form), email)
+                .onErrorResume(e -> e instanceof ApiException apiException && apiException.getErrorCode() == ErrorCode.DUPLICATE_REQUEST,
+                        e -> reactiveUserRequestStateRepository.findAutoRequestedOffset(stateKey, QuestionHandle.digest(form))
+                                .switchIfEmpty(Mono.error(e)));
+    }
+
+    /**
+     * 해설과 합칠 문제 데이터를 저장합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터
+     * @param form 생성된 문제 정보
+     */
+    public Mono<Void> saveQuestionResult(String email, QuestionResponseRawForm form) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(form))
+                .onErrorMap(JsonProcessingException.class, e -> new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR))
+                .flatMap(data -> reactiveUserRequestStateRepository.saveData(RedisKeyUtil.questionState(email), data));
+    }
+
+    /**
+     * 문제 식별값이 가리키는 저장된 문제 데이터를 조회합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터
+     * @param handle 문제 조회 시 함께 받은 문제 식별값
+     * @return 저장된 문제. 식별값이 저장된 문제에 발급한 값이 아니라면 {@link ErrorCode#INVALID_QUESTION_HANDLE} 예외로 종료됩니다.
+     */
+    public Mono<QuestionResponseRawForm> findQuestionResult(String email, String handle) {
+        return reactiveUserRequestStateRepository.findDataByHandle(RedisKeyUtil.questionState(email), handle)
+                .switchIfEmpty(Mono.error(() -> new ApiException(ErrorCode.INVALID_QUESTION_HANDLE)))
+                .map(data -> {
+                    try {
+                        return objectMapper.readValue(data, QuestionResponseRawForm.class);
+                    } catch (IOException e) {
+                        throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+                    }
+                });
+    }
+
+    /**
+     * 만들어진 문제가 있다면 꺼내서 반환합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터
+     * @return 생성된 문제. 아직 만들어지지 않았다면 {@link ErrorCode#QUESTION_NOT_READY} 예외로 종료됩니다.
+     */
+    public Mono<QuestionResponseRawForm> receiveQuestion(String email) {
+        return takeQuestion(email)
+                .switchIfEmpty(Mono.error(() -> new ApiException(ErrorCode.QUESTION_NOT_READY)));
+    }
+
+    /**
+     * 만들어진 해설이 있다면 꺼내서 반환합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터
+     * @return 생성된 해설. 아직 만들어지지 않았다면 {@link ErrorCode#EXPLANATION_NOT_READY} 예외로 종료됩니다.
+     */
+    public Mono<ExplanationResponseRawForm> receiveExplanation(String email) {
+        return take(RedisKeyUtil.explanationState(email), ExplanationResponseRawForm.class)
+                .switchIfEmpty(Mono.error(() -> new ApiException(ErrorCode.EXPLANATION_NOT_READY)));
+    }
+
+    /**
+     * 문제가 만들어질 때까지 대기한 후 반환합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터
+     * @param waitMillis 클라이언트가 지정한 최대 대기 시간(ms). 서버 최대 대기 시간을 넘을 수 없습니다.
+     * @return 생성된 문제. 대기 시간 내에 결과가 없으면 {@link ErrorCode#QUESTION_NOT_READY} 예외로 종료됩니다.
+     */
+    public Mono<QuestionResponseRawForm> awaitQuestion(String email, long waitMillis) {
+        return awaitQuestion(email, boundedWait(waitMillis));
+    }
+
+    /**
+     * 문제가 만들어질 때까지 서버가 지정한 시간 동안 대기합니다. (SSE 등)
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터
+     * @param wait 최대 대기 시간
+     * @return 생성된 문제
+     */
+    public Mono<QuestionResponseRawForm> awaitQuestion(String email, Duration wait) {
+        return await(RedisKeyUtil.questionState(email), wait, () -> takeQuestion(email), ErrorCode.QUESTION_NOT_READY);
+    }
+
+    /**
+     * 해설이 만들어질 때까지 대기한 후 반환합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터
+     * @param waitMillis 클라이언트가 지정한 최대 대기 시간(ms). 서버 최대 대기 시간을 넘을 수 없습니다.
+     * @return 생성된 해설. 대기 시간 내에 결과가 없으면 {@link ErrorCode#EXPLANATION_NOT_READY} 예외로 종료됩니다.
+     */
+    public Mono<ExplanationResponseRawForm> awaitExplanation(String email, long waitMillis) {
+        return awaitExplanation(email, boundedWait(waitMillis));
+    }
+
+    /**
+     * 해설이 만들어질 때까지 서버가 지정한 시간 동안 대기합니다. (SSE 등)
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터
+     * @param wait 최대 대기 시간
+     * @return 생성된 해설
+     */
+    public Mono<ExplanationResponseRawForm> awaitExplanation(String email, Duration wait) {
+        return await(RedisKeyUtil.explanationState(email), wait, () -> take(RedisKeyUtil.explanationState(email), ExplanationResponseRawForm.class), ErrorCode.EXPLANATION_NOT_READY);
+    }
+
+    /**
+     * 꺼냈지만 클라이언트에 전달하지 못한 해설을 되돌려, 다시 조회할 수 있도록 합니다. ({@link KafkaService#restoreExplanationResult})
+     *
+     * @param email 회원 JWT 안의 userEmail 데이터
+     * @param explanation 전달하지 못한 해설
+     * @return 되돌린 후 완료되는 Mono. 되돌리지 못하면 로그만 남기고 완료됩니다.
+     */
+    public Mono<Void> restoreExplanationResult(String email, ExplanationResponseRawForm explanation) {
+        try {
+            return restore(RedisKeyUtil.explanationState(email), objectMapper.writeValueAsBytes(explanation));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to restore undelivered result : {}", RedisKeyUtil.explanationState(email), e);
+            return Mono.empty();
+        }
+    }
+
+    /**
+     * 사용자 요청이 저장된 Partition의 최근 Consume Offset을 조회합니다.
+     *
+     * @param email 사용자 JWT userEmail 데이터
+     * @return 현재 커밋된 Kafka Consumer 오프셋 값. 값이 없을 경우 -1을 반환합니다.
+     */
+    public Mono<Long> getRecentConsumedQuestionOffset(String email) {
+        return getRecentConsumedOffset(RedisKeyUtil.questionState(email));
+    }
+
+    /**
+     * 사용자 해설 요청이 저장된 Partition의 최근 Consume Offset을 조회합니다.
+     *
+     * @param email 사용자 JWT userEmail 데이터
+     * @return 현재 커밋된 Kafka Consumer 오프셋 값. 값이 없을 경우 -1을 반환합니다.
+     */
+    public Mono<Long> getRecentConsumedExplanationOffset(String email) {
+        return getRecentConsumedOffset(RedisKeyUtil.explanationState(email));
+    }
+
+    /**
+     * 사용자의 문제 생성 요청 대기열 위치와 예상 완료 시간을 계산합니다.
+     *
+     * @param email 사용자 JWT userEmail 데이터
+     * @return 대기열 위치 정보
+     */
+    public Mono<QueuePositionDto> getQuestionPosition(String email) {
+        return getPosition(RedisKeyUtil.questionState(email));
+    }
+
+    /**
+     * 사용자의 해설 생성 요청 대기열 위치와 예상 완료 시간을 계산합니다.
+     *
+     * @param email 사용자 JWT userEmail 데이터
+     * @return 대기열 위치 정보
+     */
+    public Mono<QueuePositionDto> getExplanationPosition(String email) {
+        return getPosition(RedisKeyUtil.explanationState(email));
+    }
+
+    /**
+     * 사용자가 전송한 문제 생성 요청의 Partition과 Offset을 조회합니다.
+     *
+     * @param email 사용자 JWT userEmail 데이터
+     * @return 전송한 요청의 Partition과 Offset. 아직 전송하지 않았다면 빈 Optional을 반환합니다.
+     */
+    public Mono<Optional<ProducedOffset>> findProducedQuestionOffset(String email) {
+        return reactiveUserRequestStateRepository.getState(RedisKeyUtil.questionState(email)).map(this::producedOffset);
+    }
+
+    /**
+     * 사용자가 전송한 해설 생성 요청의 Partition과 Offset을 조회합니다.
+     *
+     * @param email 사용자 JWT userEmail 데이터
+     * @return 전송한 요청의 Partition과 Offset. 아직 전송하지 않았다면 빈 Optional을 반환합니다.
+     */
+    public Mono<Optional<ProducedOffset>> findProducedExplanationOffset(String email) {
+        return reactiveUserRequestStateRepository.getState(RedisKeyUtil.explanationState(email)).map(this::producedOffset);
+    }
+
+    /**
+     * 밀려 있는 요청이 가장 적은 Topic을 고릅니다.
+     * Topic 정보를 아직 조회하지 못했다면 Redis {@code INCR} 순번으로 라운드로빈합니다.
+     */
+    private Mono<String> nextTopic(String counterKey, String topicPrefix, int fallbackTopicCount) {
+        return Mono.justOrEmpty(topicAllocator.leastLagged(topicPrefix))
+                .switchIfEmpty(Mono.defer(() -> reactiveStringRedisTemplate.opsForValue().increment(counterKey))
+                        .map(sequence -> TopicAllocator.roundRobinTopic(topicPrefix, sequence, fallbackTopicCount)));
+    }
+
+    private Mono<String> assignTopic(String stateKey, String topic, Duration ttl) {
+        return reactiveUserRequestStateRepository.assignTopic(stateKey, topic, ttl)
+                .flatMap(assigned -> assigned ? Mono.just(topic) : Mono.error(new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR)));
+    }
+
+    private Mono<String> getUserTopic(String stateKey) {
+        return reactiveUserRequestStateRepository.getState(stateKey)
+                .flatMap(state -> Mono.justOrEmpty(state.topic()))
+                .switchIfEmpty(Mono.error(() -> new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR)));
+    }
+
+    /**
+     * 할당된 Topic 확인과 중복 요청 lock 획득 후 메시지를 전송하고, 전송한 Partition과 Offset을 저장합니다.
+     * 전송에 실패하면 재요청할 수 있도록 lock을 해제하며, 전송 시간이 초과된 경우에는 메시지가 전달되었을 수 있으므로 lock 유지 시간까지 기다립니다.
+     */
+    private Mono<Long> send(String stateKey, Object form, String email) {
+        return send(stateKey, form, email, null);
+    }
+
+    private Mono<Long> send(String stateKey, Object form, String email, String cacheKey) {
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(form);
+        } catch (JsonProcessingException e) {
+            return Mono.error(new ApiException(ErrorCode.MESSAGE_PARSING_ERROR));
+        }
+
+        return reactiveUserRequestStateRepository.acquireRequest(stateKey, REQUEST_LOCK_TTL, cacheKey)
+                .flatMap(topic -> reactiveKafkaProducerTemplate.send(topic, email, message)
+                        .timeout(Duration.ofMillis(sendTimeoutMillis))
+                        .flatMap(result -> result.exception() == null
+                                ? Mono.just(new ProducedOffset(result.recordMetadata().partition(), result.recordMetadata().offset()))
+                                : Mono.error(result.exception()))
+                        .onErrorResume(e -> {
+                            // 시간 초과 후에도 메시지가 전달될 수 있으므로, 재요청이 같은 요청을 두 번 넣지 않도록 lock을 유지합니다.
+                            if (e instanceof TimeoutException) {
+                                log.warn("timed out waiting for send result, topic: {}, keys: {}", topic, email);
+                                return Mono.error(new ApiException(ErrorCode.MESSAGE_SEND_TIMEOUT));
+                            }
+                            log.warn("failed to send message to topic: {}, keys: {}", topic, email, e);
+                            return reactiveUserRequestStateRepository.releaseRequest(stateKey)
+                                    .then(Mono.error(new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR)));
+                        }))
+                .flatMap(produced -> reactiveUserRequestStateRepository.saveOffset(stateKey, produced.partition(), produced.offset())
+                        .thenReturn(produced.offset()));
+    }
+
+    /**
+     * 결과가 저장되었음을 모든 서버 인스턴스에 알립니다. ({@link KafkaResultNotifier}와 같은 채널을 사용합니다.)
+     */
+    private Mono<Void> publish(String stateKey) {
+        return reactiveStringRedisTemplate.convertAndSend(RedisKeyUtil.resultChannel(), stateKey).then();
+    }
+
+    /**
+     * 주어진 키에 결과가 저장될 때까지 대기합니다.
+     *
+     * <p>결과 저장 알림을 먼저 구독한 후 한 번 즉시 확인하므로, 구독 직전에 저장된 결과도 놓치지 않습니다.
+     * 대기 시간이 지나면 마지막으로 한 번 더 확인하며, 결과를 꺼내는 시도는 순서대로 하나씩 실행됩니다.
+     * 결과를 꺼내는 도중에 구독이 취소되면 꺼낸 결과를 되돌리므로, 응답하지 못한 결과를 버리는 경우가 없습니다.</p>
+     */
+    private <T> Mono<T> await(String stateKey, Duration wait, Supplier<Mono<T>> taker, ErrorCode notReady) {
+        Flux<Boolean> attempts = Flux.merge(
+                notifications(stateKey).map(signal -> false),
+                Mono.delay(wait).thenReturn(true));
+
+        return attempts
+                .concatMap(last -> taker.get()
+                        .switchIfEmpty(last ? Mono.error(() -> new ApiException(notReady)) : Mono.empty()))
+                .next();
+    }
+
+    /**
+     * 결과 저장 알림을 구독하고, 구독 직후 한 번의 신호를 보냅니다. 구독이 취소되면 알림 등록을 해제합니다.
+     */
+    private Flux<Boolean> notifications(String stateKey) {
+        return Flux.create(sink -> {
+            Runnable unsubscribe = kafkaResultNotifier.listen(stateKey, () -> sink.next(true));
+            sink.onDispose(unsubscribe::run);
+            sink.next(true);
+        }, FluxSink.OverflowStrategy.LATEST);
+    }
+
+    private <T> Mono<T> take(String stateKey, Class<T> type) {
+        return takeOrRestore(stateKey, reactiveUserRequestStateRepository.takeMessage(stateKey))
+                .map(value -> read(value, type));
+    }
+
+    /**
+     * 만들어진 문제를 꺼내고, 꺼낸 문제에 새 문제 식별값을 발급합니다.
+     */
+    private Mono<QuestionResponseRawForm> takeQuestion(String email) {
+        String handle = QuestionHandle.issue();
+        String stateKey = RedisKeyUtil.questionState(email);
+        return takeOrRestore(stateKey, reactiveUserRequestStateRepository.takeQuestion(stateKey, handle))
+                .map(value -> {
+                    QuestionResponseRawForm form = read(value, QuestionResponseRawForm.class);
+                    form.setHandle(handle);
+                    return form;
+                });
+    }
+
+    /**
+     * 결과를 꺼내는 Redis 명령은 구독이 취소되어도 실행되므로, 꺼낸 결과를 내보내기 전에 취소되었다면 명령이 끝난 후 결과를 되돌립니다.
+     * ({@link KafkaResultNotifier}가 꺼낸 결과를 전달하지 못했을 때 되돌리는 것과 같습니다.)
+     * 결과를 내보내는 것과 되돌리는 것 중 먼저 정해진 하나만 실행됩니다.
+     */
+    private Mono<byte[]> takeOrRestore(String stateKey, Mono<byte[]> taker) {
+        return Mono.defer(() -> {
+            CompletableFuture<byte[]> taken = taker.toFuture();
+            AtomicBoolean settled = new AtomicBoolean();
+            return Mono.fromFuture(taken, true)
+                    .filter(value -> settled.compareAndSet(false, true))
+                    .doOnCancel(() -> taken.thenAccept(value -> {
+                        if (value != null && settled.compareAndSet(false, true)) {
+                            restore(stateKey, value).subscribe();
+                        }
+                    }));
+        });
+    }
+
+    /**
+     * 꺼냈지만 전달하지 못한 결과를 되돌리고, 기다리는 요청이 다시 꺼낼 수 있도록 알립니다.
+     * 그 사이 새 결과가 저장되었다면 새 결과를 유지합니다. (HSETNX)
+     */
+    private Mono<Void> restore(String stateKey, byte[] message) {
+        return reactiveUserRequestStateRepository.restoreMessage(stateKey, message)
+                .then(publish(stateKey))
+                .onErrorResume(e -> {
+                    log.warn("Failed to restore undelivered result : {}", stateKey, e);
+                    return Mono.empty();
+                });
+    }
+
+    private <T> T read(byte[] value, Class<T> type) {
+        try {
+            return objectMapper.readValue(value, type);
+        } catch (IOException e) {
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }
+    }
+
+    private Duration boundedWait(long waitMillis) {
+        return Duration.ofMillis(Math.max(0, Math.min(waitMillis, maxWaitMillis)));
+    }
+
+    private Mono<Long> getRecentConsumedOffset(String stateKey) {
+        return reactiveUserRequestStateRepository.getState(stateKey)
+                .map(state -> {
+                    if (state.topic() == null) {
+                        throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+                    }
+                    int partition = state.partition() == null ? KafkaService.DEFAULT_PARTITION : state.partition();
+                    return kafkaService.getRecentConsumedOffset(state.topic(), partition);
+                });
+    }
+
+    private Mono<QueuePositionDto> getPosition(String stateKey) {
+        return reactiveUserRequestStateRepository.getState(stateKey)
+                .map(state -> {
+                    if (state.topic() == null) {
+                        throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+                    }
+                    ProducedOffset produced = producedOffset(state).orElseThrow(() -> new ApiException(ErrorCode.OFFSET_NOT_FOUND));
+                    return kafkaService.estimatePosition(state.topic(), produced);
+                });
+    }
+
+    private Optional<ProducedOffset> producedOffset(UserRequestState state) {
+        if (state.partition() == null || state.offset() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new ProducedOffset(state.partition(), state.offset()));
+    }
+}
@@ -0,0 +1,14 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import hpclab.kcsatspringquestion.kafka.producer.ProducedOffset;
+
+/**
+ * 사용자 요청을 Kafka로 전송하고 Partition, Offset을 저장한 직후 발행되는 이벤트입니다.
+ *
+ * <p>진행 상황을 전달하는 연결은 이 이벤트로 요청 Offset을 전달받으므로, 요청 Offset이 저장될 때까지 Redis를 반복해서 조회하지 않습니다.</p>
+ *
+ * @param stateKey 요청 상태가 저장된 Redis Key
+ * @param producedOffset 전송한 요청의 Partition, Offset
+ */
+public record RequestProducedEvent(String stateKey, ProducedOffset producedOffset) {
+}
@@ -0,0 +1,308 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.kafka.producer.ExplanationProducer;
+import hpclab.kcsatspringquestion.kafka.producer.PayloadRegistry;
+import hpclab.kcsatspringquestion.kafka.producer.ProducerCallbackExecutor;
+import hpclab.kcsatspringquestion.kafka.producer.QuestionProducer;
+import hpclab.kcsatspringquestion.kafka.producer.TopicAllocator;
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionResponseRawForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitKafkaForm;
+import hpclab.kcsatspringquestion.questionGenerator.repository.DatasetReloadEvent;
+import hpclab.kcsatspringquestion.questionGenerator.repository.DatasetSnapshot;
+import hpclab.kcsatspringquestion.questionGenerator.repository.PassageBucket;
+import hpclab.kcsatspringquestion.questionGenerator.repository.QuestionMemoryRepository;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import hpclab.kcsatspringquestion.redis.UserRequestStateRepository;
+import hpclab.kcsatspringquestion.redis.WarmPoolRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 기출 지문으로 만드는 문제(/allRandom, /random)를 해설까지 미리 만들어 두는 클래스입니다.
+ *
+ * <p>기출 지문 문제는 사용자 입력과 관계없이 만들어지므로, 생성 요청이 적은 시간에 미리 만들어 두었다가
+ * 요청이 오면 GPU 서버를 거치지 않고 바로 전달합니다. 문제 유형별 목록이 {@code question.pool.low-watermark}
+ * 아래로 내려가면 {@code question.pool.target-size}까지 채우며, 한 번에 {@code question.pool.refill-batch}개씩만 요청합니다.
+ * 생성 요청 Topic에 밀린 요청이 {@code question.pool.max-lag}보다 많다면 사용자 요청을 위해 채우지 않습니다.</p>
+ *
+ * <p>미리 만드는 요청은 {@code warm-pool:<유형>:<식별자>}를 메시지 key로 사용하며, Consumer는 이 key의 결과를
+ * 사용자 요청 상태 대신 이 클래스로 전달합니다. 문제가 만들어지면 같은 key로 해설을 요청하고,
+ * 해설까지 만들어지면 목록에 추가합니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmPoolManager {
+
+    private static final String POOL_KEY_PREFIX = "warm-pool:";
+
+    /**
+     * 미리 만든 문제 사용 여부
+     */
+    @Value("${question.pool.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * 문제 유형별 목록을 채우기 시작하는 하한
+     */
+    @Value("${question.pool.low-watermark:3}")
+    private int lowWatermark;
+
+    /**
+     * 문제 유형별 목록의 목표 크기
+     */
+    @Value("${question.pool.target-size:10}")
+    private int targetSize;
+
+    /**
+     * 한 번의 확인에서 새로 요청할 수 있는 최대 문제 수
+     */
+    @Value("${question.pool.refill-batch:2}")
+    private int refillBatch;
+
+    /**
+     * 목록을 채울 수 있는 생성 요청 Topic의 최대 밀린 요청 수
+     */
+    @Value("${question.pool.max-lag:0}")
+    private long maxLag;
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TopicAllocator topicAllocator;
+    private final QuestionProducer questionProducer;
+    private final ExplanationProducer explanationProducer;
+    private final PayloadRegistry payloadRegistry;
+    private final QuestionMemoryRepository questionMemoryRepository;
+    private final WarmPoolRepository warmPoolRepository;
+    private final UserRequestStateRepository userRequestStateRepository;
+    private final KafkaResultNotifier kafkaResultNotifier;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 전송 결과의 후처리(예약 취소)를 실행합니다.
+     */
+    private final ProducerCallbackExecutor producerCallbackExecutor;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 미리 만드는 요청의 메시지 key인지 확인합니다.
+     *
+     * @param key Kafka 메시지 key
+     * @return 미리 만드는 요청이라면 true
+     */
+    public static boolean isPoolKey(String key) {
+        return key != null && key.startsWith(POOL_KEY_PREFIX);
+    }
+
+    /**
+     * 생성 요청이 적을 때, 하한 아래로 내려간 문제 유형의 목록을 채웁니다.
+     */
+    @Scheduled(fixedDelayString = "${question.pool.refill-interval-ms:30000}")
+    public void refill() {
+        if (!enabled) {
+            return;
+        }
+
+        Optional<Long> questionLag = topicAllocator.totalLag(QuestionProducer.QUESTION_REQUEST_TOPIC);
+        Optional<Long> explanationLag = topicAllocator.totalLag(ExplanationProducer.EXPLANATION_REQUEST_TOPIC);
+        if (questionLag.isEmpty() || explanationLag.isEmpty() || questionLag.get() + explanationLag.get() > maxLag) {
+            return;
+        }
+
+        // 매번 같은 유형부터 채우지 않도록 순서를 섞습니다.
+        List<QuestionType> types = new ArrayList<>(List.of(QuestionType.values()));
+        Collections.shuffle(types);
+
+        int budget = refillBatch;
+        for (QuestionType type : types) {
+            if (budget <= 0) {
+                break;
+            }
+
+            int count = warmPoolRepository.reserve(type, lowWatermark, targetSize, budget);
+            for (int i = 0; i < count; i++) {
+                requestQuestion(type);
+            }
+            budget -= count;
+        }
+    }
+
+    /**
+     * 미리 만든 문제가 있다면 꺼내서, 생성을 요청한 경우와 같이 사용자 요청 상태에 문제와 해설을 저장합니다.
+     * 해설과 합칠 문제 데이터도 함께 저장하므로, 해설 생성을 요청하지 않고 바로 해설을 조회할 수 있습니다.
+     *
+     * @param type 문제 유형
+     * @param email 회원 email
+     * @return 미리 만든 문제를 전달했다면 true, 목록이 비어 있다면 false
+     */
+    public boolean serve(QuestionType type, String email) {
+        if (!enabled) {
+            return false;
+        }
+
+        Optional<String> entry = warmPoolRepository.take(type);
+        if (entry.isEmpty()) {
+            return false;
+        }
+
+        PooledQuestion pooled = read(entry.get());
+        String questionState = RedisKeyUtil.questionState(email);
+        String explanationState = RedisKeyUtil.explanationState(email);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            userRequestStateRepository.saveQuestion(connection, questionState, pooled.question().getBytes(StandardCharsets.UTF_8));
+            userRequestStateRepository.saveMessage(connection, explanationState, pooled.explanation().getBytes(StandardCharsets.UTF_8));
+            kafkaResultNotifier.publish(connection, questionState);
+            kafkaResultNotifier.publish(connection, explanationState);
+            return null;
+        });
+        return true;
+    }
+
+    /**
+     * 미리 만드는 문제의 생성 결과를 받아, 같은 key로 해설을 요청합니다.
+     *
+     * @param key Kafka 메시지 key
+     * @param value 문제 생성 결과 원본
+     */
+    public void onQuestion(String key, byte[] value) {
+        String itemId = key.substring(POOL_KEY_PREFIX.length());
+        QuestionType type = typeOf(itemId);
+
+        QuestionResponseRawForm form;
+        try {
+            form = objectMapper.readValue(value, QuestionResponseRawForm.class);
+        } catch (IOException e) {
+            warmPoolRepository.release(type);
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }
+
+        warmPoolRepository.saveItem(itemId, new String(value, StandardCharsets.UTF_8));
+        send(explanationProducer.getExplanationTopic(), key, payloadRegistry.toExplanationPayload(form), type);
+    }
+
+    /**
+     * 미리 만드는 문제의 해설 생성 결과를 받아, 문제와 함께 목록에 추가합니다.
+     *
+     * @param key Kafka 메시지 key
+     * @param value 해설 생성 결과 원본
+     */
+    public void onExplanation(String key, byte[] value) {
+        String itemId = key.substring(POOL_KEY_PREFIX.length());
+        QuestionType type = typeOf(itemId);
+
+        Optional<String> question = warmPoolRepository.takeItem(itemId);
+        if (question.isEmpty()) {
+            log.warn("Pooled question expired before its explanation arrived : {}", itemId);
+            warmPoolRepository.release(type);
+            return;
+        }
+
+        try {
+            warmPoolRepository.push(type, objectMapper.writeValueAsString(
+                    new PooledQuestion(question.get(), new String(value, StandardCharsets.UTF_8))));
+        } catch (JsonProcessingException e) {
+            warmPoolRepository.release(type);
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }
+    }
+
+    /**
+     * 데이터셋을 다시 불러올 때 Definition이 바뀌었다면, 이전 Definition으로 만든 문제를 버립니다.
+     * 이벤트는 새 데이터셋으로 교체되기 전에 발행되므로, 현재 데이터셋과 비교합니다.
+     *
+     * @param event 데이터셋 교체 이벤트
+     */
+    @EventListener
+    public void onDatasetReload(DatasetReloadEvent event) {
+        DatasetSnapshot current = questionMemoryRepository.getSnapshot();
+        if (current == null
+                || (current.questionDefinitions().equals(event.snapshot().questionDefinitions())
+                && current.explanationDefinitions().equals(event.snapshot().explanationDefinitions()))) {
+            return;
+        }
+
+        log.info("Definitions changed, clearing pooled questions");
+        warmPoolRepository.clear();
+    }
+
+    /**
+     * 꺼낸 목록 항목을 역직렬화합니다.
+     *
+     * @param entry 완성된 문제와 해설(JSON)
+     * @return 미리 만든 문제와 해설
+     */
+    public PooledQuestion read(String entry) {
+        try {
+            return objectMapper.readValue(entry, PooledQuestion.class);
+        } catch (JsonProcessingException e) {
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }
+    }
+
+    /**
+     * 기출 지문 하나를 무작위로 골라 문제 생성을 요청합니다.
+     */
+    private void requestQuestion(QuestionType type) {
+        DatasetSnapshot snapshot = questionMemoryRepository.getSnapshot();
+        PassageBucket bucket = snapshot.passageIndex().bucket(type, null);
+        if (bucket.size() == 0) {
+            warmPoolRepository.release(type);
+            return;
+        }
+
+        String mainText = snapshot.passages().get(bucket.passageAt(ThreadLocalRandom.current().nextInt(bucket.size())));
+        QuestionSubmitKafkaForm form = new QuestionSubmitKafkaForm(type.toString(), snapshot.questionDefinitions().get(type), mainText);
+
+        send(questionProducer.getQuestionTopic(), POOL_KEY_PREFIX + type.name() + ":" + UUID.randomUUID(),
+                payloadRegistry.toPayload(form), type);
+    }
+
+    /**
+     * 미리 만드는 요청을 전송합니다. 사용자 요청이 아니므로 Topic 할당과 중복 요청 lock을 사용하지 않으며,
+     * 전송에 실패하면 예약을 취소하여 다음 확인에서 다시 채웁니다.
+     * 예약 취소는 Redis 요청을 기다리므로 Kafka Producer I/O 스레드가 아닌 {@link ProducerCallbackExecutor}에서 실행합니다.
+     */
+    private void send(String topic, String key, Object payload, QuestionType type) {
+        try {
+            kafkaTemplate.send(topic, key, objectMapper.writeValueAsString(payload))
+                    .whenCompleteAsync((result, e) -> {
+                        if (e != null) {
+                            log.warn("failed to send pool message to topic: {}, keys: {}", topic, key, e);
+                            warmPoolRepository.release(type);
+                        }
+                    }, producerCallbackExecutor);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("failed to send pool message to topic: {}, keys: {}", topic, key, e);
+            warmPoolRepository.release(type);
+        }
+    }
+
+    private static QuestionType typeOf(String itemId) {
+        return QuestionType.valueOf(itemId.substring(0, itemId.indexOf(':')));
+    }
+}
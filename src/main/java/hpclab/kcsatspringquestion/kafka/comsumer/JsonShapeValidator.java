@@ -0,0 +1,121 @@
+package hpclab.kcsatspringquestion.kafka.comsumer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 생성 결과 메시지가 DTO로 역직렬화될 수 있는 형태인지, 객체를 만들지 않고 검사하는 클래스입니다.
+ *
+ * <p>Jackson 스트리밍 파서로 토큰을 한 번 훑기만 하므로, 메시지 원본을 그대로 저장하면서도
+ * 잘못된 메시지를 consume 단계에서 걸러낼 수 있습니다.
+ * 등록되지 않은 필드는 건너뛰고, 등록된 필드는 값의 형태만 검사합니다. (null 허용)</p>
+ */
+class JsonShapeValidator {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * 필드 이름별 값 검사 규칙입니다.
+     */
+    private final Map<String, FieldRule> rules = new HashMap<>();
+
+    /**
+     * 문자열(또는 숫자, 불리언 등 단일 값) 필드를 등록합니다.
+     *
+     * @param name 필드 이름
+     * @return this
+     */
+    JsonShapeValidator text(String name) {
+        rules.put(name, parser -> parser.currentToken().isScalarValue());
+        return this;
+    }
+
+    /**
+     * 단일 값 배열 필드를 등록합니다.
+     *
+     * @param name 필드 이름
+     * @return this
+     */
+    JsonShapeValidator textArray(String name) {
+        rules.put(name, parser -> {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                return false;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null || !token.isScalarValue()) {
+                    return false;
+                }
+            }
+            return true;
+        });
+        return this;
+    }
+
+    /**
+     * Enum 상수 이름만 허용하는 필드를 등록합니다.
+     *
+     * @param name 필드 이름
+     * @param type Enum 타입
+     * @return this
+     */
+    <E extends Enum<E>> JsonShapeValidator enumText(String name, Class<E> type) {
+        Set<String> constants = Arrays.stream(type.getEnumConstants())
+                .map(Enum::name)
+                .collect(Collectors.toUnmodifiableSet());
+
+        rules.put(name, parser -> parser.currentToken() == JsonToken.VALUE_STRING
+                && constants.contains(parser.getText()));
+        return this;
+    }
+
+    /**
+     * 메시지가 JSON 객체이고, 등록된 필드의 값이 올바른 형태인지 검사합니다.
+     *
+     * @param json 메시지 원본
+     * @return 올바른 형태라면 true
+     */
+    boolean isValid(byte[] json) {
+        if (json == null || json.length == 0) {
+            return false;
+        }
+
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                FieldRule rule = rules.get(parser.currentName());
+                JsonToken value = parser.nextToken();
+
+                if (rule == null) {
+                    parser.skipChildren();
+                } else if (value != JsonToken.VALUE_NULL && !rule.matches(parser)) {
+                    return false;
+                }
+            }
+
+            return parser.currentToken() == JsonToken.END_OBJECT;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface FieldRule {
+
+        /**
+         * 파서가 필드 값의 첫 토큰에 위치한 상태에서 값의 형태를 검사합니다.
+         */
+        boolean matches(JsonParser parser) throws IOException;
+    }
+}
@@ -1,19 +1,32 @@
 package hpclab.kcsatspringquestion.kafka.comsumer;
 
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hpclab.kcsatspringquestion.exception.ApiException;
 import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.kafka.AutoExplanationRequester;
+import hpclab.kcsatspringquestion.kafka.ExamManager;
+import hpclab.kcsatspringquestion.kafka.KafkaResultNotifier;
+import hpclab.kcsatspringquestion.kafka.QuestionResultCache;
+import hpclab.kcsatspringquestion.kafka.WarmPoolManager;
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionHandle;
 import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionResponseRawForm;
 import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import hpclab.kcsatspringquestion.redis.UserRequestStateRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 
 /**
@@ -27,8 +40,24 @@ public class QuestionConsumer {
 
     private static final String QUESTION_RESPONSE_TOPIC = "QuestionResponse";
 
+    /**
+     * {@link QuestionResponseRawForm}으로 역직렬화할 수 있는 메시지 형태입니다.
+     */
+    private static final JsonShapeValidator RESPONSE_SHAPE = new JsonShapeValidator()
+            .enumText("questionType", QuestionType.class)
+            .text("title")
+            .text("mainText")
+            .textArray("choices")
+            .text("answer");
+
     private final RedisTemplate<String, String> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final KafkaResultNotifier kafkaResultNotifier;
+    private final WarmPoolManager warmPoolManager;
+    private final ExamManager examManager;
+    private final QuestionResultCache questionResultCache;
+    private final AutoExplanationRequester autoExplanationRequester;
+    private final UserRequestStateRepository userRequestStateRepository;
 
     /**
      * Kafka에서 {@code QUESTION_RESPONSE_TOPIC} 토픽으로부터 메시지를 수신하는 메서드입니다.
@@ -38,22 +67,75 @@ public class QuestionConsumer {
      * 해당 key에 매핑되는 {@link BlockingQueue}가 존재하지 않으면 새로 생성됩니다.
      * 이후 메시지는 해당 큐에 저장되어 다른 스레드 또는 요청 처리 로직에서 소비됩니다.</p>
      *
+     * <p>메시지는 byte 배열로 수신하여 형태만 스트리밍으로 검사한 후, 원본 그대로 Redis에 저장합니다.
+     * (DTO 역직렬화 / 재직렬화 없이 결과를 꺼내는 시점에 한 번만 역직렬화합니다.)
+     * {@code kafka.explanation.auto-request}가 true라면 저장 직후 같은 사용자의 해설 생성을 요청합니다.</p>
+     *
      * @param record Kafka에서 수신한 메시지. key는 사용자 식별자, value는 메시지 본문입니다.
-     * @throws ApiException 메시지를 파싱하는 데 오류가 발생하거나, 중복 요청이 들어오는 경우 발생합니다.
+     * @throws ApiException 메시지가 올바른 형태가 아닌 경우 발생합니다.
      */
-    @KafkaListener(topics = QUESTION_RESPONSE_TOPIC)
-    public void listen(ConsumerRecord<String, String> record) {
+    @KafkaListener(topics = QUESTION_RESPONSE_TOPIC, containerFactory = "responseKafkaListenerContainerFactory",
+            autoStartup = "#{!${kafka.consumer.batch-mode:false}}")
+    public void listen(ConsumerRecord<String, byte[]> record) {
         log.info("Received Consumer Record : {}", record.key());
 
-        try {
-            QuestionResponseRawForm response = objectMapper.readValue(record.value(), QuestionResponseRawForm.class);
+        if (!RESPONSE_SHAPE.isValid(record.value())) {
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }
 
-            String email = record.key();
+        if (WarmPoolManager.isPoolKey(record.key())) {
+            warmPoolManager.onQuestion(record.key(), record.value());
+            return;
+        }
 
-            redisTemplate.opsForValue().set(RedisKeyUtil.questionMessage(email), objectMapper.writeValueAsString(response));
+        if (ExamManager.isExamKey(record.key())) {
+            examManager.onQuestions(Map.of(record.key(), record.value()));
+            return;
+        }
 
-        } catch (JsonProcessingException e) {
-            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        store(Map.of(RedisKeyUtil.questionState(record.key()), record.value()));
+        autoExplanationRequester.request(Map.of(record.key(), record.value()));
+    }
+
+    /**
+     * Kafka에서 {@code QUESTION_RESPONSE_TOPIC} 토픽으로부터 메시지를 배치 단위로 수신하는 메서드입니다.
+     * {@code kafka.consumer.batch-mode}가 true인 경우에만 동작합니다.
+     *
+     * <p>한 번의 poll로 가져온 메시지를 모두 검사한 후, Redis 저장과 결과 알림을
+     * 하나의 파이프라인으로 한 번에 전송합니다. Offset은 배치 처리 후 한 번만 커밋됩니다.
+     * 형식이 잘못된 메시지는 배치 전체를 막지 않도록 기록 후 건너뜁니다.
+     * 미리 만드는 문제의 결과는 사용자 요청 상태 대신 {@link WarmPoolManager}로,
+     * 모의고사 문제의 결과는 {@link ExamManager}로 전달합니다.</p>
+     *
+     * @param records Kafka에서 수신한 메시지 목록. key는 사용자 식별자, value는 메시지 본문입니다.
+     */
+    @KafkaListener(topics = QUESTION_RESPONSE_TOPIC, containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${kafka.consumer.batch-mode:false}")
+    public void listenBatch(List<ConsumerRecord<String, byte[]>> records) {
+        log.info("Received Consumer Records : {}", records.size());
+
+        Map<String, byte[]> messages = new LinkedHashMap<>();
+        Map<String, byte[]> questions = new LinkedHashMap<>();
+        Map<String, byte[]> examQuestions = new LinkedHashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            if (!RESPONSE_SHAPE.isValid(record.value())) {
+                log.error("Skipping unparsable record : {}-{}@{}", record.topic(), record.partition(), record.offset());
+            } else if (WarmPoolManager.isPoolKey(record.key())) {
+                warmPoolManager.onQuestion(record.key(), record.value());
+            } else if (ExamManager.isExamKey(record.key())) {
+                examQuestions.put(record.key(), record.value());
+            } else {
+                messages.put(RedisKeyUtil.questionState(record.key()), record.value());
+                questions.put(record.key(), record.value());
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            store(messages);
+            autoExplanationRequester.request(questions);
+        }
+        if (!examQuestions.isEmpty()) {
+            examManager.onQuestions(examQuestions);
         }
     }
 
@@ -64,17 +146,48 @@ public class QuestionConsumer {
      * @return 만들어진 메시지를 consume하여 반환합니다.
      */
     public QuestionResponseRawForm getMessage(String email) {
-        // 메시지가 들어올 때까지 대기
-        if (!redisTemplate.hasKey(RedisKeyUtil.questionMessage(email))) {
-            throw new ApiException(ErrorCode.EXPLANATION_NOT_READY);
+        return findMessage(email).orElseThrow(() -> new ApiException(ErrorCode.QUESTION_NOT_READY));
+    }
+
+    /**
+     * 만들어진 메시지가 있다면 가져오는 메서드입니다.
+     * 아직 메시지가 만들어지지 않았다면 빈 Optional을 반환합니다.
+     * 꺼낸 문제에는 새 문제 식별값을 발급하여, 해설과 합칠 문제 데이터와 함께 저장합니다.
+     *
+     * @param email 요청 UserEmail
+     * @return 만들어진 메시지를 consume하여 반환합니다.
+     */
+    public Optional<QuestionResponseRawForm> findMessage(String email) {
+        String handle = QuestionHandle.issue();
+        Optional<byte[]> value = userRequestStateRepository.takeQuestion(RedisKeyUtil.questionState(email), handle);
+        if (value.isEmpty()) {
+            return Optional.empty();
         }
 
         try {
-            String value = redisTemplate.opsForValue().get(RedisKeyUtil.questionMessage(email));
-            redisTemplate.delete(RedisKeyUtil.questionMessage(email));
-            return objectMapper.readValue(value, QuestionResponseRawForm.class);
-        } catch (JsonProcessingException e) {
+            QuestionResponseRawForm form = objectMapper.readValue(value.get(), QuestionResponseRawForm.class);
+            form.setHandle(handle);
+            return Optional.of(form);
+        } catch (IOException e) {
             throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
         }
     }
+
+    /**
+     * 메시지 원본을 사용자 요청 상태 Hash에 저장하고, 대기 중인 요청에 결과 저장을 알립니다.
+     * 해설과 합칠 문제 데이터도 같은 원본으로 저장하므로, 클라이언트는 문제 식별값만으로 해설 생성을 요청할 수 있습니다.
+     * 저장과 알림은 하나의 파이프라인으로 전송됩니다.
+     * 이후 결과 캐시에 저장하고, 같은 요청의 결과를 기다리던 사용자에게도 전달합니다.
+     *
+     * @param messages 사용자 요청 상태 Hash 키별 메시지 원본
+     */
+    private void store(Map<String, byte[]> messages) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            messages.forEach((key, value) -> userRequestStateRepository.saveQuestion(connection, key, value));
+            messages.keySet().forEach(key -> kafkaResultNotifier.publish(connection, key));
+            return null;
+        });
+
+        questionResultCache.complete(messages);
+    }
 }
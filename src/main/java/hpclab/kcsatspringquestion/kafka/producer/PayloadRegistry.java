@@ -0,0 +1,320 @@
+package hpclab.kcsatspringquestion.kafka.producer;
+
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import hpclab.kcsatspringquestion.questionGenerator.dto.ExplanationSubmitKafkaForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionResponseRawForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitKafkaForm;
+import hpclab.kcsatspringquestion.questionGenerator.repository.DatasetReloadEvent;
+import hpclab.kcsatspringquestion.questionGenerator.repository.DatasetSnapshot;
+import hpclab.kcsatspringquestion.questionGenerator.repository.PassageStore;
+import hpclab.kcsatspringquestion.questionGenerator.repository.QuestionMemoryRepository;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Kafka 생성 요청 메시지에 Definition, 기출 지문 원문 대신 참조 ID를 담기 위한 저장소 클래스입니다.
+ *
+ * <p>Definition과 기출 지문은 모든 요청에 같은 원문이 반복되므로, {@code kafka.producer.payload-mode}가 reference인 경우
+ * 원문의 해시로 만든 참조 ID만 전송합니다. 서버 기동 시 (참조 ID -> 원문)을 Redis Hash에 등록해 두면 GPU 서버는 ID로 원문을 찾습니다.
+ * 참조 ID에는 원문의 해시가 포함되므로, Definition이 수정되면 새 ID가 만들어지고 이미 전송된 요청은 이전 원문으로 처리됩니다.</p>
+ *
+ * <p>사용자가 직접 입력한 지문처럼 등록되지 않은 원문은 그대로 전송하며, Redis에 등록하지 않습니다. (inline 모드에서는 모든 원문을 그대로 전송합니다.)</p>
+ *
+ * <p>데이터셋을 다시 불러오면 이전 데이터셋에 없던 원문만 등록하고, 새 데이터셋에 없는 원문은
+ * {@code kafka.producer.registry-retention-ms}가 지난 후 삭제합니다. (이미 전송된 요청이 처리될 때까지 이전 원문을 유지합니다.)
+ * 지문 목록이 바뀌지 않았다면 지문은 다시 등록하지 않습니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PayloadRegistry {
+
+    private static final String REFERENCE_MODE = "reference";
+
+    /**
+     * 한 번의 HMSET으로 등록하는 원문 개수입니다.
+     */
+    private static final int PUBLISH_CHUNK_SIZE = 500;
+
+    private static final String PASSAGE_PREFIX = "p:";
+
+    private static final RedisSerializer<String> STRING = RedisSerializer.string();
+
+    /**
+     * 생성 요청 메시지 형식입니다.
+     * <ul>
+     *     <li>inline: Definition, 지문 원문을 모두 메시지에 담아 전송 (기존 GPU 서버 호환)</li>
+     *     <li>reference: 등록된 원문은 참조 ID로 전송</li>
+     * </ul>
+     */
+    @Value("${kafka.producer.payload-mode:inline}")
+    private String payloadMode;
+
+    /**
+     * 데이터셋을 다시 불러온 후, 새 데이터셋에 없는 원문을 Redis에서 삭제하기까지 기다리는 시간(ms)입니다.
+     * 이전 원문으로 전송된 요청이 GPU 서버에서 처리될 때까지 충분히 길어야 합니다.
+     */
+    @Value("${kafka.producer.registry-retention-ms:3600000}")
+    private long retentionMillis;
+
+    private final QuestionMemoryRepository questionMemoryRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TaskScheduler taskScheduler;
+
+    /**
+     * Definition 원문 -> 참조 ID 목록입니다. 요청마다 SHA-256을 다시 계산하지 않고 원문으로 바로 찾습니다.
+     * 데이터셋을 다시 불러오면 새 목록으로 통째로 교체하며, 교체 후에는 수정하지 않습니다.
+     */
+    private volatile Map<String, String> referenceIds = Map.of();
+
+    /**
+     * 마지막으로 등록한 지문 저장소입니다. 다시 불러온 데이터셋과 비교하여 바뀐 지문만 등록합니다.
+     */
+    private PassageStore registeredPassages;
+
+    private boolean referenceMode;
+
+    @PostConstruct
+    private void init() {
+        referenceMode = REFERENCE_MODE.equalsIgnoreCase(payloadMode);
+        if (referenceMode) {
+            register(questionMemoryRepository.getSnapshot());
+        }
+    }
+
+    /**
+     * 데이터셋을 다시 불러오면, 새 스냅샷으로 교체되기 전에 새 원문을 등록합니다.
+     * 교체 후 새 Definition, 지문으로 만든 요청은 이미 등록된 참조 ID로 전송됩니다.
+     *
+     * @param event 데이터셋 재적재 이벤트
+     */
+    @EventListener
+    public void onDatasetReload(DatasetReloadEvent event) {
+        if (referenceMode) {
+            register(event.snapshot());
+        }
+    }
+
+    /**
+     * 스냅샷의 Definition, 기출 지문 중 아직 등록하지 않은 원문을 Redis에 등록하고, Definition 참조 ID 목록을 교체합니다.
+     * 이전 데이터셋에만 있던 원문은 보관 시간이 지난 후 삭제하도록 예약합니다.
+     *
+     * @param snapshot 데이터셋 스냅샷
+     */
+    private synchronized void register(DatasetSnapshot snapshot) {
+        Map<String, String> ids = new HashMap<>();
+        Map<String, String> registry = new LinkedHashMap<>();
+        for (QuestionType type : QuestionType.values()) {
+            register(ids, registry, "q:" + type + ":", snapshot.questionDefinitions().get(type));
+            register(ids, registry, "e:" + type + ":", snapshot.explanationDefinitions().get(type));
+        }
+
+        Set<String> previousIds = new HashSet<>(referenceIds.values());
+        Map<String, String> added = new LinkedHashMap<>(registry);
+        added.keySet().removeAll(previousIds);
+        publish(added);
+
+        List<String> stale = new ArrayList<>(previousIds);
+        stale.removeAll(registry.keySet());
+
+        PassageStore passages = snapshot.passages();
+        PassageStore previous = registeredPassages;
+        int addedPassages = 0;
+        if (previous == null || previous.fingerprint() != passages.fingerprint()) {
+            addedPassages = publishPassages(passages, previous);
+            if (previous != null) {
+                previous.digests()
+                        .filter(digest -> !passages.containsDigest(digest))
+                        .distinct()
+                        .forEach(digest -> stale.add(PASSAGE_PREFIX + PassageStore.hex(digest)));
+            }
+        }
+
+        referenceIds = ids;
+        registeredPassages = passages;
+        schedulePrune(stale);
+        log.info("Kafka payload registry published : {} definitions, {} passages ({} scheduled for removal)",
+                added.size(), addedPassages, stale.size());
+    }
+
+    /**
+     * 이전 지문 저장소에 없는 지문을 등록합니다. 기출 지문은 힙에 모두 올리지 않도록, 나누어 읽고 등록합니다.
+     *
+     * @param passages 등록할 지문 저장소
+     * @param previous 이미 등록한 지문 저장소. 처음 등록한다면 null입니다.
+     * @return 등록한 지문 개수
+     */
+    private int publishPassages(PassageStore passages, PassageStore previous) {
+        int published = 0;
+        Map<String, String> chunk = new LinkedHashMap<>();
+        for (int i = 0; i < passages.size(); i++) {
+            String passage = passages.get(i);
+            long digest = PassageStore.digest(passage);
+            if (previous != null && previous.containsDigest(digest)) {
+                continue;
+            }
+
+            chunk.put(PASSAGE_PREFIX + PassageStore.hex(digest), passage);
+            if (chunk.size() == PUBLISH_CHUNK_SIZE) {
+                published += chunk.size();
+                publish(chunk);
+                chunk.clear();
+            }
+        }
+        published += chunk.size();
+        publish(chunk);
+        return published;
+    }
+
+    /**
+     * 이전 데이터셋에만 있던 참조 ID를 보관 시간이 지난 후 삭제하도록 예약합니다.
+     */
+    private void schedulePrune(List<String> staleIds) {
+        if (staleIds.isEmpty()) {
+            return;
+        }
+        taskScheduler.schedule(() -> prune(staleIds), Instant.now().plusMillis(retentionMillis));
+    }
+
+    /**
+     * 참조 ID를 Redis Hash에서 삭제합니다. 그 사이 다시 불러온 데이터셋에 다시 포함된 원문은 삭제하지 않습니다.
+     */
+    private synchronized void prune(List<String> staleIds) {
+        List<String> removable = staleIds.stream().filter(id -> !isRegistered(id)).toList();
+        if (removable.isEmpty()) {
+            return;
+        }
+
+        byte[] key = STRING.serialize(RedisKeyUtil.payloadRegistry());
+        for (int from = 0; from < removable.size(); from += PUBLISH_CHUNK_SIZE) {
+            byte[][] fields = removable.subList(from, Math.min(from + PUBLISH_CHUNK_SIZE, removable.size())).stream()
+                    .map(STRING::serialize)
+                    .toArray(byte[][]::new);
+            redisTemplate.execute((RedisCallback<Object>) connection -> {
+                connection.hashCommands().hDel(key, fields);
+                return null;
+            });
+        }
+        log.info("Kafka payload registry pruned : {} entries", removable.size());
+    }
+
+    private boolean isRegistered(String id) {
+        if (id.startsWith(PASSAGE_PREFIX)) {
+            return registeredPassages.containsDigest(Long.parseUnsignedLong(id.substring(PASSAGE_PREFIX.length()), 16));
+        }
+        return referenceIds.containsValue(id);
+    }
+
+    /**
+     * 문제 생성 요청을 전송할 메시지 형식으로 변환합니다.
+     * reference 모드에서는 Definition과 등록된 기출 지문을 참조 ID로 바꿉니다.
+     *
+     * @param form 원문이 담긴 문제 생성 요청
+     * @return 전송할 문제 생성 요청
+     */
+    public QuestionSubmitKafkaForm toPayload(QuestionSubmitKafkaForm form) {
+        if (!referenceMode) {
+            return form;
+        }
+
+        String definitionId = referenceIds.get(form.getDefinition());
+        String mainTextId = passageId(form.getMainText());
+
+        QuestionSubmitKafkaForm payload = new QuestionSubmitKafkaForm(form.getType(),
+                definitionId == null ? form.getDefinition() : null,
+                mainTextId == null ? form.getMainText() : null);
+        payload.setDefinitionId(definitionId);
+        payload.setMainTextId(mainTextId);
+        return payload;
+    }
+
+    /**
+     * 생성된 문제로 해설 생성 요청 메시지를 만듭니다.
+     * reference 모드에서는 해설 Definition과, 기출 지문 그대로인 본문을 참조 ID로 보냅니다.
+     *
+     * @param form 생성된 문제
+     * @return 전송할 해설 생성 요청
+     */
+    public ExplanationSubmitKafkaForm toExplanationPayload(QuestionResponseRawForm form) {
+        String explanationDefinition = questionMemoryRepository.getExplanationDefinition(form.getQuestionType());
+        if (!referenceMode) {
+            return new ExplanationSubmitKafkaForm(form, explanationDefinition);
+        }
+
+        String explanationDefinitionId = referenceIds.get(explanationDefinition);
+        String mainTextId = passageId(form.getMainText());
+
+        ExplanationSubmitKafkaForm payload = new ExplanationSubmitKafkaForm(form,
+                explanationDefinitionId == null ? explanationDefinition : null);
+        payload.setExplanationDefinitionId(explanationDefinitionId);
+        if (mainTextId != null) {
+            payload.setMainText(null);
+            payload.setMainTextId(mainTextId);
+        }
+        return payload;
+    }
+
+    /**
+     * 기출 지문 그대로인 본문의 참조 ID를 찾습니다. 지문 저장소의 해시 목록에서 찾으므로 지문을 힙에 두지 않으며,
+     * 찾는 데 계산한 해시로 참조 ID를 만들어 본문을 한 번만 해시합니다.
+     *
+     * @param text 본문
+     * @return 참조 ID. 기출 지문이 아니라면 null을 반환합니다.
+     */
+    private String passageId(String text) {
+        OptionalLong digest = questionMemoryRepository.getDefaultDatasets().findDigest(text);
+        return digest.isPresent() ? PASSAGE_PREFIX + PassageStore.hex(digest.getAsLong()) : null;
+    }
+
+    private void register(Map<String, String> ids, Map<String, String> registry, String prefix, String text) {
+        if (text == null || ids.containsKey(text)) {
+            return;
+        }
+
+        String id = prefix + PassageStore.digestHex(text);
+        ids.put(text, id);
+        registry.put(id, text);
+    }
+
+    /**
+     * (참조 ID -> 원문)을 Redis Hash에 등록합니다. 참조 ID는 원문마다 고유하므로, 여러 서버가 함께 등록해도 같은 결과가 됩니다.
+     */
+    private void publish(Map<String, String> registry) {
+        if (registry.isEmpty()) {
+            return;
+        }
+
+        byte[] key = STRING.serialize(RedisKeyUtil.payloadRegistry());
+        List<Map.Entry<String, String>> entries = new ArrayList<>(registry.entrySet());
+
+        for (int from = 0; from < entries.size(); from += PUBLISH_CHUNK_SIZE) {
+            List<Map.Entry<String, String>> chunk = entries.subList(from, Math.min(from + PUBLISH_CHUNK_SIZE, entries.size()));
+
+            Map<byte[], byte[]> fields = new HashMap<>();
+            chunk.forEach(entry -> fields.put(STRING.serialize(entry.getKey()), STRING.serialize(entry.getValue())));
+            redisTemplate.execute((RedisCallback<Object>) connection -> {
+                connection.hashCommands().hMSet(key, fields);
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package hpclab.kcsatspringquestion.kafka.producer;
+
+/**
+ * 전송한 생성 요청 메시지가 저장된 위치입니다.
+ *
+ * @param partition 메시지가 저장된 Partition
+ * @param offset Partition 안에서의 메시지 Offset
+ */
+public record ProducedOffset(int partition, long offset) {
+}
@@ -0,0 +1,54 @@
+package hpclab.kcsatspringquestion.kafka.producer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka 전송 결과의 후처리(lock 해제, Offset 저장, 이벤트 발행 등)를 실행하는 Executor입니다.
+ *
+ * <p>후처리는 Redis 요청을 기다리므로 Kafka Producer I/O 스레드나 공용 ForkJoinPool에서 실행하지 않습니다.
+ * 스레드 수와 대기열 크기가 제한되어 있으며, 대기열이 가득 차면 전송 결과를 완료한 스레드에서 직접 실행하여
+ * lock 해제 같은 후처리를 버리지 않습니다.</p>
+ */
+@Component
+public class ProducerCallbackExecutor implements Executor {
+
+    /**
+     * 후처리를 실행하는 스레드 수
+     */
+    @Value("${kafka.producer.callback-threads:4}")
+    private int threads;
+
+    /**
+     * 실행을 기다릴 수 있는 후처리 수
+     */
+    @Value("${kafka.producer.callback-queue-capacity:1000}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    private void init() {
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("kafka-producer-callback-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+}
@@ -3,16 +3,19 @@ package hpclab.kcsatspringquestion.kafka.producer;
 import hpclab.kcsatspringquestion.exception.ApiException;
 import hpclab.kcsatspringquestion.exception.ErrorCode;
 import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import hpclab.kcsatspringquestion.redis.UserRequestStateRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 문제 생성 요청 Kafka producer 클래스입니다.
@@ -23,14 +26,29 @@ import java.util.concurrent.ExecutionException;
 public class QuestionProducer {
 
     /**
-     * GPU 서버 갯수를 나타냅니다.
+     * Kafka Topic을 나타냅니다. (이후 추가 가능)
      */
-    private static final Integer QUESTION_SERVER_SIZE = 1;
+    public static final String QUESTION_REQUEST_TOPIC = "QuestionRequest";
 
     /**
-     * Kafka Topic을 나타냅니다. (이후 추가 가능)
+     * 중복 요청 lock 유지 시간입니다.
+     * Kafka가 전송 실패를 확정하는 최대 시간({@code kafka.producer.delivery-timeout-ms})보다 길어야 합니다.
+     */
+    private static final Duration REQUEST_LOCK_TTL = Duration.ofMinutes(1);
+
+    /**
+     * Kafka 메시지 전송 결과를 기다리는 최대 시간(ms)입니다.
+     * 이 시간이 지나도 전송은 {@code delivery.timeout.ms}까지 계속되므로, 요청에는 시간 초과로 응답하되 lock은 해제하지 않습니다.
+     */
+    @Value("${kafka.producer.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    /**
+     * GPU 서버 갯수를 나타냅니다. (문제 생성 Topic 개수)
+     * Kafka에서 Topic 목록을 아직 조회하지 못했을 때의 라운드로빈에만 사용합니다.
      */
-    private static final String QUESTION_REQUEST_TOPIC = "QuestionRequest";
+    @Value("${kafka.producer.question-server-size:1}")
+    private int questionServerSize;
 
     /**
      * Kafka 메시지를 비동기 전송하기 위한 KafkaTemplate입니다.
@@ -39,10 +57,19 @@ public class QuestionProducer {
     private final KafkaTemplate<String, String> kafkaTemplate;
 
     /**
-     * Kafka 메시지를 저장하기 위한 RedisTemplate입니다.
-     * 객체 데이터를 String으로 직렬화하여 저장합니다.
+     * 생성 요청 Topic을 순서대로 할당합니다.
      */
-    private final RedisTemplate<String, String> redisTemplate;
+    private final TopicAllocator topicAllocator;
+
+    /**
+     * 사용자별 Topic 할당, 중복 요청 lock을 관리합니다.
+     */
+    private final UserRequestStateRepository userRequestStateRepository;
+
+    /**
+     * 전송 결과의 후처리를 실행합니다.
+     */
+    private final ProducerCallbackExecutor producerCallbackExecutor;
 
     /**
      * Kafka 메시지를 지정된 토픽으로 전송하는 메서드입니다.
@@ -50,52 +77,79 @@ public class QuestionProducer {
      * <p>JWT UserEmail을 키로 사용하여 Kafka 메시지를 발행하며,
      * 메시지를 처리할 토픽은 라운드로빈 방식으로 결정됩니다.</p>
      *
-     * 이후 메시지를 보낸 Topic은 Session에 저장한 후, 대기열 확인을 위해 Offset 확인 용도로 사용됩니다.
+     * 메시지는 사용자에게 미리 할당된 Topic으로 전송되며, 이후 대기열 확인을 위해 Offset 확인 용도로 사용됩니다.
+     *
+     * <p>전송 결과를 기다리는 동안 요청 스레드를 점유하지 않으며, 전송 결과와 이후 단계는 {@link ProducerCallbackExecutor}에서 처리합니다.
+     * 전송에 실패하면 재요청할 수 있도록 중복 요청 lock을 해제한 후 예외로 완료됩니다.
+     * 전송 결과를 기다리는 시간이 초과되면 예외로 완료되지만, 메시지는 그 후에도 전달될 수 있으므로 lock을 유지합니다.
+     * (재요청이 같은 요청을 두 번 넣지 않도록, lock은 Kafka가 {@code delivery.timeout.ms} 안에 전송 실패를 확정했을 때만 해제합니다.)</p>
      *
      * @param message Kafka로 전송할 메시지 문자열
      * @param email 현재 요청의 HttpSession 객체. JWT UserEmail 데이터를 Kafka 메시지의 key로 사용합니다.
-     * @param topic 현재 Kafka Topic 값. 문제 생성마다 Topic값이 변경됩니다.
-     * @return 전송된 메시지의 Kafka 오프셋 값
-     * @throws ApiException 메시지 처리 중 내부 오류가 발생한 경우
+     * @return 전송된 메시지의 Kafka Partition과 Offset 값으로 완료되는 CompletableFuture
+     * @throws ApiException 할당된 Topic이 없거나, 중복 요청인 경우 발생합니다.
      */
-    public Long sendMessage(String message, String email, String topic) {
+    public CompletableFuture<ProducedOffset> sendMessage(String message, String email) {
+        return sendMessage(message, email, null);
+    }
 
-        Boolean locked = redisTemplate.opsForValue().setIfAbsent(RedisKeyUtil.questionRequestLock(email), "1", Duration.ofMinutes(1));
+    /**
+     * Kafka 메시지를 전송하고, 생성 결과를 받았을 때 캐시에 저장할 수 있도록 캐시 키를 요청 상태에 함께 기록합니다.
+     *
+     * @param message Kafka로 전송할 메시지 문자열
+     * @param email JWT UserEmail. Kafka 메시지의 key로 사용합니다.
+     * @param cacheKey 생성 결과 캐시 키. 결과를 캐시하지 않는 요청이라면 null
+     * @return 전송된 메시지의 Kafka Partition과 Offset 값으로 완료되는 CompletableFuture
+     * @throws ApiException 할당된 Topic이 없거나, 중복 요청인 경우 발생합니다.
+     */
+    public CompletableFuture<ProducedOffset> sendMessage(String message, String email, String cacheKey) {
 
-        if (Boolean.FALSE.equals(locked)) {
-            throw new ApiException(ErrorCode.DUPLICATE_REQUEST);
-        }
+        // 할당된 Topic 확인과 중복 요청 lock 획득을 한 번의 Redis 요청으로 처리합니다.
+        String stateKey = RedisKeyUtil.questionState(email);
+        String topic = userRequestStateRepository.acquireRequest(stateKey, REQUEST_LOCK_TTL, cacheKey);
 
         log.info("sending message to topic: {}, keys: {}", topic, email);
-        CompletableFuture<SendResult<String, String>> future = kafkaTemplate.send(topic, email, message);
-
+        CompletableFuture<SendResult<String, String>> future;
         try {
-            return future.get().getRecordMetadata().offset();
-        } catch (InterruptedException | ExecutionException e) {
+            future = kafkaTemplate.send(topic, email, message);
+        } catch (RuntimeException e) {
+            userRequestStateRepository.releaseRequest(stateKey);
             throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
         }
+
+        // 이후 단계가 Kafka Producer I/O 스레드나 공용 ForkJoinPool에서 실행되지 않도록 전용 Executor에서 처리합니다.
+        CompletableFuture<ProducedOffset> produced = future.handleAsync((result, e) -> {
+            if (e == null) {
+                return new ProducedOffset(result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
+            }
+
+            log.warn("failed to send message to topic: {}, keys: {}", topic, email, e);
+            userRequestStateRepository.releaseRequest(stateKey);
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }, producerCallbackExecutor);
+
+        // 시간 초과는 복사본에만 적용하여 응답만 끝내고, 위의 전송 결과 처리(lock 해제)는 그대로 실행되도록 합니다.
+        return produced.copy()
+                .orTimeout(sendTimeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionallyAsync(e -> {
+                    if (e instanceof TimeoutException) {
+                        log.warn("timed out waiting for send result, topic: {}, keys: {}", topic, email);
+                        throw new ApiException(ErrorCode.MESSAGE_SEND_TIMEOUT);
+                    }
+                    throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                }, producerCallbackExecutor);
     }
 
     /**
      * (Topic이 아닌, 파티션 단위로 수정 가능)
      * 문제 생성 Kafka Topic을 불러오는 메서드입니다.
-     * 다중 GPU 서버를 사용하는 경우, Topic을 순차적으로 돌아가며 메시지를 Produce 합니다.
+     * 다중 GPU 서버를 사용하는 경우, 밀려 있는 요청이 가장 적은 Topic으로 메시지를 Produce 합니다.
      *
-     * Topic을 불러오면, Redis에 새롭게 갱신하여 보관합니다.
+     * Topic 목록은 Kafka에서 주기적으로 조회하므로, GPU 서버를 추가할 때는 Topic만 새로 만들면 됩니다.
      *
      * @return Topic에 해당하는 문자열을 반환합니다.
      */
     public String getQuestionTopic() {
-
-        String topic = redisTemplate.opsForValue().get(RedisKeyUtil.questionTopic());
-        if (topic == null) {
-            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
-        }
-
-        //Round-Robin
-        int nextValue = ((Integer.parseInt(topic) + 1) % QUESTION_SERVER_SIZE) + 1;
-        redisTemplate.opsForValue().set(RedisKeyUtil.questionTopic(), String.valueOf(nextValue));
-
-        return QUESTION_REQUEST_TOPIC + topic;
+        return topicAllocator.next(RedisKeyUtil.questionTopicCounter(), QUESTION_REQUEST_TOPIC, questionServerSize);
     }
 }
@@ -0,0 +1,182 @@
+package hpclab.kcsatspringquestion.kafka.producer;
+
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.kafka.KafkaOffsetChecker;
+import hpclab.kcsatspringquestion.kafka.OffsetSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 생성 요청을 여러 GPU 서버 Topic에 나누어 할당하는 클래스입니다.
+ *
+ * <p>Kafka에 존재하는 Topic 중 접두사가 같은 Topic(예: QuestionRequest1, QuestionRequest2 ...)을 모두 찾아,
+ * 밀려 있는 요청 수(마지막 Offset - 커밋된 Offset)가 가장 적은 Topic으로 보냅니다.
+ * Topic 목록과 Offset은 {@link KafkaOffsetChecker}의 스냅샷을 사용하므로, GPU 서버를 추가할 때는
+ * Topic만 새로 만들면 되고 요청마다 Kafka를 조회하지 않습니다.</p>
+ *
+ * <p>스냅샷이 갱신되기 전까지 이 서버가 보낸 요청 수를 더해서 비교하므로, 짧은 시간에 요청이 몰려도
+ * 한 Topic에 쏠리지 않습니다. Topic 정보를 아직 조회하지 못했다면 Redis {@code INCR} 순번으로 라운드로빈합니다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class TopicAllocator {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final KafkaOffsetChecker kafkaOffsetChecker;
+
+    /**
+     * 현재 스냅샷 이후 이 서버가 Topic별로 보낸 요청 수입니다. 스냅샷이 갱신되면 새로 시작합니다.
+     */
+    private final AtomicReference<RoutedSince> routed = new AtomicReference<>(new RoutedSince(0L));
+
+    /**
+     * 밀린 요청 수가 같은 Topic들 사이에서 시작 위치를 돌려가며 고르기 위한 순번입니다.
+     */
+    private final AtomicLong tieBreaker = new AtomicLong();
+
+    /**
+     * 밀려 있는 요청이 가장 적은 Topic을 할당합니다.
+     *
+     * @param counterKey Topic 정보가 없을 때 라운드로빈 순번을 관리하는 Redis 키
+     * @param topicPrefix Topic 접두사
+     * @param fallbackTopicCount Topic 정보가 없을 때 라운드로빈할 Topic(GPU 서버) 개수
+     * @return 할당된 Topic
+     */
+    public String next(String counterKey, String topicPrefix, int fallbackTopicCount) {
+        return leastLagged(topicPrefix).orElseGet(() -> roundRobin(counterKey, topicPrefix, fallbackTopicCount));
+    }
+
+    /**
+     * Offset 스냅샷에서 밀려 있는 요청이 가장 적은 Topic을 고릅니다.
+     * 메모리의 스냅샷만 사용하므로, 블로킹할 수 없는 스레드(이벤트 루프 등)에서도 호출할 수 있습니다.
+     *
+     * @param topicPrefix Topic 접두사
+     * @return 할당된 Topic. 아직 Topic 정보를 조회하지 못했다면 빈 Optional을 반환합니다.
+     */
+    public Optional<String> leastLagged(String topicPrefix) {
+        OffsetSnapshot snapshot = kafkaOffsetChecker.getSnapshot();
+
+        List<String> topics = snapshot.topics().stream()
+                .filter(topic -> topic.startsWith(topicPrefix))
+                .sorted()
+                .toList();
+
+        if (topics.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<String, Long> lags = lags(snapshot, topicPrefix);
+        RoutedSince routedSince = routedSince(snapshot);
+
+        int start = (int) Math.floorMod(tieBreaker.getAndIncrement(), (long) topics.size());
+        String selected = null;
+        long selectedLag = Long.MAX_VALUE;
+        for (int i = 0; i < topics.size(); i++) {
+            String topic = topics.get((start + i) % topics.size());
+            long lag = lags.getOrDefault(topic, 0L) + routedSince.count(topic);
+            if (lag < selectedLag) {
+                selected = topic;
+                selectedLag = lag;
+            }
+        }
+
+        routedSince.increment(selected);
+        return Optional.of(selected);
+    }
+
+    /**
+     * 접두사가 같은 모든 Topic의 밀려 있는 요청 수를 합산합니다.
+     *
+     * @param topicPrefix Topic 접두사
+     * @return 밀려 있는 요청 수. 아직 Topic 정보를 조회하지 못했다면 빈 Optional을 반환합니다.
+     */
+    public Optional<Long> totalLag(String topicPrefix) {
+        OffsetSnapshot snapshot = kafkaOffsetChecker.getSnapshot();
+        if (snapshot.topics().stream().noneMatch(topic -> topic.startsWith(topicPrefix))) {
+            return Optional.empty();
+        }
+
+        return Optional.of(lags(snapshot, topicPrefix).values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    /**
+     * 라운드로빈 순번에 해당하는 Topic을 계산합니다.
+     *
+     * @param topicPrefix Topic 접두사
+     * @param sequence 1부터 시작하는 라운드로빈 순번
+     * @param topicCount 라운드로빈할 Topic(GPU 서버) 개수
+     * @return Topic
+     */
+    public static String roundRobinTopic(String topicPrefix, long sequence, int topicCount) {
+        return topicPrefix + (Math.floorMod(sequence - 1, topicCount) + 1);
+    }
+
+    /**
+     * Topic별로 모든 Partition의 밀린 요청 수를 합산합니다.
+     */
+    private Map<String, Long> lags(OffsetSnapshot snapshot, String topicPrefix) {
+        Map<String, Long> lags = new HashMap<>();
+
+        snapshot.logEndOffsets().forEach((topicPartition, logEnd) -> {
+            if (!topicPartition.topic().startsWith(topicPrefix)) {
+                return;
+            }
+            long committed = Math.max(snapshot.getCommittedOffset(topicPartition), 0);
+            lags.merge(topicPartition.topic(), Math.max(logEnd - committed, 0), Long::sum);
+        });
+
+        return lags;
+    }
+
+    private RoutedSince routedSince(OffsetSnapshot snapshot) {
+        RoutedSince current = routed.get();
+        if (current.snapshotAt() == snapshot.createdAt()) {
+            return current;
+        }
+
+        RoutedSince next = new RoutedSince(snapshot.createdAt());
+        return routed.compareAndSet(current, next) ? next : routed.get();
+    }
+
+    private String roundRobin(String counterKey, String topicPrefix, int topicCount) {
+        Long sequence = redisTemplate.opsForValue().increment(counterKey);
+        if (sequence == null) {
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }
+
+        return roundRobinTopic(topicPrefix, sequence, topicCount);
+    }
+
+    /**
+     * 특정 스냅샷 이후 Topic별로 보낸 요청 수입니다.
+     *
+     * @param snapshotAt 기준 스냅샷의 조회 시각
+     * @param counts Topic별 요청 수
+     */
+    private record RoutedSince(long snapshotAt, ConcurrentMap<String, AtomicLong> counts) {
+
+        RoutedSince(long snapshotAt) {
+            this(snapshotAt, new ConcurrentHashMap<>());
+        }
+
+        long count(String topic) {
+            AtomicLong count = counts.get(topic);
+            return count == null ? 0 : count.get();
+        }
+
+        void increment(String topic) {
+            counts.computeIfAbsent(topic, k -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
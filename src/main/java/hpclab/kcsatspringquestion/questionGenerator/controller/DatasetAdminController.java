@@ -0,0 +1,73 @@
+package hpclab.kcsatspringquestion.questionGenerator.controller;
+
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ApiResponse;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.exception.SuccessCode;
+import hpclab.kcsatspringquestion.questionGenerator.dto.DatasetStatusDto;
+import hpclab.kcsatspringquestion.questionGenerator.repository.QuestionMemoryRepository;
+import hpclab.kcsatspringquestion.util.JWTUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 데이터셋(기출 지문, Definition)을 관리하는 관리자용 컨트롤러 클래스입니다.
+ *
+ * <p>servlet, reactive 프로필에서 모두 사용하며, JWT의 role이 관리자인 요청만 처리합니다.</p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/question/admin/dataset")
+@RequiredArgsConstructor
+public class DatasetAdminController {
+
+    private final QuestionMemoryRepository questionMemoryRepository;
+    private final JWTUtil jwtUtil;
+
+    /**
+     * 데이터셋을 관리할 수 있는 JWT role 값입니다.
+     */
+    @Value("${dataset.reload.admin-role:ROLE_ADMIN}")
+    private String adminRole;
+
+    /**
+     * 현재 사용 중인 데이터셋 정보를 조회합니다.
+     *
+     * @param token 관리자 JWT
+     * @return 데이터셋 스냅샷 정보를 반환합니다.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<DatasetStatusDto>> getDatasetStatus(@RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
+        checkAdmin(token);
+
+        return ResponseEntity.ok(new ApiResponse<>(true, DatasetStatusDto.from(questionMemoryRepository.getSnapshot()), null, null));
+    }
+
+    /**
+     * 데이터셋을 다시 불러옵니다. 불러오는 동안에도 문제 생성 요청은 이전 데이터셋으로 처리됩니다.
+     *
+     * @param token 관리자 JWT
+     * @return 새로 불러온 데이터셋 정보를 반환합니다.
+     */
+    @PostMapping("/reload")
+    public CompletableFuture<ResponseEntity<ApiResponse<DatasetStatusDto>>> reloadDataset(@RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
+        checkAdmin(token);
+
+        log.info("Dataset reload requested");
+        return questionMemoryRepository.reload()
+                .thenApply(snapshot -> ResponseEntity.ok(new ApiResponse<>(true, DatasetStatusDto.from(snapshot),
+                        SuccessCode.DATASET_RELOAD_SUCCESS.getCode(), SuccessCode.DATASET_RELOAD_SUCCESS.getMessage())));
+    }
+
+    private void checkAdmin(String token) {
+        if (!adminRole.equals(jwtUtil.getUserRole(token))) {
+            throw new ApiException(ErrorCode.ACCESS_DENIED);
+        }
+    }
+}
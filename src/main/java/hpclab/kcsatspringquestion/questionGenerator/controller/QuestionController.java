@@ -2,44 +2,65 @@ package hpclab.kcsatspringquestion.questionGenerator.controller;
 
 import hpclab.kcsatspringquestion.exception.ApiResponse;
 import hpclab.kcsatspringquestion.exception.SuccessCode;
+import hpclab.kcsatspringquestion.kafka.ExamManager;
 import hpclab.kcsatspringquestion.kafka.KafkaService;
+import hpclab.kcsatspringquestion.questionGenerator.domain.PassageLength;
 import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
 import hpclab.kcsatspringquestion.questionGenerator.dto.*;
 import hpclab.kcsatspringquestion.questionGenerator.service.QuestionService;
-import hpclab.kcsatspringquestion.util.JWTUtil;
+import hpclab.kcsatspringquestion.questionGenerator.service.QuestionStreamService;
+import hpclab.kcsatspringquestion.security.LoginEmail;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import static hpclab.kcsatspringquestion.util.JWTUtil.USER_EMAIL;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * 문제,해설 생성 로직을 제어하는 컨트롤러 클래스입니다.
  */
 @Slf4j
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/question")
 @RequiredArgsConstructor
 public class QuestionController {
 
     private final QuestionService questionService;
+    private final QuestionStreamService questionStreamService;
     private final KafkaService kafkaService;
+    private final ExamManager examManager;
 
-    private final JWTUtil jwtUtil;
+    /**
+     * 예상 완료 시간을 알 수 없을 때 안내하는 재요청 대기 시간(초)입니다.
+     */
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 3;
+
+    /**
+     * 재요청 대기 시간의 최대값(초)입니다. 예상 시간이 길어도 이 간격으로 대기열을 갱신합니다.
+     */
+    private static final long MAX_RETRY_AFTER_SECONDS = 30;
 
     /**
      * 문제 생성시, Topic 할당을 위해 최초 1회 호출하는 메서드입니다.
      * 문제 생성 Topic을 미리 할당 받고, 해당 Topic에 문제 생성을 요청합니다.
      *
-     * @param token 회원 JWT 정보
+     * @param email 회원 JWT 안의 userEmail 정보
      * @return 할당된 Question Topic 값을 반환합니다.
      */
     @GetMapping("/firstQuestionContact")
-    public ResponseEntity<ApiResponse<String>> createQuestionData(@RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
-        String email = jwtUtil.getClaims(token).get(USER_EMAIL).toString();
-
+    public ResponseEntity<ApiResponse<String>> createQuestionData(@LoginEmail String email) {
         // topic 설정
         String questionTopic = kafkaService.getQuestionTopic();
 
@@ -52,13 +73,11 @@ public class QuestionController {
      * 해설 생성시, Topic 할당을 위해 최초 1회 호출하는 메서드입니다.
      * 해설 생성 Topic을 미리 할당 받고, 해당 Topic에 해설 생성을 요청합니다.
      *
-     * @param token 회원 JWT 정보
+     * @param email 회원 JWT 안의 userEmail 정보
      * @return 할당된 Explanation Topic 값을 반환합니다.
      */
     @GetMapping("/firstExplanationContact")
-    public ResponseEntity<ApiResponse<String>> createExplanationData(@RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
-        String email = jwtUtil.getClaims(token).get(USER_EMAIL).toString();
-
+    public ResponseEntity<ApiResponse<String>> createExplanationData(@LoginEmail String email) {
         // topic 설정
         String explanationTopic = kafkaService.getExplanationTopic();
 
@@ -71,13 +90,11 @@ public class QuestionController {
      * 문제 생성 요청 이후, 최근에 Consume된 문제 Offset을 반환하는 메서드입니다.
      * (프론트엔드에서 최초 요청 Offset과 비교하여 대기열 구현 가능.)
      *
-     * @param token 회원 JWT 정보
+     * @param email 회원 JWT 안의 userEmail 정보
      * @return 현재 Topic의 최근 Consume Offset을 반환합니다.
      */
     @GetMapping("/questionNowOffset")
-    public ResponseEntity<ApiResponse<Long>> getQuestionOffset(@RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
-        String email = jwtUtil.getClaims(token).get(USER_EMAIL).toString();
-
+    public ResponseEntity<ApiResponse<Long>> getQuestionOffset(@LoginEmail String email) {
         long offset = kafkaService.getRecentConsumedQuestionOffset(email);
 
         return ResponseEntity.ok(new ApiResponse<>(true, offset, null, null));
@@ -87,134 +104,360 @@ public class QuestionController {
      * 해설 생성 요청 이후, 최근에 Consume된 해설 Offset을 반환하는 메서드입니다.
      * (프론트엔드에서 최초 요청 Offset과 비교하여 대기열 구현 가능.)
      *
-     * @param token 회원 JWT 정보
+     * @param email 회원 JWT 안의 userEmail 정보
      * @return 현재 Topic의 최근 Consume Offset을 반환합니다.
      */
     @GetMapping("/explanationNowOffset")
-    public ResponseEntity<ApiResponse<Long>> getExplanationOffset(@RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
-        String email = jwtUtil.getClaims(token).get(USER_EMAIL).toString();
-
+    public ResponseEntity<ApiResponse<Long>> getExplanationOffset(@LoginEmail String email) {
         long offset = kafkaService.getRecentConsumedExplanationOffset(email);
 
         return ResponseEntity.ok(new ApiResponse<>(true, offset, null, null));
     }
 
+    /**
+     * 문제 생성 요청 이후, 서버가 계산한 대기열 위치와 예상 완료 시간을 반환하는 메서드입니다.
+     * 예상 완료 시간에 맞춰 다시 요청할 수 있도록 Retry-After 헤더를 함께 반환합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 현재 대기열 위치 정보를 반환합니다.
+     */
+    @GetMapping("/questionPosition")
+    public ResponseEntity<ApiResponse<QueuePositionDto>> getQuestionPosition(@LoginEmail String email) {
+        QueuePositionDto position = kafkaService.getQuestionPosition(email);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(position)))
+                .body(new ApiResponse<>(true, position, null, null));
+    }
+
+    /**
+     * 해설 생성 요청 이후, 서버가 계산한 대기열 위치와 예상 완료 시간을 반환하는 메서드입니다.
+     * 예상 완료 시간에 맞춰 다시 요청할 수 있도록 Retry-After 헤더를 함께 반환합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 현재 대기열 위치 정보를 반환합니다.
+     */
+    @GetMapping("/explanationPosition")
+    public ResponseEntity<ApiResponse<QueuePositionDto>> getExplanationPosition(@LoginEmail String email) {
+        QueuePositionDto position = kafkaService.getExplanationPosition(email);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(position)))
+                .body(new ApiResponse<>(true, position, null, null));
+    }
+
+    /**
+     * 문제 생성 과정을 하나의 SSE 연결로 전달하는 메서드입니다.
+     * 할당된 Topic, 최근 Consume Offset(변경 시), 생성된 문제를 순서대로 전달합니다.
+     * (Offset, 문제 반환 API를 반복 호출하지 않아도 됩니다.)
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 문제 생성 이벤트 스트림
+     */
+    @GetMapping(value = "/questionStream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQuestion(@LoginEmail String email) {
+        return questionStreamService.openQuestionStream(email);
+    }
+
+    /**
+     * 해설 생성 과정을 하나의 SSE 연결로 전달하는 메서드입니다.
+     * 할당된 Topic, 최근 Consume Offset(변경 시), 해설이 합쳐진 최종 문제를 순서대로 전달합니다.
+     * (Offset, 해설 반환 API를 반복 호출하지 않아도 됩니다.)
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 해설 생성 이벤트 스트림
+     */
+    @GetMapping(value = "/explanationStream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamExplanation(@LoginEmail String email) {
+        return questionStreamService.openExplanationStream(email);
+    }
+
     /**
      * DEMO 문제 생성 요청 - 기출 문제 지문 중 무작위로 한 가지를 골라 랜덤한 유형으로 문제를 제작하는 메서드입니다.
      *
-     * @param token 회원 JWT 정보
-     * @return 제작 요청된 문제의 Offset을 반환합니다.
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 제작 요청된 문제의 Offset을 반환합니다. (전송을 기다리는 동안 요청 스레드를 점유하지 않습니다.)
+     * 미리 만들어 둔 문제를 전달한 경우, Offset 없이 {@link SuccessCode#QUESTION_FROM_POOL}을 반환합니다.
      */
     @PostMapping("/allRandom")
-    public ResponseEntity<ApiResponse<Long>> createDemoQuestion(@RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
-        String email = jwtUtil.getClaims(token).get(USER_EMAIL).toString();
-
+    public CompletableFuture<ResponseEntity<ApiResponse<Long>>> createDemoQuestion(@LoginEmail String email) {
         QuestionType questionType = QuestionType.getRandomQuestionType();
 
-        String definition = questionService.getQuestionDefinition(questionType);
-        String mainText = questionService.getRandomDefaultDataset();
-
-        Long offset = kafkaService.makeQuestionFromKafka(new QuestionSubmitKafkaForm(questionType.toString(), definition, mainText), email);
+        if (kafkaService.serveFromWarmPool(questionType, email)) {
+            return CompletableFuture.completedFuture(pooledResponse());
+        }
 
-        log.info("now Offset from sent message : {}", offset);
+        String definition = questionService.getQuestionDefinition(questionType);
+        String mainText = questionService.getRandomDefaultDataset(email, questionType, null);
 
-        return ResponseEntity.ok(new ApiResponse<>(true, offset, null, null));
+        return kafkaService.makeQuestionFromKafka(new QuestionSubmitKafkaForm(questionType.toString(), definition, mainText), email)
+                .thenApply(offset -> {
+                    log.info("now Offset from sent message : {}", offset);
+                    return ResponseEntity.ok(new ApiResponse<>(true, offset, null, null));
+                });
     }
 
     /**
      * 무작위 문제 생성 요청 - 기출 문제 지문 중 무작위로 한 가지를 골라 사용자가 고른 유형으로 문제를 제작하는 메서드입니다.
      *
-     * @param token 회원 JWT 정보
-     * @param form 이 메서드에서는 사용자가 지정한 문제 유형만을 참고합니다.
-     * @return 제작 요청된 문제의 Offset을 반환합니다.
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param form 이 메서드에서는 사용자가 지정한 문제 유형과 지문 길이(선택)만을 참고합니다. 이미 받은 기출 지문은 다시 고르지 않습니다.
+     * @return 제작 요청된 문제의 Offset을 반환합니다. (전송을 기다리는 동안 요청 스레드를 점유하지 않습니다.)
+     * 지문 길이를 지정하지 않았고 미리 만들어 둔 문제를 전달한 경우, Offset 없이 {@link SuccessCode#QUESTION_FROM_POOL}을 반환합니다.
      */
     @PostMapping("/random")
-    public ResponseEntity<ApiResponse<Long>> createDefaultQuestion(@RequestHeader(HttpHeaders.AUTHORIZATION) String token, @RequestBody QuestionSubmitRawForm form) {
-        String email = jwtUtil.getClaims(token).get(USER_EMAIL).toString();
-
+    public CompletableFuture<ResponseEntity<ApiResponse<Long>>> createDefaultQuestion(@LoginEmail String email, @RequestBody QuestionSubmitRawForm form) {
         QuestionType questionType = QuestionType.valueOf(form.getType());
 
-        String definition = questionService.getQuestionDefinition(questionType);
-        String mainText = questionService.getRandomDefaultDataset();
+        PassageLength length = form.getLength() == null ? null : PassageLength.valueOf(form.getLength());
 
-        Long offset = kafkaService.makeQuestionFromKafka(new QuestionSubmitKafkaForm(questionType.toString(), definition, mainText), email);
+        if (length == null && kafkaService.serveFromWarmPool(questionType, email)) {
+            return CompletableFuture.completedFuture(pooledResponse());
+        }
 
-        log.info("now Offset from sent message : {}", offset);
+        String definition = questionService.getQuestionDefinition(questionType);
+        String mainText = questionService.getRandomDefaultDataset(email, questionType, length);
 
-        return ResponseEntity.ok(new ApiResponse<>(true, offset, null, null));
+        return kafkaService.makeQuestionFromKafka(new QuestionSubmitKafkaForm(questionType.toString(), definition, mainText), email)
+                .thenApply(offset -> {
+                    log.info("now Offset from sent message : {}", offset);
+                    return ResponseEntity.ok(new ApiResponse<>(true, offset, null, null));
+                });
     }
 
     /**
      * 사용자 정의 지문 문제 생성 요청 - 사용자가 입력한 지문에 대해 사용자가 유형을 선택하여 문제를 제작하는 메서드입니다.
      *
-     * @param token 회원 JWT 정보
+     * @param email 회원 JWT 안의 userEmail 정보
      * @param form 이 메서드에서는 사용자가 작성한 본문, 지정한 문제 유형 데이터를 모두 참고합니다.
-     * @return 제작 요청된 문제의 Offset을 반환합니다.
+     * @return 제작 요청된 문제의 Offset을 반환합니다. (전송을 기다리는 동안 요청 스레드를 점유하지 않습니다.)
+     * 같은 요청의 결과를 함께 받는 경우, Offset 없이 {@link SuccessCode#QUESTION_RESULT_SHARED}를 반환합니다.
      */
     @PostMapping("/question")
-    public ResponseEntity<ApiResponse<Long>> createCustomQuestion(@RequestHeader(HttpHeaders.AUTHORIZATION) String token, @RequestBody QuestionSubmitRawForm form) {
-        String email = jwtUtil.getClaims(token).get(USER_EMAIL).toString();
-
+    public CompletableFuture<ResponseEntity<ApiResponse<Long>>> createCustomQuestion(@LoginEmail String email, @RequestBody QuestionSubmitRawForm form) {
         QuestionType questionType = QuestionType.valueOf(form.getType());
 
         String definition = questionService.getQuestionDefinition(questionType);
         String mainText = form.getMainText();
 
-        Long offset = kafkaService.makeQuestionFromKafka(new QuestionSubmitKafkaForm(questionType.toString(), definition, mainText), email);
-
-        log.info("now Offset from sent message : {}", offset);
-
-        return ResponseEntity.ok(new ApiResponse<>(true, offset, null, null));
+        return kafkaService.makeCachedQuestionFromKafka(new QuestionSubmitKafkaForm(questionType.toString(), definition, mainText), email)
+                .thenApply(offset -> offset
+                        .map(value -> {
+                            log.info("now Offset from sent message : {}", value);
+                            return ResponseEntity.ok(new ApiResponse<>(true, value, null, null));
+                        })
+                        .orElseGet(() -> ResponseEntity.ok(new ApiResponse<>(true, null,
+                                SuccessCode.QUESTION_RESULT_SHARED.getCode(), SuccessCode.QUESTION_RESULT_SHARED.getMessage()))));
     }
 
     /**
      * 생성 요청한 문제가 다 만들어지면, 반환 요청하는 메서드입니다.
      *
-     * @param token 회원 JWT 정보
+     * @param email 회원 JWT 안의 userEmail 정보
      * @return 문제가 다 만들어졌다면 문제 정보를 반환합니다.
      */
     @GetMapping("/question")
-    public ResponseEntity<ApiResponse<QuestionResponseRawForm>> getQuestion(@RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
-        String email = jwtUtil.getClaims(token).get(USER_EMAIL).toString();
-
+    public ResponseEntity<ApiResponse<QuestionResponseRawForm>> getQuestion(@LoginEmail String email) {
         QuestionResponseRawForm response = kafkaService.receiveQuestionFromKafka(email);
 
         return ResponseEntity.ok(new ApiResponse<>(true, response, null, null));
     }
 
+    /**
+     * 생성 요청한 문제가 다 만들어질 때까지 대기한 후 반환하는 메서드입니다. (Long-Polling)
+     * 대기하는 동안 요청 스레드를 점유하지 않으며, 문제가 저장되는 즉시 응답합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param wait 최대 대기 시간(ms)
+     * @return 대기 시간 내에 문제가 만들어졌다면 문제 정보를 반환합니다.
+     */
+    @GetMapping(value = "/question", params = "wait")
+    public DeferredResult<ResponseEntity<ApiResponse<QuestionResponseRawForm>>> waitQuestion(@LoginEmail String email, @RequestParam("wait") long wait) {
+        return deliver(kafkaService.awaitQuestionFromKafka(email, wait), Function.identity(),
+                question -> {
+                },
+                question -> kafkaService.restoreQuestionResult(email, question));
+    }
+
     /**
      * 문제 해설 생성 요청 메서드입니다.
      * 문제가 다 만들어졌을 경우, 해설 생성을 위해 추가로 요청하여 해설을 제작하는 메서드입니다.
      *
-     * @param token 회원 JWT 정보
+     * @param email 회원 JWT 안의 userEmail 정보
      * @param form 생성된 문제 정보. 이 데이터를 기반으로 문제 해설을 생성합니다.
-     * @return 제작 요청된 해설의 Offset을 반환합니다.
+     * @return 제작 요청된 해설의 Offset을 반환합니다. (전송을 기다리는 동안 요청 스레드를 점유하지 않습니다.)
      */
     @PostMapping("/explanation")
-    public ResponseEntity<ApiResponse<Long>> createExplanation(@RequestHeader(HttpHeaders.AUTHORIZATION) String token, @RequestBody QuestionResponseRawForm form) {
-        String email = jwtUtil.getClaims(token).get(USER_EMAIL).toString();
-
+    public CompletableFuture<ResponseEntity<ApiResponse<Long>>> createExplanation(@LoginEmail String email, @RequestBody QuestionResponseRawForm form) {
         questionService.saveQuestionResult(email, form);
 
-        Long offset = kafkaService.makeExplanationFromKafka(form, email);
+        return kafkaService.makeExplanationFromKafka(form, email)
+                .thenApply(offset -> ResponseEntity.ok(new ApiResponse<>(true, offset, SuccessCode.MESSAGE_SEND_SUCCESS.getCode(), SuccessCode.MESSAGE_SEND_SUCCESS.getMessage())));
+    }
+
+    /**
+     * 문제 식별값으로 해설 생성을 요청하는 메서드입니다.
+     * 문제 조회 시 함께 받은 식별값만 보내면, 서버에 저장된 문제로 해설을 제작합니다.
+     * 가장 최근에 받은 문제의 식별값만 사용할 수 있으며, 이후 새 문제가 생성되었다면 문제 전체를 보내야 합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param handle 문제 조회 시 함께 받은 문제 식별값
+     * @return 제작 요청된 해설의 Offset을 반환합니다. (전송을 기다리는 동안 요청 스레드를 점유하지 않습니다.)
+     */
+    @PostMapping(value = "/explanation", params = "handle")
+    public CompletableFuture<ResponseEntity<ApiResponse<Long>>> createExplanationByHandle(@LoginEmail String email, @RequestParam("handle") String handle) {
+        QuestionResponseRawForm form = questionService.getQuestionResult(email, handle);
 
-        return ResponseEntity.ok(new ApiResponse<>(true, offset, SuccessCode.MESSAGE_SEND_SUCCESS.getCode(), SuccessCode.MESSAGE_SEND_SUCCESS.getMessage()));
+        return kafkaService.makeExplanationFromKafka(form, email)
+                .thenApply(offset -> ResponseEntity.ok(new ApiResponse<>(true, offset, SuccessCode.MESSAGE_SEND_SUCCESS.getCode(), SuccessCode.MESSAGE_SEND_SUCCESS.getMessage())));
     }
 
     /**
      * 생성 요청한 해설이 다 만들어지면, 반환 요청하는 메서드입니다.
      *
-     * @param token 회원 JWT 정보
+     * @param email 회원 JWT 안의 userEmail 정보
      * @return 해설이 다 만들어졌다면 해설 정보를 반환합니다.
      */
     @GetMapping("/explanation")
-    public ResponseEntity<ApiResponse<QuestionDto>> getExplanation(@RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
-        String email = jwtUtil.getClaims(token).get(USER_EMAIL).toString();
-
+    public ResponseEntity<ApiResponse<QuestionDto>> getExplanation(@LoginEmail String email) {
         ExplanationResponseRawForm explanation = kafkaService.receiveExplanationFromKafka(email);
 
         QuestionDto question = questionService.mergeWithExplanation(email, explanation);
 
         return ResponseEntity.ok(new ApiResponse<>(true, question, null, null));
     }
-}
\ No newline at end of file
+
+    /**
+     * 생성 요청한 해설이 다 만들어질 때까지 대기한 후 반환하는 메서드입니다. (Long-Polling)
+     * 대기하는 동안 요청 스레드를 점유하지 않으며, 해설이 저장되는 즉시 응답합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param wait 최대 대기 시간(ms)
+     * @return 대기 시간 내에 해설이 만들어졌다면 해설 정보를 반환합니다.
+     */
+    @GetMapping(value = "/explanation", params = "wait")
+    public DeferredResult<ResponseEntity<ApiResponse<QuestionDto>>> waitExplanation(@LoginEmail String email, @RequestParam("wait") long wait) {
+        return deliver(kafkaService.awaitExplanationFromKafka(email, wait),
+                explanation -> questionService.mergeExplanation(email, explanation),
+                question -> questionService.saveQuestionExplanation(email, question),
+                explanation -> kafkaService.restoreExplanationResult(email, explanation));
+    }
+
+    /**
+     * 모의고사 생성 요청 메서드입니다.
+     * 여러 문제의 생성 요청을 한 번에 전송하며, 문제마다 Topic 할당과 생성 요청을 반복하지 않아도 됩니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param form 문제 번호 순서의 문제 유형과 본문. 본문을 비워 두면 기출 지문 중 지정한 길이(선택)에 맞는 지문을 무작위로 고릅니다.
+     * @return 모의고사 식별자를 반환합니다. (전송을 기다리는 동안 요청 스레드를 점유하지 않습니다.)
+     */
+    @PostMapping("/exam")
+    public CompletableFuture<ResponseEntity<ApiResponse<String>>> createExam(@LoginEmail String email, @RequestBody ExamSubmitForm form) {
+        examManager.validate(form.getQuestions());
+
+        List<QuestionSubmitKafkaForm> forms = form.getQuestions().stream()
+                .map(question -> toKafkaForm(email, question))
+                .toList();
+
+        return kafkaService.makeExamFromKafka(forms, email)
+                .thenApply(examId -> ResponseEntity.ok(new ApiResponse<>(true, examId, SuccessCode.EXAM_SEND_SUCCESS.getCode(), SuccessCode.EXAM_SEND_SUCCESS.getMessage())));
+    }
+
+    /**
+     * 모의고사 생성 진행 상황을 반환하는 메서드입니다.
+     * 지금까지 만들어진 문제도 문제 번호 순서로 함께 반환합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param examId 모의고사 식별자
+     * @return 모의고사 진행 상황을 반환합니다.
+     */
+    @GetMapping("/exam/{examId}")
+    public ResponseEntity<ApiResponse<ExamProgressDto>> getExam(@LoginEmail String email, @PathVariable("examId") String examId) {
+        return ResponseEntity.ok(new ApiResponse<>(true, kafkaService.getExamProgress(examId, email), null, null));
+    }
+
+    private QuestionSubmitKafkaForm toKafkaForm(String email, QuestionSubmitRawForm form) {
+        QuestionType questionType = QuestionType.valueOf(form.getType());
+
+        String definition = questionService.getQuestionDefinition(questionType);
+
+        if (form.getMainText() != null) {
+            return new QuestionSubmitKafkaForm(questionType.toString(), definition, form.getMainText());
+        }
+
+        PassageLength length = form.getLength() == null ? null : PassageLength.valueOf(form.getLength());
+        return new QuestionSubmitKafkaForm(questionType.toString(), definition, questionService.getRandomDefaultDataset(email, questionType, length));
+    }
+
+    /**
+     * 결과 대기를 비동기 응답과 묶습니다.
+     *
+     * <p>비동기 요청이 시간 초과되거나 클라이언트 연결이 끊어지면 대기를 취소하여, 받지 못할 결과를 꺼내지 않습니다.
+     * 결과를 꺼낸 후 응답을 만들지 못했거나 이미 응답이 끝난 경우에는 꺼낸 결과를 되돌려 다시 조회할 수 있도록 합니다.
+     * 응답 변환과 DB 저장은 Redis 리스너 스레드가 아닌 결과 처리 Executor에서 실행됩니다.</p>
+     *
+     * <p>DB 저장은 응답을 넘긴 후에만 실행합니다. 되돌린 결과는 다시 조회될 때 저장되므로, 같은 결과가 두 번 저장되지 않습니다.
+     * 응답을 넘긴 후 저장에 실패하면 결과를 되돌리지 않고 로그만 남깁니다.</p>
+     *
+     * @param waiting 결과를 기다리는 작업
+     * @param toResult 결과를 응답 데이터로 변환하는 함수 (DB에 저장하지 않아야 합니다.)
+     * @param onDelivered 응답을 넘긴 후 응답 데이터를 저장하는 함수
+     * @param restore 꺼냈지만 전달하지 못한 결과를 되돌리는 함수
+     * @return 비동기 응답
+     */
+    private <T, R> DeferredResult<ResponseEntity<ApiResponse<R>>> deliver(CompletableFuture<T> waiting, Function<T, R> toResult,
+                                                                           Consumer<R> onDelivered, Consumer<T> restore) {
+        DeferredResult<ResponseEntity<ApiResponse<R>>> deferred = new DeferredResult<>();
+        deferred.onTimeout(() -> kafkaService.cancelAwait(waiting));
+        deferred.onError(e -> kafkaService.cancelAwait(waiting));
+        deferred.onCompletion(() -> kafkaService.cancelAwait(waiting));
+
+        waiting.whenCompleteAsync((value, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (!(cause instanceof CancellationException)) {
+                    deferred.setErrorResult(cause);
+                }
+                return;
+            }
+
+            if (deferred.isSetOrExpired()) {
+                restore.accept(value);
+                return;
+            }
+
+            R result;
+            try {
+                result = toResult.apply(value);
+            } catch (RuntimeException ex) {
+                restore.accept(value);
+                deferred.setErrorResult(ex);
+                return;
+            }
+
+            if (!deferred.setResult(ResponseEntity.ok(new ApiResponse<>(true, result, null, null)))) {
+                restore.accept(value);
+                return;
+            }
+
+            try {
+                onDelivered.accept(result);
+            } catch (RuntimeException ex) {
+                log.error("Failed to persist delivered result", ex);
+            }
+        }, kafkaService.resultExecutor());
+
+        return deferred;
+    }
+
+    private long retryAfterSeconds(QueuePositionDto position) {
+        if (position.getEstimatedWaitSeconds() == null) {
+            return DEFAULT_RETRY_AFTER_SECONDS;
+        }
+        return Math.min(Math.max(position.getEstimatedWaitSeconds(), 1), MAX_RETRY_AFTER_SECONDS);
+    }
+
+    private ResponseEntity<ApiResponse<Long>> pooledResponse() {
+        return ResponseEntity.ok(new ApiResponse<>(true, null, SuccessCode.QUESTION_FROM_POOL.getCode(), SuccessCode.QUESTION_FROM_POOL.getMessage()));
+    }
+}
@@ -0,0 +1,362 @@
+package hpclab.kcsatspringquestion.questionGenerator.controller;
+
+import hpclab.kcsatspringquestion.exception.ApiResponse;
+import hpclab.kcsatspringquestion.exception.SuccessCode;
+import hpclab.kcsatspringquestion.kafka.ExamManager;
+import hpclab.kcsatspringquestion.kafka.ReactiveKafkaService;
+import hpclab.kcsatspringquestion.questionGenerator.domain.PassageLength;
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import hpclab.kcsatspringquestion.questionGenerator.dto.*;
+import hpclab.kcsatspringquestion.questionGenerator.service.QuestionService;
+import hpclab.kcsatspringquestion.questionGenerator.service.ReactivePassageService;
+import hpclab.kcsatspringquestion.questionGenerator.service.ReactiveQuestionStreamService;
+import hpclab.kcsatspringquestion.security.LoginEmail;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 문제,해설 생성 로직을 제어하는 WebFlux 컨트롤러 클래스입니다. (reactive 프로필)
+ *
+ * <p>{@link QuestionController}와 같은 경로, 같은 응답을 제공하지만, Redis와 Kafka 응답을 기다리는 동안 스레드를 점유하지 않습니다.
+ * 대부분의 요청이 상태 조회와 생성 결과 대기이므로, 적은 수의 이벤트 루프 스레드로 많은 동시 연결을 처리할 수 있습니다.
+ * {@code SPRING_PROFILES_ACTIVE=reactive}로 실행하면 서블릿 컨트롤러 대신 이 컨트롤러가 등록됩니다.</p>
+ */
+@Slf4j
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/question")
+@RequiredArgsConstructor
+public class ReactiveQuestionController {
+
+    private final QuestionService questionService;
+    private final ReactivePassageService reactivePassageService;
+    private final ReactiveQuestionStreamService reactiveQuestionStreamService;
+    private final ReactiveKafkaService reactiveKafkaService;
+    private final ExamManager examManager;
+
+    /**
+     * 예상 완료 시간을 알 수 없을 때 안내하는 재요청 대기 시간(초)입니다.
+     */
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 3;
+
+    /**
+     * 재요청 대기 시간의 최대값(초)입니다. 예상 시간이 길어도 이 간격으로 대기열을 갱신합니다.
+     */
+    private static final long MAX_RETRY_AFTER_SECONDS = 30;
+
+    /**
+     * 문제 생성시, Topic 할당을 위해 최초 1회 호출하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 할당된 Question Topic 값을 반환합니다.
+     */
+    @GetMapping("/firstQuestionContact")
+    public Mono<ResponseEntity<ApiResponse<String>>> createQuestionData(@LoginEmail String email) {
+        return reactiveKafkaService.assignQuestionTopic(email)
+                .map(topic -> ResponseEntity.ok(new ApiResponse<>(true, topic, null, null)));
+    }
+
+    /**
+     * 해설 생성시, Topic 할당을 위해 최초 1회 호출하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 할당된 Explanation Topic 값을 반환합니다.
+     */
+    @GetMapping("/firstExplanationContact")
+    public Mono<ResponseEntity<ApiResponse<String>>> createExplanationData(@LoginEmail String email) {
+        return reactiveKafkaService.assignExplanationTopic(email)
+                .map(topic -> ResponseEntity.ok(new ApiResponse<>(true, topic, null, null)));
+    }
+
+    /**
+     * 문제 생성 요청 이후, 최근에 Consume된 문제 Offset을 반환하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 현재 Topic의 최근 Consume Offset을 반환합니다.
+     */
+    @GetMapping("/questionNowOffset")
+    public Mono<ResponseEntity<ApiResponse<Long>>> getQuestionOffset(@LoginEmail String email) {
+        return reactiveKafkaService.getRecentConsumedQuestionOffset(email)
+                .map(offset -> ResponseEntity.ok(new ApiResponse<>(true, offset, null, null)));
+    }
+
+    /**
+     * 해설 생성 요청 이후, 최근에 Consume된 해설 Offset을 반환하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 현재 Topic의 최근 Consume Offset을 반환합니다.
+     */
+    @GetMapping("/explanationNowOffset")
+    public Mono<ResponseEntity<ApiResponse<Long>>> getExplanationOffset(@LoginEmail String email) {
+        return reactiveKafkaService.getRecentConsumedExplanationOffset(email)
+                .map(offset -> ResponseEntity.ok(new ApiResponse<>(true, offset, null, null)));
+    }
+
+    /**
+     * 문제 생성 요청 이후, 서버가 계산한 대기열 위치와 예상 완료 시간을 Retry-After 헤더와 함께 반환하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 현재 대기열 위치 정보를 반환합니다.
+     */
+    @GetMapping("/questionPosition")
+    public Mono<ResponseEntity<ApiResponse<QueuePositionDto>>> getQuestionPosition(@LoginEmail String email) {
+        return reactiveKafkaService.getQuestionPosition(email).map(this::positionResponse);
+    }
+
+    /**
+     * 해설 생성 요청 이후, 서버가 계산한 대기열 위치와 예상 완료 시간을 Retry-After 헤더와 함께 반환하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 현재 대기열 위치 정보를 반환합니다.
+     */
+    @GetMapping("/explanationPosition")
+    public Mono<ResponseEntity<ApiResponse<QueuePositionDto>>> getExplanationPosition(@LoginEmail String email) {
+        return reactiveKafkaService.getExplanationPosition(email).map(this::positionResponse);
+    }
+
+    /**
+     * 문제 생성 과정을 하나의 SSE 연결로 전달하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 문제 생성 이벤트 스트림
+     */
+    @GetMapping(value = "/questionStream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ApiResponse<?>>> streamQuestion(@LoginEmail String email) {
+        return reactiveQuestionStreamService.openQuestionStream(email);
+    }
+
+    /**
+     * 해설 생성 과정을 하나의 SSE 연결로 전달하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 해설 생성 이벤트 스트림
+     */
+    @GetMapping(value = "/explanationStream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ApiResponse<?>>> streamExplanation(@LoginEmail String email) {
+        return reactiveQuestionStreamService.openExplanationStream(email);
+    }
+
+    /**
+     * DEMO 문제 생성 요청 - 기출 문제 지문 중 무작위로 한 가지를 골라 랜덤한 유형으로 문제를 제작하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 제작 요청된 문제의 Offset을 반환합니다.
+     * 미리 만들어 둔 문제를 전달한 경우, Offset 없이 {@link SuccessCode#QUESTION_FROM_POOL}을 반환합니다.
+     */
+    @PostMapping("/allRandom")
+    public Mono<ResponseEntity<ApiResponse<Long>>> createDemoQuestion(@LoginEmail String email) {
+        QuestionType questionType = QuestionType.getRandomQuestionType();
+
+        String definition = questionService.getQuestionDefinition(questionType);
+
+        return reactiveKafkaService.serveFromWarmPool(questionType, email)
+                .flatMap(served -> served
+                        ? Mono.just(pooledResponse())
+                        : reactivePassageService.getRandomDefaultDataset(email, questionType, null)
+                                .flatMap(mainText -> makeQuestion(new QuestionSubmitKafkaForm(questionType.toString(), definition, mainText), email)));
+    }
+
+    /**
+     * 무작위 문제 생성 요청 - 기출 문제 지문 중 무작위로 한 가지를 골라 사용자가 고른 유형으로 문제를 제작하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param form 이 메서드에서는 사용자가 지정한 문제 유형과 지문 길이(선택)만을 참고합니다. 이미 받은 기출 지문은 다시 고르지 않습니다.
+     * @return 제작 요청된 문제의 Offset을 반환합니다.
+     * 지문 길이를 지정하지 않았고 미리 만들어 둔 문제를 전달한 경우, Offset 없이 {@link SuccessCode#QUESTION_FROM_POOL}을 반환합니다.
+     */
+    @PostMapping("/random")
+    public Mono<ResponseEntity<ApiResponse<Long>>> createDefaultQuestion(@LoginEmail String email, @RequestBody QuestionSubmitRawForm form) {
+        QuestionType questionType = QuestionType.valueOf(form.getType());
+
+        PassageLength length = form.getLength() == null ? null : PassageLength.valueOf(form.getLength());
+
+        String definition = questionService.getQuestionDefinition(questionType);
+
+        Mono<Boolean> served = length == null ? reactiveKafkaService.serveFromWarmPool(questionType, email) : Mono.just(false);
+        return served.flatMap(pooled -> pooled
+                ? Mono.just(pooledResponse())
+                : reactivePassageService.getRandomDefaultDataset(email, questionType, length)
+                        .flatMap(mainText -> makeQuestion(new QuestionSubmitKafkaForm(questionType.toString(), definition, mainText), email)));
+    }
+
+    /**
+     * 사용자 정의 지문 문제 생성 요청 - 사용자가 입력한 지문에 대해 사용자가 유형을 선택하여 문제를 제작하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param form 이 메서드에서는 사용자가 작성한 본문, 지정한 문제 유형 데이터를 모두 참고합니다.
+     * @return 제작 요청된 문제의 Offset을 반환합니다.
+     * 같은 요청의 결과를 함께 받는 경우, Offset 없이 {@link SuccessCode#QUESTION_RESULT_SHARED}를 반환합니다.
+     */
+    @PostMapping("/question")
+    public Mono<ResponseEntity<ApiResponse<Long>>> createCustomQuestion(@LoginEmail String email, @RequestBody QuestionSubmitRawForm form) {
+        QuestionType questionType = QuestionType.valueOf(form.getType());
+
+        String definition = questionService.getQuestionDefinition(questionType);
+
+        return reactiveKafkaService.makeCachedQuestion(new QuestionSubmitKafkaForm(questionType.toString(), definition, form.getMainText()), email)
+                .map(offset -> offset
+                        .map(value -> {
+                            log.info("now Offset from sent message : {}", value);
+                            return ResponseEntity.ok(new ApiResponse<>(true, value, null, null));
+                        })
+                        .orElseGet(() -> ResponseEntity.ok(new ApiResponse<>(true, null,
+                                SuccessCode.QUESTION_RESULT_SHARED.getCode(), SuccessCode.QUESTION_RESULT_SHARED.getMessage()))));
+    }
+
+    /**
+     * 생성 요청한 문제가 다 만들어지면, 반환 요청하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 문제가 다 만들어졌다면 문제 정보를 반환합니다.
+     */
+    @GetMapping("/question")
+    public Mono<ResponseEntity<ApiResponse<QuestionResponseRawForm>>> getQuestion(@LoginEmail String email) {
+        return reactiveKafkaService.receiveQuestion(email)
+                .map(response -> ResponseEntity.ok(new ApiResponse<>(true, response, null, null)));
+    }
+
+    /**
+     * 생성 요청한 문제가 다 만들어질 때까지 대기한 후 반환하는 메서드입니다. (Long-Polling)
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param wait 최대 대기 시간(ms)
+     * @return 대기 시간 내에 문제가 만들어졌다면 문제 정보를 반환합니다.
+     */
+    @GetMapping(value = "/question", params = "wait")
+    public Mono<ResponseEntity<ApiResponse<QuestionResponseRawForm>>> waitQuestion(@LoginEmail String email, @RequestParam("wait") long wait) {
+        return reactiveKafkaService.awaitQuestion(email, wait)
+                .map(response -> ResponseEntity.ok(new ApiResponse<>(true, response, null, null)));
+    }
+
+    /**
+     * 문제 해설 생성 요청 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param form 생성된 문제 정보. 이 데이터를 기반으로 문제 해설을 생성합니다.
+     * @return 제작 요청된 해설의 Offset을 반환합니다.
+     */
+    @PostMapping("/explanation")
+    public Mono<ResponseEntity<ApiResponse<Long>>> createExplanation(@LoginEmail String email, @RequestBody QuestionResponseRawForm form) {
+        return reactiveKafkaService.saveQuestionResult(email, form)
+                .then(reactiveKafkaService.makeExplanation(form, email))
+                .map(offset -> ResponseEntity.ok(new ApiResponse<>(true, offset, SuccessCode.MESSAGE_SEND_SUCCESS.getCode(), SuccessCode.MESSAGE_SEND_SUCCESS.getMessage())));
+    }
+
+    /**
+     * 문제 식별값으로 해설 생성을 요청하는 메서드입니다.
+     * 문제 조회 시 함께 받은 식별값만 보내면, 서버에 저장된 문제로 해설을 제작합니다.
+     * 가장 최근에 받은 문제의 식별값만 사용할 수 있으며, 이후 새 문제가 생성되었다면 문제 전체를 보내야 합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param handle 문제 조회 시 함께 받은 문제 식별값
+     * @return 제작 요청된 해설의 Offset을 반환합니다.
+     */
+    @PostMapping(value = "/explanation", params = "handle")
+    public Mono<ResponseEntity<ApiResponse<Long>>> createExplanationByHandle(@LoginEmail String email, @RequestParam("handle") String handle) {
+        return reactiveKafkaService.findQuestionResult(email, handle)
+                .flatMap(form -> reactiveKafkaService.makeExplanation(form, email))
+                .map(offset -> ResponseEntity.ok(new ApiResponse<>(true, offset, SuccessCode.MESSAGE_SEND_SUCCESS.getCode(), SuccessCode.MESSAGE_SEND_SUCCESS.getMessage())));
+    }
+
+    /**
+     * 생성 요청한 해설이 다 만들어지면, 반환 요청하는 메서드입니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @return 해설이 다 만들어졌다면 해설 정보를 반환합니다.
+     */
+    @GetMapping("/explanation")
+    public Mono<ResponseEntity<ApiResponse<QuestionDto>>> getExplanation(@LoginEmail String email) {
+        return reactiveQuestionStreamService.deliverExplanation(email, reactiveKafkaService.receiveExplanation(email))
+                .map(question -> ResponseEntity.ok(new ApiResponse<>(true, question, null, null)));
+    }
+
+    /**
+     * 생성 요청한 해설이 다 만들어질 때까지 대기한 후 반환하는 메서드입니다. (Long-Polling)
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param wait 최대 대기 시간(ms)
+     * @return 대기 시간 내에 해설이 만들어졌다면 해설 정보를 반환합니다.
+     */
+    @GetMapping(value = "/explanation", params = "wait")
+    public Mono<ResponseEntity<ApiResponse<QuestionDto>>> waitExplanation(@LoginEmail String email, @RequestParam("wait") long wait) {
+        return reactiveQuestionStreamService.deliverExplanation(email, reactiveKafkaService.awaitExplanation(email, wait))
+                .map(question -> ResponseEntity.ok(new ApiResponse<>(true, question, null, null)));
+    }
+
+    /**
+     * 모의고사 생성 요청 메서드입니다.
+     * 여러 문제의 생성 요청을 한 번에 전송하며, 문제마다 Topic 할당과 생성 요청을 반복하지 않아도 됩니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param form 문제 번호 순서의 문제 유형과 본문. 본문을 비워 두면 기출 지문 중 지정한 길이(선택)에 맞는 지문을 무작위로 고릅니다.
+     * @return 모의고사 식별자를 반환합니다.
+     */
+    @PostMapping("/exam")
+    public Mono<ResponseEntity<ApiResponse<String>>> createExam(@LoginEmail String email, @RequestBody ExamSubmitForm form) {
+        examManager.validate(form.getQuestions());
+
+        return Flux.fromIterable(form.getQuestions())
+                .concatMap(question -> toKafkaForm(email, question))
+                .collectList()
+                .flatMap(forms -> reactiveKafkaService.makeExam(forms, email))
+                .map(examId -> ResponseEntity.ok(new ApiResponse<>(true, examId, SuccessCode.EXAM_SEND_SUCCESS.getCode(), SuccessCode.EXAM_SEND_SUCCESS.getMessage())));
+    }
+
+    /**
+     * 모의고사 생성 진행 상황을 반환하는 메서드입니다.
+     * 지금까지 만들어진 문제도 문제 번호 순서로 함께 반환합니다.
+     *
+     * @param email 회원 JWT 안의 userEmail 정보
+     * @param examId 모의고사 식별자
+     * @return 모의고사 진행 상황을 반환합니다.
+     */
+    @GetMapping("/exam/{examId}")
+    public Mono<ResponseEntity<ApiResponse<ExamProgressDto>>> getExam(@LoginEmail String email, @PathVariable("examId") String examId) {
+        return reactiveKafkaService.getExamProgress(examId, email)
+                .map(progress -> ResponseEntity.ok(new ApiResponse<>(true, progress, null, null)));
+    }
+
+    private Mono<QuestionSubmitKafkaForm> toKafkaForm(String email, QuestionSubmitRawForm form) {
+        QuestionType questionType = QuestionType.valueOf(form.getType());
+
+        String definition = questionService.getQuestionDefinition(questionType);
+
+        if (form.getMainText() != null) {
+            return Mono.just(new QuestionSubmitKafkaForm(questionType.toString(), definition, form.getMainText()));
+        }
+
+        PassageLength length = form.getLength() == null ? null : PassageLength.valueOf(form.getLength());
+        return reactivePassageService.getRandomDefaultDataset(email, questionType, length)
+                .map(mainText -> new QuestionSubmitKafkaForm(questionType.toString(), definition, mainText));
+    }
+
+    private Mono<ResponseEntity<ApiResponse<Long>>> makeQuestion(QuestionSubmitKafkaForm form, String email) {
+        return reactiveKafkaService.makeQuestion(form, email)
+                .map(offset -> {
+                    log.info("now Offset from sent message : {}", offset);
+                    return ResponseEntity.ok(new ApiResponse<>(true, offset, null, null));
+                });
+    }
+
+    private ResponseEntity<ApiResponse<Long>> pooledResponse() {
+        return ResponseEntity.ok(new ApiResponse<>(true, null, SuccessCode.QUESTION_FROM_POOL.getCode(), SuccessCode.QUESTION_FROM_POOL.getMessage()));
+    }
+
+    private ResponseEntity<ApiResponse<QueuePositionDto>> positionResponse(QueuePositionDto position) {
+        long retryAfterSeconds = position.getEstimatedWaitSeconds() == null
+                ? DEFAULT_RETRY_AFTER_SECONDS
+                : Math.min(Math.max(position.getEstimatedWaitSeconds(), 1), MAX_RETRY_AFTER_SECONDS);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ApiResponse<>(true, position, null, null));
+    }
+}
@@ -0,0 +1,43 @@
+package hpclab.kcsatspringquestion.questionGenerator.domain;
+
+import lombok.Getter;
+
+/**
+ * 기출 문제 지문의 길이 구간을 정리해 놓은 열거형 클래스입니다.
+ * 무작위 지문을 고를 때, 원하는 길이의 지문만 고르는 데 사용됩니다.
+ */
+@Getter
+public enum PassageLength {
+
+    SHORT("짧은 지문", 0),
+    MEDIUM("보통 지문", 700),
+    LONG("긴 지문", 1100);
+
+    private final String krName;
+
+    /**
+     * 이 구간에 속하는 지문의 최소 글자 수
+     */
+    private final int minLength;
+
+    PassageLength(String krName, int minLength) {
+        this.krName = krName;
+        this.minLength = minLength;
+    }
+
+    /**
+     * 지문 글자 수에 해당하는 길이 구간을 찾는 메서드입니다.
+     *
+     * @param length 지문 글자 수
+     * @return 길이 구간
+     */
+    public static PassageLength of(int length) {
+        PassageLength[] values = values();
+        for (int i = values.length - 1; i > 0; i--) {
+            if (length >= values[i].minLength) {
+                return values[i];
+            }
+        }
+        return values[0];
+    }
+}
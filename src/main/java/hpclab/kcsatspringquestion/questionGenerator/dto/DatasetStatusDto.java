@@ -0,0 +1,44 @@
+package hpclab.kcsatspringquestion.questionGenerator.dto;
+
+import hpclab.kcsatspringquestion.questionGenerator.repository.DatasetSnapshot;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 현재 사용 중인 데이터셋 스냅샷 정보를 담는 DTO 클래스입니다.
+ */
+@Data
+@Builder
+public class DatasetStatusDto {
+
+    /**
+     * 기출 문제 지문 개수
+     */
+    private int passages;
+
+    /**
+     * 문제 Definition이 등록된 문제 유형 수
+     */
+    private int questionTypes;
+
+    /**
+     * 해설 Definition이 등록된 문제 유형 수
+     */
+    private int explanationTypes;
+
+    /**
+     * 스냅샷을 불러온 시각
+     */
+    private LocalDateTime loadedAt;
+
+    public static DatasetStatusDto from(DatasetSnapshot snapshot) {
+        return DatasetStatusDto.builder()
+                .passages(snapshot.passages().size())
+                .questionTypes(snapshot.questionDefinitions().size())
+                .explanationTypes(snapshot.explanationDefinitions().size())
+                .loadedAt(snapshot.loadedAt())
+                .build();
+    }
+}
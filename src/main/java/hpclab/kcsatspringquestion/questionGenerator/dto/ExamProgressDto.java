@@ -0,0 +1,44 @@
+package hpclab.kcsatspringquestion.questionGenerator.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 모의고사 생성 진행 상황을 담는 DTO 클래스입니다.
+ */
+@Data
+@Builder
+public class ExamProgressDto {
+
+    /**
+     * 모의고사 식별자
+     */
+    private String examId;
+
+    /**
+     * 요청한 문제 수
+     */
+    private int total;
+
+    /**
+     * 생성이 끝난 문제 수
+     */
+    private int completed;
+
+    /**
+     * 생성 요청 전송에 실패한 문제 수
+     */
+    private int failed;
+
+    /**
+     * 모든 문제의 생성이 끝났거나 실패했는지 여부
+     */
+    private boolean done;
+
+    /**
+     * 문제 번호 순서의 생성된 문제. 아직 만들어지지 않았거나 실패한 문제는 null입니다.
+     */
+    private List<QuestionResponseRawForm> questions;
+}
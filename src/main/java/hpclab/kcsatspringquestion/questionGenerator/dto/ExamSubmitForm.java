@@ -0,0 +1,23 @@
+package hpclab.kcsatspringquestion.questionGenerator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 모의고사 생성을 위한 제출 Form DTO 클래스입니다.
+ * 여러 문제를 한 번의 요청으로 생성할 때 사용됩니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamSubmitForm {
+
+    /**
+     * 문제 번호 순서의 문제 생성 요청 목록.
+     * 본문(mainText)을 비워 두면 기출 지문 중 지정한 길이(선택)에 맞는 지문을 무작위로 고릅니다.
+     */
+    private List<QuestionSubmitRawForm> questions;
+}
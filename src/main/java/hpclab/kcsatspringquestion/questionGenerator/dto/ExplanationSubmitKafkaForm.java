@@ -1,5 +1,6 @@
 package hpclab.kcsatspringquestion.questionGenerator.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
 import lombok.Data;
 
@@ -9,8 +10,10 @@ import java.util.List;
 /**
  * 해설 제작을 위해 Kafka에 제출하는 Form DTO입니다.
  * 해설 제작을 위한 지시사항인 explanationDefinition이 추가된 객체입니다.
+ * 원문 대신 참조 ID를 보내는 경우, 원문 필드는 null이 되어 메시지에서 빠집니다.
  */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ExplanationSubmitKafkaForm {
     /**
      * 문제 유형
@@ -27,6 +30,11 @@ public class ExplanationSubmitKafkaForm {
      */
     private String mainText;
 
+    /**
+     * 기출 지문 참조 ID (payload-mode가 reference이고, 본문이 기출 지문 그대로인 경우)
+     */
+    private String mainTextId;
+
     /**
      * 문제 보기
      */
@@ -42,6 +50,11 @@ public class ExplanationSubmitKafkaForm {
      */
     private String explanationDefinition;
 
+    /**
+     * 해설 생성 Definition 참조 ID (payload-mode가 reference인 경우)
+     */
+    private String explanationDefinitionId;
+
     public ExplanationSubmitKafkaForm(QuestionResponseRawForm form, String explanationDefinition) {
         this.questionType = form.getQuestionType();
         this.title = form.getTitle();
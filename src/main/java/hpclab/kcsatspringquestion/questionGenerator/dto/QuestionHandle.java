@@ -0,0 +1,58 @@
+package hpclab.kcsatspringquestion.questionGenerator.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * 서버에 저장된 문제를 가리키는 식별값을 만드는 클래스입니다.
+ *
+ * <p>식별값은 문제를 꺼낼 때 서버가 무작위로 발급하여, 해설과 합칠 문제 데이터와 함께 요청 상태에 저장합니다.
+ * 클라이언트는 문제 전체 대신 이 식별값만 보내 해설 생성을 요청할 수 있습니다.
+ * 회원마다 마지막으로 생성된 문제 하나만 보관하므로, 새 문제가 저장되면 이전에 발급한 식별값은 더 이상 사용할 수 없습니다.</p>
+ *
+ * <p>{@link #digest}는 문제 내용으로 계산하는 값으로, 누구나 다시 계산할 수 있으므로 식별값으로 사용하지 않습니다.
+ * 서버가 자동으로 보낸 해설 요청과 클라이언트가 보낸 해설 요청이 같은 문제인지 비교할 때만 사용합니다.</p>
+ */
+public final class QuestionHandle {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * 식별값의 byte 수 (128 bit)
+     */
+    private static final int HANDLE_BYTES = 16;
+
+    private QuestionHandle() {
+    }
+
+    /**
+     * 새 문제 식별값을 발급합니다.
+     *
+     * @return 무작위 문제 식별값 (URL-safe Base64)
+     */
+    public static String issue() {
+        byte[] bytes = new byte[HANDLE_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * 문제 내용의 digest를 계산합니다.
+     *
+     * @param form 생성된 문제
+     * @return 문제 내용의 SHA-256 hex
+     */
+    public static String digest(QuestionResponseRawForm form) {
+        String content = form.getQuestionType() + "\n" + form.getTitle() + "\n" + form.getMainText()
+                + "\n" + form.getChoices() + "\n" + form.getAnswer();
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
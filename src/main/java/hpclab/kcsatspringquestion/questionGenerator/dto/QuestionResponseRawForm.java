@@ -1,5 +1,6 @@
 package hpclab.kcsatspringquestion.questionGenerator.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -42,4 +43,10 @@ public class QuestionResponseRawForm {
      * 문제 정답
      */
     private String answer;
+
+    /**
+     * 서버에 저장된 문제를 가리키는 식별값. 해설 생성 요청 시 문제 대신 보낼 수 있습니다.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String handle;
 }
\ No newline at end of file
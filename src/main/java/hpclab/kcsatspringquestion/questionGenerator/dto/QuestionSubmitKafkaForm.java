@@ -1,12 +1,15 @@
 package hpclab.kcsatspringquestion.questionGenerator.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 /**
  * 문제 제작을 위해 Kafka에 제출하는 Form DTO입니다.
  * 문제 제작을 위한 지시사항인 Definition이 추가된 객체입니다.
+ * 원문 대신 참조 ID를 보내는 경우, 원문 필드는 null이 되어 메시지에서 빠집니다.
  */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class QuestionSubmitKafkaForm {
 
     /**
@@ -19,11 +22,21 @@ public class QuestionSubmitKafkaForm {
      */
     private String definition;
 
+    /**
+     * 문제 생성 Definition 참조 ID (payload-mode가 reference인 경우)
+     */
+    private String definitionId;
+
     /**
      * 문제 본문
      */
     private String mainText;
 
+    /**
+     * 기출 지문 참조 ID (payload-mode가 reference이고, 기출 지문을 사용하는 경우)
+     */
+    private String mainTextId;
+
     public QuestionSubmitKafkaForm(String type, String definition, String mainText) {
         this.type = type;
         this.definition = definition;
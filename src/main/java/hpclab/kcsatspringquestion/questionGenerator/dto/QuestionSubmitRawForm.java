@@ -20,4 +20,9 @@ public class QuestionSubmitRawForm {
      * 문제 본문
      */
     private String mainText;
+
+    /**
+     * 무작위 기출 지문의 길이 (SHORT, MEDIUM, LONG). 지정하지 않으면 길이와 관계없이 고릅니다.
+     */
+    private String length;
 }
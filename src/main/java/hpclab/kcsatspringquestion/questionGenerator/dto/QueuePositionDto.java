@@ -0,0 +1,43 @@
+package hpclab.kcsatspringquestion.questionGenerator.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 생성 요청의 실시간 대기열 정보를 담는 DTO 클래스입니다.
+ * 서버가 직접 대기 순번과 예상 완료 시간을 계산하여 서빙합니다.
+ */
+@Data
+@Builder
+public class QueuePositionDto {
+
+    /**
+     * 생성 요청이 전송된 Kafka Topic
+     */
+    private String topic;
+
+    /**
+     * 생성 요청 메시지가 저장된 Partition
+     */
+    private int partition;
+
+    /**
+     * 생성 요청 메시지의 Offset (Partition 기준)
+     */
+    private long offset;
+
+    /**
+     * 요청이 저장된 Partition에서 현재 커밋된 Consume Offset
+     */
+    private long committedOffset;
+
+    /**
+     * 내 요청 앞에 남아 있는 요청 수 (0이면 내 요청이 처리 중이거나 처리 완료)
+     */
+    private long position;
+
+    /**
+     * 예상 완료까지 남은 시간(초). 처리 속도가 아직 측정되지 않았다면 null입니다.
+     */
+    private Long estimatedWaitSeconds;
+}
@@ -0,0 +1,12 @@
+package hpclab.kcsatspringquestion.questionGenerator.repository;
+
+/**
+ * 데이터셋을 다시 불러온 후, 새 스냅샷으로 교체하기 직전에 발행되는 이벤트입니다.
+ *
+ * <p>리스너는 교체 전에 실행되므로, 새 데이터셋에 맞춰 준비할 작업(참조 ID 등록 등)을 이 이벤트에서 처리하면
+ * 요청이 새 데이터셋을 사용하기 시작할 때 준비가 끝나 있습니다. 리스너에서 예외가 발생하면 교체하지 않습니다.</p>
+ *
+ * @param snapshot 새로 불러온 데이터셋 스냅샷
+ */
+public record DatasetReloadEvent(DatasetSnapshot snapshot) {
+}
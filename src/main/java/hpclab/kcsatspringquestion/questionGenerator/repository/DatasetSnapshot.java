@@ -0,0 +1,32 @@
+package hpclab.kcsatspringquestion.questionGenerator.repository;
+
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 한 번에 불러온 데이터셋(기출 지문, 문제 Definition, 해설 Definition) 묶음입니다.
+ *
+ * <p>만들어진 후에는 바뀌지 않으므로, 여러 스레드에서 잠금 없이 읽을 수 있습니다.
+ * 데이터셋을 다시 불러오면 기존 스냅샷을 수정하지 않고 새 스냅샷으로 교체합니다.</p>
+ *
+ * @param passages 기출 문제 지문 저장소
+ * @param passageIndex 문제 유형, 지문 길이별 지문 색인
+ * @param questionDefinitions 문제 유형별 문제 Definition
+ * @param explanationDefinitions 문제 유형별 해설 Definition
+ * @param loadedAt 스냅샷을 만든 시각
+ */
+public record DatasetSnapshot(PassageStore passages,
+                              PassageIndex passageIndex,
+                              Map<QuestionType, String> questionDefinitions,
+                              Map<QuestionType, String> explanationDefinitions,
+                              LocalDateTime loadedAt) {
+
+    public DatasetSnapshot {
+        questionDefinitions = Collections.unmodifiableMap(new EnumMap<>(questionDefinitions));
+        explanationDefinitions = Collections.unmodifiableMap(new EnumMap<>(explanationDefinitions));
+    }
+}
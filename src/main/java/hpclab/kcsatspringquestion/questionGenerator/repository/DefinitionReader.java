@@ -0,0 +1,59 @@
+package hpclab.kcsatspringquestion.questionGenerator.repository;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Definition JSON({@code {"definition": ["Definition", ...]}})을 스트리밍으로 읽는 클래스입니다.
+ *
+ * <p>문서 전체를 객체 트리로 만들지 않고, {@code definition} 배열의 문자열만 순서대로 꺼냅니다.</p>
+ */
+final class DefinitionReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String DEFINITION = "definition";
+
+    private DefinitionReader() {
+    }
+
+    /**
+     * {@code definition} 배열의 문자열을 순서대로 읽습니다.
+     *
+     * @param json Definition JSON 입력
+     * @return Definition 목록. 배열이 없다면 빈 목록을 반환합니다.
+     * @throws IOException JSON 형식이 잘못된 경우 발생합니다.
+     */
+    static List<String> read(InputStream json) throws IOException {
+        List<String> definitions = new ArrayList<>();
+
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Definition must be a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!DEFINITION.equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                        throw new IOException("Definition must be a string : " + parser.currentToken());
+                    }
+                    definitions.add(parser.getText());
+                }
+            }
+        }
+
+        return definitions;
+    }
+}
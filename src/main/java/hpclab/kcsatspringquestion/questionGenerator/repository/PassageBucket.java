@@ -0,0 +1,27 @@
+package hpclab.kcsatspringquestion.questionGenerator.repository;
+
+/**
+ * 조건(문제 유형, 지문 길이)에 맞는 기출 지문 번호 목록입니다.
+ *
+ * <p>지문은 목록 안의 위치(슬롯)로 고르며, 사용자별로 이미 받은 슬롯을 비트맵으로 기록할 때 {@code id}를 키로 사용합니다.
+ * {@code id}에는 지문 목록 해시가 포함되므로, 데이터셋을 다시 불러와 지문 번호가 바뀌면 새 비트맵을 사용합니다.</p>
+ *
+ * @param id 지문 목록 식별자
+ * @param indices 지문 번호 목록
+ */
+public record PassageBucket(String id, int[] indices) {
+
+    public int size() {
+        return indices.length;
+    }
+
+    /**
+     * 슬롯에 해당하는 지문 번호를 반환합니다.
+     *
+     * @param slot 목록 안의 위치
+     * @return 지문 번호
+     */
+    public int passageAt(int slot) {
+        return indices[slot];
+    }
+}
@@ -0,0 +1,165 @@
+package hpclab.kcsatspringquestion.questionGenerator.repository;
+
+import hpclab.kcsatspringquestion.questionGenerator.domain.PassageLength;
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * 문제 유형, 지문 길이별로 사용할 수 있는 기출 지문 번호 목록을 미리 나눠 둔 색인 클래스입니다.
+ *
+ * <p>데이터셋을 불러올 때 지문을 한 번씩 읽어 길이, 문장 수, 줄 수를 계산하고, 조건별 목록({@link PassageBucket})을 만듭니다.
+ * 따라서 조건에 맞는 지문을 고를 때 지문을 다시 읽거나 목록을 걸러낼 필요가 없습니다.</p>
+ *
+ * <p>대부분의 유형은 모든 지문을 사용할 수 있어 같은 목록을 함께 사용합니다.
+ * 일부 유형만 지문의 형태에 맞는 목록을 따로 가집니다.</p>
+ * <ul>
+ *     <li>ORDERING: 도입부와 (A), (B), (C)로 나눌 수 있도록 문장이 충분한 지문</li>
+ *     <li>SUMMARIZE_AB: 요약할 내용이 있도록 문장이 충분한 지문</li>
+ *     <li>INFO_MATCH, INFO_UNMATCH: 안내문처럼 항목이 여러 줄로 나뉜 지문</li>
+ * </ul>
+ * <p>조건에 맞는 지문이 없다면 더 넓은 목록(유형 전체, 전체 지문)을 사용합니다.</p>
+ */
+@Slf4j
+public final class PassageIndex {
+
+    private static final String ALL_TYPES = "ALL";
+    private static final String ANY_LENGTH = "ANY";
+
+    private static final int MIN_ORDERING_SENTENCES = 4;
+    private static final int MIN_SUMMARY_SENTENCES = 4;
+    private static final int MIN_NOTICE_LINES = 4;
+
+    private final PassageStore passages;
+    private final Map<QuestionType, PassageBucket> byType = new EnumMap<>(QuestionType.class);
+    private final Map<QuestionType, Map<PassageLength, PassageBucket>> byTypeAndLength = new EnumMap<>(QuestionType.class);
+    private final PassageBucket all;
+    private final Map<PassageLength, PassageBucket> allByLength;
+
+    private PassageIndex(PassageStore passages, PassageLength[] lengths, int[] sentences, int[] lines) {
+        this.passages = passages;
+        String version = HexFormat.of().toHexDigits(passages.fingerprint());
+        int count = lengths.length;
+
+        this.all = bucket(version, ALL_TYPES, ANY_LENGTH, count, i -> true);
+        this.allByLength = byLength(version, ALL_TYPES, count, lengths, i -> true);
+
+        for (QuestionType type : QuestionType.values()) {
+            IntPredicate eligible = switch (type) {
+                case ORDERING -> i -> sentences[i] >= MIN_ORDERING_SENTENCES;
+                case SUMMARIZE_AB -> i -> sentences[i] >= MIN_SUMMARY_SENTENCES;
+                case INFO_MATCH, INFO_UNMATCH -> i -> lines[i] >= MIN_NOTICE_LINES;
+                default -> null;
+            };
+
+            if (eligible == null) {
+                byType.put(type, all);
+                byTypeAndLength.put(type, allByLength);
+                continue;
+            }
+
+            PassageBucket bucket = bucket(version, type.name(), ANY_LENGTH, count, eligible);
+            if (bucket.size() == 0) {
+                log.warn("No passage suits {}, using all passages", type);
+                byType.put(type, all);
+                byTypeAndLength.put(type, allByLength);
+                continue;
+            }
+
+            byType.put(type, bucket);
+            byTypeAndLength.put(type, byLength(version, type.name(), count, lengths, eligible));
+        }
+    }
+
+    /**
+     * 지문 저장소의 모든 지문을 읽어 색인을 만듭니다.
+     *
+     * @param passages 지문 저장소
+     * @return 지문 색인
+     */
+    public static PassageIndex build(PassageStore passages) {
+        int count = passages.size();
+        PassageLength[] lengths = new PassageLength[count];
+        int[] sentences = new int[count];
+        int[] lines = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            String passage = passages.get(i);
+            lengths[i] = PassageLength.of(passage.length());
+            sentences[i] = countSentences(passage);
+            lines[i] = countLines(passage);
+        }
+
+        return new PassageIndex(passages, lengths, sentences, lines);
+    }
+
+    /**
+     * 색인을 만든 지문 저장소를 반환합니다.
+     *
+     * @return 지문 저장소
+     */
+    public PassageStore passages() {
+        return passages;
+    }
+
+    /**
+     * 조건에 맞는 지문 목록을 반환합니다.
+     *
+     * @param type 문제 유형. null이라면 모든 유형에 사용할 수 있는 지문 전체를 대상으로 합니다.
+     * @param length 지문 길이. null이거나 해당 길이의 지문이 없다면 길이와 관계없이 고릅니다.
+     * @return 지문 목록
+     */
+    public PassageBucket bucket(QuestionType type, PassageLength length) {
+        PassageBucket bucket = type == null ? all : byType.get(type);
+        if (length == null) {
+            return bucket;
+        }
+
+        PassageBucket sized = (type == null ? allByLength : byTypeAndLength.get(type)).get(length);
+        return sized.size() == 0 ? bucket : sized;
+    }
+
+    private static Map<PassageLength, PassageBucket> byLength(String version, String type, int count,
+                                                              PassageLength[] lengths, IntPredicate eligible) {
+        Map<PassageLength, PassageBucket> buckets = new EnumMap<>(PassageLength.class);
+        for (PassageLength length : PassageLength.values()) {
+            buckets.put(length, bucket(version, type, length.name(), count, eligible.and(i -> lengths[i] == length)));
+        }
+        return buckets;
+    }
+
+    private static PassageBucket bucket(String version, String type, String length, int count, IntPredicate eligible) {
+        return new PassageBucket(version + ":" + type + ":" + length, IntStream.range(0, count).filter(eligible).toArray());
+    }
+
+    /**
+     * 문장 부호(. ? !) 뒤에 공백이 오거나 지문이 끝나는 곳을 문장의 끝으로 세어 문장 수를 계산합니다.
+     */
+    private static int countSentences(String text) {
+        int sentences = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (isTerminator(text.charAt(i))
+                    && (i + 1 == text.length() || Character.isWhitespace(text.charAt(i + 1)))
+                    && (i == 0 || !isTerminator(text.charAt(i - 1)))) {
+                sentences++;
+            }
+        }
+        return sentences;
+    }
+
+    /**
+     * 공백만 있는 줄을 제외한 줄 수를 계산합니다.
+     */
+    private static int countLines(String text) {
+        return (int) text.lines().filter(line -> !line.isBlank()).count();
+    }
+
+    private static boolean isTerminator(char c) {
+        return c == '.' || c == '?' || c == '!';
+    }
+}
@@ -0,0 +1,272 @@
+package hpclab.kcsatspringquestion.questionGenerator.repository;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractList;
+import java.util.HexFormat;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * 기출 문제 지문을 메모리 매핑된 바이너리 파일에서 읽는 저장소 클래스입니다.
+ *
+ * <p>지문 원문을 힙에 올리지 않고, 조회할 때마다 매핑된 파일에서 해당 지문의 UTF-8 바이트만 잘라 String으로 변환합니다.
+ * 따라서 데이터셋 크기와 관계없이 기동 시간과 힙 사용량이 일정하며, 힙보다 큰 데이터셋도 사용할 수 있습니다.
+ * (파일은 OS 페이지 캐시에 올라가며, 한 번의 매핑으로 처리하므로 최대 2GB까지 지원합니다.)</p>
+ *
+ * <p>파일 형식 (big-endian)</p>
+ * <pre>
+ * int     MAGIC ("KSP1")
+ * int     VERSION
+ * int     지문 개수 (n)
+ * long[n+1]           지문 시작 위치 (데이터 영역 기준, 마지막 값은 데이터 영역 크기)
+ * (long, int)[n]      (지문 해시, 지문 번호) 목록. 해시 순으로 정렬되어 있어 원문으로 지문 번호를 찾을 수 있습니다.
+ * byte[]              지문 UTF-8 데이터
+ * </pre>
+ *
+ * <p>모든 조회는 버퍼의 위치를 바꾸지 않는 절대 위치 읽기만 사용하므로, 여러 스레드에서 함께 사용할 수 있습니다.</p>
+ *
+ * @see PassageStoreConverter
+ */
+public class PassageStore extends AbstractList<String> implements RandomAccess {
+
+    static final int MAGIC = 0x4B535031;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 12;
+    static final int LOOKUP_ENTRY_SIZE = 12;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int lookupStart;
+    private final int dataStart;
+
+    private PassageStore(MappedByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Unsupported passage store format");
+        }
+
+        this.buffer = buffer;
+        this.count = buffer.getInt(8);
+        this.lookupStart = HEADER_SIZE + Long.BYTES * (count + 1);
+        this.dataStart = lookupStart + LOOKUP_ENTRY_SIZE * count;
+    }
+
+    /**
+     * 지문 파일을 읽기 전용으로 메모리에 매핑합니다. 매핑은 채널을 닫은 뒤에도 유지됩니다.
+     *
+     * @param path 지문 파일 경로
+     * @return 지문 저장소
+     * @throws IOException 파일을 읽을 수 없는 경우 발생합니다.
+     */
+    public static PassageStore open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Passage store larger than 2GB is not supported : " + path);
+            }
+            return new PassageStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * 지문 하나를 매핑된 파일에서 읽어 반환합니다.
+     *
+     * @param index 지문 번호
+     * @return 지문 원문
+     */
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        return new String(bytes(index), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * 원문과 같은 지문의 번호를 찾습니다. 해시 목록을 이진 탐색한 후, 원문을 비교하여 확인합니다.
+     *
+     * @param text 지문 원문
+     * @return 지문 번호. 저장된 지문이 아니라면 빈 OptionalInt를 반환합니다.
+     */
+    public OptionalInt find(String text) {
+        if (text == null) {
+            return OptionalInt.empty();
+        }
+        return find(text, digest(text));
+    }
+
+    /**
+     * 원문과 같은 지문이 저장되어 있다면, 그 지문의 해시를 반환합니다.
+     * 찾는 데 사용한 해시를 그대로 반환하므로, 호출하는 쪽에서 해시를 다시 계산하지 않아도 됩니다.
+     *
+     * @param text 지문 원문
+     * @return 지문 해시 ({@link #hex}로 {@link #digestHex}와 같은 문자열을 만듭니다). 저장된 지문이 아니라면 빈 OptionalLong을 반환합니다.
+     */
+    public OptionalLong findDigest(String text) {
+        if (text == null) {
+            return OptionalLong.empty();
+        }
+
+        long digest = digest(text);
+        return find(text, digest).isPresent() ? OptionalLong.of(digest) : OptionalLong.empty();
+    }
+
+    /**
+     * 저장된 지문의 해시를 해시 순으로 반환합니다. 파일에 기록된 해시 목록을 읽으므로, 지문 원문을 읽거나 해시를 다시 계산하지 않습니다.
+     * 같은 지문이 여러 번 저장되어 있다면 해시도 여러 번 포함됩니다.
+     *
+     * @return 지문 해시 목록
+     */
+    public LongStream digests() {
+        return IntStream.range(0, count).mapToLong(this::lookupDigest);
+    }
+
+    /**
+     * 주어진 해시를 가진 지문이 저장되어 있는지 확인합니다.
+     *
+     * @param digest 지문 해시
+     * @return 저장 여부
+     */
+    public boolean containsDigest(long digest) {
+        return searchDigest(digest) >= 0;
+    }
+
+    private OptionalInt find(String text, long digest) {
+        int position = searchDigest(digest);
+        return position < 0 ? OptionalInt.empty() : findFrom(position, digest, text);
+    }
+
+    /**
+     * 해시 목록을 이진 탐색합니다.
+     *
+     * @return 해시가 같은 항목 중 하나의 위치. 없다면 -1을 반환합니다.
+     */
+    private int searchDigest(long digest) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = Long.compare(lookupDigest(mid), digest);
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 지문 목록 전체의 해시를 반환합니다. 지문 내용뿐 아니라 지문 번호(순서)가 바뀌어도 달라집니다.
+     * 지문 번호를 기준으로 만든 외부 데이터(사용자별 비트맵 등)가 이 저장소에 맞는지 구분하는 데 사용합니다.
+     *
+     * @return 지문 목록 해시
+     */
+    public long fingerprint() {
+        long fingerprint = count;
+        for (int i = 0; i < count; i++) {
+            fingerprint += lookupDigest(i) * (2L * lookupIndex(i) + 1);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 지문의 UTF-8 바이트를 매핑된 버퍼에서 복사합니다.
+     */
+    private byte[] bytes(int index) {
+        long start = buffer.getLong(HEADER_SIZE + Long.BYTES * index);
+        long end = buffer.getLong(HEADER_SIZE + Long.BYTES * (index + 1));
+
+        byte[] bytes = new byte[(int) (end - start)];
+        buffer.get(dataStart + (int) start, bytes);
+        return bytes;
+    }
+
+    /**
+     * 같은 해시를 가진 항목이 여러 개일 수 있으므로, 앞뒤로 원문이 같은 항목을 찾습니다.
+     */
+    private OptionalInt findFrom(int position, long digest, String text) {
+        int first = position;
+        while (first > 0 && lookupDigest(first - 1) == digest) {
+            first--;
+        }
+
+        for (int i = first; i < count && lookupDigest(i) == digest; i++) {
+            int index = lookupIndex(i);
+            if (text.equals(get(index))) {
+                return OptionalInt.of(index);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    private long lookupDigest(int position) {
+        return buffer.getLong(lookupStart + LOOKUP_ENTRY_SIZE * position);
+    }
+
+    private int lookupIndex(int position) {
+        return buffer.getInt(lookupStart + LOOKUP_ENTRY_SIZE * position + Long.BYTES);
+    }
+
+    /**
+     * 원문 해시를 16자리 16진수 문자열로 반환합니다. (SHA-256의 앞 8 byte)
+     *
+     * @param text 원문
+     * @return 원문 해시
+     */
+    public static String digestHex(String text) {
+        return hex(digest(text));
+    }
+
+    /**
+     * 해시를 16자리 16진수 문자열로 반환합니다.
+     *
+     * @param digest 해시
+     * @return 16진수 문자열
+     */
+    public static String hex(long digest) {
+        return HexFormat.of().toHexDigits(digest);
+    }
+
+    /**
+     * 원문 해시를 계산합니다. (SHA-256의 앞 8 byte)
+     *
+     * @param text 원문
+     * @return 원문 해시
+     */
+    public static long digest(String text) {
+        return digest(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * SHA-256의 앞 8 byte를 long으로 반환합니다.
+     */
+    static long digest(byte[] bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (hash[i] & 0xFF);
+            }
+            return value;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
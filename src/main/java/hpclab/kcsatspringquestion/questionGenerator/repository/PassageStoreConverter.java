@@ -0,0 +1,186 @@
+package hpclab.kcsatspringquestion.questionGenerator.repository;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 기출 문제 지문 JSON({@code {"dataset": ["지문", ...]}})을 {@link PassageStore} 바이너리 파일로 변환하는 클래스입니다.
+ *
+ * <p>JSON을 스트리밍으로 읽으며 지문을 하나씩 파일에 기록하므로, 변환 중에도 지문 전체를 힙에 올리지 않습니다.
+ * 변환은 임시 파일에 기록한 후 교체하므로, 변환 도중 종료되어도 불완전한 파일이 남지 않습니다.</p>
+ *
+ * <p>서버 기동 시 파일이 없으면 자동으로 변환하며, 배포 전에 미리 만들어 둘 때는 다음과 같이 실행합니다.</p>
+ * <pre>
+ * ./gradlew convertDataset -Pjson=K-SAT_dataset.json -Pbin=data/K-SAT_dataset.bin
+ * </pre>
+ * <p>빌드된 실행 jar만 있는 경우, 클래스가 {@code BOOT-INF/classes}에 들어 있으므로 {@code -cp}로는 실행할 수 없고
+ * Spring Boot의 PropertiesLauncher로 main 클래스를 지정해야 합니다.</p>
+ * <pre>
+ * java -cp app.jar -Dloader.main=hpclab.kcsatspringquestion.questionGenerator.repository.PassageStoreConverter \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher K-SAT_dataset.json data/K-SAT_dataset.bin
+ * </pre>
+ */
+@Slf4j
+public final class PassageStoreConverter {
+
+    private static final String DATASET = "dataset";
+
+    private PassageStoreConverter() {
+    }
+
+    /**
+     * 지문 JSON 파일을 바이너리 파일로 변환합니다.
+     *
+     * @param args 지문 JSON 파일 경로, 만들 바이너리 파일 경로
+     * @throws IOException JSON 형식이 잘못되었거나, 파일을 읽고 쓸 수 없는 경우 발생합니다.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("usage: PassageStoreConverter <dataset.json> <dataset.bin>");
+        }
+
+        convert(Path.of(args[0]), Path.of(args[1]));
+    }
+
+    /**
+     * 지문 JSON 파일을 바이너리 파일로 변환합니다.
+     *
+     * @param json 지문 JSON 파일 경로
+     * @param target 만들 바이너리 파일 경로
+     * @return 변환한 지문 개수
+     * @throws IOException JSON 형식이 잘못되었거나, 파일을 읽고 쓸 수 없는 경우 발생합니다.
+     */
+    public static int convert(Path json, Path target) throws IOException {
+        try (InputStream in = Files.newInputStream(json)) {
+            return convert(in, target);
+        }
+    }
+
+    /**
+     * 지문 JSON을 바이너리 파일로 변환합니다.
+     *
+     * @param json 지문 JSON 입력
+     * @param target 만들 바이너리 파일 경로
+     * @return 변환한 지문 개수
+     * @throws IOException JSON 형식이 잘못되었거나, 파일을 쓸 수 없는 경우 발생합니다.
+     */
+    public static int convert(InputStream json, Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        Path data = Files.createTempFile(directory, "passage", ".data");
+        Path store = Files.createTempFile(directory, "passage", ".tmp");
+        try {
+            Index index = writeData(json, data);
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(store)))) {
+                out.writeInt(PassageStore.MAGIC);
+                out.writeInt(PassageStore.VERSION);
+                out.writeInt(index.count);
+                for (int i = 0; i <= index.count; i++) {
+                    out.writeLong(index.offsets[i]);
+                }
+                for (Integer i : index.sortedByDigest()) {
+                    out.writeLong(index.digests[i]);
+                    out.writeInt(i);
+                }
+                Files.copy(data, out);
+            }
+
+            Files.move(store, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Converted {} passages into {}", index.count, target);
+            return index.count;
+        } finally {
+            Files.deleteIfExists(data);
+            Files.deleteIfExists(store);
+        }
+    }
+
+    /**
+     * {@code dataset} 배열의 지문을 UTF-8로 기록하고, 지문별 시작 위치와 해시를 모읍니다.
+     */
+    private static Index writeData(InputStream json, Path data) throws IOException {
+        Index index = new Index();
+
+        try (JsonParser parser = new JsonFactory().createParser(json);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(data))) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Passage dataset must be a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!DATASET.equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                        parser.skipChildren();
+                        continue;
+                    }
+
+                    byte[] bytes = parser.getText().getBytes(StandardCharsets.UTF_8);
+                    out.write(bytes);
+                    index.add(bytes.length, PassageStore.digest(bytes));
+                }
+            }
+        }
+
+        index.end();
+        return index;
+    }
+
+    /**
+     * 변환 중에 모으는 지문별 시작 위치와 해시 목록입니다.
+     */
+    private static class Index {
+
+        private int count;
+        private long size;
+        private long[] offsets = new long[1024];
+        private long[] digests = new long[1024];
+
+        void add(int length, long digest) {
+            if (count + 1 >= offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                digests = Arrays.copyOf(digests, digests.length * 2);
+            }
+            offsets[count] = size;
+            digests[count] = digest;
+            size += length;
+            count++;
+        }
+
+        /**
+         * 마지막 지문의 끝 위치(데이터 영역 크기)를 기록합니다.
+         */
+        void end() {
+            offsets[count] = size;
+        }
+
+        Integer[] sortedByDigest() {
+            Integer[] order = new Integer[count];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, Comparator.comparingLong((Integer i) -> digests[i]));
+            return order;
+        }
+    }
+}
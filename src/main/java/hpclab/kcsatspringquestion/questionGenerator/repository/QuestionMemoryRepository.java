@@ -3,41 +3,97 @@ package hpclab.kcsatspringquestion.questionGenerator.repository;
 import hpclab.kcsatspringquestion.exception.ApiException;
 import hpclab.kcsatspringquestion.exception.ErrorCode;
 import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
-import lombok.Getter;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.TreeMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * 문제 제작을 위해 데이터셋을 준비하는 로직을 구현한 클래스입니다.
  * 데이터셋은 파일로 존재하고, 초기 구동시에 메모리에 올라갑니다.
+ * (기출 문제 지문은 메모리 매핑된 바이너리 파일에서 필요할 때 읽습니다. {@link PassageStore} 참고)
+ *
+ * <p>데이터셋은 변경되지 않는 {@link DatasetSnapshot}으로 보관하며, 재배포 없이 다시 불러올 수 있습니다.
+ * 원본 파일이 수정되거나 관리자가 요청하면 별도 스레드에서 새 스냅샷을 만든 후 한 번에 교체합니다.
+ * 조회는 현재 스냅샷을 읽기만 하므로, 다시 불러오는 중에도 잠금 없이 이전 데이터셋으로 처리됩니다.</p>
  */
 @Slf4j
-@Getter
 @Repository
 public class QuestionMemoryRepository {
 
-    private static final String QUESTION_SOURCE = "static/dataset/K-SAT_questionDefinition.json";
-    private static final String EXPLANATION_SOURCE = "static/dataset/K-SAT_explanationDefinition.json";
-    private static final String DATASET_SOURCE = "static/dataset/K-SAT_dataset.json";
+    private static final String CLASSPATH_DIRECTORY = "static/dataset/";
+    private static final String QUESTION_SOURCE = "K-SAT_questionDefinition.json";
+    private static final String EXPLANATION_SOURCE = "K-SAT_explanationDefinition.json";
+    private static final String DATASET_SOURCE = "K-SAT_dataset.json";
 
-    private static final String DATASET = "dataset";
-    private static final String DEFINITION = "definition";
+    private static final List<String> SOURCES = List.of(DATASET_SOURCE, QUESTION_SOURCE, EXPLANATION_SOURCE);
 
-    private final List<String> defaultDatasets;
-    private final TreeMap<QuestionType, String> questionDefinitions;
-    private final TreeMap<QuestionType, String> explanationDefinitions;
+    /**
+     * 데이터셋(지문, 문제 Definition, 해설 Definition)을 동시에 불러오는 스레드 수입니다.
+     */
+    private static final int LOADER_THREADS = 3;
+
+    private final Path storePath;
+
+    /**
+     * 원본 JSON 파일을 읽을 디렉터리입니다. 비어 있다면 classpath의 {@code static/dataset}에서 읽습니다.
+     */
+    private final String sourceDirectory;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<DatasetSnapshot> snapshot;
+
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("dataset-reload-"));
+
+    /**
+     * 진행 중인 데이터셋 재적재 작업입니다. 재적재 중에 다시 요청하면 같은 작업을 반환합니다.
+     */
+    private CompletableFuture<DatasetSnapshot> reloading;
+
+    /**
+     * 마지막으로 불러올 때 확인한 원본 파일별 수정 시각입니다.
+     */
+    private volatile Map<String, Long> lastModified;
+
+    /**
+     * 현재 사용 중인 데이터셋 스냅샷을 반환합니다.
+     *
+     * @return 데이터셋 스냅샷
+     */
+    public DatasetSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * 현재 기출 문제 지문 저장소를 반환합니다.
+     *
+     * @return 지문 저장소
+     */
+    public PassageStore getDefaultDatasets() {
+        return snapshot.get().passages();
+    }
 
     /**
      * 문제 유형에 맞는 Definition을 불러오는 메서드입니다.
@@ -46,7 +102,7 @@ public class QuestionMemoryRepository {
      * @return Definition
      */
     public String getQuestionDefinition(QuestionType type) {
-        return questionDefinitions.get(type);
+        return snapshot.get().questionDefinitions().get(type);
     }
 
     /**
@@ -56,55 +112,160 @@ public class QuestionMemoryRepository {
      * @return Definition
      */
     public String getExplanationDefinition(QuestionType type) {
-        return explanationDefinitions.get(type);
+        return snapshot.get().explanationDefinitions().get(type);
     }
 
     /**
      * 스프링 서버 초기 기동시, 데이터셋을 메모리에 올리는 메서드입니다.
+     * 기출 문제 지문은 힙에 올리지 않고, 바이너리 파일을 메모리 매핑하여 사용합니다.
+     *
+     * @param datasetStorePath 기출 문제 지문 바이너리 파일 경로
+     * @param sourceDirectory 원본 JSON 파일 디렉터리 (비어 있다면 classpath)
+     * @param eventPublisher 데이터셋 재적재 이벤트 발행
      */
     // 초기 init
-    public QuestionMemoryRepository() {
-        this.defaultDatasets = makeDatasets();
-        this.questionDefinitions = makeQuestionDefinitions();
-        this.explanationDefinitions = makeExplanationDefinitions();
+    public QuestionMemoryRepository(@Value("${dataset.store-path:data/K-SAT_dataset.bin}") String datasetStorePath,
+                                    @Value("${dataset.source-dir:}") String sourceDirectory,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.storePath = Path.of(datasetStorePath);
+        this.sourceDirectory = sourceDirectory;
+        this.eventPublisher = eventPublisher;
+
+        this.snapshot = new AtomicReference<>(load());
+        this.lastModified = modifiedTimes();
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        reloadExecutor.shutdownNow();
     }
 
     /**
-     * 문제 Definition 목록을 메모리에 불러오는 메서드입니다.
+     * 데이터셋을 별도 스레드에서 다시 불러온 후, 새 스냅샷으로 교체합니다.
+     * 불러오는 데 실패하면 기존 스냅샷을 그대로 사용합니다.
      *
-     * @return 문제 유형에 대해 Definition이 Map 형태로 매칭됩니다.
+     * @return 새 스냅샷. 이미 재적재 중이라면 진행 중인 작업을 반환합니다.
      */
-    @SuppressWarnings("unchecked")
-    private TreeMap<QuestionType, String> makeQuestionDefinitions() {
+    public synchronized CompletableFuture<DatasetSnapshot> reload() {
+        if (reloading == null || reloading.isDone()) {
+            reloading = CompletableFuture.supplyAsync(this::swap, reloadExecutor);
+        }
+        return reloading;
+    }
 
-        JSONObject object = getData(QUESTION_SOURCE);
+    /**
+     * 원본 파일이 수정되었는지 주기적으로 확인하고, 수정되었다면 데이터셋을 다시 불러옵니다.
+     */
+    @Scheduled(fixedDelayString = "${dataset.reload.check-interval-ms:10000}")
+    public void reloadIfModified() {
+        if (!modifiedTimes().equals(lastModified)) {
+            log.info("Dataset files modified, reloading");
+            reload();
+        }
+    }
 
-        QuestionType[] values = QuestionType.values();
-        ArrayList<String> definition = (ArrayList<String>) object.get(DEFINITION);
+    /**
+     * 새 스냅샷을 만들고, 재적재 이벤트를 발행한 후 교체합니다.
+     */
+    private DatasetSnapshot swap() {
+        long start = System.nanoTime();
+        try {
+            DatasetSnapshot loaded = load();
+            eventPublisher.publishEvent(new DatasetReloadEvent(loaded));
+            snapshot.set(loaded);
+
+            log.info("Dataset snapshot swapped in {} ms", elapsedMillis(start));
+            return loaded;
+        } catch (RuntimeException e) {
+            log.error("Dataset reload failed, keeping the previous snapshot", e);
+            throw e;
+        } finally {
+            // 실패하더라도 같은 파일로 반복해서 다시 불러오지 않도록, 확인한 수정 시각을 기록합니다.
+            lastModified = modifiedTimes();
+        }
+    }
+
+    /**
+     * 세 데이터셋을 동시에 불러와 스냅샷을 만들고, 데이터셋별 소요 시간을 기록합니다.
+     * (소요 시간은 가장 오래 걸리는 데이터셋 하나의 시간으로 줄어듭니다.)
+     *
+     * @return 새 데이터셋 스냅샷
+     */
+    private DatasetSnapshot load() {
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(LOADER_THREADS, new CustomizableThreadFactory("dataset-loader-"));
+        try {
+            CompletableFuture<PassageIndex> datasets = load(DATASET_SOURCE, () -> PassageIndex.build(makeDatasets()), executor);
+            CompletableFuture<Map<QuestionType, String>> questions = load(QUESTION_SOURCE, () -> makeDefinitions(QUESTION_SOURCE), executor);
+            CompletableFuture<Map<QuestionType, String>> explanations = load(EXPLANATION_SOURCE, () -> makeDefinitions(EXPLANATION_SOURCE), executor);
+
+            PassageIndex passageIndex = join(datasets);
+            DatasetSnapshot loaded = new DatasetSnapshot(passageIndex.passages(), passageIndex,
+                    join(questions), join(explanations), LocalDateTime.now());
+
+            log.info("Loaded {} passages and {} question types in {} ms",
+                    loaded.passages().size(), loaded.questionDefinitions().size(), elapsedMillis(start));
+            return loaded;
+        } finally {
+            executor.shutdown();
+        }
+    }
 
-        TreeMap<QuestionType, String> definitions = new TreeMap<>();
+    /**
+     * 데이터셋 하나를 별도 스레드에서 불러오고, 소요 시간을 기록합니다.
+     *
+     * @param source 데이터셋 이름
+     * @param loader 데이터셋을 불러오는 로직
+     * @param executor 데이터셋을 불러올 스레드 풀
+     * @return 불러온 데이터셋
+     */
+    private static <T> CompletableFuture<T> load(String source, Supplier<T> loader, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            T loaded = loader.get();
+            log.info("Loaded {} in {} ms", source, elapsedMillis(start));
+            return loaded;
+        }, executor);
+    }
 
-        for (int i = 0; i < values.length; i++) {
-            definitions.put(values[i], definition.get(i));
+    /**
+     * 데이터셋을 불러올 때까지 기다립니다. 불러오는 중 발생한 ApiException은 그대로 전달합니다.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ApiException apiException) {
+                throw apiException;
+            }
+            throw e;
         }
+    }
 
-        return definitions;
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 
     /**
-     * 해설 Definition 목록을 메모리에 불러오는 메서드입니다.
+     * Definition 목록을 메모리에 불러오는 메서드입니다.
+     * Definition은 {@link QuestionType} 선언 순서대로 하나씩 있어야 합니다.
      *
-     * @return 해설 유형에 대해 Definition이 Map 형태로 매칭됩니다.
+     * @param name Definition 파일 이름
+     * @return 문제 유형에 대해 Definition이 Map 형태로 매칭됩니다.
+     * @throws ApiException 파일을 불러오지 못하거나, Definition 개수가 문제 유형 개수와 다른 경우 발생합니다.
      */
-    @SuppressWarnings("unchecked")
-    private TreeMap<QuestionType, String> makeExplanationDefinitions() {
+    private Map<QuestionType, String> makeDefinitions(String name) {
 
-        JSONObject object = getData(EXPLANATION_SOURCE);
+        List<String> definition = getData(name);
 
         QuestionType[] values = QuestionType.values();
-        ArrayList<String> definition = (ArrayList<String>) object.get(DEFINITION);
+        if (definition.size() != values.length) {
+            log.error("{} has {} definitions, but {} question types exist", name, definition.size(), values.length);
+            throw new ApiException(ErrorCode.INVALID_DATASET);
+        }
 
-        TreeMap<QuestionType, String> definitions = new TreeMap<>();
+        Map<QuestionType, String> definitions = new EnumMap<>(QuestionType.class);
 
         for (int i = 0; i < values.length; i++) {
             definitions.put(values[i], definition.get(i));
@@ -114,51 +275,99 @@ public class QuestionMemoryRepository {
     }
 
     /**
-     * 기출 문제 지문 목록을 메모리에 불러오는 메서드입니다.
+     * 기출 문제 지문 바이너리 파일을 메모리 매핑하는 메서드입니다.
+     * 파일이 없거나 지문 JSON이 더 최근에 수정되었다면, JSON을 바이너리 파일로 먼저 변환합니다.
+     * (변환한 파일은 기존 파일을 교체하므로, 이전 스냅샷이 매핑한 파일은 그대로 유지됩니다.)
      *
-     * @return 지문들이 ArrayList 형태로 저장됩니다.
+     * @return 지문 저장소
+     * @throws ApiException 파일을 불러오지 못하는 경우 발생합니다.
      */
-    private List<String> makeDatasets() {
-        JSONObject object = getData(DATASET_SOURCE);
+    private PassageStore makeDatasets() {
+        try {
+            URL source = source(DATASET_SOURCE);
+
+            if (source != null && isOutdated(source)) {
+                log.info("Converting {} into {}", source, storePath);
+                try (InputStream inputStream = source.openStream()) {
+                    PassageStoreConverter.convert(inputStream, storePath);
+                }
+            }
+
+            if (Files.notExists(storePath)) {
+                throw new ApiException(ErrorCode.FILE_NOT_FOUND);
+            }
 
-        JSONArray array = (JSONArray) object.get(DATASET);
+            log.info("Loading data from {}", storePath);
+            return PassageStore.open(storePath);
+        } catch (IOException e) {
+            throw new ApiException(ErrorCode.FILE_NOT_FOUND);
+        }
+    }
+
+    private boolean isOutdated(URL source) throws IOException {
+        if (Files.notExists(storePath)) {
+            return true;
+        }
+        return source.openConnection().getLastModified() > Files.getLastModifiedTime(storePath).toMillis();
+    }
 
-        List<String> dataset = new ArrayList<>();
-        for (Object o : array) {
-            if (o instanceof String) {
-                dataset.add((String) o);
+    /**
+     * 원본 파일과 지문 바이너리 파일의 수정 시각을 확인합니다. 파일이 없다면 0으로 기록합니다.
+     *
+     * @return 파일별 수정 시각
+     */
+    private Map<String, Long> modifiedTimes() {
+        Map<String, Long> modified = new LinkedHashMap<>();
+        try {
+            for (String name : SOURCES) {
+                URL source = source(name);
+                modified.put(name, source == null ? 0L : source.openConnection().getLastModified());
             }
+            modified.put(storePath.toString(), Files.exists(storePath) ? Files.getLastModifiedTime(storePath).toMillis() : 0L);
+        } catch (IOException e) {
+            log.warn("Failed to check dataset modified time : {}", e.getMessage());
         }
+        return modified;
+    }
 
-        return dataset;
+    /**
+     * 원본 파일 위치를 찾습니다.
+     *
+     * @param name 파일 이름
+     * @return 파일 URL. 파일이 없다면 null을 반환합니다.
+     */
+    private URL source(String name) throws IOException {
+        if (sourceDirectory.isBlank()) {
+            return getClass().getClassLoader().getResource(CLASSPATH_DIRECTORY + name);
+        }
+
+        Path path = Path.of(sourceDirectory, name);
+        return Files.exists(path) ? path.toUri().toURL() : null;
     }
 
     /**
      * 파일을 읽어오는 메서드입니다.
      *
-     * @param path 파일 경로
-     * @return 파일을 읽어 JSON 객체로 역직렬화시켜 반환합니다.
+     * @param name 파일 이름
+     * @return 파일의 Definition 목록을 반환합니다.
      * @throws ApiException 파일을 불러오지 못하는 경우 발생합니다.
      */
-    private JSONObject getData(String path) {
-
-        InputStream inputStream = getClass().getClassLoader().getResourceAsStream(path);
+    private List<String> getData(String name) {
+        try {
+            URL source = source(name);
 
-        if (inputStream == null) {
-            throw new ApiException(ErrorCode.FILE_NOT_FOUND);
-        }
-
-        try (InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            if (source == null) {
+                throw new ApiException(ErrorCode.FILE_NOT_FOUND);
+            }
 
-            log.info("Loading data from {}", path);
+            try (InputStream inputStream = source.openStream()) {
 
-            JSONParser parser = new JSONParser();
-            JSONObject object = (JSONObject) parser.parse(reader);
-            reader.close();
+                log.info("Loading data from {}", source);
 
-            return object;
-        } catch (NullPointerException | IOException | ParseException e) {
+                return DefinitionReader.read(inputStream);
+            }
+        } catch (IOException e) {
             throw new ApiException(ErrorCode.FILE_NOT_FOUND);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package hpclab.kcsatspringquestion.questionGenerator.service;
 
+import hpclab.kcsatspringquestion.questionGenerator.domain.PassageLength;
 import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
 import hpclab.kcsatspringquestion.questionGenerator.dto.ExplanationResponseRawForm;
 import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionDto;
@@ -11,11 +12,15 @@ import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionResponseRawForm;
 public interface QuestionService {
 
     /**
-     * 기출 지문들 중 무작위로 하나를 뽑아 반환하는 메서드입니다.
+     * 기출 지문들 중 문제 유형, 지문 길이에 맞는 지문을 무작위로 하나 뽑아 반환하는 메서드입니다.
+     * 같은 회원에게는 조건에 맞는 지문을 모두 받기 전까지 같은 지문을 다시 뽑지 않습니다.
      *
+     * @param email 지문을 받을 회원 email
+     * @param type 문제 유형 (null이라면 유형과 관계없이 뽑습니다.)
+     * @param length 지문 길이 (null이라면 길이와 관계없이 뽑습니다.)
      * @return 기출 지문이 하나 반환됩니다.
      */
-    String getRandomDefaultDataset();
+    String getRandomDefaultDataset(String email, QuestionType type, PassageLength length);
 
     /**
      * 문제 유형에 맞는 Definition을 찾아 반환하는 메서드입니다.
@@ -41,6 +46,17 @@ public interface QuestionService {
      */
     QuestionResponseRawForm getQuestionResult(String email);
 
+    /**
+     * 문제 식별값이 가리키는 문제 결과 데이터를 찾아 반환하는 메서드입니다.
+     * 클라이언트가 문제를 다시 올리지 않고 해설 생성을 요청할 때 사용합니다.
+     * 회원마다 마지막으로 생성된 문제만 보관하므로, 가장 최근에 받은 문제의 식별값만 사용할 수 있습니다.
+     *
+     * @param email 문제 정보를 요청한 회원 email
+     * @param handle 문제 조회 시 함께 받은 문제 식별값
+     * @return 회원이 생성한 문제 Data DTO. 식별값이 저장된 문제에 발급한 값이 아니라면 {@link hpclab.kcsatspringquestion.exception.ErrorCode#INVALID_QUESTION_HANDLE} 예외가 발생합니다.
+     */
+    QuestionResponseRawForm getQuestionResult(String email, String handle);
+
     /**
      * 생성한 문제 데이터를 DB에서 찾고, 생성한 해설 데이터를 합쳐 하나의 객체로 반환하는 메서드입니다.
      * @param email 해설 생성을 요청한 회원 email
@@ -48,4 +64,22 @@ public interface QuestionService {
      * @return 문제와 해설 정보가 모두 들어 있는 Data DTO
      */
     QuestionDto mergeWithExplanation(String email, ExplanationResponseRawForm form);
+
+    /**
+     * 생성한 문제 데이터를 찾아 생성한 해설 데이터와 합쳐 반환하는 메서드입니다.
+     * {@link #mergeWithExplanation}과 달리 DB에 저장하지 않으므로, 응답을 전달한 후 {@link #saveQuestionExplanation}으로 저장해야 합니다.
+     *
+     * @param email 해설 생성을 요청한 회원 email
+     * @param form 생성된 해설 Data DTO
+     * @return 문제와 해설 정보가 모두 들어 있는 Data DTO
+     */
+    QuestionDto mergeExplanation(String email, ExplanationResponseRawForm form);
+
+    /**
+     * 문제와 해설 정보를 DB에 저장하는 메서드입니다.
+     *
+     * @param email 해설 생성을 요청한 회원 email
+     * @param question 문제와 해설 정보가 모두 들어 있는 Data DTO
+     */
+    void saveQuestionExplanation(String email, QuestionDto question);
 }
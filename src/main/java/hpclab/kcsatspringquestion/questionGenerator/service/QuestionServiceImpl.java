@@ -4,21 +4,23 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hpclab.kcsatspringquestion.exception.ApiException;
 import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.questionGenerator.domain.PassageLength;
 import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionExplanation;
 import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
 import hpclab.kcsatspringquestion.questionGenerator.dto.ExplanationResponseRawForm;
 import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionDto;
 import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionResponseRawForm;
+import hpclab.kcsatspringquestion.questionGenerator.repository.DatasetSnapshot;
+import hpclab.kcsatspringquestion.questionGenerator.repository.PassageBucket;
 import hpclab.kcsatspringquestion.questionGenerator.repository.QuestionExplanationDataRepository;
 import hpclab.kcsatspringquestion.questionGenerator.repository.QuestionMemoryRepository;
 import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import hpclab.kcsatspringquestion.redis.SeenPassageRepository;
+import hpclab.kcsatspringquestion.redis.UserRequestStateRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 /**
  * 문제 제작 관련 로직을 구현한 클래스입니다.
  */
@@ -30,12 +32,21 @@ public class QuestionServiceImpl implements QuestionService {
     private final QuestionMemoryRepository questionMemoryRepository;
     private final QuestionExplanationDataRepository questionExplanationDataRepository;
 
-    private final RedisTemplate<String, String> redisTemplate;
+    private final UserRequestStateRepository userRequestStateRepository;
+    private final SeenPassageRepository seenPassageRepository;
     private final ObjectMapper objectMapper;
 
     @Override
-    public String getRandomDefaultDataset() {
-        return questionMemoryRepository.getDefaultDatasets().get(ThreadLocalRandom.current().nextInt(questionMemoryRepository.getDefaultDatasets().size()));
+    public String getRandomDefaultDataset(String email, QuestionType type, PassageLength length) {
+        // 데이터셋이 도중에 교체되어도 같은 스냅샷에서 고르도록, 한 번만 가져옵니다.
+        DatasetSnapshot snapshot = questionMemoryRepository.getSnapshot();
+        PassageBucket bucket = snapshot.passageIndex().bucket(type, length);
+        if (bucket.size() == 0) {
+            throw new ApiException(ErrorCode.QUESTION_DATA_NOT_FOUND);
+        }
+
+        int slot = seenPassageRepository.claim(email, bucket.id(), bucket.size());
+        return snapshot.passages().get(bucket.passageAt(slot));
     }
 
     @Override
@@ -46,7 +57,7 @@ public class QuestionServiceImpl implements QuestionService {
     @Override
     public void saveQuestionResult(String email, QuestionResponseRawForm form) {
         try {
-            redisTemplate.opsForValue().set(RedisKeyUtil.questionData(email), objectMapper.writeValueAsString(form));
+            userRequestStateRepository.saveData(RedisKeyUtil.questionState(email), objectMapper.writeValueAsString(form));
         } catch (JsonProcessingException e) {
             throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
         }
@@ -54,10 +65,20 @@ public class QuestionServiceImpl implements QuestionService {
 
     @Override
     public QuestionResponseRawForm getQuestionResult(String email) {
-        String data = redisTemplate.opsForValue().get(RedisKeyUtil.questionData(email));
-        if (data == null) {
-            throw new ApiException(ErrorCode.QUESTION_DATA_NOT_FOUND);
+        String data = userRequestStateRepository.findData(RedisKeyUtil.questionState(email))
+                .orElseThrow(() -> new ApiException(ErrorCode.QUESTION_DATA_NOT_FOUND));
+
+        try {
+            return objectMapper.readValue(data, QuestionResponseRawForm.class);
+        } catch (JsonProcessingException e) {
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
         }
+    }
+
+    @Override
+    public QuestionResponseRawForm getQuestionResult(String email, String handle) {
+        String data = userRequestStateRepository.findDataByHandle(RedisKeyUtil.questionState(email), handle)
+                .orElseThrow(() -> new ApiException(ErrorCode.INVALID_QUESTION_HANDLE));
 
         try {
             return objectMapper.readValue(data, QuestionResponseRawForm.class);
@@ -69,9 +90,19 @@ public class QuestionServiceImpl implements QuestionService {
     @Override
     public QuestionDto mergeWithExplanation(String email, ExplanationResponseRawForm explanationForm) {
 
+        QuestionDto question = mergeExplanation(email, explanationForm);
+
+        saveQuestionExplanation(email, question);
+
+        return question;
+    }
+
+    @Override
+    public QuestionDto mergeExplanation(String email, ExplanationResponseRawForm explanationForm) {
+
         QuestionResponseRawForm questionForm = getQuestionResult(email);
 
-        QuestionDto question = QuestionDto.builder()
+        return QuestionDto.builder()
                 .title(questionForm.getTitle())
                 .questionType(questionForm.getQuestionType())
                 .mainText(questionForm.getMainText())
@@ -80,13 +111,10 @@ public class QuestionServiceImpl implements QuestionService {
                 .translation(explanationForm.getTranslation())
                 .explanation(explanationForm.getExplanation())
                 .build();
-
-        saveQuestionExplanationResult(email, question);
-
-        return question;
     }
 
-    private void saveQuestionExplanationResult(String email, QuestionDto questionDto) {
+    @Override
+    public void saveQuestionExplanation(String email, QuestionDto questionDto) {
         questionExplanationDataRepository.save(new QuestionExplanation(email, questionDto));
     }
 }
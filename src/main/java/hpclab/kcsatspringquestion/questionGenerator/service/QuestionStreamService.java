@@ -0,0 +1,379 @@
+package hpclab.kcsatspringquestion.questionGenerator.service;
+
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ApiResponse;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.kafka.KafkaService;
+import hpclab.kcsatspringquestion.kafka.RequestProducedEvent;
+import hpclab.kcsatspringquestion.kafka.producer.ProducedOffset;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QueuePositionDto;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 문제, 해설 생성 과정을 Server-Sent Events로 전달하는 클래스입니다.
+ *
+ * <p>사용자는 하나의 연결로 다음 이벤트를 순서대로 받습니다.</p>
+ * <ul>
+ *     <li>{@code topic}: 할당된 Kafka Topic</li>
+ *     <li>{@code offset}: 할당된 Topic의 최근 Consume Offset (값이 바뀔 때만 전송)</li>
+ *     <li>{@code position}: 요청을 전송한 이후, 대기 순번과 예상 완료 시간 (값이 바뀔 때만 전송)</li>
+ *     <li>{@code result}: 생성된 문제 또는 해설이 합쳐진 최종 문제</li>
+ *     <li>{@code error}: 생성 결과를 기다리지 못한 경우의 에러</li>
+ * </ul>
+ *
+ * <p>Offset은 주기적으로 갱신되는 공유 스냅샷에서 읽으며, 요청이 저장된 Partition을 기준으로 계산합니다.
+ * 요청 Partition, Offset은 연결을 열 때 한 번 조회하고, 이후에는 {@link RequestProducedEvent}로 전달받습니다.
+ * 이벤트 전송은 스케줄러 스레드가 아닌 별도의 Executor에서 실행하여, 느린 연결이 다른 주기 작업을 막지 않도록 합니다.</p>
+ */
+@Slf4j
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class QuestionStreamService {
+
+    private static final String TOPIC_EVENT = "topic";
+    private static final String OFFSET_EVENT = "offset";
+    private static final String POSITION_EVENT = "position";
+    private static final String RESULT_EVENT = "result";
+    private static final String ERROR_EVENT = "error";
+
+    /**
+     * 아직 요청을 전송하지 않아 Partition을 알 수 없을 때 Offset을 조회하는 Partition입니다.
+     */
+    private static final int DEFAULT_PARTITION = 0;
+
+    /**
+     * SSE 연결이 유지되는 최대 시간(ms)입니다.
+     */
+    @Value("${kafka.stream.timeout-ms:180000}")
+    private long streamTimeoutMillis;
+
+    /**
+     * SSE 이벤트를 전송하는 스레드 수입니다.
+     */
+    @Value("${kafka.stream.push-threads:4}")
+    private int pushThreads;
+
+    private final KafkaService kafkaService;
+    private final QuestionService questionService;
+
+    /**
+     * 현재 열려 있는 SSE 연결 목록입니다.
+     */
+    private final Set<QueueStream> streams = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService pushExecutor;
+
+    @PostConstruct
+    void init() {
+        pushExecutor = Executors.newFixedThreadPool(pushThreads, new CustomizableThreadFactory("sse-push-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pushExecutor.shutdownNow();
+    }
+
+    /**
+     * 문제 생성 과정을 전달하는 SSE 연결을 엽니다.
+     *
+     * @param email 문제 생성을 요청한 회원 email
+     * @return 문제 생성 이벤트를 전달하는 SseEmitter
+     */
+    public SseEmitter openQuestionStream(String email) {
+        String topic = kafkaService.getUserQuestionTopic(email);
+
+        return open(topic, RedisKeyUtil.questionState(email), () -> kafkaService.findProducedQuestionOffset(email),
+                kafkaService.awaitQuestionFromKafka(email, Duration.ofMillis(streamTimeoutMillis)),
+                Function.identity(), question -> {
+                }, question -> kafkaService.restoreQuestionResult(email, question));
+    }
+
+    /**
+     * 해설 생성 과정을 전달하는 SSE 연결을 엽니다.
+     * 해설이 만들어지면 문제와 합쳐진 최종 문제를 전달합니다.
+     *
+     * @param email 해설 생성을 요청한 회원 email
+     * @return 해설 생성 이벤트를 전달하는 SseEmitter
+     */
+    public SseEmitter openExplanationStream(String email) {
+        String topic = kafkaService.getUserExplanationTopic(email);
+
+        return open(topic, RedisKeyUtil.explanationState(email), () -> kafkaService.findProducedExplanationOffset(email),
+                kafkaService.awaitExplanationFromKafka(email, Duration.ofMillis(streamTimeoutMillis)),
+                explanation -> questionService.mergeExplanation(email, explanation),
+                question -> questionService.saveQuestionExplanation(email, question),
+                explanation -> kafkaService.restoreExplanationResult(email, explanation));
+    }
+
+    /**
+     * 열려 있는 모든 연결에 대해, 요청이 저장된 Partition의 최근 Consume Offset을 조회하여 바뀐 경우에만 전달합니다.
+     * 요청 Offset을 알고 있는 연결에는 대기 순번과 예상 완료 시간도 함께 전달합니다.
+     * (Offset은 공유 스냅샷에서 읽으므로, 연결 수만큼 Kafka나 Redis를 조회하지 않습니다.)
+     *
+     * <p>전송은 {@code sse-push-} Executor에서 실행하며, 이전 전송이 끝나지 않은 연결은 이번 주기에 건너뜁니다.</p>
+     */
+    @Scheduled(fixedDelayString = "${kafka.stream.offset-interval-ms:1000}")
+    public void pushOffsets() {
+        streams.forEach(stream -> {
+            if (!stream.beginPush()) {
+                return;
+            }
+            try {
+                pushExecutor.execute(() -> {
+                    try {
+                        pushOffset(stream);
+                    } finally {
+                        stream.endPush();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                stream.endPush();
+            }
+        });
+    }
+
+    private void pushOffset(QueueStream stream) {
+        Optional<ProducedOffset> produced = stream.producedOffset();
+        int partition = produced.map(ProducedOffset::partition).orElse(DEFAULT_PARTITION);
+
+        stream.pushOffset(kafkaService.getRecentConsumedOffset(stream.getTopic(), partition));
+        produced.ifPresent(offset -> stream.pushPosition(kafkaService.estimatePosition(stream.getTopic(), offset)));
+    }
+
+    /**
+     * 요청이 전송되면, 같은 요청 상태를 기다리는 연결에 요청 Partition, Offset을 전달합니다.
+     *
+     * @param event 요청 전송 이벤트
+     */
+    @EventListener
+    public void onRequestProduced(RequestProducedEvent event) {
+        streams.forEach(stream -> {
+            if (stream.getStateKey().equals(event.stateKey())) {
+                stream.setProducedOffset(event.producedOffset());
+            }
+        });
+    }
+
+    /**
+     * SSE 연결을 열고, 결과를 기다리는 작업과 연결의 생명주기를 묶습니다.
+     * 연결이 먼저 끊어지면 대기를 취소하여, 사용자가 받지 못할 결과를 꺼내지 않도록 합니다.
+     * 취소는 결과를 꺼내는 작업과 같은 lock을 사용하며({@link KafkaService#cancelAwait}),
+     * 결과를 꺼낸 후 연결이 끊어져 전달하지 못했다면 꺼낸 결과를 되돌립니다.
+     *
+     * @param topic 할당된 Kafka Topic
+     * @param stateKey 요청 상태가 저장된 Redis Key
+     * @param producedOffsetLoader 이미 전송된 요청의 Partition, Offset을 조회하는 함수 (연결을 열 때 한 번만 호출)
+     * @param waiting 결과를 기다리는 작업
+     * @param toResult 기다린 결과를 최종 이벤트 데이터로 변환하는 함수 (DB에 저장하지 않아야 합니다.)
+     * @param onDelivered 최종 이벤트를 전달한 후 이벤트 데이터를 저장하는 함수
+     * @param restore 꺼냈지만 전달하지 못한 결과를 되돌리는 함수
+     * @return SseEmitter
+     */
+    private <T, R> SseEmitter open(String topic, String stateKey, Supplier<Optional<ProducedOffset>> producedOffsetLoader,
+                                   CompletableFuture<T> waiting, Function<T, R> toResult, Consumer<R> onDelivered, Consumer<T> restore) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        QueueStream stream = new QueueStream(emitter, topic, stateKey);
+
+        // 연결을 등록한 후에 조회하여, 그 사이에 발행된 요청 전송 이벤트를 놓치지 않도록 합니다.
+        streams.add(stream);
+        producedOffsetLoader.get().ifPresent(stream::initProducedOffset);
+        Runnable close = () -> {
+            streams.remove(stream);
+            stream.close();
+            kafkaService.cancelAwait(waiting);
+        };
+        emitter.onCompletion(close);
+        emitter.onTimeout(close);
+        emitter.onError(e -> close.run());
+
+        stream.send(TOPIC_EVENT, topic);
+
+        // 결과 변환과 DB 저장은 Redis 리스너 스레드가 아닌 결과 처리 Executor에서 실행합니다.
+        waiting.whenCompleteAsync((value, e) -> {
+            if (e == null) {
+                deliver(stream, value, toResult, onDelivered, restore);
+                return;
+            }
+
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof CancellationException) {
+                return;
+            }
+            if (cause instanceof ApiException apiException) {
+                ErrorCode code = apiException.getErrorCode();
+                stream.sendRaw(ERROR_EVENT, new ApiResponse<>(false, null, code.getCode(), code.getMessage()));
+                emitter.complete();
+            } else {
+                emitter.completeWithError(cause);
+            }
+        }, kafkaService.resultExecutor());
+
+        return emitter;
+    }
+
+    /**
+     * 꺼낸 결과를 최종 이벤트로 전달합니다. 연결이 이미 닫혔거나 전송에 실패하면 결과를 되돌립니다.
+     * DB 저장은 전송에 성공한 후에만 실행하므로, 되돌린 결과가 다시 조회되어도 두 번 저장되지 않습니다.
+     */
+    private <T, R> void deliver(QueueStream stream, T value, Function<T, R> toResult, Consumer<R> onDelivered, Consumer<T> restore) {
+        if (stream.isClosed()) {
+            restore.accept(value);
+            return;
+        }
+
+        R result;
+        try {
+            result = toResult.apply(value);
+        } catch (RuntimeException e) {
+            restore.accept(value);
+            stream.emitter.completeWithError(e);
+            return;
+        }
+
+        if (!stream.send(RESULT_EVENT, result)) {
+            restore.accept(value);
+            return;
+        }
+        stream.emitter.complete();
+
+        try {
+            onDelivered.accept(result);
+        } catch (RuntimeException e) {
+            log.error("Failed to persist delivered result", e);
+        }
+    }
+
+    /**
+     * 하나의 SSE 연결과, 마지막으로 전달한 Offset, 대기열 위치를 보관하는 클래스입니다.
+     */
+    private static class QueueStream {
+
+        private final SseEmitter emitter;
+        private final String topic;
+        private final String stateKey;
+        private final AtomicBoolean pushing = new AtomicBoolean();
+        private volatile long lastOffset = Long.MIN_VALUE;
+        private volatile ProducedOffset producedOffset;
+        private volatile QueuePositionDto lastPosition;
+        private volatile boolean closed;
+
+        QueueStream(SseEmitter emitter, String topic, String stateKey) {
+            this.emitter = emitter;
+            this.topic = topic;
+            this.stateKey = stateKey;
+        }
+
+        String getTopic() {
+            return topic;
+        }
+
+        String getStateKey() {
+            return stateKey;
+        }
+
+        Optional<ProducedOffset> producedOffset() {
+            return Optional.ofNullable(producedOffset);
+        }
+
+        synchronized void setProducedOffset(ProducedOffset producedOffset) {
+            this.producedOffset = producedOffset;
+        }
+
+        /**
+         * 연결을 열 때 조회한 값은, 이벤트로 이미 전달받은 값이 없을 때만 사용합니다.
+         */
+        synchronized void initProducedOffset(ProducedOffset producedOffset) {
+            if (this.producedOffset == null) {
+                this.producedOffset = producedOffset;
+            }
+        }
+
+        /**
+         * 이전 전송이 끝났다면 새 전송을 시작합니다.
+         *
+         * @return 전송을 시작할 수 있다면 true
+         */
+        boolean beginPush() {
+            return pushing.compareAndSet(false, true);
+        }
+
+        void endPush() {
+            pushing.set(false);
+        }
+
+        void pushPosition(QueuePositionDto position) {
+            if (position.equals(lastPosition)) {
+                return;
+            }
+            lastPosition = position;
+            send(POSITION_EVENT, position);
+        }
+
+        void pushOffset(long offset) {
+            if (offset == lastOffset) {
+                return;
+            }
+            lastOffset = offset;
+            send(OFFSET_EVENT, offset);
+        }
+
+        void close() {
+            closed = true;
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        boolean send(String name, Object data) {
+            return sendRaw(name, new ApiResponse<>(true, data, null, null));
+        }
+
+        /**
+         * 이벤트를 전송합니다.
+         *
+         * @return 전송에 성공했다면 true
+         */
+        boolean sendRaw(String name, ApiResponse<?> response) {
+            if (closed) {
+                return false;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(name).data(response));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // 이미 닫힌 연결은 onCompletion/onError 콜백에서 정리됩니다.
+                log.debug("SSE send failed for event {} : {}", name, e.getMessage());
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package hpclab.kcsatspringquestion.questionGenerator.service;
+
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.questionGenerator.domain.PassageLength;
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import hpclab.kcsatspringquestion.questionGenerator.repository.DatasetSnapshot;
+import hpclab.kcsatspringquestion.questionGenerator.repository.PassageBucket;
+import hpclab.kcsatspringquestion.questionGenerator.repository.QuestionMemoryRepository;
+import hpclab.kcsatspringquestion.redis.ReactiveSeenPassageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * 기출 지문을 무작위로 고르는 로직을 Reactive Redis 커넥션으로 구현한 클래스입니다. (reactive 프로필)
+ *
+ * <p>{@link QuestionService#getRandomDefaultDataset}와 같은 지문 목록, 비트맵을 사용합니다.</p>
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactivePassageService {
+
+    private final QuestionMemoryRepository questionMemoryRepository;
+    private final ReactiveSeenPassageRepository reactiveSeenPassageRepository;
+
+    /**
+     * 기출 지문들 중 문제 유형, 지문 길이에 맞는 지문을 무작위로 하나 뽑아 반환하는 메서드입니다.
+     * 같은 회원에게는 조건에 맞는 지문을 모두 받기 전까지 같은 지문을 다시 뽑지 않습니다.
+     *
+     * @param email 지문을 받을 회원 email
+     * @param type 문제 유형 (null이라면 유형과 관계없이 뽑습니다.)
+     * @param length 지문 길이 (null이라면 길이와 관계없이 뽑습니다.)
+     * @return 기출 지문이 하나 반환됩니다.
+     */
+    public Mono<String> getRandomDefaultDataset(String email, QuestionType type, PassageLength length) {
+        // 데이터셋이 도중에 교체되어도 같은 스냅샷에서 고르도록, 한 번만 가져옵니다.
+        DatasetSnapshot snapshot = questionMemoryRepository.getSnapshot();
+        PassageBucket bucket = snapshot.passageIndex().bucket(type, length);
+        if (bucket.size() == 0) {
+            return Mono.error(new ApiException(ErrorCode.QUESTION_DATA_NOT_FOUND));
+        }
+
+        return reactiveSeenPassageRepository.claim(email, bucket.id(), bucket.size())
+                .map(slot -> snapshot.passages().get(bucket.passageAt(slot)));
+    }
+}
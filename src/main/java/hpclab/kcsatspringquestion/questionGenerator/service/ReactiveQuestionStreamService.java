@@ -0,0 +1,213 @@
+package hpclab.kcsatspringquestion.questionGenerator.service;
+
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ApiResponse;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.kafka.KafkaService;
+import hpclab.kcsatspringquestion.kafka.ReactiveKafkaService;
+import hpclab.kcsatspringquestion.kafka.producer.ProducedOffset;
+import hpclab.kcsatspringquestion.questionGenerator.dto.ExplanationResponseRawForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionDto;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QueuePositionDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 문제, 해설 생성 과정을 Server-Sent Events 스트림(Flux)으로 전달하는 클래스입니다. (reactive 프로필)
+ *
+ * <p>{@link QuestionStreamService}와 같은 이벤트({@code topic}, {@code offset}, {@code position}, {@code result}, {@code error})를
+ * 같은 순서로 전달합니다. 연결마다 스케줄러 타이머로 Offset을 확인하며, 연결이 끊어지면 타이머와 결과 대기가 함께 취소됩니다.</p>
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveQuestionStreamService {
+
+    private static final String TOPIC_EVENT = "topic";
+    private static final String OFFSET_EVENT = "offset";
+    private static final String POSITION_EVENT = "position";
+    private static final String RESULT_EVENT = "result";
+    private static final String ERROR_EVENT = "error";
+
+    /**
+     * 아직 요청을 전송하지 않아 Partition을 알 수 없을 때 Offset을 조회하는 Partition입니다.
+     */
+    private static final int DEFAULT_PARTITION = 0;
+
+    /**
+     * SSE 연결이 유지되는 최대 시간(ms)입니다.
+     */
+    @Value("${kafka.stream.timeout-ms:180000}")
+    private long streamTimeoutMillis;
+
+    /**
+     * Offset 변경을 확인하는 주기(ms)입니다.
+     */
+    @Value("${kafka.stream.offset-interval-ms:1000}")
+    private long offsetIntervalMillis;
+
+    private final ReactiveKafkaService reactiveKafkaService;
+    private final KafkaService kafkaService;
+    private final QuestionService questionService;
+
+    /**
+     * 문제 생성 과정을 전달하는 SSE 스트림을 엽니다.
+     *
+     * @param email 문제 생성을 요청한 회원 email
+     * @return 문제 생성 이벤트 스트림
+     */
+    public Flux<ServerSentEvent<ApiResponse<?>>> openQuestionStream(String email) {
+        return reactiveKafkaService.getUserQuestionTopic(email)
+                .flatMapMany(topic -> open(topic, reactiveKafkaService.findProducedQuestionOffset(email),
+                        reactiveKafkaService.awaitQuestion(email, Duration.ofMillis(streamTimeoutMillis))));
+    }
+
+    /**
+     * 해설 생성 과정을 전달하는 SSE 스트림을 엽니다.
+     * 해설이 만들어지면 문제와 합쳐진 최종 문제를 전달합니다.
+     *
+     * @param email 해설 생성을 요청한 회원 email
+     * @return 해설 생성 이벤트 스트림
+     */
+    public Flux<ServerSentEvent<ApiResponse<?>>> openExplanationStream(String email) {
+        return reactiveKafkaService.getUserExplanationTopic(email)
+                .flatMapMany(topic -> open(topic, reactiveKafkaService.findProducedExplanationOffset(email),
+                        deliverExplanation(email, reactiveKafkaService.awaitExplanation(email, Duration.ofMillis(streamTimeoutMillis)))));
+    }
+
+    /**
+     * 꺼낸 해설을 문제와 합쳐 전달하고, 전달한 후에 DB에 저장합니다.
+     * 합치기 전이나 합치는 도중에 구독이 취소되거나 합치지 못하면 꺼낸 해설을 되돌려 다시 조회할 수 있도록 하며,
+     * 되돌린 해설은 저장하지 않으므로 같은 해설이 두 번 저장되지 않습니다.
+     * 문제 저장소(JPA)는 블로킹 I/O이므로, 이벤트 루프가 아닌 별도 스케줄러에서 실행합니다.
+     *
+     * @param email 회원 email
+     * @param taking 해설을 꺼내는 Mono
+     * @return 해설이 합쳐진 최종 문제
+     */
+    public Mono<QuestionDto> deliverExplanation(String email, Mono<ExplanationResponseRawForm> taking) {
+        return Mono.defer(() -> {
+            // 꺼냈지만 아직 전달하지 않은 해설
+            AtomicReference<ExplanationResponseRawForm> undelivered = new AtomicReference<>();
+            Runnable restore = () -> {
+                ExplanationResponseRawForm explanation = undelivered.getAndSet(null);
+                if (explanation != null) {
+                    reactiveKafkaService.restoreExplanationResult(email, explanation).subscribe();
+                }
+            };
+
+            return taking
+                    .doOnNext(undelivered::set)
+                    .flatMap(explanation -> Mono.fromCallable(() -> questionService.mergeExplanation(email, explanation))
+                            .subscribeOn(Schedulers.boundedElastic()))
+                    .filter(question -> undelivered.getAndSet(null) != null)
+                    .doOnNext(question -> save(email, question))
+                    .doOnError(e -> restore.run())
+                    .doOnCancel(restore);
+        });
+    }
+
+    private void save(String email, QuestionDto question) {
+        Mono.fromRunnable(() -> questionService.saveQuestionExplanation(email, question))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, e -> log.error("Failed to persist delivered result", e));
+    }
+
+    /**
+     * Topic 이벤트를 보낸 후, 결과가 나올 때까지 Offset과 대기열 위치 변경을 전달합니다.
+     * 결과 또는 에러 이벤트를 보내면 스트림을 종료합니다.
+     *
+     * @param topic 할당된 Kafka Topic
+     * @param producedOffsetLoader 사용자가 전송한 요청 Partition, Offset을 조회하는 Mono
+     * @param result 결과를 기다리는 Mono
+     * @return 이벤트 스트림
+     */
+    private Flux<ServerSentEvent<ApiResponse<?>>> open(String topic, Mono<Optional<ProducedOffset>> producedOffsetLoader, Mono<?> result) {
+        Mono<ServerSentEvent<ApiResponse<?>>> resultEvent = result
+                .<ServerSentEvent<ApiResponse<?>>>map(value -> event(RESULT_EVENT, new ApiResponse<>(true, value, null, null)))
+                .onErrorResume(ApiException.class, e -> {
+                    ErrorCode code = e.getErrorCode();
+                    return Mono.just(event(ERROR_EVENT, new ApiResponse<>(false, null, code.getCode(), code.getMessage())));
+                });
+
+        Flux<ServerSentEvent<ApiResponse<?>>> progress = Flux.interval(Duration.ZERO, Duration.ofMillis(offsetIntervalMillis))
+                .onBackpressureDrop()
+                .concatMap(new QueueProgress(topic, producedOffsetLoader)::poll);
+
+        return Flux.concat(
+                Mono.just(event(TOPIC_EVENT, new ApiResponse<>(true, topic, null, null))),
+                Flux.merge(progress, resultEvent)
+                        .takeUntil(event -> RESULT_EVENT.equals(event.event()) || ERROR_EVENT.equals(event.event())));
+    }
+
+    private static ServerSentEvent<ApiResponse<?>> event(String name, ApiResponse<?> response) {
+        return ServerSentEvent.<ApiResponse<?>>builder(response).event(name).build();
+    }
+
+    /**
+     * 하나의 스트림에서 마지막으로 전달한 Offset, 대기열 위치를 보관하는 클래스입니다.
+     * {@code poll}은 {@code concatMap}으로 하나씩 순서대로 호출되므로 별도의 동기화가 필요 없습니다.
+     */
+    private class QueueProgress {
+
+        private final String topic;
+        private final Mono<Optional<ProducedOffset>> producedOffsetLoader;
+        private ProducedOffset producedOffset;
+        private long lastOffset = Long.MIN_VALUE;
+        private QueuePositionDto lastPosition;
+
+        QueueProgress(String topic, Mono<Optional<ProducedOffset>> producedOffsetLoader) {
+            this.topic = topic;
+            this.producedOffsetLoader = producedOffsetLoader;
+        }
+
+        /**
+         * 최근 Consume Offset과 대기열 위치를 확인하여, 바뀐 값만 이벤트로 반환합니다.
+         */
+        Flux<ServerSentEvent<ApiResponse<?>>> poll(long tick) {
+            return producedOffset().flatMapIterable(produced -> {
+                List<ServerSentEvent<ApiResponse<?>>> events = new ArrayList<>(2);
+
+                int partition = produced.map(ProducedOffset::partition).orElse(DEFAULT_PARTITION);
+                long offset = kafkaService.getRecentConsumedOffset(topic, partition);
+                if (offset != lastOffset) {
+                    lastOffset = offset;
+                    events.add(event(OFFSET_EVENT, new ApiResponse<>(true, offset, null, null)));
+                }
+
+                produced.map(p -> kafkaService.estimatePosition(topic, p))
+                        .filter(position -> !position.equals(lastPosition))
+                        .ifPresent(position -> {
+                            lastPosition = position;
+                            events.add(event(POSITION_EVENT, new ApiResponse<>(true, position, null, null)));
+                        });
+
+                return events;
+            });
+        }
+
+        /**
+         * 요청 Offset은 전송 이후 바뀌지 않으므로, 한 번 조회되면 보관하여 다시 조회하지 않습니다.
+         */
+        private Mono<Optional<ProducedOffset>> producedOffset() {
+            if (producedOffset != null) {
+                return Mono.just(Optional.of(producedOffset));
+            }
+            return producedOffsetLoader.doOnNext(loaded -> loaded.ifPresent(value -> producedOffset = value));
+        }
+    }
+}
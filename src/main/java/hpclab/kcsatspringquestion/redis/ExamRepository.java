@@ -0,0 +1,113 @@
+package hpclab.kcsatspringquestion.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static hpclab.kcsatspringquestion.redis.UserRequestStateRepository.STRING;
+
+/**
+ * 모의고사 생성 결과를 모의고사별 Redis Hash로 관리하는 클래스입니다.
+ *
+ * <p>Hash에는 요청한 회원 email과 문제 수, 그리고 문제 번호별 생성 결과({@code q:<번호>})와
+ * 전송 실패 표시({@code f:<번호>})가 저장되며, {@code question.exam.ttl-ms} 동안 보관됩니다.
+ * 한 회원은 {@code question.exam.lock-ms} 동안 새 모의고사를 요청할 수 없습니다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ExamRepository {
+
+    public static final String EMAIL = "email";
+    public static final String TOTAL = "total";
+    public static final String RESULT_PREFIX = "q:";
+    public static final String FAILED_PREFIX = "f:";
+
+    static final RedisScript<Long> CREATE_EXAM =
+            RedisScript.of(new ClassPathResource("redis/create-exam.lua"), Long.class);
+
+    static final RedisScript<Long> SAVE_EXAM_RESULT =
+            RedisScript.of(new ClassPathResource("redis/save-exam-result.lua"), Long.class);
+
+    /**
+     * 모의고사 결과 Hash 보관 시간(ms)
+     */
+    @Value("${question.exam.ttl-ms:3600000}")
+    private long ttlMillis;
+
+    /**
+     * 회원별 모의고사 생성 lock 유지 시간(ms)
+     */
+    @Value("${question.exam.lock-ms:60000}")
+    private long lockMillis;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 모의고사 결과 Hash를 만듭니다.
+     *
+     * @param examId 모의고사 식별자
+     * @param email 요청한 회원 email
+     * @param total 문제 수
+     * @return 만들었다면 true, 이미 생성 요청 중인 모의고사가 있다면 false
+     */
+    public boolean create(String examId, String email, int total) {
+        Long created = redisTemplate.execute(CREATE_EXAM, STRING, null,
+                List.of(RedisKeyUtil.exam(examId), RedisKeyUtil.examLock(email)),
+                email, String.valueOf(total), String.valueOf(ttlMillis), String.valueOf(lockMillis));
+
+        return created != null && created == 1;
+    }
+
+    /**
+     * 문제 하나의 생성 결과를 저장합니다.
+     *
+     * @param examId 모의고사 식별자
+     * @param index 문제 번호
+     * @param result 문제 생성 결과(JSON)
+     * @return 저장했다면 true, 보관 시간이 지나 모의고사가 없다면 false
+     */
+    public boolean saveResult(String examId, int index, String result) {
+        return save(examId, RESULT_PREFIX + index, result);
+    }
+
+    /**
+     * 생성 요청 전송에 실패한 문제를 표시합니다.
+     *
+     * @param examId 모의고사 식별자
+     * @param index 문제 번호
+     */
+    public void markFailed(String examId, int index) {
+        save(examId, FAILED_PREFIX + index, "1");
+    }
+
+    /**
+     * 모의고사 결과 Hash 전체를 조회합니다.
+     * Lua 스크립트가 저장한 필드와 값은 직렬화되지 않은 문자열이므로, 문자열 그대로 읽습니다.
+     *
+     * @param examId 모의고사 식별자
+     * @return 필드별 값. 모의고사가 없다면 빈 Map을 반환합니다.
+     */
+    public Map<String, String> find(String examId) {
+        Map<byte[], byte[]> entries = redisTemplate.execute((RedisCallback<Map<byte[], byte[]>>) connection ->
+                connection.hashCommands().hGetAll(STRING.serialize(RedisKeyUtil.exam(examId))));
+
+        Map<String, String> exam = new HashMap<>();
+        if (entries != null) {
+            entries.forEach((field, value) -> exam.put(STRING.deserialize(field), STRING.deserialize(value)));
+        }
+        return exam;
+    }
+
+    private boolean save(String examId, String field, String value) {
+        Long saved = redisTemplate.execute(SAVE_EXAM_RESULT, STRING, null, List.of(RedisKeyUtil.exam(examId)), field, value);
+        return saved != null && saved == 1;
+    }
+}
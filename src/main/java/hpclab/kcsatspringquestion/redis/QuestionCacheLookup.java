@@ -0,0 +1,37 @@
+package hpclab.kcsatspringquestion.redis;
+
+import java.util.List;
+
+/**
+ * 문제 생성 결과 캐시 조회 결과입니다.
+ *
+ * @param status 조회 결과 상태
+ * @param message 캐시된 생성 결과(JSON). {@link Status#HIT}인 경우에만 값이 있습니다.
+ */
+public record QuestionCacheLookup(Status status, String message) {
+
+    public enum Status {
+        /**
+         * 캐시된 결과를 사용자 요청 상태에 저장했습니다.
+         */
+        HIT,
+
+        /**
+         * 이 요청이 문제 생성을 맡습니다.
+         */
+        LEAD,
+
+        /**
+         * 같은 문제를 생성 중인 요청의 결과를 기다립니다.
+         */
+        WAIT
+    }
+
+    /**
+     * coalesce-question.lua의 반환값으로 조회 결과를 만듭니다.
+     */
+    static QuestionCacheLookup from(List<String> result) {
+        Status status = Status.valueOf(result.get(0));
+        return new QuestionCacheLookup(status, status == Status.HIT ? result.get(1) : null);
+    }
+}
@@ -0,0 +1,106 @@
+package hpclab.kcsatspringquestion.redis;
+
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static hpclab.kcsatspringquestion.redis.UserRequestStateRepository.STRING;
+
+/**
+ * 문제 생성 결과 캐시와 같은 요청의 합치기(coalescing)를 Redis로 관리하는 클래스입니다.
+ *
+ * <p>캐시 키마다 생성 결과, 생성 중 표시, 결과를 기다리는 사용자 Set을 저장합니다.
+ * 캐시 조회와 생성을 맡을 요청 선정은 Lua 스크립트로 원자적으로 처리하므로,
+ * 여러 서버에서 같은 요청이 동시에 들어와도 Kafka 메시지는 하나만 전송됩니다.</p>
+ *
+ * <p>생성 결과는 {@code question.cache.ttl-ms}, 생성 중 표시와 대기 사용자 Set은
+ * {@code question.cache.inflight-ttl-ms} 동안 보관됩니다. 생성을 맡은 요청이 결과를 받지 못하더라도
+ * 생성 중 표시가 만료되면 다음 요청이 다시 생성을 맡습니다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionCacheRepository {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final RedisScript<List<String>> COALESCE_QUESTION =
+            (RedisScript) RedisScript.of(new ClassPathResource("redis/coalesce-question.lua"), List.class);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final RedisScript<List<String>> COMPLETE_QUESTION =
+            (RedisScript) RedisScript.of(new ClassPathResource("redis/complete-question.lua"), List.class);
+
+    /**
+     * 생성 결과를 캐시에 보관하는 시간(ms)
+     */
+    @Value("${question.cache.ttl-ms:1800000}")
+    private long cacheTtlMillis;
+
+    /**
+     * 생성 중 표시와 대기 사용자 Set을 보관하는 시간(ms)
+     */
+    @Value("${question.cache.inflight-ttl-ms:300000}")
+    private long inflightTtlMillis;
+
+    /**
+     * 마지막 갱신 이후 사용자 요청 상태를 보관하는 시간(ms)
+     */
+    @Value("${redis.user-state.ttl-ms:3600000}")
+    private long stateTtlMillis;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 캐시된 결과가 있다면 사용자 요청 상태에 저장하고, 없다면 생성을 맡을지 기다릴지 정합니다.
+     *
+     * @param cacheKey 생성 결과 캐시 키
+     * @param email 회원 email
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @return 캐시 조회 결과
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public QuestionCacheLookup coalesce(String cacheKey, String email, String stateKey) {
+        List<String> result = redisTemplate.execute(COALESCE_QUESTION, STRING, (RedisSerializer) STRING,
+                List.of(RedisKeyUtil.questionCache(cacheKey), RedisKeyUtil.questionCacheInflight(cacheKey),
+                        RedisKeyUtil.questionCacheWaiters(cacheKey), stateKey),
+                email, String.valueOf(inflightTtlMillis), String.valueOf(stateTtlMillis));
+
+        if (result == null || result.isEmpty()) {
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }
+        return QuestionCacheLookup.from(result);
+    }
+
+    /**
+     * 생성 결과를 캐시에 저장하고, 결과를 기다리던 사용자 목록을 꺼냅니다.
+     *
+     * @param cacheKey 생성 결과 캐시 키
+     * @param message 생성 결과(JSON)
+     * @return 결과를 기다리던 회원 email 목록
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<String> complete(String cacheKey, String message) {
+        List<String> waiters = redisTemplate.execute(COMPLETE_QUESTION, STRING, (RedisSerializer) STRING,
+                List.of(RedisKeyUtil.questionCache(cacheKey), RedisKeyUtil.questionCacheInflight(cacheKey),
+                        RedisKeyUtil.questionCacheWaiters(cacheKey)),
+                message, String.valueOf(cacheTtlMillis));
+
+        return waiters == null ? List.of() : waiters;
+    }
+
+    /**
+     * 생성을 맡은 요청이 전송에 실패했을 때 생성 중 표시를 지워, 다음 요청이 생성을 맡을 수 있도록 합니다.
+     *
+     * @param cacheKey 생성 결과 캐시 키
+     */
+    public void abandon(String cacheKey) {
+        redisTemplate.delete(List.of(RedisKeyUtil.questionCacheInflight(cacheKey), RedisKeyUtil.questionCacheWaiters(cacheKey)));
+    }
+}
@@ -0,0 +1,67 @@
+package hpclab.kcsatspringquestion.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static hpclab.kcsatspringquestion.redis.ExamRepository.CREATE_EXAM;
+
+/**
+ * 모의고사 생성 결과를 Reactive Redis 커넥션으로 관리하는 클래스입니다. (reactive 프로필)
+ *
+ * <p>{@link ExamRepository}와 같은 키와 Lua 스크립트를 사용합니다.
+ * 결과를 저장하는 작업은 Consumer에서 처리하므로, 모의고사 생성과 조회만 제공합니다.</p>
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveExamRepository {
+
+    /**
+     * 모의고사 결과 Hash 보관 시간(ms)
+     */
+    @Value("${question.exam.ttl-ms:3600000}")
+    private long ttlMillis;
+
+    /**
+     * 회원별 모의고사 생성 lock 유지 시간(ms)
+     */
+    @Value("${question.exam.lock-ms:60000}")
+    private long lockMillis;
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    /**
+     * 모의고사 결과 Hash를 만듭니다.
+     *
+     * @param examId 모의고사 식별자
+     * @param email 요청한 회원 email
+     * @param total 문제 수
+     * @return 만들었다면 true, 이미 생성 요청 중인 모의고사가 있다면 false
+     */
+    public Mono<Boolean> create(String examId, String email, int total) {
+        return reactiveStringRedisTemplate.execute(CREATE_EXAM,
+                        List.of(RedisKeyUtil.exam(examId), RedisKeyUtil.examLock(email)),
+                        List.of(email, String.valueOf(total), String.valueOf(ttlMillis), String.valueOf(lockMillis)))
+                .next()
+                .map(created -> created == 1)
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * 모의고사 결과 Hash 전체를 조회합니다.
+     *
+     * @param examId 모의고사 식별자
+     * @return 필드별 값. 모의고사가 없다면 빈 Map을 반환합니다.
+     */
+    public Mono<Map<String, String>> find(String examId) {
+        return reactiveStringRedisTemplate.<String, String>opsForHash().entries(RedisKeyUtil.exam(examId))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
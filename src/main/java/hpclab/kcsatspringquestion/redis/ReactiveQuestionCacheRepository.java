@@ -0,0 +1,69 @@
+package hpclab.kcsatspringquestion.redis;
+
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static hpclab.kcsatspringquestion.redis.QuestionCacheRepository.COALESCE_QUESTION;
+
+/**
+ * 문제 생성 결과 캐시와 같은 요청의 합치기를 Reactive Redis 커넥션으로 관리하는 클래스입니다. (reactive 프로필)
+ *
+ * <p>{@link QuestionCacheRepository}와 같은 키와 Lua 스크립트를 사용합니다.
+ * 결과를 캐시에 저장하는 작업은 Consumer에서 처리하므로, 조회와 생성 중 표시 해제만 제공합니다.</p>
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveQuestionCacheRepository {
+
+    /**
+     * 생성 중 표시와 대기 사용자 Set을 보관하는 시간(ms)
+     */
+    @Value("${question.cache.inflight-ttl-ms:300000}")
+    private long inflightTtlMillis;
+
+    /**
+     * 마지막 갱신 이후 사용자 요청 상태를 보관하는 시간(ms)
+     */
+    @Value("${redis.user-state.ttl-ms:3600000}")
+    private long stateTtlMillis;
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    /**
+     * 캐시된 결과가 있다면 사용자 요청 상태에 저장하고, 없다면 생성을 맡을지 기다릴지 정합니다.
+     *
+     * @param cacheKey 생성 결과 캐시 키
+     * @param email 회원 email
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @return 캐시 조회 결과
+     */
+    public Mono<QuestionCacheLookup> coalesce(String cacheKey, String email, String stateKey) {
+        return reactiveStringRedisTemplate.execute(COALESCE_QUESTION,
+                        List.of(RedisKeyUtil.questionCache(cacheKey), RedisKeyUtil.questionCacheInflight(cacheKey),
+                                RedisKeyUtil.questionCacheWaiters(cacheKey), stateKey),
+                        List.of(email, String.valueOf(inflightTtlMillis), String.valueOf(stateTtlMillis)))
+                .next()
+                .filter(result -> !result.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR)))
+                .map(QuestionCacheLookup::from);
+    }
+
+    /**
+     * 생성을 맡은 요청이 전송에 실패했을 때 생성 중 표시를 지워, 다음 요청이 생성을 맡을 수 있도록 합니다.
+     *
+     * @param cacheKey 생성 결과 캐시 키
+     */
+    public Mono<Void> abandon(String cacheKey) {
+        return reactiveStringRedisTemplate.delete(
+                RedisKeyUtil.questionCacheInflight(cacheKey), RedisKeyUtil.questionCacheWaiters(cacheKey)).then();
+    }
+}
@@ -0,0 +1,47 @@
+package hpclab.kcsatspringquestion.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static hpclab.kcsatspringquestion.redis.SeenPassageRepository.CLAIM_PASSAGE;
+
+/**
+ * 사용자가 이미 받은 기출 지문 비트맵을 Reactive Redis 커넥션으로 관리하는 클래스입니다. (reactive 프로필)
+ *
+ * <p>{@link SeenPassageRepository}와 같은 비트맵과 Lua 스크립트를 사용합니다.</p>
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveSeenPassageRepository {
+
+    /**
+     * 사용자가 받은 지문 비트맵을 보관하는 시간(ms)
+     */
+    @Value("${passage.seen.ttl-ms:604800000}")
+    private long seenTtlMillis;
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    /**
+     * 사용자가 아직 받지 않은 슬롯 하나를 무작위로 골라, 받은 것으로 기록합니다.
+     *
+     * @param email 회원 email
+     * @param bucketId 지문 목록 식별자
+     * @param size 지문 목록 크기
+     * @return 고른 슬롯
+     */
+    public Mono<Integer> claim(String email, String bucketId, int size) {
+        return reactiveStringRedisTemplate.execute(CLAIM_PASSAGE, List.of(RedisKeyUtil.seenPassages(email, bucketId)), List.of(
+                        String.valueOf(size), String.valueOf(ThreadLocalRandom.current().nextInt(size)), String.valueOf(seenTtlMillis)))
+                .next()
+                .map(Long::intValue);
+    }
+}
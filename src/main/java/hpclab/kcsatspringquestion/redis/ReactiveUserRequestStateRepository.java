@@ -0,0 +1,259 @@
+package hpclab.kcsatspringquestion.redis;
+
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static hpclab.kcsatspringquestion.redis.UserRequestStateRepository.*;
+
+/**
+ * 사용자별 생성 요청 상태 Hash를 Reactive Redis 커넥션으로 관리하는 클래스입니다. (reactive 프로필)
+ *
+ * <p>{@link UserRequestStateRepository}와 같은 Hash 구조와 Lua 스크립트를 사용하므로, 두 방식의 서버가 함께 동작할 수 있습니다.
+ * 모든 작업은 응답을 기다리는 동안 스레드를 점유하지 않으며, 동시에 보낸 명령은 하나의 커넥션으로 파이프라이닝됩니다.</p>
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveUserRequestStateRepository {
+
+    /**
+     * 마지막 갱신 이후 사용자 요청 상태를 보관하는 시간(ms)
+     */
+    @Value("${redis.user-state.ttl-ms:3600000}")
+    private long stateTtlMillis;
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    /**
+     * 사용자에게 생성 요청 Topic을 할당합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param topic 할당할 Topic
+     * @param ttl Topic 할당 유지 시간
+     * @return 할당했다면 true, 아직 만료되지 않은 Topic이 있다면 false
+     */
+    public Mono<Boolean> assignTopic(String stateKey, String topic, Duration ttl) {
+        long now = System.currentTimeMillis();
+        return reactiveStringRedisTemplate.execute(ASSIGN_TOPIC, List.of(stateKey), List.of(
+                        topic, String.valueOf(now), String.valueOf(now + ttl.toMillis()), String.valueOf(stateTtlMillis)))
+                .next()
+                .map(Long.valueOf(1L)::equals)
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * 할당된 Topic을 확인하고, 중복 요청 lock을 획득합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param lockTtl lock 유지 시간
+     * @return 할당된 Topic. 할당된 Topic이 없거나, 이미 lock이 걸려 있다면 ApiException으로 종료됩니다.
+     */
+    public Mono<String> acquireRequest(String stateKey, Duration lockTtl) {
+        return acquireRequest(stateKey, lockTtl, null);
+    }
+
+    /**
+     * 할당된 Topic을 확인하고, 중복 요청 lock을 획득합니다.
+     * 캐시 키가 주어지면 요청 상태에 함께 저장하여, 생성 결과를 받았을 때 캐시에 저장할 수 있도록 합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param lockTtl lock 유지 시간
+     * @param cacheKey 생성 결과 캐시 키. 결과를 캐시하지 않는 요청이라면 null
+     * @return 할당된 Topic. 할당된 Topic이 없거나, 이미 lock이 걸려 있다면 ApiException으로 종료됩니다.
+     */
+    public Mono<String> acquireRequest(String stateKey, Duration lockTtl, String cacheKey) {
+        long now = System.currentTimeMillis();
+        List<String> args = new ArrayList<>(List.of(
+                String.valueOf(now), String.valueOf(now + lockTtl.toMillis()), String.valueOf(stateTtlMillis)));
+        if (cacheKey != null) {
+            args.add(cacheKey);
+        }
+
+        return reactiveStringRedisTemplate.execute(ACQUIRE_REQUEST, List.of(stateKey), args)
+                .next()
+                .filter(result -> !result.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR)))
+                .map(result -> switch (result.get(0)) {
+                    case "OK" -> result.get(1);
+                    case "LOCKED" -> throw new ApiException(ErrorCode.DUPLICATE_REQUEST);
+                    default -> throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+                });
+    }
+
+    /**
+     * 중복 요청 lock을 해제합니다. 요청 전송에 실패하여 재요청을 허용해야 할 때 사용합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     */
+    public Mono<Void> releaseRequest(String stateKey) {
+        return hashOperations().remove(stateKey, LOCK_EXPIRES_AT).then();
+    }
+
+    /**
+     * 전송한 생성 요청 메시지의 Partition과 Offset을 저장합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param partition 요청 메시지가 저장된 Partition
+     * @param offset 요청 메시지 Offset
+     */
+    public Mono<Void> saveOffset(String stateKey, int partition, long offset) {
+        return putAll(stateKey, Map.of(PARTITION, String.valueOf(partition), OFFSET, String.valueOf(offset)));
+    }
+
+    /**
+     * 같은 대상으로 서버가 자동으로 전송한 생성 요청이 있다면, 그 요청의 Offset을 조회합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param tag 요청 대상 식별값
+     * @return 요청 메시지 Offset. 같은 대상의 자동 요청이 없다면 빈 Mono를 반환합니다.
+     */
+    public Mono<Long> findAutoRequestedOffset(String stateKey, String tag) {
+        return hashOperations().multiGet(stateKey, List.of(AUTO_REQUEST, OFFSET))
+                .filter(values -> tag.equals(values.get(0)) && values.get(1) != null)
+                .map(values -> Long.valueOf(values.get(1)));
+    }
+
+    /**
+     * 할당된 Topic과 요청 Partition, Offset을 한 번에 조회합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @return 사용자 요청 상태
+     */
+    public Mono<UserRequestState> getState(String stateKey) {
+        return hashOperations().multiGet(stateKey, List.of(TOPIC, TOPIC_EXPIRES_AT, PARTITION, OFFSET))
+                .map(values -> toState(values.get(0), values.get(1), values.get(2), values.get(3)))
+                .defaultIfEmpty(new UserRequestState(null, null, null));
+    }
+
+    /**
+     * 저장된 생성 결과를 꺼내고 삭제합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @return 생성 결과 원본. 아직 저장되지 않았다면 빈 Mono를 반환합니다.
+     */
+    public Mono<byte[]> takeMessage(String stateKey) {
+        // 생성 결과는 문자열로 변환하지 않고 원본 byte 배열 그대로 꺼냅니다.
+        return reactiveStringRedisTemplate.execute(TAKE_MESSAGE, List.of(stateKey), List.of(),
+                        RedisElementWriter.from(STRING), RedisElementReader.from(RedisSerializer.byteArray()))
+                .next();
+    }
+
+    /**
+     * 저장된 문제 생성 결과를 꺼내고 삭제합니다. 결과를 꺼냈다면 주어진 식별값을 함께 저장합니다. ({@link UserRequestStateRepository#takeQuestion})
+     *
+     * @param stateKey 문제 요청 상태 Hash 키
+     * @param handle 꺼낸 문제에 발급할 식별값
+     * @return 문제 생성 결과 원본. 아직 저장되지 않았다면 빈 Mono를 반환합니다.
+     */
+    public Mono<byte[]> takeQuestion(String stateKey, String handle) {
+        return reactiveStringRedisTemplate.execute(TAKE_MESSAGE, List.of(stateKey), List.of(handle),
+                        RedisElementWriter.from(STRING), RedisElementReader.from(RedisSerializer.byteArray()))
+                .next();
+    }
+
+    /**
+     * 꺼냈지만 클라이언트에 전달하지 못한 생성 결과를 되돌립니다. ({@link UserRequestStateRepository#restoreMessage})
+     * 그 사이 새 결과가 저장되었다면 새 결과를 유지합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param message 생성 결과 원본
+     */
+    public Mono<Void> restoreMessage(String stateKey, byte[] message) {
+        return Mono.when(
+                hashOperations().putIfAbsent(stateKey, MESSAGE, new String(message, StandardCharsets.UTF_8)),
+                reactiveStringRedisTemplate.expire(stateKey, Duration.ofMillis(stateTtlMillis)));
+    }
+
+    /**
+     * 생성 결과를 저장합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param message 생성 결과(JSON)
+     */
+    public Mono<Void> saveMessage(String stateKey, String message) {
+        return putAll(stateKey, Map.of(MESSAGE, message));
+    }
+
+    /**
+     * 문제 생성 결과를 저장하고, 같은 결과를 해설과 합칠 문제 데이터로도 저장합니다. ({@link UserRequestStateRepository#saveQuestion})
+     *
+     * @param stateKey 문제 요청 상태 Hash 키
+     * @param message 문제 생성 결과(JSON)
+     */
+    public Mono<Void> saveQuestion(String stateKey, String message) {
+        return replaceData(stateKey, Map.of(MESSAGE, message, DATA, message));
+    }
+
+    /**
+     * 저장된 문제 데이터를 조회합니다.
+     *
+     * @param stateKey 문제 요청 상태 Hash 키
+     * @return 문제 데이터(JSON). 저장되지 않았다면 빈 Mono를 반환합니다.
+     */
+    public Mono<String> findData(String stateKey) {
+        return hashOperations().get(stateKey, DATA);
+    }
+
+    /**
+     * 식별값이 가리키는 문제 데이터를 조회합니다. ({@link UserRequestStateRepository#findDataByHandle})
+     *
+     * @param stateKey 문제 요청 상태 Hash 키
+     * @param handle 클라이언트가 보낸 문제 식별값
+     * @return 문제 데이터(JSON). 저장된 데이터가 없거나, 식별값이 저장된 데이터에 발급한 값이 아니라면 빈 Mono를 반환합니다.
+     */
+    public Mono<String> findDataByHandle(String stateKey, String handle) {
+        return hashOperations().multiGet(stateKey, List.of(DATA, HANDLE))
+                .filter(values -> handle != null && handle.equals(values.get(1)) && values.get(0) != null)
+                .map(values -> values.get(0));
+    }
+
+    /**
+     * 해설과 합칠 문제 데이터를 저장합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param data 문제 데이터(JSON)
+     */
+    public Mono<Void> saveData(String stateKey, String data) {
+        return replaceData(stateKey, Map.of(DATA, data));
+    }
+
+    /**
+     * 문제 데이터를 바꾸고, 이전 문제 데이터에 발급한 식별값을 삭제합니다.
+     */
+    private Mono<Void> replaceData(String stateKey, Map<String, String> fields) {
+        return Mono.when(
+                hashOperations().putAll(stateKey, fields),
+                hashOperations().remove(stateKey, HANDLE),
+                reactiveStringRedisTemplate.expire(stateKey, Duration.ofMillis(stateTtlMillis)));
+    }
+
+    /**
+     * 필드를 저장하고 Hash 보관 시간을 갱신합니다.
+     * 두 명령을 응답을 기다리지 않고 함께 보내므로, 하나의 파이프라인으로 전송됩니다.
+     */
+    private Mono<Void> putAll(String stateKey, Map<String, String> fields) {
+        return Mono.when(
+                hashOperations().putAll(stateKey, fields),
+                reactiveStringRedisTemplate.expire(stateKey, Duration.ofMillis(stateTtlMillis)));
+    }
+
+    private ReactiveHashOperations<String, String, String> hashOperations() {
+        return reactiveStringRedisTemplate.opsForHash();
+    }
+}
@@ -0,0 +1,32 @@
+package hpclab.kcsatspringquestion.redis;
+
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * 미리 만들어 둔 문제 목록을 Reactive Redis 커넥션으로 조회하는 클래스입니다. (reactive 프로필)
+ *
+ * <p>{@link WarmPoolRepository}와 같은 List를 사용합니다. 목록을 채우는 작업은 Consumer와 스케줄러에서 처리하므로,
+ * 문제를 꺼내는 작업만 제공합니다.</p>
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveWarmPoolRepository {
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    /**
+     * 목록에서 가장 먼저 만든 문제를 꺼냅니다.
+     *
+     * @param type 문제 유형
+     * @return 완성된 문제와 해설(JSON). 목록이 비어 있다면 빈 Mono를 반환합니다.
+     */
+    public Mono<String> take(QuestionType type) {
+        return reactiveStringRedisTemplate.opsForList().leftPop(RedisKeyUtil.questionPool(type.name()));
+    }
+}
@@ -4,9 +4,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -30,12 +30,13 @@ public class RedisConfig {
 
     /**
      * RedisConnection 스프링 Bean입니다.
+     * LettuceConnectionFactory는 Reactive 커넥션도 제공하므로, reactive 프로필의 ReactiveStringRedisTemplate도 이 커넥션을 사용합니다.
      *
      * @return LettuceConnectionFactory로 커넥션 정의
      */
     @Primary
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public LettuceConnectionFactory redisConnectionFactory() {
         return new LettuceConnectionFactory(host, port);
     }
 
@@ -55,4 +56,19 @@ public class RedisConfig {
         redisTemplate.setValueSerializer(new Jackson2JsonRedisSerializer<>(String.class));
         return redisTemplate;
     }
+
+    /**
+     * Redis Pub/Sub 메시지를 수신하기 위한 리스너 컨테이너 Bean입니다.
+     *
+     * <p>생성 결과 저장 알림처럼 서버 인스턴스 간에 전달되어야 하는 이벤트를 구독하는 데에 사용됩니다.
+     * 구독할 채널은 각 리스너가 직접 등록합니다.</p>
+     *
+     * @return RedisMessageListenerContainer
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
 }
@@ -6,45 +6,73 @@ package hpclab.kcsatspringquestion.redis;
  */
 public class RedisKeyUtil {
 
-    // Kafka Topic 관련 키
-    public static String questionTopic() {
-        return "kafka:questionTopic";
+    // Kafka Topic 할당 순번 키
+    public static String questionTopicCounter() {
+        return "kafka:questionTopicCounter";
     }
 
-    public static String explanationTopic() {
-        return "kafka:explanationTopic";
+    public static String explanationTopicCounter() {
+        return "kafka:explanationTopicCounter";
     }
 
-    public static String questionTopicWithEmail(String email) {
-        return "kafka:" + email + ":questionTopic";
+    // 사용자별 요청 상태 Hash (Topic, 중복 요청 lock, Offset, 생성 결과, 문제 데이터)
+    public static String questionState(String email) {
+        return "kafka:" + email + ":question";
     }
 
-    public static String explanationTopicWithEmail(String email) {
-        return "kafka:" + email + ":explanationTopic";
+    public static String explanationState(String email) {
+        return "kafka:" + email + ":explanation";
     }
 
-    public static String questionRequestLock(String email) {
-        return "kafka:" + email + ":questionRequestLock";
+    // Kafka 요청 메시지의 Definition, 지문 참조 ID 저장소 Hash (참조 ID -> 원문)
+    public static String payloadRegistry() {
+        return "kafka:payloadRegistry";
     }
 
-    public static String explanationRequestLock(String email) {
-        return "kafka:" + email + ":explanationRequestLock";
+    // 사용자가 이미 받은 기출 지문 비트맵 (지문 목록별)
+    public static String seenPassages(String email, String bucketId) {
+        return "passage:" + email + ":seen:" + bucketId;
     }
 
-    public static String questionMessage(String email) {
-        return "kafka:" + email + ":questionMessage";
+    // 문제 생성 결과 캐시 (유형, 지문, Definition 해시별)
+    public static String questionCache(String cacheKey) {
+        return "question:cache:" + cacheKey;
     }
 
-    public static String explanationMessage(String email) {
-        return "kafka:" + email + ":explanationMessage";
+    // 같은 문제를 생성 중임을 표시하는 키와, 결과를 기다리는 사용자 Set
+    public static String questionCacheInflight(String cacheKey) {
+        return "question:cache:" + cacheKey + ":inflight";
     }
 
-    // Redis 관련 키
-    public static String questionData(String email) {
-        return "kafka:" + email + ":questionData";
+    public static String questionCacheWaiters(String cacheKey) {
+        return "question:cache:" + cacheKey + ":waiters";
     }
 
-    public static String explanationData(String email) {
-        return "kafka:" + email + ":explanationData";
+    // 미리 만들어 둔 문제 목록 (문제 유형별), 생성 중인 문제 수
+    public static String questionPool(String type) {
+        return "question:pool:" + type;
+    }
+
+    public static String questionPoolPending(String type) {
+        return "question:pool:" + type + ":pending";
+    }
+
+    // 해설 생성을 기다리는 미리 만든 문제
+    public static String questionPoolItem(String itemId) {
+        return "question:pool:item:" + itemId;
+    }
+
+    // 모의고사 생성 결과 (모의고사별), 회원별 모의고사 생성 lock
+    public static String exam(String examId) {
+        return "exam:" + examId;
+    }
+
+    public static String examLock(String email) {
+        return "exam:lock:" + email;
+    }
+
+    // Redis Pub/Sub 채널
+    public static String resultChannel() {
+        return "kafka:resultChannel";
     }
 }
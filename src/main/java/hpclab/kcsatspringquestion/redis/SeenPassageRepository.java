@@ -0,0 +1,54 @@
+package hpclab.kcsatspringquestion.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static hpclab.kcsatspringquestion.redis.UserRequestStateRepository.STRING;
+
+/**
+ * 사용자가 이미 받은 기출 지문을 비트맵으로 기록하는 클래스입니다.
+ *
+ * <p>지문 목록(문제 유형, 지문 길이별)마다 목록 안의 위치(슬롯) 하나를 1 bit로 기록하므로,
+ * 지문 1만 개 목록도 사용자당 약 1.2KB만 사용합니다. 받지 않은 슬롯을 고르고 표시하는 작업은 Lua 스크립트로
+ * 서버에서 원자적으로 실행되므로, 같은 사용자가 동시에 요청해도 같은 지문을 받지 않습니다.</p>
+ *
+ * <p>목록의 지문을 모두 받으면 비트맵을 비우고 처음부터 다시 고릅니다.
+ * 비트맵은 마지막으로 지문을 받은 이후 {@code passage.seen.ttl-ms} 동안 보관됩니다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class SeenPassageRepository {
+
+    static final RedisScript<Long> CLAIM_PASSAGE =
+            RedisScript.of(new ClassPathResource("redis/claim-passage.lua"), Long.class);
+
+    /**
+     * 사용자가 받은 지문 비트맵을 보관하는 시간(ms)
+     */
+    @Value("${passage.seen.ttl-ms:604800000}")
+    private long seenTtlMillis;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 사용자가 아직 받지 않은 슬롯 하나를 무작위로 골라, 받은 것으로 기록합니다.
+     *
+     * @param email 회원 email
+     * @param bucketId 지문 목록 식별자
+     * @param size 지문 목록 크기
+     * @return 고른 슬롯
+     */
+    public int claim(String email, String bucketId, int size) {
+        Long slot = redisTemplate.execute(CLAIM_PASSAGE, STRING, null, List.of(RedisKeyUtil.seenPassages(email, bucketId)),
+                String.valueOf(size), String.valueOf(ThreadLocalRandom.current().nextInt(size)), String.valueOf(seenTtlMillis));
+
+        return slot == null ? ThreadLocalRandom.current().nextInt(size) : slot.intValue();
+    }
+}
@@ -0,0 +1,11 @@
+package hpclab.kcsatspringquestion.redis;
+
+/**
+ * 한 사용자의 문제 또는 해설 생성 요청 상태를 한 번에 조회한 결과입니다.
+ *
+ * @param topic 할당된 Kafka Topic. 할당되지 않았거나 만료되었다면 null입니다.
+ * @param partition 전송한 생성 요청 메시지의 Partition. 아직 전송하지 않았다면 null입니다.
+ * @param offset 전송한 생성 요청 메시지의 Offset. 아직 전송하지 않았다면 null입니다.
+ */
+public record UserRequestState(String topic, Integer partition, Long offset) {
+}
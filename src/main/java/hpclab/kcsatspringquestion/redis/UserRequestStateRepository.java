@@ -0,0 +1,407 @@
+package hpclab.kcsatspringquestion.redis;
+
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 사용자별 생성 요청 상태를 하나의 Redis Hash로 관리하는 클래스입니다.
+ *
+ * <p>사용자, 생성 종류(문제 / 해설)마다 하나의 Hash에 할당된 Topic, 중복 요청 lock, 요청 Offset,
+ * 생성 결과, 문제 데이터를 필드로 저장합니다. 여러 필드를 함께 확인하고 갱신해야 하는 작업은
+ * Lua 스크립트로 서버에서 원자적으로 실행하므로, 각 작업은 Redis 왕복 한 번으로 끝납니다.</p>
+ *
+ * <p>Hash 필드에는 개별 만료 시간을 줄 수 없으므로, Topic과 lock은 만료 시각을 함께 저장하여 비교하고,
+ * Hash 자체는 마지막으로 갱신된 이후 {@code redis.user-state.ttl-ms} 동안 보관됩니다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRequestStateRepository {
+
+    static final String TOPIC = "topic";
+    static final String PARTITION = "partition";
+    static final String OFFSET = "offset";
+    static final String LOCK_EXPIRES_AT = "lockExpiresAt";
+    static final String TOPIC_EXPIRES_AT = "topicExpiresAt";
+    static final String MESSAGE = "message";
+    static final String DATA = "data";
+    static final String HANDLE = "handle";
+    static final String CACHE_KEY = "cacheKey";
+    static final String AUTO_REQUEST = "autoRequest";
+
+    static final RedisSerializer<String> STRING = RedisSerializer.string();
+
+    static final RedisScript<Long> ASSIGN_TOPIC =
+            RedisScript.of(new ClassPathResource("redis/assign-topic.lua"), Long.class);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final RedisScript<List<String>> ACQUIRE_REQUEST =
+            (RedisScript) RedisScript.of(new ClassPathResource("redis/acquire-request.lua"), List.class);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final RedisScript<List<String>> ACQUIRE_REQUESTS =
+            (RedisScript) RedisScript.of(new ClassPathResource("redis/acquire-requests.lua"), List.class);
+
+    static final RedisScript<byte[]> TAKE_MESSAGE =
+            RedisScript.of(new ClassPathResource("redis/take-message.lua"), byte[].class);
+
+    /**
+     * 마지막 갱신 이후 사용자 요청 상태를 보관하는 시간(ms)
+     */
+    @Value("${redis.user-state.ttl-ms:3600000}")
+    private long stateTtlMillis;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 사용자에게 생성 요청 Topic을 할당합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param topic 할당할 Topic
+     * @param ttl Topic 할당 유지 시간
+     * @return 할당했다면 true, 아직 만료되지 않은 Topic이 있다면 false
+     */
+    public boolean assignTopic(String stateKey, String topic, Duration ttl) {
+        long now = System.currentTimeMillis();
+        Long assigned = redisTemplate.execute(ASSIGN_TOPIC, STRING, null, List.of(stateKey),
+                topic, String.valueOf(now), String.valueOf(now + ttl.toMillis()), String.valueOf(stateTtlMillis));
+
+        return Long.valueOf(1L).equals(assigned);
+    }
+
+    /**
+     * 할당된 Topic을 확인하고, 중복 요청 lock을 획득합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param lockTtl lock 유지 시간
+     * @return 할당된 Topic
+     * @throws ApiException 할당된 Topic이 없거나, 이미 lock이 걸려 있는 경우 발생합니다.
+     */
+    public String acquireRequest(String stateKey, Duration lockTtl) {
+        return acquireRequest(stateKey, lockTtl, null);
+    }
+
+    /**
+     * 할당된 Topic을 확인하고, 중복 요청 lock을 획득합니다.
+     * 캐시 키가 주어지면 요청 상태에 함께 저장하여, 생성 결과를 받았을 때 캐시에 저장할 수 있도록 합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param lockTtl lock 유지 시간
+     * @param cacheKey 생성 결과 캐시 키. 결과를 캐시하지 않는 요청이라면 null
+     * @return 할당된 Topic
+     * @throws ApiException 할당된 Topic이 없거나, 이미 lock이 걸려 있는 경우 발생합니다.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public String acquireRequest(String stateKey, Duration lockTtl, String cacheKey) {
+        long now = System.currentTimeMillis();
+        Object[] args = cacheKey == null
+                ? new Object[]{String.valueOf(now), String.valueOf(now + lockTtl.toMillis()), String.valueOf(stateTtlMillis)}
+                : new Object[]{String.valueOf(now), String.valueOf(now + lockTtl.toMillis()), String.valueOf(stateTtlMillis), cacheKey};
+        // 배열 응답의 각 원소를 문자열로 역직렬화합니다.
+        List<String> result = redisTemplate.execute(ACQUIRE_REQUEST, STRING, (RedisSerializer) STRING, List.of(stateKey), args);
+
+        if (result == null || result.isEmpty()) {
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }
+
+        return switch (result.get(0)) {
+            case "OK" -> result.get(1);
+            case "LOCKED" -> throw new ApiException(ErrorCode.DUPLICATE_REQUEST);
+            default -> throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        };
+    }
+
+    /**
+     * 여러 사용자의 Topic 할당과 중복 요청 lock 획득을 한 번의 Redis 요청으로 처리합니다.
+     * 사용자마다 {@link #assignTopic}과 {@link #acquireRequest(String, Duration)}를 차례로 호출한 것과 같으며,
+     * 이미 할당된 Topic이 있다면 그대로 사용합니다.
+     *
+     * @param topics 사용자 요청 상태 Hash 키별로, 할당된 Topic이 없을 때 할당할 Topic
+     * @param topicTtl Topic 할당 유지 시간
+     * @param lockTtl lock 유지 시간
+     * @return lock을 획득한 사용자 요청 상태 Hash 키별 Topic. 이미 lock이 걸려 있는 키는 포함되지 않습니다.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Map<String, String> acquireRequests(Map<String, String> topics, Duration topicTtl, Duration lockTtl) {
+        if (topics.isEmpty()) {
+            return Map.of();
+        }
+
+        List<String> keys = List.copyOf(topics.keySet());
+        long now = System.currentTimeMillis();
+        List<String> args = new ArrayList<>(4 + keys.size());
+        args.add(String.valueOf(now));
+        args.add(String.valueOf(now + topicTtl.toMillis()));
+        args.add(String.valueOf(now + lockTtl.toMillis()));
+        args.add(String.valueOf(stateTtlMillis));
+        keys.forEach(key -> args.add(topics.get(key)));
+        List<String> result = redisTemplate.execute(ACQUIRE_REQUESTS, STRING, (RedisSerializer) STRING, keys, args.toArray());
+
+        if (result == null || result.size() != keys.size()) {
+            throw new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        }
+
+        Map<String, String> acquired = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (!result.get(i).isEmpty()) {
+                acquired.put(keys.get(i), result.get(i));
+            }
+        }
+        return acquired;
+    }
+
+    /**
+     * 중복 요청 lock을 해제합니다. 요청 전송에 실패하여 재요청을 허용해야 할 때 사용합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     */
+    public void releaseRequest(String stateKey) {
+        redisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.hashCommands().hDel(STRING.serialize(stateKey), STRING.serialize(LOCK_EXPIRES_AT)));
+    }
+
+    /**
+     * 전송한 생성 요청 메시지의 Partition과 Offset을 저장합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param partition 요청 메시지가 저장된 Partition
+     * @param offset 요청 메시지 Offset
+     */
+    public void saveOffset(String stateKey, int partition, long offset) {
+        byte[] key = STRING.serialize(stateKey);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hMSet(key, Map.of(
+                    STRING.serialize(PARTITION), STRING.serialize(String.valueOf(partition)),
+                    STRING.serialize(OFFSET), STRING.serialize(String.valueOf(offset))));
+            connection.keyCommands().pExpire(key, stateTtlMillis);
+            return null;
+        });
+    }
+
+    /**
+     * 서버가 자동으로 전송한 생성 요청의 Partition, Offset과 요청한 문제 내용의 digest를 저장합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param partition 요청 메시지가 저장된 Partition
+     * @param offset 요청 메시지 Offset
+     * @param tag 요청한 문제 내용의 digest ({@link hpclab.kcsatspringquestion.questionGenerator.dto.QuestionHandle#digest})
+     */
+    public void saveAutoRequest(String stateKey, int partition, long offset, String tag) {
+        byte[] key = STRING.serialize(stateKey);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hMSet(key, Map.of(
+                    STRING.serialize(PARTITION), STRING.serialize(String.valueOf(partition)),
+                    STRING.serialize(OFFSET), STRING.serialize(String.valueOf(offset)),
+                    STRING.serialize(AUTO_REQUEST), STRING.serialize(tag)));
+            connection.keyCommands().pExpire(key, stateTtlMillis);
+            return null;
+        });
+    }
+
+    /**
+     * 같은 대상으로 서버가 자동으로 전송한 생성 요청이 있다면, 그 요청의 Offset을 조회합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param tag 요청한 문제 내용의 digest ({@link hpclab.kcsatspringquestion.questionGenerator.dto.QuestionHandle#digest})
+     * @return 요청 메시지 Offset. 같은 대상의 자동 요청이 없다면 빈 Optional을 반환합니다.
+     */
+    public Optional<Long> findAutoRequestedOffset(String stateKey, String tag) {
+        List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.hashCommands().hMGet(STRING.serialize(stateKey), STRING.serialize(AUTO_REQUEST), STRING.serialize(OFFSET)));
+
+        if (values == null || !tag.equals(STRING.deserialize(values.get(0))) || values.get(1) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Long.valueOf(STRING.deserialize(values.get(1))));
+    }
+
+    /**
+     * 할당된 Topic과 요청 Partition, Offset을 한 번에 조회합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @return 사용자 요청 상태
+     */
+    public UserRequestState getState(String stateKey) {
+        List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.hashCommands().hMGet(STRING.serialize(stateKey),
+                        STRING.serialize(TOPIC), STRING.serialize(TOPIC_EXPIRES_AT),
+                        STRING.serialize(PARTITION), STRING.serialize(OFFSET)));
+
+        if (values == null) {
+            return new UserRequestState(null, null, null);
+        }
+
+        return toState(STRING.deserialize(values.get(0)), STRING.deserialize(values.get(1)),
+                STRING.deserialize(values.get(2)), STRING.deserialize(values.get(3)));
+    }
+
+    /**
+     * HMGET으로 조회한 필드 값으로 사용자 요청 상태를 만듭니다. 만료된 Topic은 null로 처리합니다.
+     */
+    static UserRequestState toState(String topic, String topicExpiresAt, String partition, String offset) {
+        if (topicExpiresAt == null || Long.parseLong(topicExpiresAt) <= System.currentTimeMillis()) {
+            topic = null;
+        }
+
+        if (partition == null || offset == null) {
+            return new UserRequestState(topic, null, null);
+        }
+        return new UserRequestState(topic, Integer.valueOf(partition), Long.valueOf(offset));
+    }
+
+    /**
+     * 생성 결과를 저장합니다. 주어진 커넥션을 사용하므로, 파이프라인 안에서 호출할 수 있습니다.
+     *
+     * @param connection Redis 커넥션
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param message 생성 결과 원본
+     */
+    public void saveMessage(RedisConnection connection, String stateKey, byte[] message) {
+        byte[] key = STRING.serialize(stateKey);
+        connection.hashCommands().hSet(key, STRING.serialize(MESSAGE), message);
+        connection.keyCommands().pExpire(key, stateTtlMillis);
+    }
+
+    /**
+     * 문제 생성 결과를 저장하고, 같은 결과를 해설과 합칠 문제 데이터로도 저장합니다.
+     * 클라이언트는 문제를 다시 올리지 않고 {@link hpclab.kcsatspringquestion.questionGenerator.dto.QuestionHandle}만으로 해설 생성을 요청할 수 있습니다.
+     * 이전 문제 데이터에 발급한 식별값은 삭제합니다.
+     * 주어진 커넥션을 사용하므로, 파이프라인 안에서 호출할 수 있습니다.
+     *
+     * @param connection Redis 커넥션
+     * @param stateKey 문제 요청 상태 Hash 키
+     * @param message 문제 생성 결과 원본
+     */
+    public void saveQuestion(RedisConnection connection, String stateKey, byte[] message) {
+        byte[] key = STRING.serialize(stateKey);
+        connection.hashCommands().hMSet(key, Map.of(STRING.serialize(MESSAGE), message, STRING.serialize(DATA), message));
+        connection.hashCommands().hDel(key, STRING.serialize(HANDLE));
+        connection.keyCommands().pExpire(key, stateTtlMillis);
+    }
+
+    /**
+     * 생성을 맡았던 요청의 캐시 키를 꺼내고 삭제합니다. 조회와 삭제는 하나의 파이프라인으로 전송됩니다.
+     *
+     * @param stateKeys 생성 결과를 받은 사용자 요청 상태 Hash 키 목록
+     * @return 사용자 요청 상태 Hash 키별 캐시 키. 캐시 키가 없는 요청은 포함되지 않습니다.
+     */
+    public Map<String, String> takeCacheKeys(Collection<String> stateKeys) {
+        List<String> keys = List.copyOf(stateKeys);
+        byte[] field = STRING.serialize(CACHE_KEY);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String stateKey : keys) {
+                connection.hashCommands().hGet(STRING.serialize(stateKey), field);
+                connection.hashCommands().hDel(STRING.serialize(stateKey), field);
+            }
+            return null;
+        }, STRING);
+
+        Map<String, String> cacheKeys = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (results.get(2 * i) instanceof String cacheKey) {
+                cacheKeys.put(keys.get(i), cacheKey);
+            }
+        }
+        return cacheKeys;
+    }
+
+    /**
+     * 저장된 생성 결과를 꺼내고 삭제합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @return 생성 결과 원본. 아직 저장되지 않았다면 빈 Optional을 반환합니다.
+     */
+    public Optional<byte[]> takeMessage(String stateKey) {
+        return Optional.ofNullable(redisTemplate.execute(TAKE_MESSAGE, STRING, RedisSerializer.byteArray(), List.of(stateKey)));
+    }
+
+    /**
+     * 저장된 문제 생성 결과를 꺼내고 삭제합니다. 결과를 꺼냈다면 주어진 식별값을 문제 데이터의 식별값으로 함께 저장합니다.
+     *
+     * @param stateKey 문제 요청 상태 Hash 키
+     * @param handle 꺼낸 문제에 발급할 식별값
+     * @return 문제 생성 결과 원본. 아직 저장되지 않았다면 빈 Optional을 반환합니다.
+     */
+    public Optional<byte[]> takeQuestion(String stateKey, String handle) {
+        return Optional.ofNullable(redisTemplate.execute(TAKE_MESSAGE, STRING, RedisSerializer.byteArray(), List.of(stateKey), handle));
+    }
+
+    /**
+     * 꺼냈지만 클라이언트에 전달하지 못한 생성 결과를 되돌립니다.
+     * 그 사이 새 결과가 저장되었다면 새 결과를 유지합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param message 생성 결과 원본
+     */
+    public void restoreMessage(String stateKey, byte[] message) {
+        byte[] key = STRING.serialize(stateKey);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hSetNX(key, STRING.serialize(MESSAGE), message);
+            connection.keyCommands().pExpire(key, stateTtlMillis);
+            return null;
+        });
+    }
+
+    /**
+     * 해설과 합칠 문제 데이터를 저장합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @param data 문제 데이터(JSON)
+     */
+    public void saveData(String stateKey, String data) {
+        byte[] key = STRING.serialize(stateKey);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hSet(key, STRING.serialize(DATA), STRING.serialize(data));
+            connection.hashCommands().hDel(key, STRING.serialize(HANDLE));
+            connection.keyCommands().pExpire(key, stateTtlMillis);
+            return null;
+        });
+    }
+
+    /**
+     * 저장된 문제 데이터를 조회합니다.
+     *
+     * @param stateKey 사용자 요청 상태 Hash 키
+     * @return 문제 데이터(JSON). 저장되지 않았다면 빈 Optional을 반환합니다.
+     */
+    public Optional<String> findData(String stateKey) {
+        byte[] data = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.hashCommands().hGet(STRING.serialize(stateKey), STRING.serialize(DATA)));
+
+        return Optional.ofNullable(STRING.deserialize(data));
+    }
+
+    /**
+     * 식별값이 가리키는 문제 데이터를 조회합니다. 문제 데이터와 식별값은 하나의 HMGET으로 함께 조회합니다.
+     *
+     * @param stateKey 문제 요청 상태 Hash 키
+     * @param handle 클라이언트가 보낸 문제 식별값
+     * @return 문제 데이터(JSON). 저장된 데이터가 없거나, 식별값이 저장된 데이터에 발급한 값이 아니라면 빈 Optional을 반환합니다.
+     */
+    public Optional<String> findDataByHandle(String stateKey, String handle) {
+        List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.hashCommands().hMGet(STRING.serialize(stateKey), STRING.serialize(DATA), STRING.serialize(HANDLE)));
+
+        if (values == null || handle == null || !handle.equals(STRING.deserialize(values.get(1)))) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(STRING.deserialize(values.get(0)));
+    }
+}
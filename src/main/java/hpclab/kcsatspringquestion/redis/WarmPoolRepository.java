@@ -0,0 +1,122 @@
+package hpclab.kcsatspringquestion.redis;
+
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static hpclab.kcsatspringquestion.redis.UserRequestStateRepository.STRING;
+
+/**
+ * 미리 만들어 둔 문제(해설 포함) 목록을 문제 유형별 Redis List로 관리하는 클래스입니다.
+ *
+ * <p>목록을 채울 때는 생성 중인 문제 수를 함께 기록하여, 여러 서버가 동시에 채워도 목표 크기를 넘지 않도록 합니다.
+ * 생성 중인 문제 수와 해설을 기다리는 문제는 {@code question.pool.pending-ttl-ms} 동안 보관되므로,
+ * 생성 결과를 받지 못한 요청이 있어도 시간이 지나면 다시 채웁니다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmPoolRepository {
+
+    static final RedisScript<Long> RESERVE_POOL =
+            RedisScript.of(new ClassPathResource("redis/reserve-pool.lua"), Long.class);
+
+    /**
+     * 생성 중인 문제 수와 해설을 기다리는 문제를 보관하는 시간(ms)
+     */
+    @Value("${question.pool.pending-ttl-ms:600000}")
+    private long pendingTtlMillis;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 목록이 하한 아래로 내려갔다면 새로 생성할 문제 수를 예약합니다.
+     *
+     * @param type 문제 유형
+     * @param lowWatermark 목록을 채우기 시작하는 하한
+     * @param targetSize 목표 크기
+     * @param maxCount 이번에 생성할 수 있는 최대 수
+     * @return 새로 생성할 문제 수
+     */
+    public int reserve(QuestionType type, int lowWatermark, int targetSize, int maxCount) {
+        Long count = redisTemplate.execute(RESERVE_POOL, STRING, null,
+                List.of(RedisKeyUtil.questionPool(type.name()), RedisKeyUtil.questionPoolPending(type.name())),
+                String.valueOf(lowWatermark), String.valueOf(targetSize), String.valueOf(maxCount), String.valueOf(pendingTtlMillis));
+
+        return count == null ? 0 : count.intValue();
+    }
+
+    /**
+     * 생성에 실패한 문제의 예약을 취소합니다.
+     *
+     * @param type 문제 유형
+     */
+    public void release(QuestionType type) {
+        redisTemplate.opsForValue().decrement(RedisKeyUtil.questionPoolPending(type.name()));
+    }
+
+    /**
+     * 해설 생성을 기다리는 문제를 저장합니다.
+     *
+     * @param itemId 미리 만드는 문제 식별자
+     * @param question 생성된 문제(JSON)
+     */
+    public void saveItem(String itemId, String question) {
+        redisTemplate.opsForValue().set(RedisKeyUtil.questionPoolItem(itemId), question, Duration.ofMillis(pendingTtlMillis));
+    }
+
+    /**
+     * 해설 생성을 기다리던 문제를 꺼내고 삭제합니다.
+     *
+     * @param itemId 미리 만드는 문제 식별자
+     * @return 생성된 문제(JSON). 보관 시간이 지났다면 빈 Optional을 반환합니다.
+     */
+    public Optional<String> takeItem(String itemId) {
+        return Optional.ofNullable(redisTemplate.opsForValue().getAndDelete(RedisKeyUtil.questionPoolItem(itemId)));
+    }
+
+    /**
+     * 완성된 문제를 목록에 추가하고, 생성 중인 문제 수를 줄입니다. 두 명령은 하나의 파이프라인으로 전송됩니다.
+     *
+     * @param type 문제 유형
+     * @param entry 완성된 문제와 해설(JSON)
+     */
+    public void push(QuestionType type, String entry) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.listCommands().rPush(STRING.serialize(RedisKeyUtil.questionPool(type.name())), STRING.serialize(entry));
+            connection.stringCommands().decr(STRING.serialize(RedisKeyUtil.questionPoolPending(type.name())));
+            return null;
+        });
+    }
+
+    /**
+     * 목록에서 가장 먼저 만든 문제를 꺼냅니다.
+     * {@link #push}와 같이 직렬화 없이 문자열 그대로 꺼냅니다.
+     *
+     * @param type 문제 유형
+     * @return 완성된 문제와 해설(JSON). 목록이 비어 있다면 빈 Optional을 반환합니다.
+     */
+    public Optional<String> take(QuestionType type) {
+        byte[] entry = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.listCommands().lPop(STRING.serialize(RedisKeyUtil.questionPool(type.name()))));
+        return Optional.ofNullable(STRING.deserialize(entry));
+    }
+
+    /**
+     * 모든 유형의 목록을 비웁니다. Definition이 바뀌어 미리 만든 문제를 더 이상 사용할 수 없을 때 사용합니다.
+     */
+    public void clear() {
+        redisTemplate.delete(Arrays.stream(QuestionType.values())
+                .map(type -> RedisKeyUtil.questionPool(type.name()))
+                .toList());
+    }
+}
@@ -0,0 +1,17 @@
+package hpclab.kcsatspringquestion.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드 파라미터에 요청 회원의 email을 주입받기 위한 어노테이션입니다.
+ * Authorization 헤더의 JWT에서 userEmail claim을 꺼내 주입합니다.
+ *
+ * @see LoginEmailArgumentResolver
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LoginEmail {
+}
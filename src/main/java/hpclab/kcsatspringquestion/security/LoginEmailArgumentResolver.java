@@ -0,0 +1,42 @@
+package hpclab.kcsatspringquestion.security;
+
+import hpclab.kcsatspringquestion.util.JWTUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * {@link LoginEmail}이 붙은 파라미터에 요청 회원의 email을 주입하는 클래스입니다.
+ *
+ * <p>JWT 검증 결과는 {@link JWTUtil}에서 캐시되므로, 같은 토큰으로 반복 요청하면 서명 검증 없이 email을 꺼냅니다.</p>
+ */
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class LoginEmailArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final JWTUtil jwtUtil;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(LoginEmail.class) && String.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public String resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        String token = webRequest.getHeader(HttpHeaders.AUTHORIZATION);
+        if (token == null) {
+            throw new MissingRequestHeaderException(HttpHeaders.AUTHORIZATION, parameter);
+        }
+
+        return jwtUtil.getUserEmail(token);
+    }
+}
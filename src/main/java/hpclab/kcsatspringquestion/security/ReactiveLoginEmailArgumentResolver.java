@@ -0,0 +1,41 @@
+package hpclab.kcsatspringquestion.security;
+
+import hpclab.kcsatspringquestion.util.JWTUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.server.MissingRequestValueException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux 컨트롤러에서 {@link LoginEmail}이 붙은 파라미터에 요청 회원의 email을 주입하는 클래스입니다. (reactive 프로필)
+ *
+ * <p>JWT 검증 결과는 {@link JWTUtil}에서 캐시되므로, 반복 요청(polling)은 이벤트 루프에서 서명 검증 없이 바로 처리됩니다.</p>
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveLoginEmailArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final JWTUtil jwtUtil;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(LoginEmail.class) && String.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Mono<Object> resolveArgument(MethodParameter parameter, BindingContext bindingContext, ServerWebExchange exchange) {
+        String token = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (token == null) {
+            return Mono.error(new MissingRequestValueException(HttpHeaders.AUTHORIZATION, String.class, "header", parameter));
+        }
+
+        return Mono.fromCallable(() -> jwtUtil.getUserEmail(token));
+    }
+}
@@ -0,0 +1,46 @@
+package hpclab.kcsatspringquestion.security;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+/**
+ * WebFlux용 Spring Security 설정 클래스입니다. (reactive 프로필)
+ * {@link SecurityConfig}와 같은 보안 설정을 WebFlux 필터 체인으로 구성합니다.
+ */
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    /**
+     * Password 인코더 정의 Bean입니다.
+     * @return BCryptPasswordEncoder 사용.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    /**
+     * Spring Security의 HTTP 보안 설정을 구성하는 Bean입니다.
+     *
+     * - CSRF 비활성화
+     * - 모든 요청 허용 (회원 정보는 {@link LoginEmail} 파라미터에서 JWT로 확인)
+     *
+     * @param http ServerHttpSecurity 객체
+     * @return SecurityWebFilterChain 보안 필터 체인
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchange -> exchange.anyExchange().permitAll())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package hpclab.kcsatspringquestion.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * Spring WebFlux 설정 클래스입니다. (reactive 프로필)
+ */
+@Configuration
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    private final ReactiveLoginEmailArgumentResolver reactiveLoginEmailArgumentResolver;
+
+    /**
+     * Tomcat도 classpath에 있으므로, 이벤트 루프 기반의 Netty 서버를 사용하도록 명시합니다.
+     *
+     * @return NettyReactiveWebServerFactory
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * {@link LoginEmail} 파라미터를 처리하는 리졸버를 등록합니다.
+     */
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(reactiveLoginEmailArgumentResolver);
+    }
+}
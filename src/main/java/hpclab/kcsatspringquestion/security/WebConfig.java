@@ -0,0 +1,28 @@
+package hpclab.kcsatspringquestion.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC 설정 클래스입니다.
+ */
+@Configuration
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final LoginEmailArgumentResolver loginEmailArgumentResolver;
+
+    /**
+     * {@link LoginEmail} 파라미터를 처리하는 리졸버를 등록합니다.
+     */
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(loginEmailArgumentResolver);
+    }
+}
@@ -0,0 +1,185 @@
+package hpclab.kcsatspringquestion.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 최대 크기와 항목별 만료 시각을 가지는 메모리 캐시 클래스입니다.
+ *
+ * <p>키의 hash로 나눈 여러 구간(segment)에 나누어 저장하며, 구간마다 따로 lock을 잡으므로
+ * 여러 스레드가 서로 다른 키를 조회할 때 하나의 lock을 두고 경쟁하지 않습니다.</p>
+ *
+ * <p>구간이 가득 찬 상태에서 새 항목을 저장하면 그 구간에서 가장 오래 사용되지 않은 항목 하나만 제거합니다(LRU).
+ * 만료 시각이 지난 항목은 조회 시점에 제거되며, 조회되지 않는 만료 항목은 구간마다 {@code sweepIntervalMillis}에 한 번,
+ * 저장하는 시점에 한꺼번에 제거합니다. 따라서 저장할 때마다 전체 항목을 훑지 않습니다.</p>
+ *
+ * @param <K> 키 타입
+ * @param <V> 값 타입
+ */
+public class ExpiringCache<K, V> {
+
+    /**
+     * 최대 구간 수입니다. (2의 거듭제곱)
+     */
+    private static final int MAX_SEGMENTS = 16;
+
+    /**
+     * 구간 하나가 가지는 최소 크기입니다. 최대 크기가 작으면 구간 수를 줄여 LRU 순서를 최대한 지킵니다.
+     */
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private static final long DEFAULT_SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final Segment<K, V>[] segments;
+    private final long sweepIntervalMillis;
+
+    public ExpiringCache(int maxSize) {
+        this(maxSize, DEFAULT_SWEEP_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param maxSize 최대 항목 수
+     * @param sweepIntervalMillis 구간마다 만료된 항목을 한꺼번에 제거하는 최소 간격(ms)
+     */
+    @SuppressWarnings("unchecked")
+    public ExpiringCache(int maxSize, long sweepIntervalMillis) {
+        int count = segmentCount(maxSize);
+        int segmentSize = Math.max(1, maxSize / count);
+
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(segmentSize);
+        }
+        this.sweepIntervalMillis = sweepIntervalMillis;
+    }
+
+    /**
+     * 만료되지 않은 값을 조회합니다.
+     *
+     * @param key 키
+     * @return 값. 없거나 만료되었다면 null을 반환합니다.
+     */
+    public V get(K key) {
+        long now = System.currentTimeMillis();
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() <= now) {
+                segment.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    /**
+     * 값을 저장합니다. 이미 만료된 시각이 주어지면 저장하지 않습니다.
+     *
+     * @param key 키
+     * @param value 값
+     * @param expiresAt 만료 시각 (epoch ms)
+     */
+    public void put(K key, V value, long expiresAt) {
+        long now = System.currentTimeMillis();
+        if (expiresAt <= now) {
+            return;
+        }
+
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            // 구간이 가득 찼다면 LinkedHashMap이 가장 오래 사용되지 않은 항목 하나만 제거합니다.
+            segment.put(key, new Entry<>(value, expiresAt));
+            if (now >= segment.nextSweepAt) {
+                segment.values().removeIf(entry -> entry.expiresAt() <= now);
+                segment.nextSweepAt = now + sweepIntervalMillis;
+            }
+        }
+    }
+
+    /**
+     * 값이 있으면 반환하고, 없으면 {@code loader}로 만들어 저장한 후 반환합니다.
+     * {@code loader}는 임계 구역 밖에서 실행되므로, 같은 키를 동시에 여러 번 만들 수 있습니다.
+     *
+     * @param key 키
+     * @param loader 값을 만드는 함수
+     * @param expiresAt 만들어진 값의 만료 시각을 정하는 함수
+     * @return 값
+     */
+    public V get(K key, Function<K, V> loader, ToLongFunction<V> expiresAt) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = loader.apply(key);
+        put(key, value, expiresAt.applyAsLong(value));
+        return value;
+    }
+
+    /**
+     * 값을 삭제합니다.
+     *
+     * @param key 키
+     */
+    public void remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    /**
+     * 저장된 항목 수를 반환합니다. 아직 제거되지 않은 만료 항목도 포함합니다.
+     *
+     * @return 항목 수
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    /**
+     * 구간마다 최소 크기를 지킬 수 있는 가장 큰 2의 거듭제곱 구간 수를 구합니다.
+     */
+    private static int segmentCount(int maxSize) {
+        int count = Integer.highestOneBit(Math.max(1, maxSize / MIN_SEGMENT_SIZE));
+        return Math.min(count, MAX_SEGMENTS);
+    }
+
+    /**
+     * 접근 순서를 유지하며, 최대 크기를 넘으면 가장 오래 사용되지 않은 항목을 제거하는 구간입니다.
+     */
+    private static class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+
+        private final int maxSize;
+        private long nextSweepAt;
+
+        Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
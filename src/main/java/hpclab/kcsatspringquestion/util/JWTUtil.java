@@ -1,6 +1,7 @@
 package hpclab.kcsatspringquestion.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -9,9 +10,17 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
 
 /**
  * JWT 토큰 설정 관련 클래스입니다.
+ *
+ * <p>검증이 끝난 토큰의 claim은 토큰 해시를 키로 캐시합니다. 같은 토큰으로 반복해서 요청(polling)하면
+ * 서명 검증 없이 캐시된 claim을 반환하며, 캐시는 토큰 만료 시각과 {@code jwt.cache.ttl-ms} 중 이른 시각에 만료됩니다.</p>
  */
 @Component
 public class JWTUtil {
@@ -19,14 +28,35 @@ public class JWTUtil {
     @Value("${jwt.secret}")
     private String secretKey;
 
+    /**
+     * 검증된 claim 캐시의 최대 항목 수
+     */
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    /**
+     * 검증된 claim을 캐시하는 최대 시간(ms)
+     */
+    @Value("${jwt.cache.ttl-ms:300000}")
+    private long cacheTtlMillis;
+
     private SecretKey key;
 
+    /**
+     * 미리 만들어 둔 JWT 파서입니다. 파서는 상태가 없으므로 여러 스레드에서 함께 사용합니다.
+     */
+    private JwtParser parser;
+
+    private ExpiringCache<String, Claims> claimsCache;
+
     @PostConstruct
     private void init() {
         if (secretKey == null || secretKey.isBlank()) {
             throw new IllegalArgumentException("JWT secret must not be null or blank");
         }
         this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.claimsCache = new ExpiringCache<>(cacheMaxSize);
     }
 
     public static final String USER_EMAIL = "userEmail";
@@ -36,10 +66,37 @@ public class JWTUtil {
     // claim 반환 메서드
     public Claims getClaims(String token) {
         String tokenWithoutHeader = token.replace("Bearer ", "");
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(tokenWithoutHeader)
-                .getPayload();
+        return claimsCache.get(digest(tokenWithoutHeader),
+                k -> parser.parseSignedClaims(tokenWithoutHeader).getPayload(),
+                this::cacheExpiresAt);
+    }
+
+    // userEmail 반환 메서드
+    public String getUserEmail(String token) {
+        return getClaims(token).get(USER_EMAIL).toString();
+    }
+
+    // role 반환 메서드
+    public String getUserRole(String token) {
+        Object role = getClaims(token).get(ROLE);
+        return role == null ? null : role.toString();
+    }
+
+    private long cacheExpiresAt(Claims claims) {
+        long expiresAt = System.currentTimeMillis() + cacheTtlMillis;
+        Date expiration = claims.getExpiration();
+        return expiration == null ? expiresAt : Math.min(expiresAt, expiration.getTime());
+    }
+
+    /**
+     * 캐시 키로 사용할 토큰 해시입니다. 토큰 원문을 메모리에 보관하지 않기 위해 사용합니다.
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,23 @@
+-- 할당된 Topic을 확인하고 중복 요청 lock을 획득합니다.
+-- 반환값: {'OK', Topic} / {'NO_TOPIC'} / {'LOCKED'}
+-- KEYS[1]: 사용자 요청 상태 Hash
+-- ARGV[1]: 현재 시각(ms), ARGV[2]: lock 만료 시각(ms), ARGV[3]: Hash 보관 시간(ms)
+-- ARGV[4]: (선택) 생성 결과를 캐시에 저장할 요청의 캐시 키
+local state = redis.call('HMGET', KEYS[1], 'topic', 'topicExpiresAt', 'lockExpiresAt')
+local now = tonumber(ARGV[1])
+
+if not state[1] or tonumber(state[2] or '0') <= now then
+    return {'NO_TOPIC'}
+end
+if tonumber(state[3] or '0') > now then
+    return {'LOCKED'}
+end
+
+-- 이전 요청의 Partition, Offset, 캐시 키, 자동 요청 표시는 새 요청에 쓰이지 않도록 지웁니다.
+redis.call('HSET', KEYS[1], 'lockExpiresAt', ARGV[2])
+redis.call('HDEL', KEYS[1], 'partition', 'offset', 'cacheKey', 'autoRequest')
+if ARGV[4] then
+    redis.call('HSET', KEYS[1], 'cacheKey', ARGV[4])
+end
+redis.call('PEXPIRE', KEYS[1], ARGV[3])
+return {'OK', state[1]}
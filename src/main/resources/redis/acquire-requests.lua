@@ -0,0 +1,30 @@
+-- 여러 사용자의 생성 요청 Topic을 할당하고 중복 요청 lock을 획득합니다.
+-- 사용자마다 assign-topic.lua(이미 할당된 Topic이 있다면 그대로 사용)와 acquire-request.lua를 차례로 실행한 것과 같습니다.
+-- 반환값: 사용자마다 lock을 획득했다면 할당된 Topic, 이미 lock이 걸려 있다면 빈 문자열
+-- KEYS[i]: 사용자 요청 상태 Hash
+-- ARGV[1]: 현재 시각(ms), ARGV[2]: Topic 만료 시각(ms), ARGV[3]: lock 만료 시각(ms), ARGV[4]: Hash 보관 시간(ms)
+-- ARGV[4 + i]: KEYS[i]에 Topic이 없을 때 할당할 Topic
+local now = tonumber(ARGV[1])
+local result = {}
+
+for i, key in ipairs(KEYS) do
+    local state = redis.call('HMGET', key, 'topic', 'topicExpiresAt', 'lockExpiresAt')
+    local topic = state[1]
+
+    if not topic or tonumber(state[2] or '0') <= now then
+        topic = ARGV[4 + i]
+        redis.call('HSET', key, 'topic', topic, 'topicExpiresAt', ARGV[2])
+    end
+
+    if tonumber(state[3] or '0') > now then
+        result[i] = ''
+    else
+        -- 이전 요청의 Partition, Offset, 캐시 키, 자동 요청 표시는 새 요청에 쓰이지 않도록 지웁니다.
+        redis.call('HSET', key, 'lockExpiresAt', ARGV[3])
+        redis.call('HDEL', key, 'partition', 'offset', 'cacheKey', 'autoRequest')
+        result[i] = topic
+    end
+    redis.call('PEXPIRE', key, ARGV[4])
+end
+
+return result
@@ -0,0 +1,11 @@
+-- 사용자에게 생성 요청 Topic을 할당합니다. 아직 만료되지 않은 Topic이 있다면 할당하지 않습니다.
+-- KEYS[1]: 사용자 요청 상태 Hash
+-- ARGV[1]: 할당할 Topic, ARGV[2]: 현재 시각(ms), ARGV[3]: Topic 만료 시각(ms), ARGV[4]: Hash 보관 시간(ms)
+local expiresAt = tonumber(redis.call('HGET', KEYS[1], 'topicExpiresAt') or '0')
+if expiresAt > tonumber(ARGV[2]) then
+    return 0
+end
+
+redis.call('HSET', KEYS[1], 'topic', ARGV[1], 'topicExpiresAt', ARGV[3])
+redis.call('PEXPIRE', KEYS[1], ARGV[4])
+return 1
@@ -0,0 +1,23 @@
+-- 사용자가 아직 받지 않은 지문 슬롯 하나를 골라, 받은 것으로 표시합니다.
+-- 무작위 슬롯이 이미 표시되어 있다면 그 뒤(없다면 처음부터)의 첫 번째 빈 슬롯을 고르고,
+-- 모든 슬롯을 받았다면 비트맵을 비우고 다시 시작합니다.
+-- KEYS[1]: 사용자가 받은 지문 비트맵
+-- ARGV[1]: 지문 슬롯 수, ARGV[2]: 무작위 시작 슬롯, ARGV[3]: 비트맵 보관 시간(ms)
+local size = tonumber(ARGV[1])
+local slot = tonumber(ARGV[2])
+
+if redis.call('GETBIT', KEYS[1], slot) == 1 then
+    local start = slot
+    slot = redis.call('BITPOS', KEYS[1], 0, math.floor(start / 8))
+    if slot < 0 or slot >= size then
+        slot = redis.call('BITPOS', KEYS[1], 0)
+    end
+    if slot < 0 or slot >= size then
+        redis.call('DEL', KEYS[1])
+        slot = start
+    end
+end
+
+redis.call('SETBIT', KEYS[1], slot, 1)
+redis.call('PEXPIRE', KEYS[1], ARGV[3])
+return slot
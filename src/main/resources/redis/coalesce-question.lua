@@ -0,0 +1,21 @@
+-- 같은 문제 생성 요청의 결과가 캐시에 있으면 사용자 요청 상태 Hash에 바로 저장하고,
+-- (이전 결과에 발급한 식별값은 새 결과를 가리키지 않도록 지웁니다.)
+-- 없다면 이 요청이 생성을 맡을지(LEAD), 이미 생성 중인 요청의 결과를 기다릴지(WAIT) 정합니다.
+-- 반환값: {'HIT', 결과} / {'LEAD'} / {'WAIT'}
+-- KEYS[1]: 결과 캐시, KEYS[2]: 생성 중 표시, KEYS[3]: 결과를 기다리는 사용자 Set, KEYS[4]: 사용자 요청 상태 Hash
+-- ARGV[1]: email, ARGV[2]: 생성 중 표시 보관 시간(ms), ARGV[3]: Hash 보관 시간(ms)
+local cached = redis.call('GET', KEYS[1])
+if cached then
+    redis.call('HSET', KEYS[4], 'message', cached, 'data', cached)
+    redis.call('HDEL', KEYS[4], 'handle')
+    redis.call('PEXPIRE', KEYS[4], ARGV[3])
+    return {'HIT', cached}
+end
+
+if redis.call('SET', KEYS[2], ARGV[1], 'NX', 'PX', ARGV[2]) then
+    return {'LEAD'}
+end
+
+redis.call('SADD', KEYS[3], ARGV[1])
+redis.call('PEXPIRE', KEYS[3], ARGV[2])
+return {'WAIT'}
@@ -0,0 +1,7 @@
+-- 생성된 결과를 캐시에 저장하고, 같은 요청의 결과를 기다리던 사용자 목록을 꺼냅니다.
+-- KEYS[1]: 결과 캐시, KEYS[2]: 생성 중 표시, KEYS[3]: 결과를 기다리는 사용자 Set
+-- ARGV[1]: 생성 결과, ARGV[2]: 캐시 보관 시간(ms)
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+local waiters = redis.call('SMEMBERS', KEYS[3])
+redis.call('DEL', KEYS[2], KEYS[3])
+return waiters
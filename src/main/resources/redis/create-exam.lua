@@ -0,0 +1,11 @@
+-- 회원별 모의고사 생성 lock을 잡고, 모의고사 결과 Hash를 만듭니다.
+-- 반환값: 1 생성 / 0 이미 생성 요청 중인 모의고사가 있음
+-- KEYS[1]: 모의고사 결과 Hash, KEYS[2]: 회원별 모의고사 생성 lock
+-- ARGV[1]: email, ARGV[2]: 문제 수, ARGV[3]: Hash 보관 시간(ms), ARGV[4]: lock 유지 시간(ms)
+if not redis.call('SET', KEYS[2], KEYS[1], 'NX', 'PX', ARGV[4]) then
+    return 0
+end
+
+redis.call('HSET', KEYS[1], 'email', ARGV[1], 'total', ARGV[2])
+redis.call('PEXPIRE', KEYS[1], ARGV[3])
+return 1
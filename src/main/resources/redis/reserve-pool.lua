@@ -0,0 +1,18 @@
+-- 미리 만든 문제 목록이 하한 아래로 내려갔다면, 새로 생성할 문제 수를 예약합니다.
+-- 여러 서버가 함께 실행해도 (목록 크기 + 생성 중인 수)가 목표를 넘지 않습니다.
+-- 반환값: 새로 생성할 문제 수 (0이면 채우지 않습니다.)
+-- KEYS[1]: 미리 만든 문제 List, KEYS[2]: 생성 중인 문제 수
+-- ARGV[1]: 하한, ARGV[2]: 목표 크기, ARGV[3]: 이번에 생성할 수 있는 최대 수, ARGV[4]: 생성 중인 문제 수 보관 시간(ms)
+local pending = math.max(tonumber(redis.call('GET', KEYS[2]) or '0'), 0)
+local stock = redis.call('LLEN', KEYS[1]) + pending
+if stock >= tonumber(ARGV[1]) then
+    return 0
+end
+
+local count = math.min(tonumber(ARGV[2]) - stock, tonumber(ARGV[3]))
+if count <= 0 then
+    return 0
+end
+
+redis.call('SET', KEYS[2], pending + count, 'PX', ARGV[4])
+return count
@@ -0,0 +1,10 @@
+-- 모의고사 문제 하나의 결과를 저장합니다. 보관 시간이 지나 삭제된 모의고사라면 다시 만들지 않습니다.
+-- 반환값: 1 저장 / 0 모의고사 없음
+-- KEYS[1]: 모의고사 결과 Hash
+-- ARGV[1]: 필드, ARGV[2]: 값
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return 0
+end
+
+redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+return 1
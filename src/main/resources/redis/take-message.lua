@@ -0,0 +1,11 @@
+-- 저장된 생성 결과를 꺼내고 삭제합니다. (GETDEL)
+-- KEYS[1]: 사용자 요청 상태 Hash
+-- ARGV[1]: (선택) 꺼낸 문제에 발급할 식별값. 결과를 꺼냈을 때만 함께 저장합니다.
+local message = redis.call('HGET', KEYS[1], 'message')
+if message then
+    redis.call('HDEL', KEYS[1], 'message')
+    if ARGV[1] then
+        redis.call('HSET', KEYS[1], 'handle', ARGV[1])
+    end
+end
+return message
@@ -0,0 +1,141 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.kafka.producer.ExplanationProducer;
+import hpclab.kcsatspringquestion.kafka.producer.PayloadRegistry;
+import hpclab.kcsatspringquestion.kafka.producer.ProducedOffset;
+import hpclab.kcsatspringquestion.kafka.producer.ProducerCallbackExecutor;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionHandle;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionResponseRawForm;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import hpclab.kcsatspringquestion.redis.UserRequestStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AutoExplanationRequesterTest {
+
+    private static final String TOPIC = "ExplanationRequest0";
+    private static final String QUESTION = "{\"questionType\":\"TITLE\",\"title\":\"제목\",\"mainText\":\"지문\",\"choices\":[\"1\",\"2\"],\"answer\":\"1\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExplanationProducer explanationProducer;
+    private UserRequestStateRepository userRequestStateRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private ProducerCallbackExecutor producerCallbackExecutor;
+    private AutoExplanationRequester requester;
+
+    @BeforeEach
+    void setUp() {
+        explanationProducer = mock(ExplanationProducer.class);
+        when(explanationProducer.getExplanationTopic()).thenReturn(TOPIC);
+        userRequestStateRepository = mock(UserRequestStateRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+
+        // 전송 결과의 후처리를 바로 실행하고, 실행을 맡긴 횟수를 확인합니다.
+        producerCallbackExecutor = mock(ProducerCallbackExecutor.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(producerCallbackExecutor).execute(any(Runnable.class));
+
+        requester = new AutoExplanationRequester(explanationProducer, mock(PayloadRegistry.class), userRequestStateRepository,
+                objectMapper, eventPublisher, producerCallbackExecutor);
+        ReflectionTestUtils.setField(requester, "enabled", true);
+    }
+
+    @Test
+    void 자동_요청을_사용하지_않으면_아무것도_요청하지_않는다() {
+        ReflectionTestUtils.setField(requester, "enabled", false);
+
+        requester.request(Map.of("user@test.com", bytes(QUESTION)));
+
+        verifyNoInteractions(explanationProducer, userRequestStateRepository, eventPublisher, producerCallbackExecutor);
+    }
+
+    @Test
+    void 해설을_요청하고_요청_Offset과_문제_digest를_저장한_후_알린다() throws IOException {
+        ProducedOffset produced = new ProducedOffset(1, 42L);
+        when(explanationProducer.acquireRequests(anyCollection(), eq(Duration.ofSeconds(70)))).thenReturn(Map.of("user@test.com", TOPIC));
+        when(explanationProducer.sendAcquired(anyString(), eq("user@test.com"), eq(TOPIC))).thenReturn(CompletableFuture.completedFuture(produced));
+        String state = RedisKeyUtil.explanationState("user@test.com");
+
+        requester.request(Map.of("user@test.com", bytes(QUESTION)));
+
+        String tag = QuestionHandle.digest(objectMapper.readValue(QUESTION, QuestionResponseRawForm.class));
+        verify(producerCallbackExecutor).execute(any(Runnable.class));
+        verify(userRequestStateRepository).saveAutoRequest(state, 1, 42L, tag);
+        verify(eventPublisher).publishEvent(new RequestProducedEvent(state, produced));
+    }
+
+    @Test
+    void 이미_진행_중인_요청이_있거나_문제를_읽을_수_없는_사용자는_건너뛰고_lock은_한_번에_획득한다() {
+        // busy@test.com은 이미 lock이 걸려 있어 획득 결과에 포함되지 않습니다.
+        when(explanationProducer.acquireRequests(anyCollection(), eq(Duration.ofSeconds(70))))
+                .thenReturn(Map.of("user@test.com", TOPIC, "late@test.com", TOPIC));
+        when(explanationProducer.sendAcquired(anyString(), eq("user@test.com"), eq(TOPIC)))
+                .thenReturn(CompletableFuture.completedFuture(new ProducedOffset(0, 7L)));
+        when(explanationProducer.sendAcquired(anyString(), eq("late@test.com"), eq(TOPIC)))
+                .thenThrow(new ApiException(ErrorCode.MESSAGE_PROCESSING_ERROR));
+
+        Map<String, byte[]> questions = new LinkedHashMap<>();
+        questions.put("busy@test.com", bytes(QUESTION));
+        questions.put("broken@test.com", bytes("{\"choices\":\"1\"}"));
+        questions.put("user@test.com", bytes(QUESTION));
+        questions.put("late@test.com", bytes(QUESTION));
+
+        requester.request(questions);
+
+        ArgumentCaptor<Collection<String>> emails = ArgumentCaptor.captor();
+        verify(explanationProducer).acquireRequests(emails.capture(), eq(Duration.ofSeconds(70)));
+        assertThat(emails.getValue()).containsExactly("busy@test.com", "user@test.com", "late@test.com");
+        verify(explanationProducer, never()).sendAcquired(anyString(), eq("busy@test.com"), anyString());
+        verify(explanationProducer, never()).sendAcquired(anyString(), eq("broken@test.com"), anyString());
+        verify(producerCallbackExecutor, times(1)).execute(any(Runnable.class));
+        verify(userRequestStateRepository).saveAutoRequest(eq(RedisKeyUtil.explanationState("user@test.com")), eq(0), eq(7L), anyString());
+    }
+
+    @Test
+    void 전송에_실패하면_요청_Offset을_저장하지_않는다() {
+        when(explanationProducer.acquireRequests(anyCollection(), eq(Duration.ofSeconds(70)))).thenReturn(Map.of("user@test.com", TOPIC));
+        when(explanationProducer.sendAcquired(anyString(), eq("user@test.com"), eq(TOPIC)))
+                .thenReturn(CompletableFuture.failedFuture(new ApiException(ErrorCode.MESSAGE_SEND_TIMEOUT)));
+
+        requester.request(Map.of("user@test.com", bytes(QUESTION)));
+
+        verify(userRequestStateRepository, never()).saveAutoRequest(anyString(), anyInt(), anyLong(), anyString());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
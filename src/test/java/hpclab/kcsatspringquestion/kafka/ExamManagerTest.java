@@ -0,0 +1,214 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.kafka.producer.PayloadRegistry;
+import hpclab.kcsatspringquestion.kafka.producer.ProducerCallbackExecutor;
+import hpclab.kcsatspringquestion.kafka.producer.QuestionProducer;
+import hpclab.kcsatspringquestion.questionGenerator.dto.ExamProgressDto;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitKafkaForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitRawForm;
+import hpclab.kcsatspringquestion.redis.EmbeddedRedis;
+import hpclab.kcsatspringquestion.redis.ExamRepository;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 모의고사 요청과 결과 저장을 확인합니다. create-exam.lua와 save-exam-result.lua는 내장 Redis 서버에서 실행합니다.
+ */
+class ExamManagerTest {
+
+    private static final String EMAIL = "user@test.com";
+    private static final String TOPIC = "QuestionRequest0";
+
+    /**
+     * Kafka로 보낸 메시지 key 목록입니다.
+     */
+    private final List<String> sentKeys = Collections.synchronizedList(new ArrayList<>());
+
+    private RedisTemplate<String, String> redisTemplate;
+    private ProducerCallbackExecutor producerCallbackExecutor;
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private ExamRepository examRepository;
+    private ExamManager examManager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        redisTemplate = EmbeddedRedis.redisTemplate();
+
+        examRepository = new ExamRepository(redisTemplate);
+        ReflectionTestUtils.setField(examRepository, "ttlMillis", 3600000L);
+        ReflectionTestUtils.setField(examRepository, "lockMillis", 60000L);
+
+        kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            sentKeys.add(invocation.getArgument(1));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        QuestionProducer questionProducer = mock(QuestionProducer.class);
+        when(questionProducer.getQuestionTopic()).thenReturn(TOPIC);
+        PayloadRegistry payloadRegistry = mock(PayloadRegistry.class);
+        when(payloadRegistry.toPayload(any(QuestionSubmitKafkaForm.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // 전송 결과의 후처리를 바로 실행하고, 실행을 맡긴 횟수를 확인합니다.
+        producerCallbackExecutor = mock(ProducerCallbackExecutor.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(producerCallbackExecutor).execute(any(Runnable.class));
+
+        examManager = new ExamManager(kafkaTemplate, questionProducer, payloadRegistry, examRepository, new ObjectMapper(),
+                producerCallbackExecutor);
+        ReflectionTestUtils.setField(examManager, "maxSize", 3);
+    }
+
+    @Test
+    void 문제가_없거나_최대_문제_수를_넘는_요청은_거부한다() {
+        assertThat(List.of(
+                invalidExam(null),
+                invalidExam(List.of()),
+                invalidExam(rawForms(4))))
+                .containsOnly(ErrorCode.INVALID_EXAM_REQUEST);
+        assertThatCode(() -> examManager.validate(rawForms(3))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void 결과가_모두_저장되어야_완료로_표시하고_문제_번호_순서를_지킨다() {
+        String examId = ExamManager.newExamId();
+        assertThat(examRepository.create(examId, EMAIL, 3)).isTrue();
+
+        examManager.send(examId, forms(3)).join();
+
+        assertThat(sentKeys).containsExactlyInAnyOrder("exam:" + examId + ":0", "exam:" + examId + ":1", "exam:" + examId + ":2");
+        assertThat(sentKeys).allMatch(ExamManager::isExamKey);
+
+        examManager.onQuestions(Map.of("exam:" + examId + ":2", question("세 번째"), "exam:" + examId + ":0", question("첫 번째")));
+        ExamProgressDto progress = progress(examId);
+
+        assertThat(progress.getTotal()).isEqualTo(3);
+        assertThat(progress.getCompleted()).isEqualTo(2);
+        assertThat(progress.getFailed()).isZero();
+        assertThat(progress.isDone()).isFalse();
+        assertThat(progress.getQuestions()).hasSize(3);
+        assertThat(progress.getQuestions().get(0).getTitle()).isEqualTo("첫 번째");
+        assertThat(progress.getQuestions().get(1)).isNull();
+        assertThat(progress.getQuestions().get(2).getTitle()).isEqualTo("세 번째");
+
+        examManager.onQuestions(Map.of("exam:" + examId + ":1", question("두 번째")));
+
+        assertThat(progress(examId).isDone()).isTrue();
+        assertThat(progress(examId).getCompleted()).isEqualTo(3);
+    }
+
+    @Test
+    void 전송에_실패한_문제는_실패로_세고_나머지가_끝나면_완료로_표시한다() {
+        when(kafkaTemplate.send(anyString(), endsWith(":1"), anyString())).thenThrow(new IllegalStateException("broker down"));
+        String examId = ExamManager.newExamId();
+        examRepository.create(examId, EMAIL, 3);
+
+        examManager.send(examId, forms(3)).join();
+        examManager.onQuestions(Map.of("exam:" + examId + ":0", question("첫 번째"), "exam:" + examId + ":2", question("세 번째")));
+
+        ExamProgressDto progress = progress(examId);
+        assertThat(progress.getCompleted()).isEqualTo(2);
+        assertThat(progress.getFailed()).isEqualTo(1);
+        assertThat(progress.isDone()).isTrue();
+        assertThat(progress.getQuestions().get(1)).isNull();
+    }
+
+    @Test
+    void 모든_문제의_전송에_실패하면_요청이_실패한다() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        String examId = ExamManager.newExamId();
+        examRepository.create(examId, EMAIL, 2);
+
+        assertThatThrownBy(() -> examManager.send(examId, forms(2)).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ApiException.class);
+        verify(producerCallbackExecutor, times(2)).execute(any(Runnable.class));
+        assertThat(progress(examId).getFailed()).isEqualTo(2);
+        assertThat(progress(examId).isDone()).isTrue();
+    }
+
+    @Test
+    void 만료된_모의고사의_결과는_저장하지_않는다() {
+        String examId = ExamManager.newExamId();
+
+        examManager.onQuestions(Map.of("exam:" + examId + ":0", question("첫 번째")));
+
+        assertThat(redisTemplate.hasKey(RedisKeyUtil.exam(examId))).isFalse();
+        assertThatThrownBy(() -> progress(examId))
+                .isInstanceOf(ApiException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.EXAM_NOT_FOUND);
+    }
+
+    @Test
+    void 다른_회원의_모의고사는_조회할_수_없고_생성_lock이_있으면_새로_만들_수_없다() {
+        String examId = ExamManager.newExamId();
+        examRepository.create(examId, EMAIL, 1);
+
+        assertThatThrownBy(() -> examManager.toProgress(examId, "other@test.com", examRepository.find(examId)))
+                .isInstanceOf(ApiException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.ACCESS_DENIED);
+        assertThat(examRepository.create(ExamManager.newExamId(), EMAIL, 1)).isFalse();
+        assertThat(examRepository.create(ExamManager.newExamId(), "other@test.com", 1)).isTrue();
+        assertThat(redisTemplate.getExpire(RedisKeyUtil.examLock(EMAIL), TimeUnit.MILLISECONDS)).isPositive().isLessThanOrEqualTo(60000L);
+        assertThat(redisTemplate.getExpire(RedisKeyUtil.exam(examId), TimeUnit.MILLISECONDS)).isPositive().isLessThanOrEqualTo(3600000L);
+    }
+
+    private ExamProgressDto progress(String examId) {
+        return examManager.toProgress(examId, EMAIL, examRepository.find(examId));
+    }
+
+    private ErrorCode invalidExam(List<QuestionSubmitRawForm> questions) {
+        try {
+            examManager.validate(questions);
+            return null;
+        } catch (ApiException e) {
+            return e.getErrorCode();
+        }
+    }
+
+    private static List<QuestionSubmitRawForm> rawForms(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new QuestionSubmitRawForm("TITLE", null, null)).toList();
+    }
+
+    private static List<QuestionSubmitKafkaForm> forms(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new QuestionSubmitKafkaForm("TITLE", "Definition", "지문 " + i)).toList();
+    }
+
+    private static byte[] question(String title) {
+        return ("{\"questionType\":\"TITLE\",\"title\":\"" + title + "\",\"mainText\":\"지문\",\"choices\":[\"1\"],\"answer\":\"1\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
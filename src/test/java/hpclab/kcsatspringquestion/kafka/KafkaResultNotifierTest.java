@@ -0,0 +1,123 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class KafkaResultNotifierTest {
+
+    private static final String KEY = "kafka:user@test.com:question";
+
+    private KafkaResultNotifier notifier;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        notifier = new KafkaResultNotifier(mock(RedisTemplate.class), mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(notifier, "executorThreads", 2);
+        ReflectionTestUtils.invokeMethod(notifier, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(notifier, "shutdown");
+    }
+
+    @Test
+    void completesOnNotificationOffTheListenerThread() throws Exception {
+        AtomicReference<String> stored = new AtomicReference<>();
+        AtomicReference<String> takerThread = new AtomicReference<>();
+
+        CompletableFuture<String> future = notifier.await(KEY, Duration.ofSeconds(5), () -> {
+            takerThread.set(Thread.currentThread().getName());
+            return Optional.ofNullable(stored.getAndSet(null));
+        }, value -> { }, ErrorCode.QUESTION_NOT_READY);
+
+        Thread.sleep(50);
+        stored.set("result");
+        notifier.onMessage(new DefaultMessage(RedisKeyUtil.resultChannel().getBytes(StandardCharsets.UTF_8),
+                KEY.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(future.get(1, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(takerThread.get()).startsWith("kafka-result-");
+    }
+
+    @Test
+    void completesWithNotReadyAfterWait() {
+        CompletableFuture<String> future = notifier.await(KEY, Duration.ofMillis(50), Optional::empty, value -> { }, ErrorCode.QUESTION_NOT_READY);
+
+        assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ApiException.class);
+    }
+
+    @Test
+    void restoresValueTakenAfterCancelledWithoutLock() throws Exception {
+        CountDownLatch taking = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        List<String> restored = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> future = notifier.await(KEY, Duration.ofSeconds(5), () -> {
+            taking.countDown();
+            try {
+                cancelled.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of("result");
+        }, restored::add, ErrorCode.QUESTION_NOT_READY);
+
+        // lock을 거치지 않고 결과를 꺼내는 도중에 취소합니다.
+        taking.await(1, TimeUnit.SECONDS);
+        future.cancel(false);
+        cancelled.countDown();
+
+        Thread.sleep(100);
+        assertThat(restored).containsExactly("result");
+    }
+
+    @Test
+    void cancelWaitsForTakeInProgress() throws Exception {
+        CountDownLatch taking = new CountDownLatch(1);
+        List<String> restored = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> future = notifier.await(KEY, Duration.ofSeconds(5), () -> {
+            taking.countDown();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of("result");
+        }, restored::add, ErrorCode.QUESTION_NOT_READY);
+
+        taking.await(1, TimeUnit.SECONDS);
+
+        // 결과를 꺼내는 중이라면 취소는 완료될 때까지 기다리고, 결과는 그대로 전달됩니다.
+        assertThat(notifier.cancel(future)).isFalse();
+        assertThat(future.get()).isEqualTo("result");
+        assertThat(restored).isEmpty();
+    }
+}
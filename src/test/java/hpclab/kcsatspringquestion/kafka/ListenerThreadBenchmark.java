@@ -0,0 +1,279 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.mock.MockConsumerFactory;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * {@code spring.threads.virtual.enabled}를 켠 경우와 끈 경우, 대기가 긴 리스너를 동시에 실행하는 비용을 비교합니다.
+ *
+ * <p>{@link KafkaConfig#kafkaListenerContainerFactory()}가 만든 리스너 컨테이너 팩토리에 {@link MockConsumer}만 연결하여,
+ * 실제 컨테이너의 Consumer 스레드가 {@code bench.consumers}개 Partition의 메시지를 처리하도록 합니다.
+ * 리스너는 메시지마다 로컬 TCP 서버에 요청을 보내고 {@code bench.block-ms} 후에 오는 응답을 기다립니다. (Redis, Kafka 응답 대기)
+ * 가상 스레드 비교는 Java 21 이상에서만 실행되며, benchmark task는 Java 21로 실행됩니다.</p>
+ *
+ * <pre>
+ * ./gradlew benchmark --tests '*ListenerThreadBenchmark' -Dbench.consumers=200 -Dbench.records=20 -Dbench.block-ms=50
+ * </pre>
+ */
+@Tag("benchmark")
+class ListenerThreadBenchmark {
+
+    private static final int CONSUMERS = Integer.getInteger("bench.consumers", 200);
+    private static final int RECORDS = Integer.getInteger("bench.records", 20);
+    private static final long BLOCK_MILLIS = Long.getLong("bench.block-ms", 50);
+
+    private static final String TOPIC = "bench-listener";
+
+    private static SlowServer server;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = new SlowServer(BLOCK_MILLIS);
+    }
+
+    @AfterAll
+    static void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void 플랫폼_스레드() throws InterruptedException {
+        run("platform", false);
+    }
+
+    @Test
+    void 가상_스레드() throws InterruptedException {
+        Assumptions.assumeTrue(JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE),
+                "가상 스레드 비교는 Java 21 이상에서 실행됩니다.");
+
+        run("virtual", true);
+    }
+
+    private static void run(String name, boolean virtualThreads) throws InterruptedException {
+        KafkaConfig config = new KafkaConfig();
+        ReflectionTestUtils.setField(config, "bootstrapServers", "localhost:9092");
+        ReflectionTestUtils.setField(config, "groupId", "bench");
+        ReflectionTestUtils.setField(config, "consumerConcurrency", CONSUMERS);
+        ReflectionTestUtils.setField(config, "virtualThreadsEnabled", virtualThreads);
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = config.kafkaListenerContainerFactory();
+        factory.setConsumerFactory(new MockConsumerFactory<>(ListenerThreadBenchmark::consumer));
+
+        TopicPartitionOffset[] partitions = IntStream.range(0, CONSUMERS)
+                .mapToObj(partition -> new TopicPartitionOffset(TOPIC, partition))
+                .toArray(TopicPartitionOffset[]::new);
+        ConcurrentMessageListenerContainer<String, String> container = factory.createContainer(partitions);
+
+        List<Socket> connections = new CopyOnWriteArrayList<>();
+        ThreadLocal<Socket> connection = ThreadLocal.withInitial(() -> {
+            Socket socket = server.connect();
+            connections.add(socket);
+            return socket;
+        });
+        CountDownLatch done = new CountDownLatch(CONSUMERS * RECORDS);
+        container.setupMessageListener((MessageListener<String, String>) record -> {
+            server.call(connection.get());
+            done.countDown();
+        });
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        long start = System.nanoTime();
+        container.start();
+        try {
+            if (!done.await(10, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("benchmark did not finish");
+            }
+        } finally {
+            container.stop();
+            connections.forEach(ListenerThreadBenchmark::closeQuietly);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%n[listener threads] %d consumers x %d records, blocking call %d ms%n", CONSUMERS, RECORDS, BLOCK_MILLIS);
+        System.out.printf("  %-10s %8.0f ms total, %8.0f records/s, peak platform threads %d%n",
+                name, elapsed / 1e6, CONSUMERS * RECORDS / (elapsed / 1e9), threads.getPeakThreadCount());
+    }
+
+    /**
+     * 할당받은 Partition마다 {@code bench.records}개의 메시지를 한 번 넣어 주는 MockConsumer를 만듭니다.
+     * 메시지가 없을 때는 실제 Consumer처럼 잠시 대기하여, 처리를 마친 Consumer가 CPU를 점유하지 않도록 합니다.
+     */
+    private static MockConsumer<String, String> consumer() {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+            @Override
+            public ConsumerRecords<String, String> poll(Duration timeout) {
+                ConsumerRecords<String, String> records = super.poll(timeout);
+                if (records.isEmpty()) {
+                    try {
+                        Thread.sleep(Math.min(timeout.toMillis(), 100));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return records;
+            }
+        };
+
+        Map<TopicPartition, Long> beginning = IntStream.range(0, CONSUMERS).boxed()
+                .collect(Collectors.toMap(partition -> new TopicPartition(TOPIC, partition), partition -> 0L));
+        consumer.updateBeginningOffsets(beginning);
+        consumer.schedulePollTask(() -> consumer.assignment().forEach(partition -> {
+            for (int offset = 0; offset < RECORDS; offset++) {
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, partition.partition(), offset, "user@test.com", "{}"));
+            }
+        }));
+        return consumer;
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * 1 byte 요청을 받으면 {@code delayMillis} 후에 1 byte로 응답하는 TCP 서버입니다.
+     * selector 스레드와 지연 스레드 하나씩만 사용하므로, 비교하는 리스너 스레드 수에 영향을 주지 않습니다.
+     */
+    private static class SlowServer implements AutoCloseable {
+
+        private final Selector selector;
+        private final ServerSocketChannel channel;
+        private final ScheduledExecutorService delayer = Executors.newSingleThreadScheduledExecutor();
+
+        SlowServer(long delayMillis) throws IOException {
+            selector = Selector.open();
+            channel = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_ACCEPT);
+
+            Thread loop = new Thread(() -> serve(delayMillis), "bench-slow-server");
+            loop.setDaemon(true);
+            loop.start();
+        }
+
+        Socket connect() {
+            try {
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), ((InetSocketAddress) channel.getLocalAddress()).getPort());
+                socket.setTcpNoDelay(true);
+                return socket;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * 요청을 보내고 응답이 올 때까지 현재 스레드에서 기다립니다.
+         */
+        void call(Socket socket) {
+            try {
+                socket.getOutputStream().write(1);
+                if (socket.getInputStream().read() < 0) {
+                    throw new IOException("connection closed");
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void serve(long delayMillis) {
+            ByteBuffer buffer = ByteBuffer.allocate(256);
+            try {
+                while (selector.isOpen()) {
+                    selector.select();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        if (key.isAcceptable()) {
+                            SocketChannel client = channel.accept();
+                            if (client != null) {
+                                client.configureBlocking(false);
+                                client.register(selector, SelectionKey.OP_READ);
+                            }
+                        } else if (key.isReadable()) {
+                            read((SocketChannel) key.channel(), key, buffer, delayMillis);
+                        }
+                    }
+                }
+            } catch (IOException | ClosedSelectorException ignored) {
+                // 서버를 닫으면 종료합니다.
+            }
+        }
+
+        private void read(SocketChannel client, SelectionKey key, ByteBuffer buffer, long delayMillis) throws IOException {
+            buffer.clear();
+            int read;
+            try {
+                read = client.read(buffer);
+            } catch (IOException e) {
+                read = -1;
+            }
+            if (read < 0) {
+                key.cancel();
+                client.close();
+                return;
+            }
+            for (int i = 0; i < read; i++) {
+                delayer.schedule(() -> reply(client), delayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private static void reply(SocketChannel client) {
+            try {
+                client.write(ByteBuffer.wrap(new byte[]{1}));
+            } catch (IOException ignored) {
+                // 리스너가 연결을 닫은 경우입니다.
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delayer.shutdownNow();
+            selector.close();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitKafkaForm;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.Record;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code kafka.producer.profile} default와 throughput의 전송 용량, 처리량을 비교합니다.
+ *
+ * <p>브로커 없이 실행하는 비교는 Producer가 만드는 것과 같은 형식의 Record Batch를 만들어 크기를 잽니다.
+ * {@code -Dbench.kafka.bootstrap}을 지정하면 {@link KafkaConfig}의 Producer 설정으로 실제 브로커에 전송하여 처리량과 지연 시간을 잽니다.</p>
+ *
+ * <pre>
+ * ./gradlew benchmark --tests '*ProducerProfileBenchmark' -Dbench.messages=5000 -Dbench.kafka.bootstrap=localhost:9092
+ * </pre>
+ */
+@Tag("benchmark")
+class ProducerProfileBenchmark {
+
+    private static final int MESSAGES = Integer.getInteger("bench.messages", 2000);
+    private static final String TOPIC = System.getProperty("bench.kafka.topic", "QuestionRequest1");
+
+    /**
+     * default 프로필은 linger.ms가 0이므로, 요청이 드문 경우 메시지마다 하나의 배치로 전송됩니다.
+     */
+    private static final int SINGLE_RECORD_BATCH = 1;
+    private static final int DEFAULT_BATCH_SIZE = 16384;
+    private static final int THROUGHPUT_BATCH_SIZE = 65536;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void 프로필별_Record_Batch_크기를_비교한다() throws Exception {
+        List<byte[]> messages = messages(MESSAGES);
+        long raw = messages.stream().mapToLong(message -> message.length).sum();
+
+        System.out.printf("%n[producer profile] %d messages, %.1f KB/message (JSON)%n", MESSAGES, raw / 1024.0 / MESSAGES);
+        Result single = encode(messages, SINGLE_RECORD_BATCH, CompressionType.NONE);
+        Result batched = encode(messages, DEFAULT_BATCH_SIZE, CompressionType.NONE);
+        Result throughput = encode(messages, THROUGHPUT_BATCH_SIZE, CompressionType.LZ4);
+        single.print("default (one record per batch)");
+        batched.print("default (batch.size 16384 under load)");
+        throughput.print("throughput (batch.size 65536, lz4)");
+
+        assertThat(throughput.bytes()).isLessThan(batched.bytes());
+    }
+
+    @Test
+    void 프로필별_브로커_전송_처리량을_비교한다() throws Exception {
+        String bootstrap = System.getProperty("bench.kafka.bootstrap");
+        Assumptions.assumeTrue(bootstrap != null, "-Dbench.kafka.bootstrap이 없으면 브로커 비교를 건너뜁니다.");
+
+        List<byte[]> messages = messages(MESSAGES);
+        for (String profile : List.of("default", "throughput")) {
+            send(bootstrap, profile, messages.stream().map(m -> new String(m, StandardCharsets.UTF_8)).toList());
+        }
+    }
+
+    private void send(String bootstrap, String profile, List<String> messages) throws Exception {
+        KafkaConfig config = new KafkaConfig();
+        ReflectionTestUtils.setField(config, "bootstrapServers", bootstrap);
+        ReflectionTestUtils.setField(config, "producerProfile", profile);
+        ReflectionTestUtils.setField(config, "throughputBatchSize", THROUGHPUT_BATCH_SIZE);
+        ReflectionTestUtils.setField(config, "throughputLingerMillis", 5);
+        ReflectionTestUtils.setField(config, "throughputCompressionType", "lz4");
+        ReflectionTestUtils.setField(config, "producerMaxBlockMillis", 5000L);
+        Map<String, Object> props = ReflectionTestUtils.invokeMethod(config, "producerProps");
+
+        try (KafkaProducer<String, String> producer = new KafkaProducer<>(props)) {
+            // 메타데이터 조회와 연결 비용은 측정에서 제외합니다.
+            producer.send(new ProducerRecord<>(TOPIC, "warmup", messages.get(0))).get(10, TimeUnit.SECONDS);
+
+            long[] latencies = new long[messages.size()];
+            List<CompletableFuture<Void>> sent = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < messages.size(); i++) {
+                int index = i;
+                long sentAt = System.nanoTime();
+                CompletableFuture<Void> done = new CompletableFuture<>();
+                producer.send(new ProducerRecord<>(TOPIC, "user" + (i % 100) + "@bench", messages.get(i)), (metadata, e) -> {
+                    latencies[index] = System.nanoTime() - sentAt;
+                    if (e == null) {
+                        done.complete(null);
+                    } else {
+                        done.completeExceptionally(e);
+                    }
+                });
+                sent.add(done);
+            }
+            CompletableFuture.allOf(sent.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            System.out.printf("  %-11s %8.0f msg/s, send latency p50 %.1f ms, p99 %.1f ms%n", profile,
+                    messages.size() / (elapsed / 1e9),
+                    latencies[latencies.length / 2] / 1e6, latencies[(int) (latencies.length * 0.99)] / 1e6);
+        }
+    }
+
+    /**
+     * 메시지를 최대 {@code batchSize} byte의 Record Batch로 나누어 기록하고, 기록된 크기와 걸린 시간을 잽니다.
+     */
+    private static Result encode(List<byte[]> messages, int batchSize, CompressionType compression) {
+        // JIT 준비
+        encodeOnce(messages, batchSize, compression);
+
+        long start = System.nanoTime();
+        Result result = encodeOnce(messages, batchSize, compression);
+        return new Result(messages.size(), result.batches(), result.bytes(), System.nanoTime() - start);
+    }
+
+    private static Result encodeOnce(List<byte[]> messages, int batchSize, CompressionType compression) {
+        long bytes = 0;
+        int batches = 0;
+        MemoryRecordsBuilder builder = null;
+        for (int i = 0; i < messages.size(); i++) {
+            byte[] key = ("user" + (i % 100) + "@bench").getBytes(StandardCharsets.UTF_8);
+            byte[] value = messages.get(i);
+            if (builder != null && !builder.hasRoomFor(i, key, value, Record.EMPTY_HEADERS)) {
+                bytes += builder.build().sizeInBytes();
+                batches++;
+                builder = null;
+            }
+            if (builder == null) {
+                // 배치보다 큰 메시지는 Producer와 같이 메시지 크기만큼의 배치를 만듭니다.
+                int capacity = Math.max(batchSize, value.length + key.length + 128);
+                builder = MemoryRecords.builder(ByteBuffer.allocate(capacity), compression, TimestampType.CREATE_TIME, 0);
+            }
+            builder.append(i, key, value);
+        }
+        if (builder != null) {
+            bytes += builder.build().sizeInBytes();
+            batches++;
+        }
+        return new Result(messages.size(), batches, bytes, 0);
+    }
+
+    /**
+     * inline 모드의 문제 생성 요청 메시지를 만듭니다. 유형별 Definition은 요청마다 반복되고, 지문은 요청마다 다릅니다.
+     */
+    private List<byte[]> messages(int count) throws Exception {
+        Random random = new Random(42);
+        List<String> definitions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            definitions.add(words(random, 250));
+        }
+
+        List<byte[]> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            QuestionSubmitKafkaForm form = new QuestionSubmitKafkaForm("TYPE" + (i % 10), definitions.get(i % 10), words(random, 180));
+            messages.add(objectMapper.writeValueAsBytes(form));
+        }
+        return messages;
+    }
+
+    private static final String[] VOCABULARY = ("the of and to a in that is was he for it with as his on be at by had "
+            + "people research suggests however because society environment children often learn important example "
+            + "scientists believe culture knowledge experience problem language history human natural economic change "
+            + "different between through without although whether rather than instead therefore moreover individual "
+            + "behavior memory attention technology information community tradition value animal species evolution "
+            + "question answer passage sentence choose best title main idea purpose blank order insert summary").split(" ");
+
+    private static String words(Random random, int count) {
+        return random.ints(count, 0, VOCABULARY.length).mapToObj(i -> VOCABULARY[i]).collect(Collectors.joining(" "));
+    }
+
+    private record Result(int messages, int batches, long bytes, long nanos) {
+
+        void print(String name) {
+            System.out.printf("  %-38s %6d batches, %8.1f KB total, %6.0f B/message, %6.1f us/message%n",
+                    name, batches, bytes / 1024.0, (double) bytes / messages, nanos / 1e3 / messages);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitKafkaForm;
+import hpclab.kcsatspringquestion.redis.EmbeddedRedis;
+import hpclab.kcsatspringquestion.redis.QuestionCacheLookup;
+import hpclab.kcsatspringquestion.redis.QuestionCacheRepository;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import hpclab.kcsatspringquestion.redis.UserRequestStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 생성 결과 캐시와 요청 합치기를 확인합니다. coalesce-question.lua와 complete-question.lua는 내장 Redis 서버에서 실행합니다.
+ */
+class QuestionResultCacheTest {
+
+    private static final String TYPE = "TITLE";
+    private static final String DEFINITION = "글의 제목으로 가장 적절한 것을 고르시오.";
+    private static final String MESSAGE = "{\"title\":\"생성된 문제\"}";
+    private static final String TOPIC = "QuestionRequest0";
+
+    private RedisTemplate<String, String> redisTemplate;
+    private UserRequestStateRepository userRequestStateRepository;
+    private KafkaResultNotifier kafkaResultNotifier;
+    private QuestionCacheRepository questionCacheRepository;
+    private QuestionResultCache questionResultCache;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        redisTemplate = spy(EmbeddedRedis.redisTemplate());
+
+        userRequestStateRepository = new UserRequestStateRepository(redisTemplate);
+        ReflectionTestUtils.setField(userRequestStateRepository, "stateTtlMillis", 3600000L);
+
+        kafkaResultNotifier = mock(KafkaResultNotifier.class);
+
+        questionCacheRepository = new QuestionCacheRepository(redisTemplate);
+        ReflectionTestUtils.setField(questionCacheRepository, "cacheTtlMillis", 1800000L);
+        ReflectionTestUtils.setField(questionCacheRepository, "inflightTtlMillis", 300000L);
+        ReflectionTestUtils.setField(questionCacheRepository, "stateTtlMillis", 3600000L);
+
+        questionResultCache = newCache(true);
+    }
+
+    @Test
+    void 공백_줄바꿈_유니코드_정규화_차이는_같은_캐시_키를_만든다() {
+        String key = questionResultCache.key(form(TYPE, DEFINITION, "The quick brown fox.\n한글 지문입니다."));
+
+        // 붙여넣기 과정에서 생기는 줄 끝의 NBSP(U+00A0)도 공백으로 처리합니다.
+        String messy = "  The  quick\tbrown fox.  \r\n\n   " + Normalizer.normalize("한글 지문입니다.", Normalizer.Form.NFD) + "\u00A0\n";
+
+        assertThat(key).hasSize(64);
+        assertThat(questionResultCache.key(form(TYPE, DEFINITION, messy))).isEqualTo(key);
+    }
+
+    @Test
+    void 유형_Definition_지문_내용이나_줄_구분이_다르면_다른_캐시_키를_만든다() {
+        String text = "The quick brown fox.\nJumps over.";
+        String key = questionResultCache.key(form(TYPE, DEFINITION, text));
+
+        assertThat(List.of(
+                questionResultCache.key(form("TOPIC", DEFINITION, text)),
+                questionResultCache.key(form(TYPE, DEFINITION + " 수정", text)),
+                questionResultCache.key(form(TYPE, DEFINITION, "The quick brown fox. Jumps over.")),
+                questionResultCache.key(form(TYPE, DEFINITION, "The quick brown dog.\nJumps over."))))
+                .doesNotContain(key)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void 같은_요청은_하나만_생성을_맡고_나머지는_결과를_함께_받는다() {
+        String cacheKey = questionResultCache.key(form(TYPE, DEFINITION, "지문"));
+
+        assertThat(questionResultCache.lookup(cacheKey, "a@test.com").status()).isEqualTo(QuestionCacheLookup.Status.LEAD);
+        assertThat(questionResultCache.lookup(cacheKey, "b@test.com").status()).isEqualTo(QuestionCacheLookup.Status.WAIT);
+        assertThat(questionResultCache.lookup(cacheKey, "c@test.com").status()).isEqualTo(QuestionCacheLookup.Status.WAIT);
+        assertThat(delivered("b@test.com")).isEmpty();
+
+        String leader = lead("a@test.com", cacheKey);
+
+        questionResultCache.complete(Map.of(leader, MESSAGE.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(delivered("b@test.com")).contains(MESSAGE);
+        assertThat(delivered("c@test.com")).contains(MESSAGE);
+        verify(kafkaResultNotifier).publish(any(RedisConnection.class), eq(RedisKeyUtil.questionState("b@test.com")));
+        verify(kafkaResultNotifier).publish(any(RedisConnection.class), eq(RedisKeyUtil.questionState("c@test.com")));
+        assertThat(redisTemplate.hasKey(RedisKeyUtil.questionCache(cacheKey))).isTrue();
+        assertThat(redisTemplate.hasKey(RedisKeyUtil.questionCacheInflight(cacheKey))).isFalse();
+        assertThat(redisTemplate.hasKey(RedisKeyUtil.questionCacheWaiters(cacheKey))).isFalse();
+        // 캐시 키는 한 번만 캐시에 저장되도록 요청 상태에서 꺼냅니다.
+        assertThat(userRequestStateRepository.takeCacheKeys(List.of(leader))).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 캐시된_결과는_메모리를_먼저_확인하고_없으면_Redis에서_가져온다() {
+        String cacheKey = questionResultCache.key(form(TYPE, DEFINITION, "지문"));
+        questionResultCache.lookup(cacheKey, "a@test.com");
+        String leader = lead("a@test.com", cacheKey);
+        questionResultCache.complete(Map.of(leader, MESSAGE.getBytes(StandardCharsets.UTF_8)));
+        clearInvocations(redisTemplate, kafkaResultNotifier);
+
+        // 결과를 저장한 서버는 Redis 스크립트 없이 메모리 캐시에서 전달합니다.
+        assertThat(questionResultCache.lookup(cacheKey, "d@test.com").status()).isEqualTo(QuestionCacheLookup.Status.HIT);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), any(), any(), any(List.class), any(Object[].class));
+        assertThat(delivered("d@test.com")).contains(MESSAGE);
+
+        // 다른 서버는 Redis 캐시에서 가져오고, 이후에는 메모리 캐시를 사용합니다.
+        QuestionResultCache other = newCache(true);
+        QuestionCacheLookup lookup = other.lookup(cacheKey, "e@test.com");
+
+        assertThat(lookup.status()).isEqualTo(QuestionCacheLookup.Status.HIT);
+        assertThat(lookup.message()).isEqualTo(MESSAGE);
+        assertThat(delivered("e@test.com")).contains(MESSAGE);
+        verify(kafkaResultNotifier).publish(RedisKeyUtil.questionState("e@test.com"));
+        assertThat(other.findLocal(cacheKey)).isEqualTo(MESSAGE.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void 생성을_맡은_요청이_실패하면_다음_요청이_생성을_맡는다() {
+        String cacheKey = questionResultCache.key(form(TYPE, DEFINITION, "지문"));
+        questionResultCache.lookup(cacheKey, "a@test.com");
+        questionResultCache.lookup(cacheKey, "b@test.com");
+
+        questionResultCache.abandon(cacheKey);
+
+        assertThat(questionResultCache.lookup(cacheKey, "c@test.com").status()).isEqualTo(QuestionCacheLookup.Status.LEAD);
+    }
+
+    @Test
+    void 캐시를_사용하지_않으면_생성_결과를_캐시에_저장하지_않는다() {
+        QuestionResultCache disabled = newCache(false);
+        String cacheKey = disabled.key(form(TYPE, DEFINITION, "지문"));
+        String leader = lead("a@test.com", cacheKey);
+
+        disabled.complete(Map.of(leader, MESSAGE.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(redisTemplate.hasKey(RedisKeyUtil.questionCache(cacheKey))).isFalse();
+        assertThat(userRequestStateRepository.takeCacheKeys(List.of(leader))).containsEntry(leader, cacheKey);
+    }
+
+    private QuestionResultCache newCache(boolean enabled) {
+        QuestionResultCache cache = new QuestionResultCache(100, questionCacheRepository, userRequestStateRepository,
+                kafkaResultNotifier, redisTemplate);
+        ReflectionTestUtils.setField(cache, "enabled", enabled);
+        ReflectionTestUtils.setField(cache, "cacheTtlMillis", 1800000L);
+        return cache;
+    }
+
+    /**
+     * 생성을 맡은 사용자가 QuestionProducer처럼 캐시 키와 함께 요청을 전송한 상태로 만듭니다.
+     */
+    private String lead(String email, String cacheKey) {
+        String stateKey = RedisKeyUtil.questionState(email);
+        userRequestStateRepository.assignTopic(stateKey, TOPIC, Duration.ofSeconds(70));
+        userRequestStateRepository.acquireRequest(stateKey, Duration.ofMinutes(1), cacheKey);
+        return stateKey;
+    }
+
+    private Optional<String> delivered(String email) {
+        return userRequestStateRepository.takeMessage(RedisKeyUtil.questionState(email))
+                .map(message -> new String(message, StandardCharsets.UTF_8));
+    }
+
+    private static QuestionSubmitKafkaForm form(String type, String definition, String mainText) {
+        return new QuestionSubmitKafkaForm(type, definition, mainText);
+    }
+}
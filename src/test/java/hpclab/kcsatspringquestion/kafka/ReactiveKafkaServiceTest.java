@@ -0,0 +1,92 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import hpclab.kcsatspringquestion.kafka.producer.PayloadRegistry;
+import hpclab.kcsatspringquestion.kafka.producer.TopicAllocator;
+import hpclab.kcsatspringquestion.questionGenerator.dto.ExplanationResponseRawForm;
+import hpclab.kcsatspringquestion.redis.ReactiveExamRepository;
+import hpclab.kcsatspringquestion.redis.ReactiveQuestionCacheRepository;
+import hpclab.kcsatspringquestion.redis.ReactiveUserRequestStateRepository;
+import hpclab.kcsatspringquestion.redis.ReactiveWarmPoolRepository;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveKafkaServiceTest {
+
+    private static final String EMAIL = "user@test.com";
+    private static final byte[] EXPLANATION = "{\"translation\":\"번역\",\"explanation\":\"해설\",\"answer\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final String stateKey = RedisKeyUtil.explanationState(EMAIL);
+
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private ReactiveUserRequestStateRepository reactiveUserRequestStateRepository;
+    private ReactiveKafkaService reactiveKafkaService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        reactiveStringRedisTemplate = mock(ReactiveStringRedisTemplate.class);
+        when(reactiveStringRedisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        reactiveUserRequestStateRepository = mock(ReactiveUserRequestStateRepository.class);
+        when(reactiveUserRequestStateRepository.restoreMessage(anyString(), any())).thenReturn(Mono.empty());
+
+        reactiveKafkaService = new ReactiveKafkaService(mock(ReactiveKafkaProducerTemplate.class), reactiveStringRedisTemplate,
+                reactiveUserRequestStateRepository, mock(ReactiveQuestionCacheRepository.class), mock(ReactiveWarmPoolRepository.class),
+                mock(ReactiveExamRepository.class), mock(PayloadRegistry.class), mock(TopicAllocator.class), mock(KafkaResultNotifier.class),
+                mock(QuestionResultCache.class), mock(WarmPoolManager.class), mock(ExamManager.class), mock(KafkaService.class),
+                Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @Test
+    void 꺼낸_결과를_전달하면_되돌리지_않는다() {
+        when(reactiveUserRequestStateRepository.takeMessage(stateKey)).thenReturn(Mono.just(EXPLANATION));
+
+        ExplanationResponseRawForm explanation = reactiveKafkaService.receiveExplanation(EMAIL).block();
+
+        assertThat(explanation.getAnswer()).isEqualTo("1");
+        verify(reactiveUserRequestStateRepository, never()).restoreMessage(anyString(), any());
+    }
+
+    @Test
+    void 결과를_꺼내는_도중에_구독이_취소되면_명령이_끝난_후_결과를_되돌리고_알린다() {
+        CompletableFuture<byte[]> taking = new CompletableFuture<>();
+        when(reactiveUserRequestStateRepository.takeMessage(stateKey)).thenReturn(Mono.fromFuture(taking));
+
+        Disposable subscription = reactiveKafkaService.receiveExplanation(EMAIL).subscribe();
+        subscription.dispose();
+        verify(reactiveUserRequestStateRepository, never()).restoreMessage(anyString(), any());
+
+        // 구독이 취소되어도 Redis에서는 결과를 꺼냅니다.
+        taking.complete(EXPLANATION);
+
+        verify(reactiveUserRequestStateRepository).restoreMessage(stateKey, EXPLANATION);
+        verify(reactiveStringRedisTemplate).convertAndSend(RedisKeyUtil.resultChannel(), stateKey);
+    }
+
+    @Test
+    void 꺼낼_결과가_없었다면_되돌리지_않는다() {
+        CompletableFuture<byte[]> taking = new CompletableFuture<>();
+        when(reactiveUserRequestStateRepository.takeMessage(stateKey)).thenReturn(Mono.fromFuture(taking));
+
+        reactiveKafkaService.receiveExplanation(EMAIL).subscribe().dispose();
+        taking.complete(null);
+
+        verify(reactiveUserRequestStateRepository, never()).restoreMessage(anyString(), any());
+    }
+}
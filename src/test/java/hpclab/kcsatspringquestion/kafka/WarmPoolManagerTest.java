@@ -0,0 +1,311 @@
+package hpclab.kcsatspringquestion.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.kafka.producer.ExplanationProducer;
+import hpclab.kcsatspringquestion.kafka.producer.PayloadRegistry;
+import hpclab.kcsatspringquestion.kafka.producer.ProducerCallbackExecutor;
+import hpclab.kcsatspringquestion.kafka.producer.QuestionProducer;
+import hpclab.kcsatspringquestion.kafka.producer.TopicAllocator;
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitKafkaForm;
+import hpclab.kcsatspringquestion.questionGenerator.repository.DatasetReloadEvent;
+import hpclab.kcsatspringquestion.questionGenerator.repository.DatasetSnapshot;
+import hpclab.kcsatspringquestion.questionGenerator.repository.PassageIndex;
+import hpclab.kcsatspringquestion.questionGenerator.repository.PassageStore;
+import hpclab.kcsatspringquestion.questionGenerator.repository.PassageStoreConverter;
+import hpclab.kcsatspringquestion.questionGenerator.repository.QuestionMemoryRepository;
+import hpclab.kcsatspringquestion.redis.EmbeddedRedis;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import hpclab.kcsatspringquestion.redis.UserRequestStateRepository;
+import hpclab.kcsatspringquestion.redis.WarmPoolRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 미리 만든 문제 목록 관리를 확인합니다. reserve-pool.lua와 목록 명령은 내장 Redis 서버에서 실행합니다.
+ */
+class WarmPoolManagerTest {
+
+    private static final String QUESTION_TOPIC = "QuestionRequest0";
+    private static final String EXPLANATION_TOPIC = "ExplanationRequest0";
+    private static final String QUESTION = "{\"questionType\":\"TITLE\",\"title\":\"제목\",\"mainText\":\"지문\",\"choices\":[\"1\"],\"answer\":\"1\"}";
+    private static final String EXPLANATION = "{\"translation\":\"번역\",\"explanation\":\"해설\",\"answer\":\"1\"}";
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Kafka로 보낸 메시지의 (Topic, key) 목록입니다.
+     */
+    private final List<Map.Entry<String, String>> sent = new ArrayList<>();
+
+    private RedisTemplate<String, String> redisTemplate;
+    private WarmPoolRepository warmPoolRepository;
+    private ProducerCallbackExecutor producerCallbackExecutor;
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private TopicAllocator topicAllocator;
+    private QuestionMemoryRepository questionMemoryRepository;
+    private UserRequestStateRepository userRequestStateRepository;
+    private KafkaResultNotifier kafkaResultNotifier;
+    private WarmPoolManager warmPoolManager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        EmbeddedRedis.flushAll();
+        redisTemplate = EmbeddedRedis.redisTemplate();
+
+        warmPoolRepository = new WarmPoolRepository(redisTemplate);
+        ReflectionTestUtils.setField(warmPoolRepository, "pendingTtlMillis", 600000L);
+
+        kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            sent.add(Map.entry(invocation.getArgument(0), invocation.getArgument(1)));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        topicAllocator = mock(TopicAllocator.class);
+        when(topicAllocator.totalLag(anyString())).thenReturn(Optional.of(0L));
+
+        QuestionProducer questionProducer = mock(QuestionProducer.class);
+        when(questionProducer.getQuestionTopic()).thenReturn(QUESTION_TOPIC);
+        ExplanationProducer explanationProducer = mock(ExplanationProducer.class);
+        when(explanationProducer.getExplanationTopic()).thenReturn(EXPLANATION_TOPIC);
+
+        PayloadRegistry payloadRegistry = mock(PayloadRegistry.class);
+        when(payloadRegistry.toPayload(any(QuestionSubmitKafkaForm.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        questionMemoryRepository = mock(QuestionMemoryRepository.class);
+        when(questionMemoryRepository.getSnapshot()).thenReturn(snapshot("제목 Definition"));
+
+        userRequestStateRepository = mock(UserRequestStateRepository.class);
+        kafkaResultNotifier = mock(KafkaResultNotifier.class);
+
+        // 전송 결과의 후처리를 바로 실행하고, 실행을 맡긴 횟수를 확인합니다.
+        producerCallbackExecutor = mock(ProducerCallbackExecutor.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(producerCallbackExecutor).execute(any(Runnable.class));
+
+        warmPoolManager = new WarmPoolManager(kafkaTemplate, topicAllocator, questionProducer, explanationProducer, payloadRegistry,
+                questionMemoryRepository, warmPoolRepository, userRequestStateRepository, kafkaResultNotifier, redisTemplate,
+                new ObjectMapper(), producerCallbackExecutor);
+        ReflectionTestUtils.setField(warmPoolManager, "enabled", true);
+        ReflectionTestUtils.setField(warmPoolManager, "lowWatermark", 3);
+        ReflectionTestUtils.setField(warmPoolManager, "targetSize", 10);
+        ReflectionTestUtils.setField(warmPoolManager, "refillBatch", 2);
+        ReflectionTestUtils.setField(warmPoolManager, "maxLag", 0L);
+    }
+
+    @Test
+    void 한_번의_확인에서_refillBatch개까지만_요청하고_유형별로_목표_크기를_넘지_않는다() {
+        ReflectionTestUtils.setField(warmPoolManager, "refillBatch", 25);
+
+        warmPoolManager.refill();
+
+        assertThat(sent).hasSize(25).allMatch(message -> message.getKey().equals(QUESTION_TOPIC)
+                && WarmPoolManager.isPoolKey(message.getValue()));
+        // 목표 크기가 10이므로 두 유형은 10개씩, 한 유형은 남은 5개를 예약합니다.
+        assertThat(pendingCounts()).containsExactlyInAnyOrder(10L, 10L, 5L);
+        for (QuestionType type : QuestionType.values()) {
+            long requested = sent.stream().filter(message -> message.getValue().startsWith("warm-pool:" + type.name() + ":")).count();
+            assertThat(requested).isEqualTo(pending(type));
+        }
+    }
+
+    @Test
+    void 목록과_생성_중인_문제를_합쳐_하한_이상이면_채우지_않는다() {
+        for (QuestionType type : QuestionType.values()) {
+            pushEntry(type, "{}");
+            setPending(type, 2);
+        }
+        // TITLE만 하한(3) 아래이므로, 목표 크기까지 남은 8개 중 refillBatch(2)개를 예약합니다.
+        setPending(QuestionType.TITLE, 1);
+
+        warmPoolManager.refill();
+
+        assertThat(sent).hasSize(2).allMatch(message -> message.getValue().startsWith("warm-pool:TITLE:"));
+        assertThat(pending(QuestionType.TITLE)).isEqualTo(3L);
+        assertThat(pending(QuestionType.TOPIC)).isEqualTo(2L);
+    }
+
+    @Test
+    void 밀린_생성_요청이_있거나_Offset을_모르면_채우지_않는다() {
+        when(topicAllocator.totalLag(QuestionProducer.QUESTION_REQUEST_TOPIC)).thenReturn(Optional.of(1L));
+        warmPoolManager.refill();
+
+        when(topicAllocator.totalLag(QuestionProducer.QUESTION_REQUEST_TOPIC)).thenReturn(Optional.empty());
+        warmPoolManager.refill();
+
+        assertThat(sent).isEmpty();
+        assertThat(redisTemplate.keys("*")).isEmpty();
+    }
+
+    @Test
+    void 문제와_해설이_만들어지면_목록에_추가하고_생성_중인_수를_줄인다() {
+        ReflectionTestUtils.setField(warmPoolManager, "refillBatch", 1);
+        warmPoolManager.refill();
+        String key = sent.get(0).getValue();
+        QuestionType type = QuestionType.valueOf(key.split(":")[1]);
+        assertThat(pending(type)).isEqualTo(1L);
+
+        warmPoolManager.onQuestion(key, bytes(QUESTION));
+
+        assertThat(sent.get(1)).isEqualTo(Map.entry(EXPLANATION_TOPIC, key));
+        assertThat(entries(type)).isEmpty();
+
+        warmPoolManager.onExplanation(key, bytes(EXPLANATION));
+
+        assertThat(entries(type)).hasSize(1);
+        assertThat(pending(type)).isZero();
+        assertThat(redisTemplate.hasKey(RedisKeyUtil.questionPoolItem(key.substring("warm-pool:".length())))).isFalse();
+        assertThat(warmPoolManager.read(entries(type).get(0))).isEqualTo(new PooledQuestion(QUESTION, EXPLANATION));
+    }
+
+    @Test
+    void 미리_만든_문제를_꺼내_문제와_해설을_함께_전달한다() throws IOException {
+        pushEntry(QuestionType.TITLE, new ObjectMapper().writeValueAsString(new PooledQuestion(QUESTION, EXPLANATION)));
+        String questionState = RedisKeyUtil.questionState("user@test.com");
+        String explanationState = RedisKeyUtil.explanationState("user@test.com");
+
+        assertThat(warmPoolManager.serve(QuestionType.TITLE, "user@test.com")).isTrue();
+
+        verify(userRequestStateRepository).saveQuestion(any(RedisConnection.class), eq(questionState), eq(bytes(QUESTION)));
+        verify(userRequestStateRepository).saveMessage(any(RedisConnection.class), eq(explanationState), eq(bytes(EXPLANATION)));
+        verify(kafkaResultNotifier).publish(any(RedisConnection.class), eq(questionState));
+        verify(kafkaResultNotifier).publish(any(RedisConnection.class), eq(explanationState));
+
+        assertThat(warmPoolManager.serve(QuestionType.TITLE, "user@test.com")).isFalse();
+        ReflectionTestUtils.setField(warmPoolManager, "enabled", false);
+        assertThat(warmPoolManager.serve(QuestionType.TOPIC, "user@test.com")).isFalse();
+    }
+
+    @Test
+    void 전송에_실패하거나_결과를_사용할_수_없으면_예약을_취소한다() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenThrow(new IllegalStateException("broker down"));
+        ReflectionTestUtils.setField(warmPoolManager, "refillBatch", 1);
+
+        warmPoolManager.refill();
+
+        assertThat(pendingCounts()).containsOnly(0L);
+
+        // 문제를 읽을 수 없거나, 해설을 받기 전에 문제가 만료된 경우
+        setPending(QuestionType.TITLE, 2);
+        assertThatThrownBy(() -> warmPoolManager.onQuestion("warm-pool:TITLE:1", bytes("{\"choices\":\"1\"}")))
+                .isInstanceOf(ApiException.class);
+        warmPoolManager.onExplanation("warm-pool:TITLE:2", bytes(EXPLANATION));
+
+        assertThat(pending(QuestionType.TITLE)).isZero();
+        assertThat(entries(QuestionType.TITLE)).isEmpty();
+    }
+
+    @Test
+    void 전송_결과는_전용_Executor에서_처리하고_실패하면_예약을_취소한다() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        ReflectionTestUtils.setField(warmPoolManager, "refillBatch", 1);
+
+        warmPoolManager.refill();
+
+        verify(producerCallbackExecutor).execute(any(Runnable.class));
+        assertThat(pendingCounts()).containsOnly(0L);
+    }
+
+    @Test
+    void Definition이_바뀌면_미리_만든_문제를_버린다() throws IOException {
+        pushEntry(QuestionType.TITLE, "{}");
+
+        warmPoolManager.onDatasetReload(new DatasetReloadEvent(snapshot("제목 Definition")));
+        assertThat(entries(QuestionType.TITLE)).hasSize(1);
+
+        warmPoolManager.onDatasetReload(new DatasetReloadEvent(snapshot("새 제목 Definition")));
+        assertThat(redisTemplate.hasKey(RedisKeyUtil.questionPool(QuestionType.TITLE.name()))).isFalse();
+    }
+
+    private void pushEntry(QuestionType type, String entry) {
+        redisTemplate.execute(connection -> connection.listCommands().rPush(
+                bytes(RedisKeyUtil.questionPool(type.name())), bytes(entry)), true);
+    }
+
+    private List<String> entries(QuestionType type) {
+        List<byte[]> entries = redisTemplate.execute(connection -> connection.listCommands().lRange(
+                bytes(RedisKeyUtil.questionPool(type.name())), 0, -1), true);
+        return entries.stream().map(WarmPoolManagerTest::string).toList();
+    }
+
+    private void setPending(QuestionType type, long pending) {
+        redisTemplate.execute(connection -> connection.stringCommands().set(
+                bytes(RedisKeyUtil.questionPoolPending(type.name())), bytes(String.valueOf(pending))), true);
+    }
+
+    private long pending(QuestionType type) {
+        return pendingOf(type).orElse(0L);
+    }
+
+    /**
+     * 생성 중인 문제 수가 기록된 유형들의 값입니다.
+     */
+    private List<Long> pendingCounts() {
+        return Arrays.stream(QuestionType.values())
+                .map(this::pendingOf)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private Optional<Long> pendingOf(QuestionType type) {
+        byte[] value = redisTemplate.execute(connection -> connection.stringCommands().get(
+                bytes(RedisKeyUtil.questionPoolPending(type.name()))), true);
+        return Optional.ofNullable(value).map(bytes -> Long.parseLong(string(bytes)));
+    }
+
+    private DatasetSnapshot snapshot(String titleDefinition) throws IOException {
+        Path target = Files.createTempFile(directory, "store", ".bin");
+        PassageStoreConverter.convert(new ByteArrayInputStream(
+                "{\"dataset\":[\"지문 A\",\"지문 B\"]}".getBytes(StandardCharsets.UTF_8)), target);
+        PassageStore passages = PassageStore.open(target);
+
+        Map<QuestionType, String> questionDefinitions = new EnumMap<>(QuestionType.class);
+        questionDefinitions.put(QuestionType.TITLE, titleDefinition);
+        return new DatasetSnapshot(passages, PassageIndex.build(passages), questionDefinitions,
+                new EnumMap<>(QuestionType.class), LocalDateTime.now());
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+package hpclab.kcsatspringquestion.kafka.comsumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionResponseRawForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonShapeValidatorTest {
+
+    /**
+     * {@link QuestionConsumer}와 같은 규칙입니다.
+     */
+    private final JsonShapeValidator validator = new JsonShapeValidator()
+            .enumText("questionType", QuestionType.class)
+            .text("title")
+            .text("mainText")
+            .textArray("choices")
+            .text("answer");
+
+    /**
+     * 애플리케이션과 같이 등록되지 않은 필드를 무시하는 ObjectMapper입니다.
+     */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void 올바른_메시지는_통과하고_DTO로_역직렬화된다() {
+        List<String> messages = List.of(
+                "{\"questionType\":\"TITLE\",\"title\":\"제목\",\"mainText\":\"지문\",\"choices\":[\"1\",\"2\"],\"answer\":\"1\"}",
+                "{\"questionType\":null,\"title\":null,\"choices\":null}",
+                "{\"answer\":3,\"choices\":[1,true,\"셋\"]}",
+                "{\"extra\":{\"nested\":[{\"a\":1}]},\"title\":\"제목\",\"more\":[[1],[2]]}",
+                "{}");
+
+        for (String message : messages) {
+            assertThat(validator.isValid(bytes(message))).as(message).isTrue();
+            assertThatCode(() -> objectMapper.readValue(message, QuestionResponseRawForm.class)).as(message).doesNotThrowAnyException();
+        }
+    }
+
+    @Test
+    void 등록된_필드의_형태가_다르면_거부하고_DTO로도_역직렬화되지_않는다() {
+        List<String> messages = List.of(
+                "{\"questionType\":\"NOT_A_TYPE\"}",
+                "{\"title\":{\"text\":\"제목\"}}",
+                "{\"mainText\":[\"지문\"]}",
+                "{\"choices\":\"1\"}",
+                "{\"choices\":[[\"1\"]]}",
+                "{\"choices\":[{\"text\":\"1\"}]}");
+
+        for (String message : messages) {
+            assertThat(validator.isValid(bytes(message))).as(message).isFalse();
+            assertThatThrownBy(() -> objectMapper.readValue(message, QuestionResponseRawForm.class)).as(message).isNotNull();
+        }
+
+        // Jackson은 숫자를 Enum 순서로 읽지만, 생성 서버는 상수 이름만 보내므로 거부합니다.
+        assertThat(validator.isValid(bytes("{\"questionType\":3}"))).isFalse();
+    }
+
+    @Test
+    void JSON_객체가_아니거나_잘린_메시지는_거부한다() {
+        List<String> messages = List.of(
+                "[]",
+                "\"문자열\"",
+                "null",
+                "{\"title\":\"제목\"",
+                "{\"choices\":[\"1\",",
+                "{\"title\" \"제목\"}",
+                "not json");
+
+        for (String message : messages) {
+            assertThat(validator.isValid(bytes(message))).as(message).isFalse();
+        }
+        assertThat(validator.isValid(new byte[0])).isFalse();
+        assertThat(validator.isValid(null)).isFalse();
+    }
+
+    @Test
+    void 등록되지_않은_필드의_잘린_값도_거부한다() {
+        assertThat(validator.isValid(bytes("{\"extra\":{\"nested\":[1,2}"))).isFalse();
+        assertThat(validator.isValid(bytes("{\"extra\":[{\"a\":1}"))).isFalse();
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
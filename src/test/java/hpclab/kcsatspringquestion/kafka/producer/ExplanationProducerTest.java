@@ -0,0 +1,110 @@
+package hpclab.kcsatspringquestion.kafka.producer;
+
+import hpclab.kcsatspringquestion.exception.ApiException;
+import hpclab.kcsatspringquestion.exception.ErrorCode;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import hpclab.kcsatspringquestion.redis.UserRequestStateRepository;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExplanationProducerTest {
+
+    private static final String EMAIL = "user@test.com";
+    private static final String TOPIC = "ExplanationRequest0";
+
+    private final String stateKey = RedisKeyUtil.explanationState(EMAIL);
+    private final CompletableFuture<SendResult<String, String>> sending = new CompletableFuture<>();
+
+    private UserRequestStateRepository userRequestStateRepository;
+    private ProducerCallbackExecutor producerCallbackExecutor;
+    private ExplanationProducer explanationProducer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(eq(TOPIC), eq(EMAIL), anyString())).thenReturn(sending);
+        userRequestStateRepository = mock(UserRequestStateRepository.class);
+        when(userRequestStateRepository.acquireRequest(eq(stateKey), any())).thenReturn(TOPIC);
+
+        producerCallbackExecutor = new ProducerCallbackExecutor();
+        ReflectionTestUtils.setField(producerCallbackExecutor, "threads", 1);
+        ReflectionTestUtils.setField(producerCallbackExecutor, "queueCapacity", 10);
+        ReflectionTestUtils.invokeMethod(producerCallbackExecutor, "init");
+
+        explanationProducer = new ExplanationProducer(kafkaTemplate, mock(TopicAllocator.class), userRequestStateRepository, producerCallbackExecutor);
+        ReflectionTestUtils.setField(explanationProducer, "sendTimeoutMillis", 100L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(producerCallbackExecutor, "shutdown");
+    }
+
+    @Test
+    void 전송_결과와_이후_단계는_전용_Executor에서_실행한다() {
+        CompletableFuture<String> thread = explanationProducer.sendMessage("{}", EMAIL)
+                .thenApply(produced -> Thread.currentThread().getName());
+
+        sending.complete(sendResult(3, 42L));
+
+        assertThat(thread.join()).startsWith("kafka-producer-callback-");
+        verify(userRequestStateRepository, never()).releaseRequest(anyString());
+    }
+
+    @Test
+    void 전송에_실패하면_lock을_해제한다() {
+        CompletableFuture<ProducedOffset> produced = explanationProducer.sendMessage("{}", EMAIL);
+
+        sending.completeExceptionally(new IllegalStateException("broker down"));
+
+        assertThatThrownBy(produced::join)
+                .isInstanceOf(CompletionException.class)
+                .extracting(Throwable::getCause)
+                .extracting("errorCode").isEqualTo(ErrorCode.MESSAGE_PROCESSING_ERROR);
+        verify(userRequestStateRepository, timeout(1000)).releaseRequest(stateKey);
+    }
+
+    @Test
+    void 응답_시간이_초과되어도_전송_실패가_확정될_때까지_lock을_유지한다() {
+        CompletableFuture<ProducedOffset> produced = explanationProducer.sendMessage("{}", EMAIL);
+
+        assertThatThrownBy(produced::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ApiException.class)
+                .extracting(Throwable::getCause)
+                .extracting("errorCode").isEqualTo(ErrorCode.MESSAGE_SEND_TIMEOUT);
+        verify(userRequestStateRepository, never()).releaseRequest(anyString());
+
+        // delivery.timeout.ms가 지나 Kafka가 전송 실패를 확정하면 lock을 해제합니다.
+        sending.completeExceptionally(new TimeoutException("Expiring 1 record(s)"));
+        verify(userRequestStateRepository, timeout(1000)).releaseRequest(stateKey);
+    }
+
+    private static SendResult<String, String> sendResult(int partition, long offset) {
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition(TOPIC, partition), offset, 0, 0L, 0, 0);
+        return new SendResult<>(new ProducerRecord<>(TOPIC, EMAIL, "{}"), metadata);
+    }
+}
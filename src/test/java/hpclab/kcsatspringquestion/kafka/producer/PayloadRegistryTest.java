@@ -0,0 +1,189 @@
+package hpclab.kcsatspringquestion.kafka.producer;
+
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionSubmitKafkaForm;
+import hpclab.kcsatspringquestion.questionGenerator.repository.DatasetReloadEvent;
+import hpclab.kcsatspringquestion.questionGenerator.repository.DatasetSnapshot;
+import hpclab.kcsatspringquestion.questionGenerator.repository.PassageStore;
+import hpclab.kcsatspringquestion.questionGenerator.repository.PassageStoreConverter;
+import hpclab.kcsatspringquestion.questionGenerator.repository.QuestionMemoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PayloadRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Redis Hash {@code kafka:payloadRegistry}의 내용입니다.
+     */
+    private final Map<String, String> registry = new HashMap<>();
+
+    private RedisHashCommands hashCommands;
+    private TaskScheduler taskScheduler;
+    private QuestionMemoryRepository questionMemoryRepository;
+    private PayloadRegistry payloadRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        hashCommands = mock(RedisHashCommands.class);
+        doAnswer(invocation -> {
+            Map<byte[], byte[]> fields = invocation.getArgument(1);
+            fields.forEach((field, value) -> registry.put(string(field), string(value)));
+            return null;
+        }).when(hashCommands).hMSet(any(), anyMap());
+        when(hashCommands.hDel(any(), any(byte[][].class))).thenAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            for (int i = 1; i < arguments.length; i++) {
+                registry.remove(string((byte[]) arguments[i]));
+            }
+            return (long) arguments.length - 1;
+        });
+
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.hashCommands()).thenReturn(hashCommands);
+
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection));
+
+        taskScheduler = mock(TaskScheduler.class);
+        questionMemoryRepository = mock(QuestionMemoryRepository.class);
+
+        payloadRegistry = new PayloadRegistry(questionMemoryRepository, redisTemplate, taskScheduler);
+        ReflectionTestUtils.setField(payloadRegistry, "payloadMode", "reference");
+        ReflectionTestUtils.setField(payloadRegistry, "retentionMillis", 60000L);
+    }
+
+    @Test
+    void 기출_지문은_참조_ID로_보내고_직접_입력한_지문은_등록하지_않고_그대로_보낸다() throws IOException {
+        DatasetSnapshot snapshot = snapshot(List.of("지문 A", "지문 B"), "제목 Definition");
+        start(snapshot);
+
+        QuestionSubmitKafkaForm dataset = payloadRegistry.toPayload(new QuestionSubmitKafkaForm("TITLE", "제목 Definition", "지문 A"));
+        QuestionSubmitKafkaForm custom = payloadRegistry.toPayload(new QuestionSubmitKafkaForm("TITLE", "제목 Definition", "직접 입력한 지문"));
+
+        assertThat(dataset.getMainText()).isNull();
+        assertThat(dataset.getMainTextId()).isEqualTo("p:" + PassageStore.digestHex("지문 A"));
+        assertThat(dataset.getDefinition()).isNull();
+        assertThat(registry).containsEntry(dataset.getDefinitionId(), "제목 Definition");
+        assertThat(registry).containsEntry(dataset.getMainTextId(), "지문 A");
+
+        assertThat(custom.getMainText()).isEqualTo("직접 입력한 지문");
+        assertThat(custom.getMainTextId()).isNull();
+        assertThat(registry).hasSize(3).doesNotContainValue("직접 입력한 지문");
+    }
+
+    @Test
+    void 내용이_같은_데이터셋을_다시_불러오면_다시_등록하지_않는다() throws IOException {
+        start(snapshot(List.of("지문 A", "지문 B"), "제목 Definition"));
+        clearInvocations(hashCommands);
+
+        payloadRegistry.onDatasetReload(new DatasetReloadEvent(snapshot(List.of("지문 A", "지문 B"), "제목 Definition")));
+
+        verify(hashCommands, never()).hMSet(any(), anyMap());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void 바뀐_원문만_등록하고_빠진_원문은_보관_시간이_지난_후_삭제한다() throws IOException {
+        start(snapshot(List.of("지문 A", "지문 B"), "이전 Definition"));
+        Map<String, String> before = Map.copyOf(registry);
+        clearInvocations(hashCommands);
+
+        payloadRegistry.onDatasetReload(new DatasetReloadEvent(snapshot(List.of("지문 A", "지문 C"), "새 Definition")));
+
+        // 새 원문 두 개(지문 C, 새 Definition)만 등록하고, 이전 원문은 이미 전송된 요청을 위해 남겨 둡니다.
+        assertThat(sentValues()).containsExactlyInAnyOrder("지문 C", "새 Definition");
+        assertThat(registry).containsAllEntriesOf(before).hasSize(before.size() + 2);
+
+        pruneAfterRetention(1);
+
+        assertThat(registry.values()).containsExactlyInAnyOrder("지문 A", "지문 C", "새 Definition");
+    }
+
+    @Test
+    void 보관_시간_안에_다시_포함된_원문은_삭제하지_않는다() throws IOException {
+        start(snapshot(List.of("지문 A", "지문 B"), "제목 Definition"));
+
+        payloadRegistry.onDatasetReload(new DatasetReloadEvent(snapshot(List.of("지문 A"), "제목 Definition")));
+        payloadRegistry.onDatasetReload(new DatasetReloadEvent(snapshot(List.of("지문 A", "지문 B"), "제목 Definition")));
+
+        pruneAfterRetention(1);
+
+        assertThat(registry.values()).containsExactlyInAnyOrder("지문 A", "지문 B", "제목 Definition");
+    }
+
+    private void start(DatasetSnapshot snapshot) {
+        when(questionMemoryRepository.getSnapshot()).thenReturn(snapshot);
+        when(questionMemoryRepository.getDefaultDatasets()).thenReturn(snapshot.passages());
+        ReflectionTestUtils.invokeMethod(payloadRegistry, "init");
+    }
+
+    private void pruneAfterRetention(int scheduled) {
+        ArgumentCaptor<Runnable> prune = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(scheduled)).schedule(prune.capture(), any(Instant.class));
+        prune.getAllValues().forEach(Runnable::run);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> sentValues() {
+        ArgumentCaptor<Map<byte[], byte[]>> fields = ArgumentCaptor.forClass(Map.class);
+        verify(hashCommands, atLeastOnce()).hMSet(any(), fields.capture());
+        List<String> values = new ArrayList<>();
+        fields.getAllValues().forEach(map -> map.values().forEach(value -> values.add(string(value))));
+        return values;
+    }
+
+    private DatasetSnapshot snapshot(List<String> passages, String titleDefinition) throws IOException {
+        Path target = Files.createTempFile(directory, "store", ".bin");
+        String json = passages.stream().map(passage -> "\"" + passage + "\"")
+                .collect(Collectors.joining(",", "{\"dataset\":[", "]}"));
+        PassageStoreConverter.convert(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), target);
+
+        Map<QuestionType, String> questionDefinitions = new EnumMap<>(QuestionType.class);
+        questionDefinitions.put(QuestionType.TITLE, titleDefinition);
+        return new DatasetSnapshot(PassageStore.open(target), null, questionDefinitions,
+                new EnumMap<>(QuestionType.class), LocalDateTime.now());
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,160 @@
+package hpclab.kcsatspringquestion.kafka.producer;
+
+import hpclab.kcsatspringquestion.kafka.KafkaOffsetChecker;
+import hpclab.kcsatspringquestion.kafka.OffsetSnapshot;
+import org.apache.kafka.common.TopicPartition;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TopicAllocatorTest {
+
+    private static final String PREFIX = "QuestionRequest";
+    private static final String COUNTER_KEY = "kafka:questionTopicCounter";
+    private static final int THREADS = 8;
+    private static final int CALLS_PER_THREAD = 300;
+
+    private RedisTemplate<String, String> redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private KafkaOffsetChecker kafkaOffsetChecker;
+    private TopicAllocator topicAllocator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        kafkaOffsetChecker = mock(KafkaOffsetChecker.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        topicAllocator = new TopicAllocator(redisTemplate, kafkaOffsetChecker);
+    }
+
+    @Test
+    void spreadsRequestsEvenlyAcrossTopicsWithSameLag() throws Exception {
+        when(kafkaOffsetChecker.getSnapshot()).thenReturn(snapshot(Map.of(PREFIX + 1, 5L, PREFIX + 2, 5L, PREFIX + 3, 5L)));
+
+        Map<String, Long> counts = runConcurrently(() -> topicAllocator.next(COUNTER_KEY, PREFIX, 3));
+
+        assertThat(counts).containsOnlyKeys(PREFIX + 1, PREFIX + 2, PREFIX + 3);
+        assertThat(total(counts)).isEqualTo((long) THREADS * CALLS_PER_THREAD);
+        // 선택과 증가 사이에 다른 스레드가 끼어들 수 있으므로, 동시에 실행되는 스레드 수만큼의 차이는 허용합니다.
+        assertThat(spread(counts)).isLessThanOrEqualTo(THREADS);
+        verify(redisTemplate, never()).opsForValue();
+    }
+
+    @Test
+    void fillsLessLaggedTopicsFirst() throws Exception {
+        // 요청 2400개를 보낸 후 모든 Topic의 밀린 요청 수가 (0 + 30 + 60 + 2400) / 3 = 830 근처로 맞춰져야 합니다.
+        when(kafkaOffsetChecker.getSnapshot()).thenReturn(snapshot(Map.of(PREFIX + 1, 0L, PREFIX + 2, 30L, PREFIX + 3, 60L)));
+
+        Map<String, Long> counts = runConcurrently(() -> topicAllocator.next(COUNTER_KEY, PREFIX, 3));
+
+        assertThat(counts.get(PREFIX + 1)).isCloseTo(830L, Offset.offset((long) THREADS));
+        assertThat(counts.get(PREFIX + 2)).isCloseTo(800L, Offset.offset((long) THREADS));
+        assertThat(counts.get(PREFIX + 3)).isCloseTo(770L, Offset.offset((long) THREADS));
+    }
+
+    @Test
+    void fallsBackToRedisRoundRobinWithoutSnapshot() throws Exception {
+        AtomicLong redisCounter = new AtomicLong();
+        when(kafkaOffsetChecker.getSnapshot()).thenReturn(OffsetSnapshot.EMPTY);
+        when(valueOperations.increment(anyString())).thenAnswer(invocation -> redisCounter.incrementAndGet());
+
+        Map<String, Long> counts = runConcurrently(() -> topicAllocator.next(COUNTER_KEY, PREFIX, 3));
+
+        // INCR 순번은 원자적으로 증가하므로, 정확히 같은 수씩 나누어집니다.
+        assertThat(counts).containsOnly(
+                Map.entry(PREFIX + 1, 800L), Map.entry(PREFIX + 2, 800L), Map.entry(PREFIX + 3, 800L));
+        assertThat(redisCounter.get()).isEqualTo((long) THREADS * CALLS_PER_THREAD);
+        verify(valueOperations, times(THREADS * CALLS_PER_THREAD)).increment(COUNTER_KEY);
+    }
+
+    @Test
+    void roundRobinTopicWrapsAtSequenceBoundaries() {
+        assertThat(TopicAllocator.roundRobinTopic(PREFIX, 1, 3)).isEqualTo(PREFIX + 1);
+        assertThat(TopicAllocator.roundRobinTopic(PREFIX, 3, 3)).isEqualTo(PREFIX + 3);
+        assertThat(TopicAllocator.roundRobinTopic(PREFIX, 4, 3)).isEqualTo(PREFIX + 1);
+
+        // INCR이 시작되기 전 순번(0)과 음수 순번도 1 ~ topicCount 범위를 벗어나지 않습니다.
+        assertThat(TopicAllocator.roundRobinTopic(PREFIX, 0, 3)).isEqualTo(PREFIX + 3);
+        assertThat(TopicAllocator.roundRobinTopic(PREFIX, -1, 3)).isEqualTo(PREFIX + 2);
+        assertThat(TopicAllocator.roundRobinTopic(PREFIX, Long.MAX_VALUE, 3)).isEqualTo(PREFIX + (Math.floorMod(Long.MAX_VALUE - 1, 3) + 1));
+        assertThat(TopicAllocator.roundRobinTopic(PREFIX, Long.MIN_VALUE, 3)).isIn(PREFIX + 1, PREFIX + 2, PREFIX + 3);
+
+        assertThat(TopicAllocator.roundRobinTopic(PREFIX, 7, 1)).isEqualTo(PREFIX + 1);
+    }
+
+    /**
+     * 한 Partition씩 가진 Topic들의 스냅샷을 만듭니다. 커밋된 Offset은 0, 마지막 Offset은 밀린 요청 수입니다.
+     */
+    private static OffsetSnapshot snapshot(Map<String, Long> lags) {
+        Map<TopicPartition, Long> committed = new ConcurrentHashMap<>();
+        Map<TopicPartition, Long> logEnd = new ConcurrentHashMap<>();
+        lags.forEach((topic, lag) -> {
+            committed.put(new TopicPartition(topic, 0), 0L);
+            logEnd.put(new TopicPartition(topic, 0), lag);
+        });
+        return new OffsetSnapshot(Set.copyOf(lags.keySet()), committed, logEnd, Map.of(), 1L);
+    }
+
+    private static Map<String, Long> runConcurrently(Supplier<String> allocation) throws Exception {
+        ConcurrentMap<String, AtomicLong> counts = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        counts.computeIfAbsent(allocation.get(), k -> new AtomicLong()).incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Long> result = new ConcurrentHashMap<>();
+        counts.forEach((topic, count) -> result.put(topic, count.get()));
+        return result;
+    }
+
+    private static long total(Map<String, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static long spread(Map<String, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).max().orElse(0)
+                - counts.values().stream().mapToLong(Long::longValue).min().orElse(0);
+    }
+}
@@ -0,0 +1,51 @@
+package hpclab.kcsatspringquestion.questionGenerator.dto;
+
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionHandleTest {
+
+    @Test
+    void 발급한_식별값은_매번_다르고_URL에_그대로_사용할_수_있다() {
+        Set<String> handles = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            handles.add(QuestionHandle.issue());
+        }
+
+        assertThat(handles).hasSize(1000);
+        assertThat(handles).allMatch(handle -> handle.matches("[A-Za-z0-9_-]{22}"));
+    }
+
+    @Test
+    void 발급한_식별값은_문제_내용과_무관하다() {
+        QuestionResponseRawForm form = form("정답은 ①");
+
+        assertThat(QuestionHandle.issue()).isNotEqualTo(QuestionHandle.digest(form));
+    }
+
+    @Test
+    void digest는_문제_내용으로만_계산된다() {
+        QuestionResponseRawForm form = form("정답은 ①");
+        QuestionResponseRawForm same = form("정답은 ①");
+        same.setHandle(QuestionHandle.issue());
+
+        assertThat(QuestionHandle.digest(form)).isEqualTo(QuestionHandle.digest(same)).hasSize(64);
+        assertThat(QuestionHandle.digest(form)).isNotEqualTo(QuestionHandle.digest(form("정답은 ②")));
+    }
+
+    private static QuestionResponseRawForm form(String answer) {
+        QuestionResponseRawForm form = new QuestionResponseRawForm();
+        form.setQuestionType(QuestionType.TITLE);
+        form.setTitle("다음 글의 제목으로 가장 적절한 것은?");
+        form.setMainText("지문");
+        form.setChoices(List.of("①", "②", "③", "④", "⑤"));
+        form.setAnswer(answer);
+        return form;
+    }
+}
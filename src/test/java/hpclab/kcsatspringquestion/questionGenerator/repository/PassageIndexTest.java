@@ -0,0 +1,106 @@
+package hpclab.kcsatspringquestion.questionGenerator.repository;
+
+import hpclab.kcsatspringquestion.questionGenerator.domain.PassageLength;
+import hpclab.kcsatspringquestion.questionGenerator.domain.QuestionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PassageIndexTest {
+
+    private static final String SHORT_PROSE = "첫 문장. 두 번째 문장! 세 번째 문장? 네 번째 문장.";
+    private static final String SHORT_FEW_SENTENCES = "한 문장뿐인 지문입니다.";
+    private static final String NOTICE = "체험 안내\n일시: 5월 3일\n\n장소: 강당\n참가비: 무료";
+    private static final String LONG_PROSE = sentences(120);
+    private static final String MEDIUM_FEW_SENTENCES = "a".repeat(800) + ".";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 형태_조건이_있는_유형은_조건에_맞는_지문만_고른다() throws IOException {
+        PassageIndex index = PassageIndex.build(convert(List.of(
+                SHORT_PROSE, SHORT_FEW_SENTENCES, NOTICE, LONG_PROSE, MEDIUM_FEW_SENTENCES)));
+
+        // 0, 3번은 문장이 4개 이상이고, 2번은 빈 줄을 제외하고 4줄 이상입니다.
+        assertThat(index.bucket(QuestionType.ORDERING, null).indices()).containsExactly(0, 3);
+        assertThat(index.bucket(QuestionType.SUMMARIZE_AB, null).indices()).containsExactly(0, 3);
+        assertThat(index.bucket(QuestionType.INFO_MATCH, null).indices()).containsExactly(2);
+        assertThat(index.bucket(QuestionType.INFO_UNMATCH, null).indices()).containsExactly(2);
+    }
+
+    @Test
+    void 형태_조건이_없는_유형은_전체_목록을_함께_사용한다() throws IOException {
+        PassageIndex index = PassageIndex.build(convert(List.of(SHORT_PROSE, NOTICE, LONG_PROSE)));
+
+        PassageBucket all = index.bucket(null, null);
+
+        assertThat(all.indices()).containsExactly(0, 1, 2);
+        assertThat(index.bucket(QuestionType.TITLE, null)).isSameAs(all);
+        assertThat(index.bucket(QuestionType.BLANK, null)).isSameAs(all);
+    }
+
+    @Test
+    void 길이_구간별로_나누고_해당_길이가_없으면_유형_전체_목록을_사용한다() throws IOException {
+        PassageIndex index = PassageIndex.build(convert(List.of(
+                SHORT_PROSE, SHORT_FEW_SENTENCES, LONG_PROSE, MEDIUM_FEW_SENTENCES)));
+
+        assertThat(index.bucket(null, PassageLength.SHORT).indices()).containsExactly(0, 1);
+        assertThat(index.bucket(null, PassageLength.MEDIUM).indices()).containsExactly(3);
+        assertThat(index.bucket(null, PassageLength.LONG).indices()).containsExactly(2);
+        assertThat(index.bucket(QuestionType.ORDERING, PassageLength.LONG).indices()).containsExactly(2);
+
+        // 문장이 충분한 보통 길이 지문은 없으므로, 길이와 관계없이 ORDERING 목록에서 고릅니다.
+        assertThat(index.bucket(QuestionType.ORDERING, PassageLength.MEDIUM))
+                .isSameAs(index.bucket(QuestionType.ORDERING, null));
+    }
+
+    @Test
+    void 조건에_맞는_지문이_없는_유형은_전체_지문을_사용한다() throws IOException {
+        PassageIndex index = PassageIndex.build(convert(List.of(SHORT_PROSE, LONG_PROSE)));
+
+        assertThat(index.bucket(QuestionType.INFO_MATCH, null)).isSameAs(index.bucket(null, null));
+        assertThat(index.bucket(QuestionType.INFO_MATCH, PassageLength.LONG)).isSameAs(index.bucket(null, PassageLength.LONG));
+    }
+
+    @Test
+    void 목록_식별자는_조건별로_다르고_지문_목록이_바뀌면_함께_바뀐다() throws IOException {
+        PassageIndex index = PassageIndex.build(convert(List.of(SHORT_PROSE, NOTICE, LONG_PROSE)));
+        PassageIndex same = PassageIndex.build(convert(List.of(SHORT_PROSE, NOTICE, LONG_PROSE)));
+        PassageIndex reordered = PassageIndex.build(convert(List.of(NOTICE, SHORT_PROSE, LONG_PROSE)));
+
+        List<String> ids = List.of(
+                index.bucket(null, null).id(),
+                index.bucket(null, PassageLength.SHORT).id(),
+                index.bucket(QuestionType.ORDERING, null).id(),
+                index.bucket(QuestionType.ORDERING, PassageLength.SHORT).id(),
+                index.bucket(QuestionType.INFO_MATCH, null).id());
+
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(same.bucket(QuestionType.ORDERING, null).id()).isEqualTo(index.bucket(QuestionType.ORDERING, null).id());
+        assertThat(reordered.bucket(QuestionType.ORDERING, null).id()).isNotEqualTo(index.bucket(QuestionType.ORDERING, null).id());
+    }
+
+    private PassageStore convert(List<String> passages) throws IOException {
+        Path target = Files.createTempFile(directory, "store", ".bin");
+        String json = passages.stream()
+                .map(passage -> "\"" + passage.replace("\n", "\\n") + "\"")
+                .collect(Collectors.joining(",", "{\"dataset\":[", "]}"));
+        PassageStoreConverter.convert(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), target);
+        return PassageStore.open(target);
+    }
+
+    private static String sentences(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "Sentence " + i + ".").collect(Collectors.joining(" "));
+    }
+}
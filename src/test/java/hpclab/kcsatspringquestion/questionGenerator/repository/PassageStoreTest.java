@@ -0,0 +1,128 @@
+package hpclab.kcsatspringquestion.questionGenerator.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PassageStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 변환한_파일을_열면_같은_지문을_같은_순서로_읽는다() throws IOException {
+        List<String> passages = List.of("첫 번째 지문입니다.", "Second passage", "", "이모지 😀 와 줄바꿈\n을 포함한 지문");
+
+        PassageStore store = convert(passages);
+
+        assertThat(store).containsExactlyElementsOf(passages);
+        assertThat(store.size()).isEqualTo(passages.size());
+        assertThatThrownBy(() -> store.get(passages.size())).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void 원문으로_지문_번호를_찾는다() throws IOException {
+        List<String> passages = IntStream.range(0, 2000).mapToObj(i -> "지문 " + i).toList();
+
+        PassageStore store = convert(passages);
+
+        for (int i = 0; i < passages.size(); i += 97) {
+            assertThat(store.find(passages.get(i))).isEqualTo(OptionalInt.of(i));
+        }
+        assertThat(store.find("저장되지 않은 지문")).isEmpty();
+        assertThat(store.find(null)).isEmpty();
+    }
+
+    @Test
+    void 찾은_지문의_해시는_digestHex와_같은_값이다() throws IOException {
+        PassageStore store = convert(List.of("A", "B"));
+
+        assertThat(store.findDigest("B")).hasValue(PassageStore.digest("B"));
+        assertThat(PassageStore.hex(store.findDigest("B").getAsLong())).isEqualTo(PassageStore.digestHex("B"));
+        assertThat(store.findDigest("C")).isEmpty();
+        assertThat(store.containsDigest(PassageStore.digest("A"))).isTrue();
+        assertThat(store.containsDigest(PassageStore.digest("C"))).isFalse();
+        assertThat(store.digests()).containsExactlyInAnyOrder(PassageStore.digest("A"), PassageStore.digest("B"));
+    }
+
+    @Test
+    void 같은_지문이_여러_번_있어도_그중_하나를_찾는다() throws IOException {
+        PassageStore store = convert(List.of("A", "중복", "B", "중복"));
+
+        assertThat(store.find("중복").getAsInt()).isIn(1, 3);
+    }
+
+    @Test
+    void dataset_배열의_문자열만_변환하고_다른_필드는_건너뛴다() throws IOException {
+        String json = "{\"meta\":{\"dataset\":[\"무시\"]},\"dataset\":[\"지문\",3,{\"x\":1},[\"y\"],\"다음 지문\"],\"extra\":[1]}";
+        Path target = directory.resolve("store.bin");
+
+        int count = PassageStoreConverter.convert(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), target);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(PassageStore.open(target)).containsExactly("지문", "다음 지문");
+    }
+
+    @Test
+    void 지문_순서가_바뀌면_fingerprint도_바뀐다() throws IOException {
+        PassageStore store = convert(List.of("A", "B", "C"));
+        PassageStore same = convert(List.of("A", "B", "C"));
+        PassageStore reordered = convert(List.of("B", "A", "C"));
+
+        assertThat(store.fingerprint()).isEqualTo(same.fingerprint());
+        assertThat(store.fingerprint()).isNotEqualTo(reordered.fingerprint());
+    }
+
+    @Test
+    void 형식이_잘못된_JSON은_기존_파일을_바꾸지_않고_임시_파일도_남기지_않는다() throws IOException {
+        Path target = directory.resolve("store.bin");
+        PassageStoreConverter.convert(json(List.of("기존 지문")), target);
+
+        assertThatThrownBy(() -> PassageStoreConverter.convert(
+                new ByteArrayInputStream("[\"지문\"]".getBytes(StandardCharsets.UTF_8)), target))
+                .isInstanceOf(IOException.class);
+
+        assertThat(PassageStore.open(target)).containsExactly("기존 지문");
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(target);
+        }
+    }
+
+    @Test
+    void 파일_경로로_변환하고_인자가_잘못되면_예외가_발생한다() throws IOException {
+        Path source = directory.resolve("dataset.json");
+        Files.write(source, json(List.of("지문")).readAllBytes());
+        Path target = directory.resolve("nested/store.bin");
+
+        PassageStoreConverter.main(new String[]{source.toString(), target.toString()});
+
+        assertThat(PassageStore.open(target)).containsExactly("지문");
+        assertThatThrownBy(() -> PassageStoreConverter.main(new String[]{source.toString()}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private PassageStore convert(List<String> passages) throws IOException {
+        Path target = Files.createTempFile(directory, "store", ".bin");
+        PassageStoreConverter.convert(json(passages), target);
+        return PassageStore.open(target);
+    }
+
+    private static ByteArrayInputStream json(List<String> passages) {
+        String dataset = passages.stream()
+                .map(passage -> "\"" + passage.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"")
+                .collect(Collectors.joining(",", "{\"dataset\":[", "]}"));
+        return new ByteArrayInputStream(dataset.getBytes(StandardCharsets.UTF_8));
+    }
+}
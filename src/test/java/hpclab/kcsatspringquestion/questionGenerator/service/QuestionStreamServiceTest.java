@@ -0,0 +1,147 @@
+package hpclab.kcsatspringquestion.questionGenerator.service;
+
+import hpclab.kcsatspringquestion.kafka.KafkaService;
+import hpclab.kcsatspringquestion.kafka.RequestProducedEvent;
+import hpclab.kcsatspringquestion.kafka.producer.ProducedOffset;
+import hpclab.kcsatspringquestion.questionGenerator.dto.ExplanationResponseRawForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionDto;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QueuePositionDto;
+import hpclab.kcsatspringquestion.redis.RedisKeyUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuestionStreamServiceTest {
+
+    private static final String EMAIL = "user@test.com";
+    private static final String TOPIC = "QuestionRequest1";
+    private static final String EXPLANATION_TOPIC = "ExplanationRequest1";
+
+    private KafkaService kafkaService;
+    private QuestionService questionService;
+    private QuestionStreamService questionStreamService;
+
+    @BeforeEach
+    void setUp() {
+        kafkaService = mock(KafkaService.class);
+        when(kafkaService.getUserQuestionTopic(EMAIL)).thenReturn(TOPIC);
+        when(kafkaService.findProducedQuestionOffset(EMAIL)).thenReturn(Optional.empty());
+        when(kafkaService.awaitQuestionFromKafka(eq(EMAIL), any())).thenReturn(new CompletableFuture<>());
+        when(kafkaService.resultExecutor()).thenReturn(ForkJoinPool.commonPool());
+        when(kafkaService.getUserExplanationTopic(EMAIL)).thenReturn(EXPLANATION_TOPIC);
+        when(kafkaService.findProducedExplanationOffset(EMAIL)).thenReturn(Optional.empty());
+        when(kafkaService.estimatePosition(anyString(), any())).thenReturn(QueuePositionDto.builder().topic(TOPIC).position(3L).build());
+
+        questionService = mock(QuestionService.class);
+        questionStreamService = new QuestionStreamService(kafkaService, questionService);
+        ReflectionTestUtils.setField(questionStreamService, "streamTimeoutMillis", 60000L);
+        ReflectionTestUtils.setField(questionStreamService, "pushThreads", 2);
+        ReflectionTestUtils.invokeMethod(questionStreamService, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(questionStreamService, "shutdown");
+    }
+
+    @Test
+    void 요청_전송_이벤트로_받은_Offset으로_대기_순번을_전달하고_Redis는_한_번만_조회한다() {
+        questionStreamService.openQuestionStream(EMAIL);
+
+        // 요청 전송 전에는 기본 Partition의 Offset만 전달합니다.
+        questionStreamService.pushOffsets();
+        verify(kafkaService, timeout(1000)).getRecentConsumedOffset(TOPIC, 0);
+        verify(kafkaService, never()).estimatePosition(anyString(), any());
+
+        ProducedOffset produced = new ProducedOffset(2, 41L);
+        questionStreamService.onRequestProduced(new RequestProducedEvent(RedisKeyUtil.questionState(EMAIL), produced));
+        questionStreamService.pushOffsets();
+
+        verify(kafkaService, timeout(1000)).getRecentConsumedOffset(TOPIC, 2);
+        verify(kafkaService, timeout(1000)).estimatePosition(TOPIC, produced);
+        verify(kafkaService, times(1)).findProducedQuestionOffset(EMAIL);
+    }
+
+    @Test
+    void 다른_요청의_전송_이벤트는_무시한다() {
+        questionStreamService.openQuestionStream(EMAIL);
+
+        questionStreamService.onRequestProduced(
+                new RequestProducedEvent(RedisKeyUtil.explanationState(EMAIL), new ProducedOffset(1, 5L)));
+        questionStreamService.pushOffsets();
+
+        verify(kafkaService, timeout(1000)).getRecentConsumedOffset(TOPIC, 0);
+        verify(kafkaService, never()).estimatePosition(anyString(), any());
+    }
+
+    @Test
+    void 이벤트_전송은_스케줄러가_아닌_전용_스레드에서_실행한다() {
+        AtomicReference<String> pushThread = new AtomicReference<>();
+        when(kafkaService.getRecentConsumedOffset(anyString(), anyInt())).thenAnswer(invocation -> {
+            pushThread.set(Thread.currentThread().getName());
+            return 0L;
+        });
+        questionStreamService.openQuestionStream(EMAIL);
+
+        questionStreamService.pushOffsets();
+
+        verify(kafkaService, timeout(1000)).getRecentConsumedOffset(TOPIC, 0);
+        assertThat(pushThread.get()).startsWith("sse-push-");
+    }
+
+    @Test
+    void 해설은_최종_이벤트를_전달한_후에만_DB에_저장한다() {
+        CompletableFuture<ExplanationResponseRawForm> waiting = new CompletableFuture<>();
+        when(kafkaService.awaitExplanationFromKafka(eq(EMAIL), any(Duration.class))).thenReturn(waiting);
+        ExplanationResponseRawForm explanation = ExplanationResponseRawForm.builder().answer("1").build();
+        QuestionDto question = QuestionDto.builder().answer("1").build();
+        when(questionService.mergeExplanation(EMAIL, explanation)).thenReturn(question);
+
+        questionStreamService.openExplanationStream(EMAIL);
+        waiting.complete(explanation);
+
+        InOrder order = inOrder(questionService);
+        order.verify(questionService, timeout(1000)).mergeExplanation(EMAIL, explanation);
+        order.verify(questionService, timeout(1000)).saveQuestionExplanation(EMAIL, question);
+        verify(questionService, never()).mergeWithExplanation(anyString(), any());
+        verify(kafkaService, never()).restoreExplanationResult(anyString(), any());
+    }
+
+    @Test
+    void 전달하지_못한_해설은_저장하지_않고_되돌린다() {
+        CompletableFuture<ExplanationResponseRawForm> waiting = new CompletableFuture<>();
+        when(kafkaService.awaitExplanationFromKafka(eq(EMAIL), any(Duration.class))).thenReturn(waiting);
+        ExplanationResponseRawForm explanation = ExplanationResponseRawForm.builder().answer("1").build();
+        when(questionService.mergeExplanation(EMAIL, explanation)).thenReturn(QuestionDto.builder().answer("1").build());
+
+        SseEmitter emitter = questionStreamService.openExplanationStream(EMAIL);
+        // 결과를 꺼내기 전에 응답이 끝나, 최종 이벤트 전송이 실패합니다.
+        emitter.complete();
+        waiting.complete(explanation);
+
+        verify(kafkaService, timeout(1000)).restoreExplanationResult(EMAIL, explanation);
+        verify(questionService, never()).saveQuestionExplanation(anyString(), any());
+    }
+}
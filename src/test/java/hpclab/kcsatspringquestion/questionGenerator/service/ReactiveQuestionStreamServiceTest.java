@@ -0,0 +1,85 @@
+package hpclab.kcsatspringquestion.questionGenerator.service;
+
+import hpclab.kcsatspringquestion.kafka.KafkaService;
+import hpclab.kcsatspringquestion.kafka.ReactiveKafkaService;
+import hpclab.kcsatspringquestion.questionGenerator.dto.ExplanationResponseRawForm;
+import hpclab.kcsatspringquestion.questionGenerator.dto.QuestionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveQuestionStreamServiceTest {
+
+    private static final String EMAIL = "user@test.com";
+
+    private final ExplanationResponseRawForm explanation = ExplanationResponseRawForm.builder().answer("1").build();
+    private final QuestionDto question = QuestionDto.builder().answer("1").build();
+
+    private ReactiveKafkaService reactiveKafkaService;
+    private QuestionService questionService;
+    private ReactiveQuestionStreamService reactiveQuestionStreamService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveKafkaService = mock(ReactiveKafkaService.class);
+        when(reactiveKafkaService.restoreExplanationResult(anyString(), any())).thenReturn(Mono.empty());
+        questionService = mock(QuestionService.class);
+
+        reactiveQuestionStreamService = new ReactiveQuestionStreamService(reactiveKafkaService, mock(KafkaService.class), questionService);
+    }
+
+    @Test
+    void 해설을_전달한_후에만_DB에_저장한다() {
+        when(questionService.mergeExplanation(EMAIL, explanation)).thenReturn(question);
+
+        QuestionDto delivered = reactiveQuestionStreamService.deliverExplanation(EMAIL, Mono.just(explanation)).block();
+
+        assertThat(delivered).isSameAs(question);
+        verify(questionService, timeout(1000)).saveQuestionExplanation(EMAIL, question);
+        verify(reactiveKafkaService, never()).restoreExplanationResult(anyString(), any());
+    }
+
+    @Test
+    void 합치는_도중에_구독이_취소되면_해설을_되돌리고_저장하지_않는다() throws InterruptedException {
+        CountDownLatch merging = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(questionService.mergeExplanation(EMAIL, explanation)).thenAnswer(invocation -> {
+            merging.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return question;
+        });
+
+        Disposable subscription = reactiveQuestionStreamService.deliverExplanation(EMAIL, Mono.just(explanation)).subscribe();
+        assertThat(merging.await(5, TimeUnit.SECONDS)).isTrue();
+        subscription.dispose();
+        release.countDown();
+
+        verify(reactiveKafkaService, timeout(1000)).restoreExplanationResult(EMAIL, explanation);
+        verify(questionService, never()).saveQuestionExplanation(anyString(), any());
+    }
+
+    @Test
+    void 합치지_못하면_해설을_되돌린다() {
+        when(questionService.mergeExplanation(EMAIL, explanation)).thenThrow(new IllegalStateException("question expired"));
+
+        assertThatThrownBy(() -> reactiveQuestionStreamService.deliverExplanation(EMAIL, Mono.just(explanation)).block())
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(reactiveKafkaService).restoreExplanationResult(EMAIL, explanation);
+        verify(questionService, never()).saveQuestionExplanation(anyString(), any());
+    }
+}
@@ -0,0 +1,86 @@
+package hpclab.kcsatspringquestion.redis;
+
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+
+/**
+ * Lua 스크립트를 실제 Redis 서버에서 실행하는 테스트가 함께 사용하는 내장 Redis 서버입니다.
+ *
+ * <p>처음 사용할 때 빈 포트에 redis-server를 하나 실행하고, 테스트 JVM이 종료될 때 함께 종료합니다.
+ * 테스트마다 {@link #flushAll()}로 데이터를 비운 후 사용합니다.</p>
+ */
+public final class EmbeddedRedis {
+
+    private static RedisTemplate<String, String> redisTemplate;
+
+    private EmbeddedRedis() {
+    }
+
+    /**
+     * {@link RedisConfig#redisTemplate()}와 같은 직렬화 설정으로 내장 Redis 서버에 연결된 RedisTemplate을 반환합니다.
+     *
+     * @return RedisTemplate
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized RedisTemplate<String, String> redisTemplate() {
+        if (redisTemplate == null) {
+            LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(InetAddress.getLoopbackAddress().getHostAddress(), start());
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+
+            RedisTemplate<?, ?> template = new RedisTemplate<>();
+            template.setConnectionFactory(connectionFactory);
+            template.setKeySerializer(new StringRedisSerializer());
+            template.setValueSerializer(new Jackson2JsonRedisSerializer<>(String.class));
+            template.afterPropertiesSet();
+            redisTemplate = (RedisTemplate<String, String>) template;
+        }
+        return redisTemplate;
+    }
+
+    /**
+     * 모든 데이터를 삭제합니다.
+     */
+    public static void flushAll() {
+        redisTemplate().execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    private static int start() {
+        try {
+            int port = freePort();
+            RedisServer server = RedisServer.newRedisServer()
+                    .port(port)
+                    .bind(InetAddress.getLoopbackAddress().getHostAddress())
+                    .setting("save \"\"")
+                    .setting("appendonly no")
+                    .build();
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.stop();
+                } catch (IOException ignored) {
+                }
+            }, "embedded-redis-shutdown"));
+            return port;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package hpclab.kcsatspringquestion.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static hpclab.kcsatspringquestion.redis.UserRequestStateRepository.STRING;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * coalesce-question.lua를 내장 Redis 서버에서 실행하여 확인합니다.
+ */
+class QuestionCacheRepositoryTest {
+
+    private static final String CACHE_KEY = "cache-key";
+    private static final String EMAIL = "user@test.com";
+    private static final String MESSAGE = "{\"title\":\"생성된 문제\"}";
+
+    private final String stateKey = RedisKeyUtil.questionState(EMAIL);
+
+    private RedisTemplate<String, String> redisTemplate;
+    private QuestionCacheRepository questionCacheRepository;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        redisTemplate = EmbeddedRedis.redisTemplate();
+
+        questionCacheRepository = new QuestionCacheRepository(redisTemplate);
+        ReflectionTestUtils.setField(questionCacheRepository, "cacheTtlMillis", 1800000L);
+        ReflectionTestUtils.setField(questionCacheRepository, "inflightTtlMillis", 300000L);
+        ReflectionTestUtils.setField(questionCacheRepository, "stateTtlMillis", 3600000L);
+    }
+
+    @Test
+    void 캐시된_결과를_저장하면_이전_문제에_발급한_식별값을_지운다() {
+        questionCacheRepository.complete(CACHE_KEY, MESSAGE);
+        hSet(UserRequestStateRepository.DATA, "{\"title\":\"이전 문제\"}");
+        hSet(UserRequestStateRepository.HANDLE, "previous-handle");
+
+        QuestionCacheLookup lookup = questionCacheRepository.coalesce(CACHE_KEY, EMAIL, stateKey);
+
+        assertThat(lookup.status()).isEqualTo(QuestionCacheLookup.Status.HIT);
+        assertThat(lookup.message()).isEqualTo(MESSAGE);
+        assertThat(hGetAll())
+                .containsEntry(UserRequestStateRepository.MESSAGE, MESSAGE)
+                .containsEntry(UserRequestStateRepository.DATA, MESSAGE)
+                .doesNotContainKey(UserRequestStateRepository.HANDLE);
+        assertThat(redisTemplate.getExpire(stateKey, TimeUnit.MILLISECONDS)).isPositive().isLessThanOrEqualTo(3600000L);
+    }
+
+    private void hSet(String field, String value) {
+        redisTemplate.execute(connection -> connection.hashCommands().hSet(
+                STRING.serialize(stateKey), STRING.serialize(field), STRING.serialize(value)), true);
+    }
+
+    private Map<String, String> hGetAll() {
+        Map<byte[], byte[]> entries = redisTemplate.execute(connection -> connection.hashCommands().hGetAll(STRING.serialize(stateKey)), true);
+        return entries.entrySet().stream()
+                .collect(Collectors.toMap(entry -> STRING.deserialize(entry.getKey()), entry -> STRING.deserialize(entry.getValue())));
+    }
+}
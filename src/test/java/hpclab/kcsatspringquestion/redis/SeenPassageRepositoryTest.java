@@ -0,0 +1,133 @@
+package hpclab.kcsatspringquestion.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static hpclab.kcsatspringquestion.redis.UserRequestStateRepository.STRING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * claim-passage.lua를 내장 Redis 서버에서 실행하여 확인합니다.
+ */
+class SeenPassageRepositoryTest {
+
+    private static final String EMAIL = "user@test.com";
+    private static final long TTL_MILLIS = 604800000L;
+
+    private RedisTemplate<String, String> redisTemplate;
+    private SeenPassageRepository seenPassageRepository;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        redisTemplate = EmbeddedRedis.redisTemplate();
+
+        seenPassageRepository = new SeenPassageRepository(redisTemplate);
+        ReflectionTestUtils.setField(seenPassageRepository, "seenTtlMillis", TTL_MILLIS);
+    }
+
+    @Test
+    void 목록의_지문을_모두_받을_때까지_같은_슬롯을_고르지_않는다() {
+        int size = 37;
+
+        Set<Integer> claimed = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            assertThat(claimed.add(seenPassageRepository.claim(EMAIL, "bucket", size))).isTrue();
+        }
+
+        assertThat(claimed).containsExactlyInAnyOrderElementsOf(IntStream.range(0, size).boxed().toList());
+        assertThat(redisTemplate.getExpire(RedisKeyUtil.seenPassages(EMAIL, "bucket"), TimeUnit.MILLISECONDS))
+                .isPositive().isLessThanOrEqualTo(TTL_MILLIS);
+    }
+
+    @Test
+    void 시작_슬롯을_이미_받았다면_그_뒤의_빈_슬롯을_고르고_없으면_처음부터_찾는다() {
+        String key = RedisKeyUtil.seenPassages(EMAIL, "bucket");
+        int size = 24;
+
+        assertThat(claimPassage(key, size, 20)).isEqualTo(20);
+        // 20번이 속한 바이트(16~23)의 첫 번째 빈 슬롯부터 찾습니다.
+        assertThat(claimPassage(key, size, 20)).isEqualTo(16);
+        for (int slot = 17; slot < size; slot++) {
+            if (slot != 20) {
+                assertThat(claimPassage(key, size, 20)).isEqualTo(slot);
+            }
+        }
+        // BITPOS는 문자열 뒤를 0으로 보므로 24번을 반환하고, 목록 밖이라면 처음부터 찾습니다.
+        assertThat(claimPassage(key, size, 20)).isZero();
+    }
+
+    @Test
+    void 모든_지문을_받으면_비트맵을_비우고_다시_시작한다() {
+        int size = 10;
+        String key = RedisKeyUtil.seenPassages(EMAIL, "bucket");
+        for (int i = 0; i < size; i++) {
+            seenPassageRepository.claim(EMAIL, "bucket", size);
+        }
+        assertThat(bitCount(key)).isEqualTo(size);
+
+        int again = seenPassageRepository.claim(EMAIL, "bucket", size);
+
+        assertThat(again).isBetween(0, size - 1);
+        assertThat(bitCount(key)).isEqualTo(1);
+        assertThat(redisTemplate.opsForValue().getBit(key, again)).isTrue();
+
+        Set<Integer> claimed = new HashSet<>(Set.of(again));
+        for (int i = 1; i < size; i++) {
+            assertThat(claimed.add(seenPassageRepository.claim(EMAIL, "bucket", size))).isTrue();
+        }
+    }
+
+    @Test
+    void 지문_목록과_사용자마다_따로_기록한다() {
+        int ordering = seenPassageRepository.claim(EMAIL, "ORDERING", 8);
+        int title = seenPassageRepository.claim(EMAIL, "TITLE", 8);
+        int other = seenPassageRepository.claim("other@test.com", "ORDERING", 8);
+        seenPassageRepository.claim(EMAIL, "ORDERING", 8);
+
+        assertThat(bitCount(RedisKeyUtil.seenPassages(EMAIL, "ORDERING"))).isEqualTo(2);
+        assertThat(bitCount(RedisKeyUtil.seenPassages(EMAIL, "TITLE"))).isEqualTo(1);
+        assertThat(bitCount(RedisKeyUtil.seenPassages("other@test.com", "ORDERING"))).isEqualTo(1);
+        assertThat(redisTemplate.opsForValue().getBit(RedisKeyUtil.seenPassages(EMAIL, "ORDERING"), ordering)).isTrue();
+        assertThat(redisTemplate.opsForValue().getBit(RedisKeyUtil.seenPassages(EMAIL, "TITLE"), title)).isTrue();
+        assertThat(redisTemplate.opsForValue().getBit(RedisKeyUtil.seenPassages("other@test.com", "ORDERING"), other)).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 스크립트_결과가_없으면_무작위_슬롯을_고른다() {
+        RedisTemplate<String, String> failing = mock(RedisTemplate.class);
+        when(failing.execute(eq(SeenPassageRepository.CLAIM_PASSAGE), any(), any(), anyList(), any(Object[].class)))
+                .thenReturn(null);
+        SeenPassageRepository repository = new SeenPassageRepository(failing);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(repository.claim(EMAIL, "bucket", 5)).isBetween(0, 4);
+        }
+    }
+
+    /**
+     * 무작위 시작 슬롯 대신 {@code start}를 넘겨 claim-passage.lua를 실행합니다.
+     */
+    private long claimPassage(String key, int size, int start) {
+        return redisTemplate.execute(SeenPassageRepository.CLAIM_PASSAGE, STRING, null, List.of(key),
+                String.valueOf(size), String.valueOf(start), String.valueOf(TTL_MILLIS));
+    }
+
+    private long bitCount(String key) {
+        return redisTemplate.execute(connection -> connection.stringCommands().bitCount(key.getBytes()), true);
+    }
+}
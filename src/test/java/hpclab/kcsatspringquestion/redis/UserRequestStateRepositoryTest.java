@@ -0,0 +1,81 @@
+package hpclab.kcsatspringquestion.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static hpclab.kcsatspringquestion.redis.UserRequestStateRepository.STRING;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * acquire-requests.lua를 내장 Redis 서버에서 실행하여 확인합니다.
+ */
+class UserRequestStateRepositoryTest {
+
+    private static final String TOPIC = "ExplanationRequest0";
+    private static final Duration TOPIC_TTL = Duration.ofSeconds(70);
+    private static final Duration LOCK_TTL = Duration.ofSeconds(60);
+
+    private final String newUser = RedisKeyUtil.explanationState("new@test.com");
+    private final String assignedUser = RedisKeyUtil.explanationState("assigned@test.com");
+    private final String busyUser = RedisKeyUtil.explanationState("busy@test.com");
+
+    private RedisTemplate<String, String> redisTemplate;
+    private UserRequestStateRepository userRequestStateRepository;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        redisTemplate = EmbeddedRedis.redisTemplate();
+
+        userRequestStateRepository = new UserRequestStateRepository(redisTemplate);
+        ReflectionTestUtils.setField(userRequestStateRepository, "stateTtlMillis", 3600000L);
+    }
+
+    @Test
+    void 여러_사용자의_Topic_할당과_lock_획득을_한_번에_처리하고_lock이_걸린_사용자는_제외한다() {
+        userRequestStateRepository.assignTopic(assignedUser, "ExplanationRequest1", TOPIC_TTL);
+        userRequestStateRepository.saveOffset(assignedUser, 2, 10L);
+        userRequestStateRepository.assignTopic(busyUser, "ExplanationRequest2", TOPIC_TTL);
+        userRequestStateRepository.acquireRequest(busyUser, LOCK_TTL);
+        userRequestStateRepository.saveOffset(busyUser, 3, 20L);
+
+        Map<String, String> topics = new LinkedHashMap<>();
+        topics.put(newUser, TOPIC);
+        topics.put(assignedUser, TOPIC);
+        topics.put(busyUser, TOPIC);
+
+        Map<String, String> acquired = userRequestStateRepository.acquireRequests(topics, TOPIC_TTL, LOCK_TTL);
+
+        assertThat(acquired).containsExactly(Map.entry(newUser, TOPIC), Map.entry(assignedUser, "ExplanationRequest1"));
+        // 새 요청에는 이전 요청의 Offset이 남지 않고, lock이 걸린 요청의 Offset은 그대로 둡니다.
+        assertThat(hGetAll(assignedUser)).containsKey("lockExpiresAt").doesNotContainKeys("partition", "offset");
+        assertThat(hGetAll(busyUser)).containsEntry("topic", "ExplanationRequest2").containsEntry("offset", "20");
+        assertThat(hGetAll(newUser)).containsEntry("topic", TOPIC).containsKeys("topicExpiresAt", "lockExpiresAt");
+        assertThat(redisTemplate.getExpire(newUser, TimeUnit.MILLISECONDS)).isPositive().isLessThanOrEqualTo(3600000L);
+    }
+
+    @Test
+    void 한_번에_획득한_lock은_개별_요청의_중복_요청_lock과_같다() {
+        userRequestStateRepository.acquireRequests(Map.of(newUser, TOPIC), TOPIC_TTL, LOCK_TTL);
+
+        assertThat(userRequestStateRepository.acquireRequests(Map.of(newUser, TOPIC), TOPIC_TTL, LOCK_TTL)).isEmpty();
+
+        userRequestStateRepository.releaseRequest(newUser);
+
+        assertThat(userRequestStateRepository.acquireRequest(newUser, LOCK_TTL)).isEqualTo(TOPIC);
+    }
+
+    private Map<String, String> hGetAll(String stateKey) {
+        Map<byte[], byte[]> entries = redisTemplate.execute(connection -> connection.hashCommands().hGetAll(STRING.serialize(stateKey)), true);
+        return entries.entrySet().stream()
+                .collect(Collectors.toMap(entry -> STRING.deserialize(entry.getKey()), entry -> STRING.deserialize(entry.getValue())));
+    }
+}
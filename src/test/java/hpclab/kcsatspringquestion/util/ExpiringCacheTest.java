@@ -0,0 +1,89 @@
+package hpclab.kcsatspringquestion.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+    private static final long LATER = Long.MAX_VALUE;
+
+    @Test
+    void 최대_크기를_넘으면_가장_오래_사용하지_않은_항목을_제거한다() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(2);
+        cache.put("a", 1, LATER);
+        cache.put("b", 2, LATER);
+        cache.get("a");
+
+        cache.put("c", 3, LATER);
+
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+    }
+
+    @Test
+    void 조회되지_않는_만료_항목은_저장할_때_주기적으로_제거한다() throws InterruptedException {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, 0);
+        cache.put("expiring", 1, System.currentTimeMillis() + 20);
+        cache.put("old", 2, LATER);
+        Thread.sleep(40);
+
+        cache.put("new", 3, LATER);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("old")).isEqualTo(2);
+        assertThat(cache.get("new")).isEqualTo(3);
+    }
+
+    @Test
+    void 제거_주기가_되기_전에는_만료_항목을_훑지_않는다() throws InterruptedException {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, 60000);
+        cache.put("first", 1, LATER);
+        cache.put("expiring", 2, System.currentTimeMillis() + 20);
+        Thread.sleep(40);
+
+        cache.put("new", 3, LATER);
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get("expiring")).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void 구간으로_나누어도_전체_최대_크기를_넘지_않는다() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(1024);
+
+        for (int i = 0; i < 10000; i++) {
+            cache.put(i, i, LATER);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(1024);
+        assertThat(cache.get(9999)).isEqualTo(9999);
+    }
+
+    @Test
+    void 만료된_값은_조회되지_않고_이미_만료된_값은_저장하지_않는다() throws InterruptedException {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10);
+        cache.put("short", 1, System.currentTimeMillis() + 20);
+        cache.put("past", 2, System.currentTimeMillis() - 1);
+        Thread.sleep(40);
+
+        assertThat(cache.get("short")).isNull();
+        assertThat(cache.get("past")).isNull();
+    }
+
+    @Test
+    void 값이_없을_때만_loader로_만들어_저장한다() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.get("key", k -> loads.incrementAndGet(), v -> LATER)).isEqualTo(1);
+        }
+        cache.remove("key");
+        assertThat(cache.get("key", k -> loads.incrementAndGet(), v -> LATER)).isEqualTo(2);
+    }
+}
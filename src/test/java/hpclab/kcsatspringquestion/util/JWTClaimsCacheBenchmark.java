@@ -0,0 +1,81 @@
+package hpclab.kcsatspringquestion.util;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+/**
+ * 요청마다 JWT 서명을 검증하는 경우와, 검증된 claim을 캐시하는 {@link JWTUtil#getClaims}를 비교합니다.
+ *
+ * <p>polling처럼 같은 토큰이 반복되는 경우를 가정하여, {@code bench.tokens}개의 토큰을 번갈아 사용합니다.</p>
+ *
+ * <pre>
+ * ./gradlew benchmark --tests '*JWTClaimsCacheBenchmark' -Dbench.iterations=200000 -Dbench.threads=4
+ * </pre>
+ */
+@Tag("benchmark")
+class JWTClaimsCacheBenchmark {
+
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 200000);
+    private static final int THREADS = Integer.getInteger("bench.threads", 4);
+    private static final int TOKENS = Integer.getInteger("bench.tokens", 1000);
+
+    @Test
+    void 서명_검증과_캐시된_claim_조회를_비교한다() throws InterruptedException {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < TOKENS; i++) {
+            tokens.add("Bearer " + JWTUtilTest.token("user" + i + "@test.com", 3600000));
+        }
+
+        JwtParser parser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(JWTUtilTest.SECRET)).build();
+        JWTUtil jwtUtil = JWTUtilTest.jwtUtil(300000L);
+
+        System.out.printf("%n[jwt claims] %d iterations, %d tokens%n", ITERATIONS, TOKENS);
+        for (int threads : new int[]{1, THREADS}) {
+            run("parse every request", threads, i -> parser.parseSignedClaims(tokens.get(i % TOKENS).substring(7)).getPayload());
+            run("JWTUtil.getClaims (cached)", threads, i -> jwtUtil.getClaims(tokens.get(i % TOKENS)));
+        }
+    }
+
+    private static void run(String name, int threads, Consumer<Integer> call) throws InterruptedException {
+        // JIT 준비
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            call.accept(i);
+        }
+
+        int perThread = ITERATIONS / threads;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        call.accept(offset + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+
+        System.out.printf("  %-28s %d thread(s) %8.2f us/op %10.0f ops/s%n", name, threads,
+                elapsed / 1e3 / (perThread * threads), perThread * threads / (elapsed / 1e9));
+    }
+}
@@ -0,0 +1,92 @@
+package hpclab.kcsatspringquestion.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JWTUtilTest {
+
+    static final byte[] SECRET = "kcsat-spring-question-test-secret-key-32bytes!".getBytes();
+
+    private JWTUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = jwtUtil(300000L);
+    }
+
+    @Test
+    void 같은_토큰은_한_번만_검증하고_캐시된_claim을_반환한다() {
+        String token = token("user@test.com", 60000);
+
+        Claims claims = jwtUtil.getClaims(token);
+
+        assertThat(jwtUtil.getClaims(token)).isSameAs(claims);
+        assertThat(jwtUtil.getClaims("Bearer " + token)).isSameAs(claims);
+        assertThat(jwtUtil.getUserEmail(token)).isEqualTo("user@test.com");
+        assertThat(jwtUtil.getUserRole(token)).isEqualTo("ROLE_USER");
+    }
+
+    @Test
+    void 캐시_시간이_지나면_다시_검증한다() throws InterruptedException {
+        JWTUtil shortCache = jwtUtil(20L);
+        String token = token("user@test.com", 60000);
+        Claims claims = shortCache.getClaims(token);
+        Thread.sleep(40);
+
+        assertThat(shortCache.getClaims(token)).isNotSameAs(claims).isEqualTo(claims);
+    }
+
+    @Test
+    void 캐시는_토큰_만료_시각을_넘지_않는다() throws InterruptedException {
+        // JWT 만료 시각은 초 단위로 내림되므로, 2초 후로 만들어야 첫 조회 시점에 1초 이상 남습니다.
+        String token = token("user@test.com", 2000);
+        jwtUtil.getClaims(token);
+        Thread.sleep(2100);
+
+        assertThatThrownBy(() -> jwtUtil.getClaims(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void 서명이_다른_토큰은_캐시하지_않고_거부한다() {
+        String token = token("user@test.com", 60000);
+        String forged = Jwts.builder().claim(JWTUtil.USER_EMAIL, "admin@test.com")
+                .signWith(Keys.hmacShaKeyFor("another-secret-key-that-is-at-least-32-bytes".getBytes()))
+                .compact();
+        jwtUtil.getClaims(token);
+
+        assertThatThrownBy(() -> jwtUtil.getClaims(forged)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtUtil.getClaims(forged)).isInstanceOf(SignatureException.class);
+    }
+
+    static JWTUtil jwtUtil(long cacheTtlMillis) {
+        JWTUtil jwtUtil = new JWTUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", Base64.getEncoder().encodeToString(SECRET));
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 10000);
+        ReflectionTestUtils.setField(jwtUtil, "cacheTtlMillis", cacheTtlMillis);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    static String token(String email, long validMillis) {
+        return Jwts.builder()
+                .claim(JWTUtil.USER_EMAIL, email)
+                .claim(JWTUtil.USER_NAME, "user")
+                .claim(JWTUtil.ROLE, "ROLE_USER")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + validMillis))
+                .signWith(Keys.hmacShaKeyFor(SECRET))
+                .compact();
+    }
+}